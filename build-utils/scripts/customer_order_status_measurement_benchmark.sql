@@ -0,0 +1,52 @@
+-- Times the measurement lookup run by AdminService.updateCustomerMeasurement before and after
+-- V6__add_customer_order_status_measurement_columns, on a scratch table of one million synthetic order statuses.
+-- Run against a disposable MySQL 8.0.18+ schema (EXPLAIN ANALYZE reports the actual time of each plan):
+--   mysql -u <user> -p <schema> < build-utils/scripts/customer_order_status_measurement_benchmark.sql
+
+SET SESSION cte_max_recursion_depth = 1000000;
+
+DROP TABLE IF EXISTS customer_order_status_benchmark;
+CREATE TABLE customer_order_status_benchmark (
+    customer_order_status_id INT         NOT NULL AUTO_INCREMENT,
+    order_id                 VARCHAR(64) NOT NULL,
+    order_status             VARCHAR(64),
+    customer_measurement     JSON,
+    PRIMARY KEY (customer_order_status_id)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
+
+-- 50,000 customers with five size names each, four order statuses per customer and size.
+INSERT INTO customer_order_status_benchmark (order_id, order_status, customer_measurement)
+WITH RECURSIVE seq (n) AS (SELECT 1 UNION ALL SELECT n + 1 FROM seq WHERE n < 1000000)
+SELECT CONCAT('order-', n), 'Start Production',
+       JSON_OBJECT('customerId', CAST(n MOD 50000 AS CHAR),
+                   'name', ELT(1 + (n DIV 50000) MOD 5, 'Regular', 'Slim', 'Relaxed', 'Chest', 'Custom'),
+                   'fit', 'Regular', 'shoulderWidth', '18', 'halfChestWidth', '21')
+FROM seq;
+ANALYZE TABLE customer_order_status_benchmark;
+
+-- Before: the former Criteria query, JSON_EXTRACT on the size name of every row.
+EXPLAIN ANALYZE
+SELECT * FROM customer_order_status_benchmark
+WHERE JSON_EXTRACT(customer_measurement, '$.name') = 'Chest';
+
+-- Before, scoped to the customer: still a full scan, since nothing indexes the JSON.
+EXPLAIN ANALYZE
+SELECT * FROM customer_order_status_benchmark
+WHERE JSON_UNQUOTE(JSON_EXTRACT(customer_measurement, '$.customerId')) = '4242'
+  AND JSON_UNQUOTE(JSON_EXTRACT(customer_measurement, '$.name')) = 'Chest';
+
+-- The same columns and index as the V6 migration.
+ALTER TABLE customer_order_status_benchmark
+    ADD COLUMN measurement_customer_id VARCHAR(64)
+        GENERATED ALWAYS AS (JSON_UNQUOTE(JSON_EXTRACT(customer_measurement, '$.customerId'))) STORED,
+    ADD COLUMN measurement_name VARCHAR(255)
+        GENERATED ALWAYS AS (JSON_UNQUOTE(JSON_EXTRACT(customer_measurement, '$.name'))) STORED,
+    ADD KEY idx_customer_order_status_measurement (measurement_customer_id, measurement_name);
+ANALYZE TABLE customer_order_status_benchmark;
+
+-- After: the query of CustomerOrderStatusCustomImpl, an index lookup of the customer's order statuses.
+EXPLAIN ANALYZE
+SELECT * FROM customer_order_status_benchmark
+WHERE measurement_customer_id = '4242' AND measurement_name = 'Chest';
+
+DROP TABLE customer_order_status_benchmark;
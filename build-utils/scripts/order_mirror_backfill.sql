@@ -0,0 +1,14 @@
+-- Re-seeds the order mirror and everything maintained from it by making the next order sync backfill the mirror
+-- from Shopify again. The daily order rollups and the daily product sales are only ever changed by the orders written
+-- to the mirror, so a mirror filled before V2__create_shopify_order_daily_rollup or
+-- V4__create_shopify_product_daily_sales has to be backfilled once for them to match it.
+-- Stop every instance first (the sync must not write while the tables are cleared), then run:
+--   mysql -u <user> -p <schema> < build-utils/scripts/order_mirror_backfill.sql
+-- The first sync after the restart backfills the whole order history.
+
+START TRANSACTION;
+DELETE FROM shopify_order_daily_rollup;
+DELETE FROM shopify_product_daily_sales;
+DELETE FROM shopify_order_mirror;
+DELETE FROM shopify_sync_state WHERE sync_name = 'orders';
+COMMIT;
@@ -0,0 +1,75 @@
+package com.hungover.customer.mapper;
+
+import com.hungover.core.domain.customer.CustomerMeasurement;
+import com.hungover.core.dto.customer.CustomerMeasurementDto;
+import org.modelmapper.Conditions;
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Converts a filled customer measurement DTO to its entity and back, once per invocation.
+ * <p>
+ * {@code modelMapper} goes through the shared {@link ModelMapper} configured as the services used it;
+ * {@code mapStruct} calls the generated {@link CustomerMeasurementMapper}. Run with
+ * {@code ./gradlew jmh -PjmhIncludes=CustomerMeasurementMapperBenchmark -PjmhProfilers=gc} to report the bytes
+ * allocated per conversion ({@code gc.alloc.rate.norm}) next to its time.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CustomerMeasurementMapperBenchmark {
+
+    private final ModelMapper modelMapper = new ModelMapper();
+    private final CustomerMeasurementMapper customerMeasurementMapper = new CustomerMeasurementMapperImpl();
+    private CustomerMeasurementDto customerMeasurementDto;
+
+    @Setup
+    public void setUp() {
+        modelMapper.getConfiguration().setPropertyCondition(Conditions.isNotNull());
+        customerMeasurementDto = new CustomerMeasurementDto();
+        customerMeasurementDto.setCustomerId("7005807952101");
+        customerMeasurementDto.setCustomerName("Test Customer");
+        customerMeasurementDto.setCustomerEmail("test.customer@example.com");
+        customerMeasurementDto.setName("Regular");
+        customerMeasurementDto.setShoulderWidth("18");
+        customerMeasurementDto.setHalfChestWidth("21");
+        customerMeasurementDto.setHalfBottomWidth("20");
+        customerMeasurementDto.setNeckWidth("7");
+        customerMeasurementDto.setFrontNeckDrop("3");
+        customerMeasurementDto.setCbLength("28");
+        customerMeasurementDto.setSleeveLength("9");
+        customerMeasurementDto.setSleeveOpening("7");
+        customerMeasurementDto.setArmholeStraight("10");
+        customerMeasurementDto.setInitial("TC");
+        // Warm the ModelMapper type maps so both sides measure steady-state conversions.
+        modelMapper.map(modelMapper.map(customerMeasurementDto, CustomerMeasurement.class),
+                CustomerMeasurementDto.class);
+    }
+
+    @Benchmark
+    public CustomerMeasurementDto modelMapper() {
+        CustomerMeasurement customerMeasurement = modelMapper.map(customerMeasurementDto, CustomerMeasurement.class);
+        return modelMapper.map(customerMeasurement, CustomerMeasurementDto.class);
+    }
+
+    @Benchmark
+    public CustomerMeasurementDto mapStruct() {
+        CustomerMeasurement customerMeasurement = customerMeasurementMapper.toCustomerMeasurement(
+                customerMeasurementDto);
+        return customerMeasurementMapper.toCustomerMeasurementDto(customerMeasurement);
+    }
+}
@@ -0,0 +1,86 @@
+package com.hungover.order.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Aggregates one million synthetic paid orders per invocation, so the reported time is the cost per million orders.
+ * <p>
+ * {@code boxedMaps} reproduces the former aggregation (month name substring, {@code Double.parseDouble} and boxed
+ * map merges per order); {@code primitiveCents} feeds the same values to {@link YearlyOrderStatistics}.
+ * Run with {@code ./gradlew jmh -PjmhIncludes=YearlyOrderStatisticsBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class YearlyOrderStatisticsBenchmark {
+
+    private static final int ORDER_COUNT = 1_000_000;
+
+    private final List<String> calendarMonthsList = OrderService.getCalendarMonthsList();
+    private String[] createdAts;
+    private String[] totalPrices;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        createdAts = new String[ORDER_COUNT];
+        totalPrices = new String[ORDER_COUNT];
+        for (int i = 0; i < ORDER_COUNT; i++) {
+            createdAts[i] = String.format(Locale.ROOT, "2023-%02d-%02dT%02d:%02d:00+05:30", random.nextInt(12) + 1,
+                    random.nextInt(28) + 1, random.nextInt(24), random.nextInt(60));
+            totalPrices[i] = String.format(Locale.ROOT, "%d.%02d", random.nextInt(20000), random.nextInt(100));
+        }
+    }
+
+    @Benchmark
+    public Map<String, Double> boxedMaps(Blackhole blackhole) {
+        Map<String, Double> orderMonthMap = new LinkedHashMap<>();
+        Map<String, Integer> monthsBasedOrderMap = new LinkedHashMap<>();
+        calendarMonthsList.forEach(month -> {
+            orderMonthMap.put(month, 0.0);
+            monthsBasedOrderMap.put(month, 0);
+        });
+        double paidTotalPrice = 0;
+        for (int i = 0; i < ORDER_COUNT; i++) {
+            String createdMonth = calendarMonthsList.get(Integer.parseInt(createdAts[i].substring(5, 7)) - 1);
+            double totalPrice = Double.parseDouble(totalPrices[i]);
+            paidTotalPrice += totalPrice;
+            orderMonthMap.merge(createdMonth, totalPrice, Double::sum);
+            monthsBasedOrderMap.merge(createdMonth, 1, Integer::sum);
+        }
+        blackhole.consume(paidTotalPrice);
+        blackhole.consume(monthsBasedOrderMap);
+        return orderMonthMap;
+    }
+
+    @Benchmark
+    public Map<String, Double> primitiveCents(Blackhole blackhole) {
+        YearlyOrderStatistics yearlyOrderStatistics = new YearlyOrderStatistics(calendarMonthsList);
+        for (int i = 0; i < ORDER_COUNT; i++) {
+            yearlyOrderStatistics.addPaidOrder(createdAts[i], totalPrices[i]);
+        }
+        blackhole.consume(yearlyOrderStatistics.getPaidTotalCents());
+        blackhole.consume(yearlyOrderStatistics.getMonthsBasedOrderMap());
+        return yearlyOrderStatistics.getOrderMonthMap();
+    }
+}
@@ -1,8 +1,17 @@
 package com.hungover;
 
-import org.modelmapper.ModelMapper;
+import com.hungover.shopify.client.ShopifyBulkOperation;
+import com.hungover.shopify.client.ShopifyCallBudget;
+import com.hungover.shopify.client.ShopifyClient;
+import com.hungover.shopify.client.ShopifyPagePipeline;
+import com.hungover.shopify.client.ShopifyRateLimitInterceptor;
+import okhttp3.ConnectionPool;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.autoconfigure.domain.EntityScan;
@@ -13,10 +22,17 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.support.ReloadableResourceBundleMessageSource;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.http.client.OkHttp3ClientHttpRequestFactory;
 import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.transaction.annotation.EnableTransactionManagement;
 import org.springframework.web.client.RestTemplate;
 
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
 /**
  * The main entry point for the HungOver application.
  */
@@ -41,11 +57,6 @@ public class HungOverMasterEntry extends SpringBootServletInitializer {
 		return application.sources(HungOverMasterEntry.class);
 	}
 
-	@Bean
-	public ModelMapper modelMapper() {
-		return new ModelMapper();
-	}
-
 	@Bean
 	public MessageSource messageSource() {
 		ReloadableResourceBundleMessageSource messageSource = new ReloadableResourceBundleMessageSource();
@@ -54,8 +65,104 @@ public class HungOverMasterEntry extends SpringBootServletInitializer {
 		return messageSource;
 	}
 
+	/**
+	 * Rate governor shared by every Shopify call, sized for a standard plan by default
+	 * (40 REST calls leaking at 2/s, 1000 GraphQL cost points restoring at 50/s).
+	 */
+	@Bean
+	public ShopifyRateLimitInterceptor shopifyRateLimitInterceptor(
+			@Value("${shopify.rateLimit.restBucketSize:40}") double restBucketSize,
+			@Value("${shopify.rateLimit.restLeakRatePerSecond:2}") double restLeakRatePerSecond,
+			@Value("${shopify.rateLimit.graphQlBucketSize:1000}") double graphQlBucketSize,
+			@Value("${shopify.rateLimit.graphQlRestoreRatePerSecond:50}") double graphQlRestoreRatePerSecond,
+			@Value("${shopify.rateLimit.graphQlDefaultQueryCost:50}") double graphQlDefaultQueryCost,
+			@Value("${shopify.rateLimit.maxRetries:5}") int maxRetries,
+			@Value("${shopify.rateLimit.baseBackoffMillis:500}") long baseBackoffMillis,
+			@Value("${shopify.rateLimit.maxBackoffMillis:30000}") long maxBackoffMillis,
+			@Value("${shopify.rateLimit.maxPeekBytes:5242880}") long maxPeekBytes) {
+		return new ShopifyRateLimitInterceptor(
+				new ShopifyCallBudget(restBucketSize, restLeakRatePerSecond, 1d),
+				new ShopifyCallBudget(graphQlBucketSize, graphQlRestoreRatePerSecond, graphQlDefaultQueryCost),
+				maxRetries, baseBackoffMillis, maxBackoffMillis, maxPeekBytes);
+	}
+
+	/**
+	 * Shared HTTP client for every outbound Shopify call. Connections are kept alive in a single pool,
+	 * HTTP/2 is negotiated where the shop supports it and gzip responses are decoded transparently.
+	 */
+	@Bean
+	public OkHttpClient shopifyHttpClient(ShopifyRateLimitInterceptor shopifyRateLimitInterceptor,
+										  @Value("${shopify.http.connectTimeoutMillis:10000}") long connectTimeoutMillis,
+										  @Value("${shopify.http.readTimeoutMillis:60000}") long readTimeoutMillis,
+										  @Value("${shopify.http.writeTimeoutMillis:60000}") long writeTimeoutMillis,
+										  @Value("${shopify.http.maxIdleConnections:10}") int maxIdleConnections,
+										  @Value("${shopify.http.keepAliveMillis:300000}") long keepAliveMillis) {
+		return new OkHttpClient.Builder()
+				.connectTimeout(connectTimeoutMillis, TimeUnit.MILLISECONDS)
+				.readTimeout(readTimeoutMillis, TimeUnit.MILLISECONDS)
+				.writeTimeout(writeTimeoutMillis, TimeUnit.MILLISECONDS)
+				.connectionPool(new ConnectionPool(maxIdleConnections, keepAliveMillis, TimeUnit.MILLISECONDS))
+				.protocols(Arrays.asList(Protocol.HTTP_2, Protocol.HTTP_1_1))
+				.addInterceptor(shopifyRateLimitInterceptor)
+				.build();
+	}
+
+	@Bean
+	public RestTemplate restTemplate(OkHttpClient shopifyHttpClient) {
+		return new RestTemplate(new OkHttp3ClientHttpRequestFactory(shopifyHttpClient));
+	}
+
+	/**
+	 * Executor for blocking Shopify I/O that runs alongside request threads, such as prefetching the next page
+	 * of a paginated pull.
+	 */
+	@Bean(destroyMethod = "shutdown")
+	public ExecutorService shopifyIoExecutor(@Value("${shopify.io.threads:16}") int threads) {
+		CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("shopify-io-");
+		threadFactory.setDaemon(true);
+		return Executors.newFixedThreadPool(threads, threadFactory);
+	}
+
+	/**
+	 * Executor for the independent calls of a single request that are fanned out and joined again, such as the
+	 * per line item lookups of an order. It is kept apart from {@code shopifyIoExecutor} so that request fan-out
+	 * and page prefetching cannot starve each other.
+	 */
+	@Bean(destroyMethod = "shutdown")
+	public ExecutorService shopifyFanOutExecutor(@Value("${shopify.fanOut.threads:32}") int threads) {
+		CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("shopify-fan-out-");
+		threadFactory.setDaemon(true);
+		return Executors.newFixedThreadPool(threads, threadFactory);
+	}
+
+	/**
+	 * Executor for the background refreshes of stale admin dashboard summaries. A refresh fans its sections out
+	 * to {@code shopifyFanOutExecutor} and waits for them, so it must not run on that pool itself: enough stale
+	 * ranges at once would leave every fan-out thread waiting on sections queued behind it.
+	 */
+	@Bean(destroyMethod = "shutdown")
+	public ExecutorService adminDashboardRefreshExecutor(
+			@Value("${admin.dashboard.cache.refreshThreads:2}") int threads) {
+		CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("admin-dashboard-refresh-");
+		threadFactory.setDaemon(true);
+		return Executors.newFixedThreadPool(threads, threadFactory);
+	}
+
+	@Bean
+	public ShopifyPagePipeline shopifyPagePipeline(
+			@Qualifier("shopifyIoExecutor") ExecutorService shopifyIoExecutor,
+			@Value("${shopify.pagination.prefetchPages:2}") int prefetchPages) {
+		return new ShopifyPagePipeline(shopifyIoExecutor, prefetchPages);
+	}
+
+	/**
+	 * Runner for GraphQL bulk queries; the status of a running operation is polled every
+	 * {@code shopify.bulk.pollIntervalMillis} until it completes or the timeout expires.
+	 */
 	@Bean
-	public RestTemplate restTemplate() {
-		return new RestTemplate();
+	public ShopifyBulkOperation shopifyBulkOperation(ShopifyClient shopifyClient,
+			@Value("${shopify.bulk.pollIntervalMillis:2000}") long pollIntervalMillis,
+			@Value("${shopify.bulk.timeoutMillis:900000}") long timeoutMillis) {
+		return new ShopifyBulkOperation(shopifyClient, pollIntervalMillis, timeoutMillis);
 	}
 }
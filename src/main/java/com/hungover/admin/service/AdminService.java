@@ -19,6 +19,7 @@ import com.hungover.core.dto.customer.CustomerMeasurementDto;
 import com.hungover.core.dto.customer.CustomerOrderStatusDetailsDto;
 import com.hungover.core.dto.customer.CustomerOrderStatusDto;
 import com.hungover.core.dto.customer.OrderCartDto;
+import com.hungover.customer.mapper.CustomerOrderStatusMapper;
 import com.hungover.customer.repository.CustomerMeasurementRepositoryI;
 import com.hungover.email.notification.service.AdminEmailNotificationService;
 import com.hungover.email.notification.service.EmailNotificationService;
@@ -28,7 +29,6 @@ import org.apache.velocity.VelocityContext;
 import org.apache.velocity.app.VelocityEngine;
 import org.apache.velocity.runtime.RuntimeConstants;
 import org.apache.velocity.runtime.resource.loader.ClasspathResourceLoader;
-import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.MessageSource;
 import org.springframework.stereotype.Service;
@@ -58,7 +58,7 @@ public class AdminService {
     private final AdminEmailNotificationService adminEmailNotificationService;
     private final CustomerOrderStatusRepositoryI customerOrderStatusRepository;
     private final CustomerOrderStatusDetailsRepositoryI customerOrderStatusDetailsRepositoryI;
-    private final ModelMapper modelMapper;
+    private final CustomerOrderStatusMapper customerOrderStatusMapper;
     private static final String DATE_FORMAT_DD_MM_YYYY = "dd/MM/yyyy";
     @Value("${from.email}")
     private String fromEmail;
@@ -69,7 +69,8 @@ public class AdminService {
     public AdminService(CustomerMeasurementRepositoryI customerMeasurementRepository,
                         EmailNotificationService emailNotificationService, MessageSource messageSource,
                         AdminMapperUtil adminMapperUtil, AdminEmailNotificationService adminEmailNotificationService,
-                        CustomerOrderStatusRepositoryI customerOrderStatusRepository, ModelMapper modelMapper,
+                        CustomerOrderStatusRepositoryI customerOrderStatusRepository,
+                        CustomerOrderStatusMapper customerOrderStatusMapper,
                         CustomerOrderStatusDetailsRepositoryI customerOrderStatusDetailsRepositoryI,
                         CustomerOrderStatusCustomImpl customerOrderStatusCustomImpl) {
         super();
@@ -80,7 +81,7 @@ public class AdminService {
         this.adminEmailNotificationService = adminEmailNotificationService;
         this.customerOrderStatusRepository = customerOrderStatusRepository;
         this.customerOrderStatusDetailsRepositoryI = customerOrderStatusDetailsRepositoryI;
-        this.modelMapper = modelMapper;
+        this.customerOrderStatusMapper = customerOrderStatusMapper;
         this.customerOrderStatusCustomImpl = customerOrderStatusCustomImpl;
         velocityEngine = new VelocityEngine();
         velocityEngine.setProperty(RuntimeConstants.RESOURCE_LOADER, "classpath");
@@ -151,7 +152,8 @@ public class AdminService {
             updatedCustomerMeasurementDto = adminMapperUtil.convertToCustomerMeasurementDto(
                     updatedCustomerMeasurementObj);
             List<CustomerOrderStatus> customerOrderStatusList = customerOrderStatusCustomImpl
-                    .customerMeasurementSizeName(updatedCustomerMeasurementObj.getName());
+                    .customerMeasurementSizeName(updatedCustomerMeasurementObj.getCustomerId(),
+                            updatedCustomerMeasurementObj.getName());
             customerOrderStatusList.forEach(customerOrderStatus -> {
                 updatedCustomerMeasurementObj.setFit(customerOrderStatus.getCustomerMeasurement().getFit());
                 customerOrderStatus.setCustomerMeasurement(updatedCustomerMeasurementObj);
@@ -201,7 +203,7 @@ public class AdminService {
         List<CustomerOrderStatus> saveCustomerOrderStatusList = new ArrayList<>();
         customerOrderStatusDtoList.forEach(customerOrderStatusDtoObj -> {
             CustomerOrderStatus customerOrderStatus =
-                    modelMapper.map(customerOrderStatusDtoObj, CustomerOrderStatus.class);
+                    customerOrderStatusMapper.toCustomerOrderStatus(customerOrderStatusDtoObj);
             try {
                 ObjectMapper objectMapper = new ObjectMapper();
                 JsonNode addressInformationJsonNode = objectMapper.readTree(addressInformationDto);
@@ -219,7 +221,7 @@ public class AdminService {
                 (List<CustomerOrderStatus>) customerOrderStatusRepository.saveAll(saveCustomerOrderStatusList);
         savedCustomerOrderStatusList.forEach(customerOrderStatusObj -> {
             CustomerOrderStatusDto customerOrderStatusDto =
-                    modelMapper.map(customerOrderStatusObj, CustomerOrderStatusDto.class);
+                    customerOrderStatusMapper.toCustomerOrderStatusDto(customerOrderStatusObj);
             savedCustomerOrderStatusDtoList.add(customerOrderStatusDto);
         });
 
@@ -286,8 +288,8 @@ public class AdminService {
             }
             CustomerOrderStatus updatedExistingCustomerOrderStatus = customerOrderStatusRepository.
                     save(existingCustomerOrderStatusOptional.get());
-            updatedCustomerOrderStatusDto = modelMapper.map(updatedExistingCustomerOrderStatus,
-                    CustomerOrderStatusDto.class);
+            updatedCustomerOrderStatusDto = customerOrderStatusMapper.toCustomerOrderStatusDto(
+                    updatedExistingCustomerOrderStatus);
             Boolean isFitSample = existingCustomerOrderStatusOptional.get().getIsFitSample();
             sendOrderStatusForCustomer(addressInformation, orderTrackingNumber,
                     existingCustomerOrderStatusOptional.get().getCustomerMeasurement().getCustomerId(),
@@ -519,8 +521,8 @@ public class AdminService {
     public List<CustomerOrderStatusDetailsDto> getCustomerOrderStatusDetails() {
         List<CustomerOrderStatusDetails> customerOrderStatusDetailsList = customerOrderStatusDetailsRepositoryI
                 .findAllByOrderByCustomerOrderStatusDetailsIdDesc();
-        return customerOrderStatusDetailsList.stream().map(customerOrderStatusDetails ->
-                        modelMapper.map(customerOrderStatusDetails, CustomerOrderStatusDetailsDto.class))
+        return customerOrderStatusDetailsList.stream()
+                .map(customerOrderStatusMapper::toCustomerOrderStatusDetailsDto)
                 .collect(Collectors.toList());
     }
 }
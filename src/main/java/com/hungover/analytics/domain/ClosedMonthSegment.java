@@ -0,0 +1,76 @@
+package com.hungover.analytics.domain;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.IdClass;
+import javax.persistence.Table;
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * The value of an analytics metric over one closed calendar month of the shop. A month is closed once it has ended
+ * and settled, after which its value is computed once and never recomputed.
+ */
+@Entity
+@Table(name = "analytics_closed_month_segment")
+@IdClass(ClosedMonthSegmentId.class)
+public class ClosedMonthSegment {
+
+    @Id
+    @Column(name = "metric")
+    private String metric;
+
+    @Id
+    @Column(name = "segment_month")
+    private LocalDate segmentMonth;
+
+    @Column(name = "record_count")
+    private int recordCount;
+
+    @Column(name = "amount_minor")
+    private long amountMinor;
+
+    @Column(name = "computed_at")
+    private Instant computedAt;
+
+    public String getMetric() {
+        return metric;
+    }
+
+    public void setMetric(String metric) {
+        this.metric = metric;
+    }
+
+    public LocalDate getSegmentMonth() {
+        return segmentMonth;
+    }
+
+    public void setSegmentMonth(LocalDate segmentMonth) {
+        this.segmentMonth = segmentMonth;
+    }
+
+    public int getRecordCount() {
+        return recordCount;
+    }
+
+    public void setRecordCount(int recordCount) {
+        this.recordCount = recordCount;
+    }
+
+    public long getAmountMinor() {
+        return amountMinor;
+    }
+
+    public void setAmountMinor(long amountMinor) {
+        this.amountMinor = amountMinor;
+    }
+
+    public Instant getComputedAt() {
+        return computedAt;
+    }
+
+    public void setComputedAt(Instant computedAt) {
+        this.computedAt = computedAt;
+    }
+}
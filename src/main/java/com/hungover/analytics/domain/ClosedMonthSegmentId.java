@@ -0,0 +1,52 @@
+package com.hungover.analytics.domain;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.Objects;
+
+/**
+ * Primary key of a {@link ClosedMonthSegment}: the metric and the first day of the month.
+ */
+public class ClosedMonthSegmentId implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private String metric;
+    private LocalDate segmentMonth;
+
+    public ClosedMonthSegmentId() {
+        super();
+    }
+
+    public ClosedMonthSegmentId(String metric, LocalDate segmentMonth) {
+        super();
+        this.metric = metric;
+        this.segmentMonth = segmentMonth;
+    }
+
+    public String getMetric() {
+        return metric;
+    }
+
+    public LocalDate getSegmentMonth() {
+        return segmentMonth;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof ClosedMonthSegmentId)) {
+            return false;
+        }
+        ClosedMonthSegmentId closedMonthSegmentId = (ClosedMonthSegmentId) other;
+        return Objects.equals(metric, closedMonthSegmentId.metric) &&
+                Objects.equals(segmentMonth, closedMonthSegmentId.segmentMonth);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(metric, segmentMonth);
+    }
+}
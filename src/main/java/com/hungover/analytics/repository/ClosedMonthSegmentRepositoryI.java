@@ -0,0 +1,28 @@
+package com.hungover.analytics.repository;
+
+import com.hungover.analytics.domain.ClosedMonthSegment;
+import com.hungover.analytics.domain.ClosedMonthSegmentId;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Repository interface for the closed month segments of the analytics metrics.
+ */
+@Repository
+public interface ClosedMonthSegmentRepositoryI extends CrudRepository<ClosedMonthSegment, ClosedMonthSegmentId> {
+
+    /**
+     * Find the segments of a metric for the months in the given range.
+     *
+     * @param metric    The metric.
+     * @param fromMonth The first day of the first month of the range.
+     * @param toMonth   The first day of the last month of the range.
+     * @return List of ClosedMonthSegment ordered by month.
+     */
+    List<ClosedMonthSegment> findByMetricAndSegmentMonthBetweenOrderBySegmentMonth(String metric,
+                                                                                    LocalDate fromMonth,
+                                                                                    LocalDate toMonth);
+}
@@ -0,0 +1,173 @@
+package com.hungover.analytics.service;
+
+import com.hungover.analytics.domain.ClosedMonthSegment;
+import com.hungover.analytics.repository.ClosedMonthSegmentRepositoryI;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.Year;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Service class treating the closed calendar months of the shop as immutable analytics segments.
+ * <p>
+ * A month is closed once it has ended and a settle period has passed, so late refunds and edits have landed. The
+ * value of a metric over a closed month is computed from Shopify once, stored and reused by every later request,
+ * which leaves only the open months to be fetched live.
+ */
+@Service
+public class ClosedMonthSegmentService {
+
+    public static final String PAID_ORDERS = "paid_orders";
+    public static final String NEW_CUSTOMERS = "new_customers";
+
+    private static final int YEAR_ONLY_LENGTH = 4;
+    private static final int DATE_ONLY_LENGTH = 10;
+    private static final DateTimeFormatter SHOPIFY_DATE_TIME_FORMATTER =
+            DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss");
+
+    private ClosedMonthSegmentRepositoryI closedMonthSegmentRepository;
+    private final ZoneId shopZoneId;
+    private final int settleDays;
+
+    public ClosedMonthSegmentService(ClosedMonthSegmentRepositoryI closedMonthSegmentRepository,
+                                     @Value("${shopify.shopTimeZone:Asia/Kolkata}") String shopifyShopTimeZone,
+                                     @Value("${analytics.closedMonth.settleDays:3}") int settleDays) {
+        super();
+        this.closedMonthSegmentRepository = closedMonthSegmentRepository;
+        this.shopZoneId = ZoneId.of(shopifyShopTimeZone);
+        this.settleDays = settleDays;
+    }
+
+    /**
+     * Returns the month the shop is currently in.
+     *
+     * @return The current month in the shop's time zone.
+     */
+    public YearMonth getCurrentMonth() {
+        return YearMonth.now(shopZoneId);
+    }
+
+    /**
+     * Returns the latest month that has ended and settled, i.e. whose segments may be stored.
+     *
+     * @return The last closed month.
+     */
+    public YearMonth getLastClosedMonth() {
+        return YearMonth.from(LocalDate.now(shopZoneId).minusDays(settleDays)).minusMonths(1);
+    }
+
+    /**
+     * Returns the first month starting at or after the given date, i.e. the first month a range starting at that
+     * date covers as a whole.
+     *
+     * @param fromDate A year or a date as accepted by Shopify's date filters, e.g. {@code 2023},
+     *                 {@code 2023-01-01} or {@code 2023-01-15T10:00:00+05:30}.
+     * @return The first whole month of the range.
+     */
+    public YearMonth getFirstWholeMonth(String fromDate) {
+        YearMonth fromMonth = YearMonth.from(toShopDateTime(fromDate));
+        return isMonthStart(fromDate) ? fromMonth : fromMonth.plusMonths(1);
+    }
+
+    /**
+     * Checks whether a date is the very start of a month in the shop's time zone.
+     *
+     * @param date A date as accepted by Shopify's date filters.
+     * @return {@code true} if the date is midnight of the first day of a month, {@code false} otherwise.
+     */
+    public boolean isMonthStart(String date) {
+        ZonedDateTime dateTime = toShopDateTime(date);
+        return dateTime.getDayOfMonth() == 1 && dateTime.toLocalTime().equals(LocalTime.MIDNIGHT);
+    }
+
+    /**
+     * Finds the stored segments of a metric for the months in the given range.
+     *
+     * @param metric    The metric, e.g. {@link #PAID_ORDERS}.
+     * @param fromMonth The first month of the range.
+     * @param toMonth   The last month of the range.
+     * @return The stored segments by month; months without a segment are missing.
+     */
+    public Map<YearMonth, ClosedMonthSegment> findSegments(String metric, YearMonth fromMonth, YearMonth toMonth) {
+        if (fromMonth.isAfter(toMonth)) {
+            return Collections.emptyMap();
+        }
+        Map<YearMonth, ClosedMonthSegment> segments = new HashMap<>();
+        closedMonthSegmentRepository.findByMetricAndSegmentMonthBetweenOrderBySegmentMonth(metric,
+                        fromMonth.atDay(1), toMonth.atDay(1))
+                .forEach(segment -> segments.put(YearMonth.from(segment.getSegmentMonth()), segment));
+        return segments;
+    }
+
+    /**
+     * Stores the value of a metric over a month, provided the month is closed. Values of open months are dropped,
+     * as they are still changing.
+     *
+     * @param metric      The metric, e.g. {@link #PAID_ORDERS}.
+     * @param month       The month.
+     * @param recordCount The number of records of the month, e.g. paid orders.
+     * @param amountMinor The summed amount of the month in minor units, or {@code 0} for counting metrics.
+     * @return {@code true} if the segment was stored, {@code false} if the month is still open.
+     */
+    public boolean saveSegment(String metric, YearMonth month, int recordCount, long amountMinor) {
+        if (month.isAfter(getLastClosedMonth())) {
+            return false;
+        }
+        ClosedMonthSegment closedMonthSegment = new ClosedMonthSegment();
+        closedMonthSegment.setMetric(metric);
+        closedMonthSegment.setSegmentMonth(month.atDay(1));
+        closedMonthSegment.setRecordCount(recordCount);
+        closedMonthSegment.setAmountMinor(amountMinor);
+        closedMonthSegment.setComputedAt(Instant.now());
+        closedMonthSegmentRepository.save(closedMonthSegment);
+        return true;
+    }
+
+    /**
+     * Formats the start of a month for Shopify's date filters. The value carries no offset, so Shopify reads it in
+     * the shop's time zone.
+     *
+     * @param month The month.
+     * @return The first second of the month, e.g. {@code 2023-02-01T00:00:00}.
+     */
+    public static String formatMonthStart(YearMonth month) {
+        return month.atDay(1).atStartOfDay().format(SHOPIFY_DATE_TIME_FORMATTER);
+    }
+
+    /**
+     * Formats the end of a month for Shopify's inclusive date filters, in the shop's time zone.
+     *
+     * @param month The month.
+     * @return The last second of the month, e.g. {@code 2023-02-28T23:59:59}.
+     */
+    public static String formatMonthEnd(YearMonth month) {
+        return month.atEndOfMonth().atTime(LocalTime.MAX).format(SHOPIFY_DATE_TIME_FORMATTER);
+    }
+
+    private ZonedDateTime toShopDateTime(String date) {
+        if (date.length() == YEAR_ONLY_LENGTH) {
+            return Year.parse(date).atDay(1).atStartOfDay(shopZoneId);
+        }
+        if (date.length() == DATE_ONLY_LENGTH) {
+            return LocalDate.parse(date).atStartOfDay(shopZoneId);
+        }
+        try {
+            return OffsetDateTime.parse(date).atZoneSameInstant(shopZoneId);
+        } catch (DateTimeParseException dateTimeParseException) {
+            return LocalDateTime.parse(date).atZone(shopZoneId);
+        }
+    }
+}
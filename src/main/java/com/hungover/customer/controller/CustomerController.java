@@ -61,17 +61,41 @@ public class CustomerController {
     }
 
     /**
-     * Get all customer wishlists grouped by variant id.
+     * Get customer wishlists grouped by variant id, a page at a time in variant id order. The next page starts
+     * after the variant id of the last wishlist of the current page.
      *
-     * @return ResponseEntity containing all customer wishlists as an ApiListResponse.
+     * @param variantId      The variant id to restrict the result to, optional.
+     * @param afterVariantId The last variant id of the previous page, optional for the first page.
+     * @param limit          The page size, 100 by default.
+     * @return ResponseEntity containing the customer wishlists of the page as an ApiListResponse.
      */
     @GetMapping(value = ENDPOINT_VERSION + "/all/wishlist")
     @ApiOperation(value = "All Customer wishlist group by variant id",
             nickname = "All Customer wishlist group by variant id",
             notes = "This endpoint for All Customer wishlist group by variant id",
             produces = "application/json", consumes = "application/json")
-    public ResponseEntity<ApiListResponse> getAllCustomerWishlist() {
-        return new ResponseEntity<>(customerApiResponseService.getAllCustomerWishlist(), HttpStatus.OK);
+    public ResponseEntity<ApiListResponse> getAllCustomerWishlist(
+            @RequestParam(value = "variantId", required = false) String variantId,
+            @RequestParam(value = "after", required = false) String afterVariantId,
+            @RequestParam(value = "limit", required = false, defaultValue = "100") Integer limit) {
+        return new ResponseEntity<>(customerApiResponseService.getAllCustomerWishlist(variantId, afterVariantId,
+                limit), HttpStatus.OK);
+    }
+
+    /**
+     * Get the most wishlisted variants from the maintained wishlist counts.
+     *
+     * @param limit The number of variants, 10 by default.
+     * @return ResponseEntity containing the most wishlisted variants as an ApiListResponse.
+     */
+    @GetMapping(value = ENDPOINT_VERSION + "/top/wishlist")
+    @ApiOperation(value = "Most wished variants",
+            nickname = "Most wished variants",
+            notes = "This endpoint for the most wishlisted variants",
+            produces = "application/json", consumes = "application/json")
+    public ResponseEntity<ApiListResponse> getMostWishedVariants(
+            @RequestParam(value = "limit", required = false, defaultValue = "10") Integer limit) {
+        return new ResponseEntity<>(customerApiResponseService.getMostWishedVariants(limit), HttpStatus.OK);
     }
 
     /**
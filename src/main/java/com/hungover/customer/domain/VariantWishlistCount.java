@@ -0,0 +1,38 @@
+package com.hungover.customer.domain;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+/**
+ * The number of customers who have a variant on their wishlist, maintained as wishlists are saved and deleted so
+ * that popularity never has to be counted from the wishlists.
+ */
+@Entity
+@Table(name = "variant_wishlist_count")
+public class VariantWishlistCount {
+
+    @Id
+    @Column(name = "variant_id")
+    private String variantId;
+
+    @Column(name = "wishlist_count")
+    private long wishlistCount;
+
+    public String getVariantId() {
+        return variantId;
+    }
+
+    public void setVariantId(String variantId) {
+        this.variantId = variantId;
+    }
+
+    public long getWishlistCount() {
+        return wishlistCount;
+    }
+
+    public void setWishlistCount(long wishlistCount) {
+        this.wishlistCount = wishlistCount;
+    }
+}
@@ -0,0 +1,21 @@
+package com.hungover.customer.mapper;
+
+import com.hungover.core.domain.customer.CustomerFeedback;
+import com.hungover.core.dto.customer.CustomerFeedbackKVDto;
+import com.hungover.util.MapStructConfig;
+import org.mapstruct.Mapper;
+
+/**
+ * Mapper from customer feedback to its DTO, generated at compile time.
+ */
+@Mapper(config = MapStructConfig.class)
+public interface CustomerFeedbackMapper {
+
+    /**
+     * Converts a CustomerFeedback entity to a CustomerFeedbackKVDto.
+     *
+     * @param customerFeedback The entity to be converted.
+     * @return CustomerFeedbackKVDto converted from the entity.
+     */
+    CustomerFeedbackKVDto toCustomerFeedbackKVDto(CustomerFeedback customerFeedback);
+}
@@ -0,0 +1,29 @@
+package com.hungover.customer.mapper;
+
+import com.hungover.core.domain.customer.CustomerMeasurement;
+import com.hungover.core.dto.customer.CustomerMeasurementDto;
+import com.hungover.util.MapStructConfig;
+import org.mapstruct.Mapper;
+
+/**
+ * Mapper between customer measurements and their DTOs, generated at compile time.
+ */
+@Mapper(config = MapStructConfig.class)
+public interface CustomerMeasurementMapper {
+
+    /**
+     * Converts a CustomerMeasurement entity to a CustomerMeasurementDto.
+     *
+     * @param customerMeasurement The entity to be converted.
+     * @return CustomerMeasurementDto converted from the entity.
+     */
+    CustomerMeasurementDto toCustomerMeasurementDto(CustomerMeasurement customerMeasurement);
+
+    /**
+     * Converts a CustomerMeasurementDto to a CustomerMeasurement entity.
+     *
+     * @param customerMeasurementDto The DTO to be converted.
+     * @return CustomerMeasurement entity converted from the DTO.
+     */
+    CustomerMeasurement toCustomerMeasurement(CustomerMeasurementDto customerMeasurementDto);
+}
@@ -0,0 +1,41 @@
+package com.hungover.customer.mapper;
+
+import com.hungover.core.domain.customer.CustomerOrderStatus;
+import com.hungover.core.domain.customer.CustomerOrderStatusDetails;
+import com.hungover.core.dto.customer.CustomerOrderStatusDetailsDto;
+import com.hungover.core.dto.customer.CustomerOrderStatusDto;
+import com.hungover.util.MapStructConfig;
+import org.mapstruct.Mapper;
+
+/**
+ * Mapper between customer order statuses and their DTOs, generated at compile time. The measurement of an order
+ * status is converted with {@link CustomerMeasurementMapper}.
+ */
+@Mapper(config = MapStructConfig.class, uses = CustomerMeasurementMapper.class)
+public interface CustomerOrderStatusMapper {
+
+    /**
+     * Converts a CustomerOrderStatus entity to a CustomerOrderStatusDto.
+     *
+     * @param customerOrderStatus The entity to be converted.
+     * @return CustomerOrderStatusDto converted from the entity.
+     */
+    CustomerOrderStatusDto toCustomerOrderStatusDto(CustomerOrderStatus customerOrderStatus);
+
+    /**
+     * Converts a CustomerOrderStatusDto to a CustomerOrderStatus entity.
+     *
+     * @param customerOrderStatusDto The DTO to be converted.
+     * @return CustomerOrderStatus entity converted from the DTO.
+     */
+    CustomerOrderStatus toCustomerOrderStatus(CustomerOrderStatusDto customerOrderStatusDto);
+
+    /**
+     * Converts a CustomerOrderStatusDetails entity to a CustomerOrderStatusDetailsDto.
+     *
+     * @param customerOrderStatusDetails The entity to be converted.
+     * @return CustomerOrderStatusDetailsDto converted from the entity.
+     */
+    CustomerOrderStatusDetailsDto toCustomerOrderStatusDetailsDto(CustomerOrderStatusDetails
+                                                                          customerOrderStatusDetails);
+}
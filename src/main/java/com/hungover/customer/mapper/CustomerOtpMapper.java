@@ -0,0 +1,21 @@
+package com.hungover.customer.mapper;
+
+import com.hungover.core.domain.customer.CustomerOtp;
+import com.hungover.core.dto.customer.CustomerOtpDto;
+import com.hungover.util.MapStructConfig;
+import org.mapstruct.Mapper;
+
+/**
+ * Mapper from customer OTPs to their DTO, generated at compile time.
+ */
+@Mapper(config = MapStructConfig.class)
+public interface CustomerOtpMapper {
+
+    /**
+     * Converts a CustomerOtp entity to a CustomerOtpDto.
+     *
+     * @param customerOtp The entity to be converted.
+     * @return CustomerOtpDto converted from the entity.
+     */
+    CustomerOtpDto toCustomerOtpDto(CustomerOtp customerOtp);
+}
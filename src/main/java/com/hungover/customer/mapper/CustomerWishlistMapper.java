@@ -0,0 +1,40 @@
+package com.hungover.customer.mapper;
+
+import com.hungover.core.domain.customer.CustomerWishlist;
+import com.hungover.core.dto.customer.CustomerWishlistDto;
+import com.hungover.core.dto.customer.CustomerWishlistKVDto;
+import com.hungover.util.MapStructConfig;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+/**
+ * Mapper between customer wishlists and their DTOs, generated at compile time.
+ */
+@Mapper(config = MapStructConfig.class)
+public interface CustomerWishlistMapper {
+
+    /**
+     * Converts a CustomerWishlist entity to a CustomerWishlistDto.
+     *
+     * @param customerWishlist The entity to be converted.
+     * @return CustomerWishlistDto converted from the entity.
+     */
+    CustomerWishlistDto toCustomerWishlistDto(CustomerWishlist customerWishlist);
+
+    /**
+     * Converts a CustomerWishlistDto to a CustomerWishlist entity.
+     *
+     * @param customerWishlistDto The DTO to be converted.
+     * @return CustomerWishlist entity converted from the DTO.
+     */
+    CustomerWishlist toCustomerWishlist(CustomerWishlistDto customerWishlistDto);
+
+    /**
+     * Converts a CustomerWishlist entity to a CustomerWishlistKVDto, leaving its total to the caller.
+     *
+     * @param customerWishlist The entity to be converted.
+     * @return CustomerWishlistKVDto converted from the entity.
+     */
+    @Mapping(target = "total", ignore = true)
+    CustomerWishlistKVDto toCustomerWishlistKVDto(CustomerWishlist customerWishlist);
+}
@@ -1,9 +1,13 @@
 package com.hungover.customer.repository;
 
 import com.hungover.core.domain.customer.CustomerWishlist;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -44,4 +48,50 @@ public interface CustomerWishlistRepositoryI extends CrudRepository<CustomerWish
      * @param variantId  The ID of the variant.
      */
     void deleteByCustomerIdAndVariantId(String customerId, String variantId);
+
+    /**
+     * Find one customer wishlist per variant, the one of the lowest customer ID, to describe the variants.
+     *
+     * @param variantIds The IDs of the variants.
+     * @return One CustomerWishlist per wishlisted variant.
+     */
+    @Query("SELECT w FROM CustomerWishlist w WHERE w.variantId IN :variantIds AND w.customerId = " +
+            "(SELECT MIN(v.customerId) FROM CustomerWishlist v WHERE v.variantId = w.variantId)")
+    List<CustomerWishlist> findDescribingWishlistsByVariantIdIn(@Param("variantIds") Collection<String> variantIds);
+
+    /**
+     * Count the customer wishlists per variant for the variants after the given one, in variant ID order. Paging
+     * by the last variant ID of the previous page keeps every page a range scan of the variant ID index however deep
+     * it is.
+     *
+     * @param afterVariantId The last variant ID of the previous page, empty for the first page.
+     * @param pageable       The page size; the page number must be 0.
+     * @return The number of wishlists per variant.
+     */
+    @Query("SELECT new com.hungover.customer.repository.CustomerWishlistVariantTotal(w.variantId, COUNT(w)) " +
+            "FROM CustomerWishlist w WHERE w.variantId > :afterVariantId " +
+            "GROUP BY w.variantId ORDER BY w.variantId")
+    List<CustomerWishlistVariantTotal> findVariantTotalsAfter(@Param("afterVariantId") String afterVariantId,
+                                                              Pageable pageable);
+
+    /**
+     * Count the customer wishlists of a variant.
+     *
+     * @param variantId The ID of the variant.
+     * @return The number of wishlists of the variant, empty if nobody wishlisted it.
+     */
+    @Query("SELECT new com.hungover.customer.repository.CustomerWishlistVariantTotal(w.variantId, COUNT(w)) " +
+            "FROM CustomerWishlist w WHERE w.variantId = :variantId GROUP BY w.variantId")
+    List<CustomerWishlistVariantTotal> findVariantTotalsByVariantId(@Param("variantId") String variantId);
+
+    /**
+     * Count the customer wishlists of the given variants.
+     *
+     * @param variantIds The IDs of the variants.
+     * @return The number of wishlists per variant, leaving out the variants nobody wishlisted.
+     */
+    @Query("SELECT new com.hungover.customer.repository.CustomerWishlistVariantTotal(w.variantId, COUNT(w)) " +
+            "FROM CustomerWishlist w WHERE w.variantId IN :variantIds GROUP BY w.variantId")
+    List<CustomerWishlistVariantTotal> findVariantTotalsByVariantIdIn(
+            @Param("variantIds") Collection<String> variantIds);
 }
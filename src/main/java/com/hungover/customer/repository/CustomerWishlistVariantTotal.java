@@ -0,0 +1,25 @@
+package com.hungover.customer.repository;
+
+/**
+ * Projection of the number of customers who wishlisted a variant, built by the database so that counting never
+ * loads the wishlist rows.
+ */
+public class CustomerWishlistVariantTotal {
+
+    private final String variantId;
+    private final long total;
+
+    public CustomerWishlistVariantTotal(String variantId, long total) {
+        super();
+        this.variantId = variantId;
+        this.total = total;
+    }
+
+    public String getVariantId() {
+        return variantId;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+}
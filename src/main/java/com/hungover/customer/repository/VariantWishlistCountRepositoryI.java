@@ -0,0 +1,97 @@
+package com.hungover.customer.repository;
+
+import com.hungover.customer.domain.VariantWishlistCount;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Repository interface for the wishlist counts per variant.
+ */
+@Repository
+public interface VariantWishlistCountRepositoryI extends CrudRepository<VariantWishlistCount, String> {
+
+    /**
+     * Add the given change to the wishlist count of a variant, creating the row if there is none yet.
+     *
+     * @param variantId The ID of the variant.
+     * @param delta     The change in the number of wishlists.
+     * @return The number of affected rows.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO variant_wishlist_count (variant_id, wishlist_count) VALUES (:variantId, :delta) " +
+            "ON DUPLICATE KEY UPDATE wishlist_count = wishlist_count + VALUES(wishlist_count)", nativeQuery = true)
+    int addToCount(@Param("variantId") String variantId, @Param("delta") long delta);
+
+    /**
+     * Set the wishlist count of a variant, creating the row if there is none yet.
+     *
+     * @param variantId     The ID of the variant.
+     * @param wishlistCount The number of wishlists.
+     * @return The number of affected rows.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO variant_wishlist_count (variant_id, wishlist_count) " +
+            "VALUES (:variantId, :wishlistCount) ON DUPLICATE KEY UPDATE wishlist_count = VALUES(wishlist_count)",
+            nativeQuery = true)
+    int setCount(@Param("variantId") String variantId, @Param("wishlistCount") long wishlistCount);
+
+    /**
+     * Create the wishlist count of a variant unless there is one already.
+     *
+     * @param variantId     The ID of the variant.
+     * @param wishlistCount The number of wishlists.
+     * @return {@code 1} if the row was created, {@code 0} if it already existed.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO variant_wishlist_count (variant_id, wishlist_count) " +
+            "VALUES (:variantId, :wishlistCount)", nativeQuery = true)
+    int insertIfAbsent(@Param("variantId") String variantId, @Param("wishlistCount") long wishlistCount);
+
+    /**
+     * Set the wishlist count of a variant only if it still holds the expected value.
+     *
+     * @param variantId     The ID of the variant.
+     * @param expectedCount The number of wishlists the row must hold.
+     * @param wishlistCount The new number of wishlists.
+     * @return {@code 1} if the count was set, {@code 0} if the row holds another value or does not exist.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE variant_wishlist_count SET wishlist_count = :wishlistCount " +
+            "WHERE variant_id = :variantId AND wishlist_count = :expectedCount", nativeQuery = true)
+    int compareAndSetCount(@Param("variantId") String variantId, @Param("expectedCount") long expectedCount,
+                           @Param("wishlistCount") long wishlistCount);
+
+    /**
+     * Find the wishlisted variants after the given one, in variant ID order.
+     *
+     * @param afterVariantId The last variant ID of the previous page, empty for the first page.
+     * @param pageable       The page size; the page number must be 0.
+     * @return The number of wishlists per variant.
+     */
+    @Query("SELECT new com.hungover.customer.repository.CustomerWishlistVariantTotal(c.variantId, c.wishlistCount) " +
+            "FROM VariantWishlistCount c WHERE c.variantId > :afterVariantId AND c.wishlistCount > 0 " +
+            "ORDER BY c.variantId")
+    List<CustomerWishlistVariantTotal> findVariantTotalsAfter(@Param("afterVariantId") String afterVariantId,
+                                                              Pageable pageable);
+
+    /**
+     * Find the most wishlisted variants, read in order from the count index.
+     *
+     * @param pageable The number of variants; the page number must be 0.
+     * @return The number of wishlists per variant, most wishlisted first.
+     */
+    @Query("SELECT new com.hungover.customer.repository.CustomerWishlistVariantTotal(c.variantId, c.wishlistCount) " +
+            "FROM VariantWishlistCount c WHERE c.wishlistCount > 0 ORDER BY c.wishlistCount DESC, c.variantId DESC")
+    List<CustomerWishlistVariantTotal> findTopVariantTotals(Pageable pageable);
+}
@@ -70,13 +70,38 @@ public class CustomerApiResponseService {
     }
 
     /**
-     * Get all customer wishlists grouped by variant id.
+     * Get a page of customer wishlists grouped by variant id.
      *
-     * @return ApiListResponse containing all customer wishlists.
+     * @param variantId      The variant id to restrict the result to, or {@code null} for every variant.
+     * @param afterVariantId The last variant id of the previous page, or {@code null} for the first page.
+     * @param limit          The page size.
+     * @return ApiListResponse containing the customer wishlists of the page.
      */
-    public ApiListResponse getAllCustomerWishlist() {
+    public ApiListResponse getAllCustomerWishlist(String variantId, String afterVariantId, int limit) {
         ApiListResponse apiListResponse = new ApiListResponse();
-        List<CustomerWishlistKVDto> customerWishlistDtoList = customerService.getAllCustomerWishlist();
+        List<CustomerWishlistKVDto> customerWishlistDtoList = customerService.getAllCustomerWishlist(variantId,
+                afterVariantId, limit);
+        if (!customerWishlistDtoList.isEmpty()) {
+            apiListResponse.setResponse(ApplicationConstants.Status.SUCCESS,
+                    messageSource.getMessage("api.customer.wishlist.success", null, Locale.ENGLISH),
+                    customerWishlistDtoList);
+        } else {
+            apiListResponse.setResponse(ApplicationConstants.Status.FAIL,
+                    messageSource.getMessage("api.customer.wishlist.fail", null, Locale.ENGLISH),
+                    null);
+        }
+        return apiListResponse;
+    }
+
+    /**
+     * Get the most wishlisted variants.
+     *
+     * @param limit The number of variants.
+     * @return ApiListResponse containing the most wishlisted variants, most wishlisted first.
+     */
+    public ApiListResponse getMostWishedVariants(int limit) {
+        ApiListResponse apiListResponse = new ApiListResponse();
+        List<CustomerWishlistKVDto> customerWishlistDtoList = customerService.getMostWishedVariants(limit);
         if (!customerWishlistDtoList.isEmpty()) {
             apiListResponse.setResponse(ApplicationConstants.Status.SUCCESS,
                     messageSource.getMessage("api.customer.wishlist.success", null, Locale.ENGLISH),
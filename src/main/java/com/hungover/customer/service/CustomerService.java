@@ -4,8 +4,11 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.gson.Gson;
+import com.google.gson.stream.JsonReader;
 import com.hungover.admin.repository.CustomerOrderStatusRepositoryI;
 import com.hungover.admin.service.AdminService;
+import com.hungover.analytics.domain.ClosedMonthSegment;
+import com.hungover.analytics.service.ClosedMonthSegmentService;
 import com.hungover.common.constant.ApplicationConstants;
 import com.hungover.common.domain.DomainObject;
 import com.hungover.common.exception.RecordNotFoundException;
@@ -30,29 +33,37 @@ import com.hungover.core.dto.customer.CustomerMeasurementFeedbackDto;
 import com.hungover.core.dto.customer.CustomerOrderStatusDto;
 import com.hungover.core.dto.customer.CustomerOtpDto;
 import com.hungover.core.dto.customer.CustomerResetPasswordDto;
-import com.hungover.core.dto.customer.CustomerResponseDto;
 import com.hungover.core.dto.customer.CustomerWishlistDto;
 import com.hungover.core.dto.customer.CustomerWishlistKVDto;
 import com.hungover.core.dto.customer.ResetPasswordDto;
+import com.hungover.customer.mapper.CustomerFeedbackMapper;
+import com.hungover.customer.mapper.CustomerMeasurementMapper;
+import com.hungover.customer.mapper.CustomerOtpMapper;
+import com.hungover.customer.mapper.CustomerWishlistMapper;
 import com.hungover.customer.repository.CustomerFeedbackRepositoryI;
 import com.hungover.customer.repository.CustomerMeasurementFeedbackRepositoryI;
 import com.hungover.customer.repository.CustomerMeasurementRepositoryI;
 import com.hungover.customer.repository.CustomerOtpRepository;
 import com.hungover.customer.repository.CustomerWishlistRepositoryI;
+import com.hungover.customer.repository.CustomerWishlistVariantTotal;
 import com.hungover.email.notification.service.EmailNotificationService;
+import com.hungover.shopify.client.ShopifyClient;
+import com.hungover.shopify.client.ShopifyJsonStream;
+import com.hungover.shopify.client.ShopifyPagePipeline;
+import com.hungover.shopify.client.ShopifyResponse;
 import com.hungover.util.AdminMapperUtil;
 import org.apache.velocity.Template;
 import org.apache.velocity.VelocityContext;
 import org.apache.velocity.app.VelocityEngine;
 import org.apache.velocity.runtime.RuntimeConstants;
 import org.apache.velocity.runtime.resource.loader.ClasspathResourceLoader;
-import org.json.JSONArray;
 import org.json.JSONObject;
-import org.modelmapper.ModelMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.MessageSource;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.MediaType;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
@@ -63,26 +74,26 @@ import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestTemplate;
 import java.io.IOException;
 import java.io.StringWriter;
-import java.io.InputStreamReader;
-import java.io.BufferedReader;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
-import java.net.HttpURLConnection;
-import java.net.URL;
 import java.text.ParseException;
+import java.time.Year;
+import java.time.YearMonth;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.HashMap;
-import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Random;
-import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
 import java.util.stream.Collectors;
-import java.util.stream.IntStream;
 
 /**
  * Service class for handling customer-related operations.
@@ -95,24 +106,27 @@ public class CustomerService {
     private static final String SHOPIFY_ENDPOINT_URL_QUESTIONMARK = "?";
     private static final String SHOPIFY_ENDPOINT_PARAM_PROCESSED_AT_MIN = "processed_at_min=";
     private static final String SHOPIFY_ENDPOINT_PARAM_PROCESSED_AT_MAX = "&processed_at_max=";
+    private static final String SHOPIFY_ENDPOINT_PARAM_CREATED_AT_MIN = "created_at_min=";
+    private static final String SHOPIFY_ENDPOINT_PARAM_CREATED_AT_MAX = "&created_at_max=";
     private static final String SHOPIFY_ENDPOINT_LIMIT = "limit=250";
     private static final String SHOPIFY_ENDPOINT_REQUIRED_FIELDS = "fields=id,email,first_name,last_name,phone," +
             "address,orders_count,verified_email,total_spent,created_at&";
-    private static final String EQUAL_TO = "=";
-    private static final String RESPONSE_HINT_FOR_NEXT_PAGE = "rel=\"next\"";
-    private static final String SPLIT_WITH_COMMA = ",";
-    private static final String SPLIT_WITH_SEMI_COLON = ";";
     private static final String SPLIT_WITH_AND_SYMBOL = "&";
-    private static final String REPLACE_WITH_GREATER_THAN = ">";
     private static final String SHOPIFY_ENDPOINT_JSON = ".json";
+    private static final String SHOPIFY_ENDPOINT_COUNT_JSON = "/count.json";
+    private static final String REST_COUNT = "count";
     private static final Integer RANDOM_GENERATION_CODE_MAX_VALUE = 999999;
     private static final Integer RANDOM_GENERATION_CODE_MIN_VALUE = 100000;
     private static final Double DEFAULT_DOUBLE_VALUE = 0.0;
     private static final String DEFAULT_PASSWORD = "Password@123";
     private static final String DEFAULT_COUNTRY_CODE = "IN";
+    private static final int MAX_WISHLIST_PAGE_SIZE = 500;
     private Random random = new Random();
     private CustomerWishlistRepositoryI customerWishlistRepository;
-    private ModelMapper modelMapper;
+    private CustomerWishlistMapper customerWishlistMapper;
+    private CustomerMeasurementMapper customerMeasurementMapper;
+    private CustomerFeedbackMapper customerFeedbackMapper;
+    private CustomerOtpMapper customerOtpMapper;
     private CustomerFeedbackRepositoryI customerFeedbackRepository;
     private CustomerMeasurementRepositoryI customerMeasurementRepository;
     private CustomerMeasurementFeedbackRepositoryI customerMeasurementFeedbackRepositoryI;
@@ -124,6 +138,11 @@ public class CustomerService {
     private VelocityEngine velocityEngine;
     private AdminMapperUtil adminMapperUtil;
     private AdminService adminService;
+    private ShopifyClient shopifyClient;
+    private ShopifyPagePipeline shopifyPagePipeline;
+    private ClosedMonthSegmentService closedMonthSegmentService;
+    private ExecutorService shopifyFanOutExecutor;
+    private WishlistCountService wishlistCountService;
 
     @Value("${shopifyAccessToken}")
     String shopifyAccessToken;
@@ -134,17 +153,27 @@ public class CustomerService {
     @Value("${from.email}")
     private String fromEmail;
 
-    public CustomerService(CustomerWishlistRepositoryI customerWishlistRepository, ModelMapper modelMapper,
+    public CustomerService(CustomerWishlistRepositoryI customerWishlistRepository,
+                           CustomerWishlistMapper customerWishlistMapper,
+                           CustomerMeasurementMapper customerMeasurementMapper,
+                           CustomerFeedbackMapper customerFeedbackMapper, CustomerOtpMapper customerOtpMapper,
                            CustomerFeedbackRepositoryI customerFeedbackRepository,
                            CustomerMeasurementRepositoryI customerMeasurementRepository,
                            MessageSource messageSource, RestTemplate restTemplate,
                            CustomerOtpRepository customerOtpRepository,
                            EmailNotificationService emailNotificationService, AdminMapperUtil adminMapperUtil,
                            CustomerMeasurementFeedbackRepositoryI customerMeasurementFeedbackRepositoryI,
-                           CustomerOrderStatusRepositoryI customerOrderStatusRepositoryI, AdminService adminService) {
+                           CustomerOrderStatusRepositoryI customerOrderStatusRepositoryI, AdminService adminService,
+                           ShopifyClient shopifyClient, ShopifyPagePipeline shopifyPagePipeline,
+                           ClosedMonthSegmentService closedMonthSegmentService,
+                           @Qualifier("shopifyFanOutExecutor") ExecutorService shopifyFanOutExecutor,
+                           WishlistCountService wishlistCountService) {
         super();
         this.customerWishlistRepository = customerWishlistRepository;
-        this.modelMapper = modelMapper;
+        this.customerWishlistMapper = customerWishlistMapper;
+        this.customerMeasurementMapper = customerMeasurementMapper;
+        this.customerFeedbackMapper = customerFeedbackMapper;
+        this.customerOtpMapper = customerOtpMapper;
         this.customerFeedbackRepository = customerFeedbackRepository;
         this.customerMeasurementRepository = customerMeasurementRepository;
         this.messageSource = messageSource;
@@ -155,6 +184,11 @@ public class CustomerService {
         this.customerMeasurementFeedbackRepositoryI = customerMeasurementFeedbackRepositoryI;
         this.customerOrderStatusRepositoryI = customerOrderStatusRepositoryI;
         this.adminService = adminService;
+        this.shopifyClient = shopifyClient;
+        this.shopifyPagePipeline = shopifyPagePipeline;
+        this.closedMonthSegmentService = closedMonthSegmentService;
+        this.shopifyFanOutExecutor = shopifyFanOutExecutor;
+        this.wishlistCountService = wishlistCountService;
         velocityEngine = new VelocityEngine();
         velocityEngine.setProperty(RuntimeConstants.RESOURCE_LOADER, "classpath");
         velocityEngine.setProperty("classpath.resource.loader.class", ClasspathResourceLoader.class.getName());
@@ -173,7 +207,7 @@ public class CustomerService {
         if (!customerWishlist.isEmpty()) {
             customerWishlist.forEach(customerWishListDataObj -> {
                 CustomerWishlistDto customerWishlistDtoObj;
-                customerWishlistDtoObj = modelMapper.map(customerWishListDataObj, CustomerWishlistDto.class);
+                customerWishlistDtoObj = customerWishlistMapper.toCustomerWishlistDto(customerWishListDataObj);
                 customerWishlistDtoList.add(customerWishlistDtoObj);
             });
         } else {
@@ -184,32 +218,71 @@ public class CustomerService {
     }
 
     /**
-     * Get all customer wishlists grouped by variant id.
+     * Get a page of customer wishlists grouped by variant id, in variant id order. The totals are read from the
+     * maintained wishlist counts once they are ready and counted by the database until then, and only one wishlist
+     * per variant on the page is read to describe it.
      *
-     * @return List of CustomerWishlistKVDto containing all customer wishlists grouped by variant id.
+     * @param variantId      The variant id to restrict the result to, or {@code null} for every variant.
+     * @param afterVariantId The last variant id of the previous page, or {@code null} for the first page.
+     * @param limit          The page size, at most {@value #MAX_WISHLIST_PAGE_SIZE}.
+     * @return List of CustomerWishlistKVDto containing the customer wishlists grouped by variant id.
      */
-    public List<CustomerWishlistKVDto> getAllCustomerWishlist() {
-        Set<CustomerWishlistKVDto> customerWishlistKVDtoSet = new HashSet<>();
-        List<CustomerWishlist> listCustomerWishlist =
-                (List<CustomerWishlist>) customerWishlistRepository.findAll();
-        Map<String, List<CustomerWishlist>> customerWishListDtoMap = listCustomerWishlist.
-                stream().collect(Collectors.groupingBy(CustomerWishlist::getVariantId));
-        Map<String, Long> lcustomerWishListDtoMap = listCustomerWishlist.
-                stream().collect(Collectors.groupingBy(CustomerWishlist::getVariantId,
-                        Collectors.counting()));
-        for (Map.Entry<String, List<CustomerWishlist>> entry : customerWishListDtoMap.entrySet()) {
-            String variantId = entry.getKey();
-            List<CustomerWishlist> customerWishlist = entry.getValue();
-            Long lCountOfSameVariantId = lcustomerWishListDtoMap.getOrDefault(variantId, 0L);
-            int totalCountOfSameVariantId = Math.toIntExact(lCountOfSameVariantId);
-            customerWishlist.forEach(data -> {
-                CustomerWishlistKVDto customerWishlistKVDtoObj;
-                customerWishlistKVDtoObj = modelMapper.map(data, CustomerWishlistKVDto.class);
-                customerWishlistKVDtoObj.setTotal(totalCountOfSameVariantId);
-                customerWishlistKVDtoSet.add(customerWishlistKVDtoObj);
-            });
+    public List<CustomerWishlistKVDto> getAllCustomerWishlist(String variantId, String afterVariantId, int limit) {
+        List<CustomerWishlistVariantTotal> variantTotals;
+        if (Optional.ofNullable(variantId).isPresent()) {
+            variantTotals = customerWishlistRepository.findVariantTotalsByVariantId(variantId);
+        } else {
+            String firstVariantId = Optional.ofNullable(afterVariantId).orElse(DEFAULT_EMPTY);
+            int pageSize = getWishlistPageSize(limit);
+            variantTotals = wishlistCountService.isReady() ?
+                    wishlistCountService.findVariantTotalsAfter(firstVariantId, pageSize) :
+                    customerWishlistRepository.findVariantTotalsAfter(firstVariantId, PageRequest.of(0, pageSize));
         }
-        return new ArrayList<>(customerWishlistKVDtoSet);
+        return getCustomerWishlistKVDtoList(variantTotals);
+    }
+
+    /**
+     * Get the most wishlisted variants from the maintained wishlist counts.
+     *
+     * @param limit The number of variants, at most {@value #MAX_WISHLIST_PAGE_SIZE}.
+     * @return List of CustomerWishlistKVDto, most wishlisted first.
+     */
+    public List<CustomerWishlistKVDto> getMostWishedVariants(int limit) {
+        return getCustomerWishlistKVDtoList(wishlistCountService.findTopVariantTotals(getWishlistPageSize(limit)));
+    }
+
+    private static int getWishlistPageSize(int limit) {
+        return Math.max(1, Math.min(limit, MAX_WISHLIST_PAGE_SIZE));
+    }
+
+    /**
+     * Describes every variant with one of its wishlists and its total. The describing wishlists of the whole page
+     * are read with a single query.
+     *
+     * @param variantTotals The number of wishlists per variant.
+     * @return List of CustomerWishlistKVDto in the order of the totals.
+     */
+    private List<CustomerWishlistKVDto> getCustomerWishlistKVDtoList(
+            List<CustomerWishlistVariantTotal> variantTotals) {
+        if (variantTotals.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Map<String, CustomerWishlist> describingWishlistMap = new HashMap<>();
+        customerWishlistRepository.findDescribingWishlistsByVariantIdIn(variantTotals.stream()
+                        .map(CustomerWishlistVariantTotal::getVariantId).collect(Collectors.toList()))
+                .forEach(customerWishlist -> describingWishlistMap.putIfAbsent(customerWishlist.getVariantId(),
+                        customerWishlist));
+        List<CustomerWishlistKVDto> customerWishlistKVDtoList = new ArrayList<>(variantTotals.size());
+        variantTotals.forEach(variantTotal -> {
+            CustomerWishlist customerWishlist = describingWishlistMap.get(variantTotal.getVariantId());
+            if (Optional.ofNullable(customerWishlist).isPresent()) {
+                CustomerWishlistKVDto customerWishlistKVDtoObj = customerWishlistMapper.toCustomerWishlistKVDto(
+                        customerWishlist);
+                customerWishlistKVDtoObj.setTotal(Math.toIntExact(variantTotal.getTotal()));
+                customerWishlistKVDtoList.add(customerWishlistKVDtoObj);
+            }
+        });
+        return customerWishlistKVDtoList;
     }
 
     /**
@@ -224,7 +297,7 @@ public class CustomerService {
         if (!(customerWishlist.isEmpty())) {
             customerWishlist.forEach(customerWishListDataObj -> {
                 CustomerWishlistDto customerWishlistDtoObj;
-                customerWishlistDtoObj = modelMapper.map(customerWishListDataObj, CustomerWishlistDto.class);
+                customerWishlistDtoObj = customerWishlistMapper.toCustomerWishlistDto(customerWishListDataObj);
                 customerWishlistDtoList.add(customerWishlistDtoObj);
             });
         } else {
@@ -245,7 +318,7 @@ public class CustomerService {
         customerFeedbackList.forEach(data -> {
             if (Optional.ofNullable(data.getCustomerName()).isPresent()) {
                 CustomerFeedbackKVDto customerFeedbackKVDto;
-                customerFeedbackKVDto = modelMapper.map(data, CustomerFeedbackKVDto.class);
+                customerFeedbackKVDto = customerFeedbackMapper.toCustomerFeedbackKVDto(data);
                 String strCustomerFeedbackCreatedDate =
                         AppUtil.getStringDateFromDate(data.getCreatedDate());
                 customerFeedbackKVDto.setCreatedDate(
@@ -269,7 +342,7 @@ public class CustomerService {
         if (!(customerMeasurementList.isEmpty())) {
             customerMeasurementList.forEach(data -> {
                 CustomerMeasurementDto customerMeasurementDtoObj;
-                customerMeasurementDtoObj = modelMapper.map(data, CustomerMeasurementDto.class);
+                customerMeasurementDtoObj = customerMeasurementMapper.toCustomerMeasurementDto(data);
                 customerMeasurementDtoList.add(customerMeasurementDtoObj);
             });
         } else {
@@ -283,7 +356,7 @@ public class CustomerService {
         CustomerMeasurement customerMeasurementObj = customerMeasurementRepository
                 .findByCustomerIdAndName(customerId,sizeName);
         if (Optional.ofNullable(customerMeasurementObj).isPresent()) {
-            return modelMapper.map(customerMeasurementObj,CustomerMeasurementDto.class);
+            return customerMeasurementMapper.toCustomerMeasurementDto(customerMeasurementObj);
         } else {
             throw new RecordNotFoundException(messageSource.getMessage("api.customer.measurement.not.found",
                     null, Locale.ENGLISH));
@@ -302,7 +375,8 @@ public class CustomerService {
                 customerMeasurementRepository.findById(customerMeasurementId);
         if (customerMeasurement.isPresent()) {
             customerMeasurementRepository.deleteById(customerMeasurementId);
-            customerMeasurementDto = modelMapper.map(customerMeasurement.get(), CustomerMeasurementDto.class);
+            customerMeasurementDto = customerMeasurementMapper.toCustomerMeasurementDto(
+                    customerMeasurement.get());
         } else {
             throw new RecordNotFoundException(messageSource.getMessage("api.customer.measurement.id.not.found",
                     new String[]{customerMeasurementId.toString()}, Locale.ENGLISH));
@@ -367,15 +441,21 @@ public class CustomerService {
     }
 
     /**
-     * Save customer wishlist.
+     * Save customer wishlist. The wishlist count of the variant goes up unless the customer already had it.
      *
      * @param customerWishlistDto The customer wishlist data to be saved.
      * @return CustomerWishlistDto containing the saved customer wishlist data.
      */
     public CustomerWishlistDto saveCustomerWishlist(CustomerWishlistDto customerWishlistDto) {
-        CustomerWishlist customerWishlistObj = modelMapper.map(customerWishlistDto, CustomerWishlist.class);
+        CustomerWishlist customerWishlistObj = customerWishlistMapper.toCustomerWishlist(customerWishlistDto);
+        wishlistCountService.awaitSeeded();
+        boolean newWishlist = Optional.ofNullable(customerWishlistRepository.findByCustomerIdAndVariantId(
+                customerWishlistObj.getCustomerId(), customerWishlistObj.getVariantId())).isEmpty();
         CustomerWishlist savedCustomerWishlistObj = customerWishlistRepository.save(customerWishlistObj);
-        return modelMapper.map(savedCustomerWishlistObj, CustomerWishlistDto.class);
+        if (newWishlist) {
+            wishlistCountService.recordChange(savedCustomerWishlistObj.getVariantId(), 1);
+        }
+        return customerWishlistMapper.toCustomerWishlistDto(savedCustomerWishlistObj);
     }
 
     /**
@@ -389,7 +469,7 @@ public class CustomerService {
         CustomerWishlist existingCustomerWishlistObj = customerWishlistRepository.
                 findByCustomerIdAndVariantId(customerId, variantId);
         if (Optional.ofNullable(existingCustomerWishlistObj).isPresent()) {
-            return modelMapper.map(existingCustomerWishlistObj, CustomerWishlistDto.class);
+            return customerWishlistMapper.toCustomerWishlistDto(existingCustomerWishlistObj);
         } else {
             throw new RecordNotFoundException(messageSource.getMessage(
                     "api.get.customer.wishlist.customerId.and.variantId.fail",
@@ -398,7 +478,7 @@ public class CustomerService {
     }
 
     /**
-     * Delete customer wishlist based on customer id and variant id.
+     * Delete customer wishlist based on customer id and variant id. The wishlist count of the variant goes down.
      *
      * @param customerId The customer id for which to delete the wishlist.
      * @param variantId  The variant id for which to delete the wishlist.
@@ -408,8 +488,10 @@ public class CustomerService {
         CustomerWishlist existingCustomerWishlistObj = customerWishlistRepository.
                 findByCustomerIdAndVariantId(customerId, variantId);
         if (Optional.ofNullable(existingCustomerWishlistObj).isPresent()) {
+            wishlistCountService.awaitSeeded();
             customerWishlistRepository.deleteByCustomerIdAndVariantId(customerId, variantId);
-            return modelMapper.map(existingCustomerWishlistObj, CustomerWishlistDto.class);
+            wishlistCountService.recordChange(variantId, -1);
+            return customerWishlistMapper.toCustomerWishlistDto(existingCustomerWishlistObj);
         } else {
             throw new RecordNotFoundException(messageSource.getMessage(
                     "api.get.customer.wishlist.customerId.and.variantId.fail",
@@ -426,26 +508,10 @@ public class CustomerService {
     public List<CustomerKeyValueDto> getAllCustomerListFromShopify(String shopifyCustomerEndPoint,
                                                                    String shopifyAccessToken) throws IOException {
         customerServiceLogger.info("Entered get customer details from Shopify API call:::::::::::::::");
-        String pageInfo = "";
         List<CustomerKeyValueDto> allCustomerList = new ArrayList<>();
-        boolean shouldBreak = false;
-        while (!shouldBreak) {
-            URL urlConnector = new URL(buildUrlWithPageInfo(shopifyCustomerEndPoint, pageInfo));
-            HttpURLConnection httpConnection = createHttpConnection(urlConnector, shopifyAccessToken);
-            int responseCode = httpConnection.getResponseCode();
-            if (responseCode==HttpURLConnection.HTTP_OK) {
-                processHttpResponseForCustomerKeyValueDtoList(httpConnection, allCustomerList);
-                String linkHeader = httpConnection.getHeaderField(ApplicationConstants.ShopifyApiHeaders.LINK);
-                if (linkHeader==null || !linkHeader.contains(RESPONSE_HINT_FOR_NEXT_PAGE)) {
-                    shouldBreak = true;
-                } else {
-                    pageInfo = parseNextPageInfo(linkHeader);
-                }
-            } else {
-                shouldBreak = true;
-            }
-            httpConnection.disconnect();
-        }
+        shopifyPagePipeline.forEachPage(shopifyClient, buildUrlWithPageInfo(shopifyCustomerEndPoint, DEFAULT_EMPTY),
+                shopifyAccessToken, shopifyResponse -> processHttpResponseForCustomerKeyValueDtoList(shopifyResponse,
+                        allCustomerList));
         return allCustomerList;
     }
 
@@ -462,104 +528,67 @@ public class CustomerService {
     }
 
     /**
-     * Creates an HTTP connection with the provided URL and Shopify access token.
-     *
-     * @param urlConnector       The URL to which the connection will be established.
-     * @param shopifyAccessToken The Shopify access token to be set as a request property.
-     * @return An instance of HttpURLConnection for the established connection.
-     * @throws IOException If an I/O error occurs while opening the connection.
-     */
-    private HttpURLConnection createHttpConnection(URL urlConnector, String shopifyAccessToken) throws IOException {
-        HttpURLConnection httpConnection = (HttpURLConnection) urlConnector.openConnection();
-        httpConnection.setRequestMethod(ApplicationConstants.ShopifyApiHeaders.GET_REQUEST_METHOD);
-        httpConnection.setRequestProperty(ApplicationConstants.ShopifyApiHeaders.SHOPIFY_ACCESS_TOKEN,
-                shopifyAccessToken);
-        return httpConnection;
-    }
-
-    /**
-     * Processes the HTTP response from the given HttpURLConnection to extract customer data and populate the list.
+     * Processes the given Shopify response to extract customer data and populate the list, streaming the customers
+     * straight from the response body. Customers without a first name are left out.
      *
-     * @param httpConnection  The HttpURLConnection from which to read the response.
+     * @param shopifyResponse The Shopify response from which to read the customers.
      * @param allCustomerList The list to populate with CustomerKeyValueDto objects.
      * @throws IOException If an I/O error occurs while reading the response.
      */
-    void processHttpResponseForCustomerKeyValueDtoList(HttpURLConnection httpConnection,
+    void processHttpResponseForCustomerKeyValueDtoList(ShopifyResponse shopifyResponse,
                                                        List<CustomerKeyValueDto> allCustomerList) throws IOException {
-        try (BufferedReader httpConnectionBufferReader = new BufferedReader(new InputStreamReader(
-                httpConnection.getInputStream()))) {
-            String sbNewLine = httpConnectionBufferReader.lines().collect(Collectors.joining());
-            JSONObject responseObject = new JSONObject(sbNewLine);
-            JSONArray customers = responseObject.getJSONArray(DomainObject.Customer.CUSTOMERS);
-            List<CustomerKeyValueDto> customerList = IntStream.range(0, customers.length())
-                    .mapToObj(customers::getJSONObject)
-                    .map(this::createCustomerKeyValueDto)
-                    .collect(Collectors.toList());
-            List<CustomerKeyValueDto> filterCustomerList = customerList.stream().
-                    filter(customerObj -> Objects.nonNull(customerObj.getFirst_name())).collect(Collectors.toList());
-            allCustomerList.addAll(filterCustomerList);
-        }
+        ShopifyJsonStream.forEachElement(shopifyResponse.getBodyReader(), DomainObject.Customer.CUSTOMERS,
+                this::readCustomerKeyValueDto, customerKeyValueDto -> {
+                    if (Objects.nonNull(customerKeyValueDto.getFirst_name())) {
+                        allCustomerList.add(customerKeyValueDto);
+                    }
+                });
     }
 
     /**
-     * Creates a {@link CustomerKeyValueDto} object from the JSON representation of a customer obtained from the API.
+     * Reads one customer of the customers array into a CustomerKeyValueDto, materializing only the fields the list
+     * view shows and skipping the rest of the customer.
      *
-     * @param customerObj The JSON object representing a customer's data.
+     * @param jsonReader The reader positioned at the start of a customer object.
      * @return A {@link CustomerKeyValueDto} object containing customer data.
+     * @throws IOException If the customer cannot be read from the stream.
      */
-    public CustomerKeyValueDto createCustomerKeyValueDto(JSONObject customerObj) {
-        customerServiceLogger.info("Entered customer key value dto::::::::::::::::::");
+    private CustomerKeyValueDto readCustomerKeyValueDto(JsonReader jsonReader) throws IOException {
         CustomerKeyValueDto customerKeyValueDto = new CustomerKeyValueDto();
-        if (!customerObj.isNull(DomainObject.Customer.FIRST_NAME)) {
-            customerKeyValueDto.setFirst_name(customerObj.optString(DomainObject.Customer.FIRST_NAME, DEFAULT_EMPTY));
-            customerKeyValueDto.setVerified_email(customerObj.optBoolean(
-                    DomainObject.Customer.VERIFIED_EMAIL, false));
-            customerKeyValueDto.setPhone(customerObj.optString(DomainObject.Customer.PHONE, DEFAULT_EMPTY));
-            customerKeyValueDto.setOrders(customerObj.optInt(DomainObject.Customer.ORDERS_COUNT, 0) +
-                    ApplicationConstants.Orders.ORDERS);
-            customerKeyValueDto.setOrderPrice(ApplicationConstants.Orders.PRICE_IN_RUPEES +
-                    customerObj.optDouble(DomainObject.Customer.TOTAL_SPENT, 0.0));
-            customerKeyValueDto.setId(customerObj.optLong(DomainObject.Customer.ID, 0L));
-            customerKeyValueDto.setEmail(customerObj.optString(DomainObject.Customer.EMAIL, DEFAULT_EMPTY));
-        }
-        return customerKeyValueDto;
-    }
-
-    /**
-     * Parses the "Link" header in the HTTP response to extract the URL of the next page of results.
-     *
-     * @param linkHeader The "Link" header containing the URL of the next page.
-     * @return The URL of the next page of results, or {@code null} if there's no next page.
-     */
-    String parseNextLink(String linkHeader) {
-        String[] links = linkHeader.split(SPLIT_WITH_COMMA);
-        for (String link : links) {
-            if (link.contains(RESPONSE_HINT_FOR_NEXT_PAGE)) {
-                return link.split(SPLIT_WITH_SEMI_COLON)[0].trim();
+        long ordersCount = 0L;
+        double totalSpent = 0.0;
+        jsonReader.beginObject();
+        while (jsonReader.hasNext()) {
+            String name = jsonReader.nextName();
+            if (DomainObject.Customer.FIRST_NAME.equals(name)) {
+                customerKeyValueDto.setFirst_name(ShopifyJsonStream.nextString(jsonReader, null));
+            } else if (DomainObject.Customer.VERIFIED_EMAIL.equals(name)) {
+                customerKeyValueDto.setVerified_email(ShopifyJsonStream.nextBoolean(jsonReader, false));
+            } else if (DomainObject.Customer.PHONE.equals(name)) {
+                customerKeyValueDto.setPhone(ShopifyJsonStream.nextString(jsonReader, DEFAULT_EMPTY));
+            } else if (DomainObject.Customer.ORDERS_COUNT.equals(name)) {
+                ordersCount = ShopifyJsonStream.nextLong(jsonReader, 0L);
+            } else if (DomainObject.Customer.TOTAL_SPENT.equals(name)) {
+                totalSpent = ShopifyJsonStream.nextDouble(jsonReader, 0.0);
+            } else if (DomainObject.Customer.ID.equals(name)) {
+                customerKeyValueDto.setId(ShopifyJsonStream.nextLong(jsonReader, 0L));
+            } else if (DomainObject.Customer.EMAIL.equals(name)) {
+                customerKeyValueDto.setEmail(ShopifyJsonStream.nextString(jsonReader, DEFAULT_EMPTY));
+            } else {
+                jsonReader.skipValue();
             }
         }
-        return null;
-    }
-
-    /**
-     * Parses the query parameters from a URL and returns them as a map.
-     *
-     * @param link The URL containing the query parameters.
-     * @return A {@link Map} containing the query parameters and their values.
-     */
-    Map<String, String> parseQueryParameters(String link) {
-        Map<String, String> params = new HashMap<>();
-        String[] queryParams = link.substring(
-                link.indexOf(SHOPIFY_ENDPOINT_URL_QUESTIONMARK) + 1).split(SPLIT_WITH_AND_SYMBOL);
-        for (String queryParam : queryParams) {
-            String[] param = queryParam.split(EQUAL_TO);
-            params.put(param[0], param[1]);
-        }
-        return params;
+        jsonReader.endObject();
+        customerKeyValueDto.setOrders(ordersCount + ApplicationConstants.Orders.ORDERS);
+        customerKeyValueDto.setOrderPrice(ApplicationConstants.Orders.PRICE_IN_RUPEES + totalSpent);
+        return customerKeyValueDto;
     }
 
     /**
-     * Retrieves customer count data by month for the specified years from the Shopify API.
+     * Retrieves customer count data by month for the specified years from the Shopify API. Closed months are read
+     * from their stored segments; every other month is counted with its own date-bounded customer count request,
+     * and the requests of both years run concurrently, so the cost depends on the number of months rather than on
+     * the size of the customer base.
      *
      * @param lastYear    The last year for which to fetch customer count data.
      * @param currentYear The current year for which to fetch customer count data.
@@ -578,8 +607,12 @@ public class CustomerService {
         Map<String, Double> currentYearData = calendarMonthsList.stream().collect(Collectors.toMap(
                 month -> month,
                 month -> DEFAULT_DOUBLE_VALUE));
-        fetchCustomerDataFromShopify(shopifyCustomerEndPoint, lastYearData, lastYear, shopifyAccessToken);
-        fetchCustomerDataFromShopify(shopifyCustomerEndPoint, currentYearData, currentYear, shopifyAccessToken);
+        Map<YearMonth, CompletableFuture<Integer>> lastYearCounts = startCustomerCountsOfYear(
+                shopifyCustomerEndPoint, lastYearData, lastYear, shopifyAccessToken);
+        Map<YearMonth, CompletableFuture<Integer>> currentYearCounts = startCustomerCountsOfYear(
+                shopifyCustomerEndPoint, currentYearData, currentYear, shopifyAccessToken);
+        awaitCustomerCounts(lastYearCounts, lastYearData);
+        awaitCustomerCounts(currentYearCounts, currentYearData);
         customerCountYearData.put(Integer.toString(lastYear), lastYearData);
         customerCountYearData.put(Integer.toString(currentYear), currentYearData);
         double lastYearCount = lastYearData.values().stream().mapToDouble(Double::doubleValue).sum();
@@ -592,112 +625,101 @@ public class CustomerService {
     }
 
     /**
-     * Fetches customer data from the Shopify API and processes it to count the customers for the specified year.
+     * Fills in the months of the year, up to the current month, that have a stored segment and starts a customer
+     * count request on the fan-out executor for each of the other months.
      *
-     * @param url          The URL of the Shopify API endpoint.
+     * @param url          The URL of the Shopify customers endpoint.
      * @param customerData The map to store the customer count data.
      * @param year         The year for which to count the customers.
-     * @throws IOException If an I/O error occurs while making API calls.
+     * @return The started counts by month.
      */
-    void fetchCustomerDataFromShopify(String url, Map<String, Double> customerData,
-                                      int year, String shopifyAccessToken) throws IOException {
-        String authorization = shopifyAccessToken;
-        String pageInfo = "";
-        boolean shouldBreak = false;
-        while (!shouldBreak) {
-            HttpURLConnection httpConnection = createHttpConnection(url, pageInfo, authorization);
-            int responseCode = httpConnection.getResponseCode();
-            if (responseCode==HttpURLConnection.HTTP_OK) {
-                processHttpResponseForCustomer(httpConnection, customerData, year);
-                String linkHeader = httpConnection.getHeaderField(ApplicationConstants.ShopifyApiHeaders.LINK);
-                if (linkHeader==null || !linkHeader.contains(RESPONSE_HINT_FOR_NEXT_PAGE)) {
-                    shouldBreak = true;
-                } else {
-                    pageInfo = parseNextPageInfo(linkHeader);
-                }
+    Map<YearMonth, CompletableFuture<Integer>> startCustomerCountsOfYear(String url, Map<String, Double> customerData,
+                                                                        int year, String shopifyAccessToken) {
+        List<String> calendarMonthsList = getCalendarMonthsList();
+        YearMonth firstMonth = Year.of(year).atMonth(1);
+        YearMonth lastMonth = Year.of(year).atMonth(12);
+        if (lastMonth.isAfter(closedMonthSegmentService.getCurrentMonth())) {
+            lastMonth = closedMonthSegmentService.getCurrentMonth();
+        }
+        Map<YearMonth, ClosedMonthSegment> segments = closedMonthSegmentService.findSegments(
+                ClosedMonthSegmentService.NEW_CUSTOMERS, firstMonth, lastMonth);
+        Map<YearMonth, CompletableFuture<Integer>> customerCounts = new LinkedHashMap<>();
+        for (YearMonth month = firstMonth; !month.isAfter(lastMonth); month = month.plusMonths(1)) {
+            ClosedMonthSegment segment = segments.get(month);
+            if (Optional.ofNullable(segment).isPresent()) {
+                customerData.put(calendarMonthsList.get(month.getMonthValue() - 1),
+                        (double) segment.getRecordCount());
             } else {
-                shouldBreak = true;
+                YearMonth countedMonth = month;
+                customerCounts.put(month, CompletableFuture.supplyAsync(() -> {
+                    try {
+                        return countCustomersCreatedIn(url, countedMonth, shopifyAccessToken);
+                    } catch (IOException ioException) {
+                        throw new CompletionException(ioException);
+                    }
+                }, shopifyFanOutExecutor));
             }
-            httpConnection.disconnect();
         }
+        return customerCounts;
     }
 
     /**
-     * Creates an HttpURLConnection for making a GET request to the specified URL with query parameters.
+     * Waits for the started customer counts, stores them in the customer data and keeps the closed months among
+     * them as segments for the next request.
      *
-     * @param url           The base URL for the connection.
-     * @param pageInfo      The page information to include in the URL.
-     * @param authorization The authorization token to set as a request property.
-     * @return The created HttpURLConnection.
-     * @throws IOException If an I/O error occurs while creating the connection.
+     * @param customerCounts The started counts by month.
+     * @param customerData   The map to store the customer count data.
+     * @throws IOException If a count failed or the wait was interrupted.
      */
-    private HttpURLConnection createHttpConnection(String url, String pageInfo, String authorization)
-            throws IOException {
-        URL urlConnector = new URL(url + SHOPIFY_ENDPOINT_URL_QUESTIONMARK +
-                SHOPIFY_ENDPOINT_REQUIRED_FIELDS + SHOPIFY_ENDPOINT_LIMIT + SPLIT_WITH_AND_SYMBOL + pageInfo);
-        HttpURLConnection httpConnection = (HttpURLConnection) urlConnector.openConnection();
-        httpConnection.setRequestMethod(ApplicationConstants.ShopifyApiHeaders.GET_REQUEST_METHOD);
-        httpConnection.setRequestProperty(ApplicationConstants.ShopifyApiHeaders.SHOPIFY_ACCESS_TOKEN,
-                authorization);
-        return httpConnection;
-    }
-
-    /**
-     * Processes the HTTP response from a HttpURLConnection for customer data and updates the customerData map.
-     *
-     * @param httpConnection The HttpURLConnection to process the response from.
-     * @param customerData   The map to update with customer data.
-     * @param year           The target year for filtering customer data.
-     * @throws IOException If an I/O error occurs while processing the response.
-     */
-    void processHttpResponseForCustomer(HttpURLConnection httpConnection, Map<String, Double> customerData, int year)
-            throws IOException {
-        try (BufferedReader httpConnectionBufferReader = new BufferedReader(new InputStreamReader(
-                httpConnection.getInputStream()))) {
-            String sbNewLine = httpConnectionBufferReader.lines().collect(Collectors.joining());
-            Gson gsonObject = new Gson();
-            CustomerResponseDto customerResponseDtoObj =
-                    gsonObject.fromJson(sbNewLine, CustomerResponseDto.class);
-            List<CustomerDto> customerList = customerResponseDtoObj.getCustomers();
-            for (CustomerDto customerDto : customerList) {
-                processCustomerData(customerDto, customerData, year);
+    void awaitCustomerCounts(Map<YearMonth, CompletableFuture<Integer>> customerCounts,
+                             Map<String, Double> customerData) throws IOException {
+        List<String> calendarMonthsList = getCalendarMonthsList();
+        for (Map.Entry<YearMonth, CompletableFuture<Integer>> customerCount : customerCounts.entrySet()) {
+            int count;
+            try {
+                count = customerCount.getValue().get();
+            } catch (InterruptedException interruptedException) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while counting customers", interruptedException);
+            } catch (ExecutionException executionException) {
+                if (executionException.getCause() instanceof IOException) {
+                    throw (IOException) executionException.getCause();
+                }
+                throw new IOException("Customer count failed", executionException.getCause());
             }
+            YearMonth month = customerCount.getKey();
+            customerData.put(calendarMonthsList.get(month.getMonthValue() - 1), (double) count);
+            closedMonthSegmentService.saveSegment(ClosedMonthSegmentService.NEW_CUSTOMERS, month, count, 0L);
         }
     }
 
     /**
-     * Processes customer data and updates the customerData map based on the customer's creation year and month.
+     * Counts the customers created in the given month with Shopify's customer count endpoint. The month bounds
+     * carry no offset, so Shopify reads them in the shop's time zone.
      *
-     * @param customerDto  The CustomerDto containing customer information.
-     * @param customerData The map to update with customer data.
-     * @param year         The target year for filtering customer data.
+     * @param url   The URL of the Shopify customers endpoint, e.g. {@code .../customers.json}.
+     * @param month The month to count.
+     * @return The number of customers created in the month.
+     * @throws IOException If the request fails or Shopify does not answer with a count.
      */
-    void processCustomerData(CustomerDto customerDto, Map<String, Double> customerData, int year) {
-        String createdAt = AppUtil.getStringDateFromDate(customerDto.getCreated_at());
-        int customerYear = Integer.parseInt(createdAt.substring(0, 4));
-        if (customerYear==year) {
-            String createdMonth = AppUtil.getCreatedMonth(customerDto.getCreated_at());
-            customerData.putIfAbsent(createdMonth, 0.0);
-            customerData.put(createdMonth, customerData.get(createdMonth) + 1);
-        }
-    }
-
-    /**
-     * Parses the next page information from the link header and returns it.
-     *
-     * @param linkHeader The link header containing pagination information.
-     * @return The next page information as a formatted string, or an empty string if not present.
-     */
-    String parseNextPageInfo(String linkHeader) {
-        String nextLink = parseNextLink(linkHeader);
-        if (Optional.ofNullable(nextLink).isPresent()) {
-            Map<String, String> params = parseQueryParameters(nextLink);
-            return ApplicationConstants.ShopifyApiHeaders.PAGE_INFO +
-                    EQUAL_TO +
-                    params.get(ApplicationConstants.ShopifyApiHeaders.PAGE_INFO).
-                            replace(REPLACE_WITH_GREATER_THAN, DEFAULT_EMPTY);
+    int countCustomersCreatedIn(String url, YearMonth month, String shopifyAccessToken) throws IOException {
+        String customersUrl = url.endsWith(SHOPIFY_ENDPOINT_JSON)
+                ? url.substring(0, url.length() - SHOPIFY_ENDPOINT_JSON.length())
+                : url;
+        String countUrl = customersUrl + SHOPIFY_ENDPOINT_COUNT_JSON + SHOPIFY_ENDPOINT_URL_QUESTIONMARK +
+                SHOPIFY_ENDPOINT_PARAM_CREATED_AT_MIN + ClosedMonthSegmentService.formatMonthStart(month) +
+                SHOPIFY_ENDPOINT_PARAM_CREATED_AT_MAX + ClosedMonthSegmentService.formatMonthEnd(month);
+        try (ShopifyResponse shopifyResponse = shopifyClient.get(countUrl, shopifyAccessToken)) {
+            if (!shopifyResponse.isOk()) {
+                throw new IOException("Customer count request failed with status " +
+                        shopifyResponse.getStatusCode());
+            }
+            JSONObject countObject = new JSONObject(shopifyResponse.getBodyAsString());
+            if (!countObject.has(REST_COUNT)) {
+                throw new IOException("Shopify returned no customer count");
+            }
+            return countObject.getInt(REST_COUNT);
         }
-        return "";
     }
 
     /**
@@ -741,7 +763,7 @@ public class CustomerService {
             savedCustomerOtpObj = customerOtpRepository.save(customerOtpObj);
         }
         sendOtpCodeForCustomer(savedCustomerOtpObj);
-        return modelMapper.map(savedCustomerOtpObj, CustomerOtpDto.class);
+        return customerOtpMapper.toCustomerOtpDto(savedCustomerOtpObj);
     }
 
     /**
@@ -772,7 +794,7 @@ public class CustomerService {
         CustomerOtp existingCustomerOtpObj = customerOtpRepository.findByCustomerEmailAndCode(
                 customerOtpDto.getCustomerEmail(), customerOtpDto.getCode());
         if (Optional.ofNullable(existingCustomerOtpObj).isPresent()) {
-            existingCustomerOtpDtoObj = modelMapper.map(existingCustomerOtpObj, CustomerOtpDto.class);
+            existingCustomerOtpDtoObj = customerOtpMapper.toCustomerOtpDto(existingCustomerOtpObj);
         } else {
             throw new RecordNotFoundException(
                     messageSource.getMessage("api.customer.otp.code.not.found", null, Locale.ENGLISH));
@@ -847,26 +869,10 @@ public class CustomerService {
     public List<CustomerDto> getFilterCustomerListFromShopify(String shopifyCustomerEndPoint, String fromDate,
                                                        String toDate, String shopifyAccessToken) throws IOException {
         customerServiceLogger.info("Entered get filtered customer details from Shopify API call:::::::::::::::");
-        String pageInfo = null;
         List<CustomerDto> allCustomerList = new ArrayList<>();
-        boolean shouldBreak = false;
-        while (!shouldBreak) {
-            String orderEndPoint = buildOrderEndPoint(shopifyCustomerEndPoint, fromDate, toDate, pageInfo);
-            HttpURLConnection httpConnection = createHttpConnection(orderEndPoint, shopifyAccessToken);
-            int responseCode = httpConnection.getResponseCode();
-            if (responseCode==HttpURLConnection.HTTP_OK) {
-                processHttpResponseForCustomerDtoList(httpConnection, allCustomerList);
-                String linkHeader = httpConnection.getHeaderField(ApplicationConstants.ShopifyApiHeaders.LINK);
-                if (linkHeader==null || !linkHeader.contains(RESPONSE_HINT_FOR_NEXT_PAGE)) {
-                    shouldBreak = true;
-                } else {
-                    pageInfo = parseNextPageInfo(linkHeader);
-                }
-            } else {
-                shouldBreak = true;
-            }
-            httpConnection.disconnect();
-        }
+        shopifyPagePipeline.forEachPage(shopifyClient,
+                buildOrderEndPoint(shopifyCustomerEndPoint, fromDate, toDate, null), shopifyAccessToken,
+                shopifyResponse -> processHttpResponseForCustomerDtoList(shopifyResponse, allCustomerList));
         return allCustomerList;
     }
 
@@ -890,38 +896,18 @@ public class CustomerService {
     }
 
     /**
-     * Creates an HTTP connection for the given URL with the specified authorization token.
+     * Processes a Shopify customers response and populates a list with CustomerDto objects, streaming the customers
+     * straight from the response body.
      *
-     * @param url           The URL to establish the connection to.
-     * @param authorization The authorization token to be included in the request header.
-     * @return An HttpURLConnection object representing the established connection.
-     * @throws IOException If an I/O error occurs while creating the connection.
-     */
-    HttpURLConnection createHttpConnection(String url, String authorization) throws IOException {
-        URL urlConnector = new URL(url);
-        HttpURLConnection httpConnection = (HttpURLConnection) urlConnector.openConnection();
-        httpConnection.setRequestMethod(ApplicationConstants.ShopifyApiHeaders.GET_REQUEST_METHOD);
-        httpConnection.setRequestProperty(ApplicationConstants.ShopifyApiHeaders.SHOPIFY_ACCESS_TOKEN, authorization);
-        return httpConnection;
-    }
-
-    /**
-     * Processes the HTTP response from a connection and populates a list with CustomerDto objects.
-     *
-     * @param httpConnection  The HttpURLConnection representing the established connection.
+     * @param shopifyResponse The Shopify response to process.
      * @param allCustomerList The list to which the processed CustomerDto objects will be added.
      * @throws IOException If an I/O error occurs while processing the response.
      */
-    void processHttpResponseForCustomerDtoList(HttpURLConnection httpConnection, List<CustomerDto> allCustomerList)
+    void processHttpResponseForCustomerDtoList(ShopifyResponse shopifyResponse, List<CustomerDto> allCustomerList)
             throws IOException {
-        try (BufferedReader httpConnectionBufferReader = new BufferedReader(new InputStreamReader(
-                httpConnection.getInputStream()))) {
-            String sbNewLine = httpConnectionBufferReader.lines().collect(Collectors.joining());
-            Gson gsonObject = new Gson();
-            CustomerResponseDto customerResponseDtoObj = gsonObject.fromJson(sbNewLine, CustomerResponseDto.class);
-            List<CustomerDto> customerList = customerResponseDtoObj.getCustomers();
-            allCustomerList.addAll(customerList);
-        }
+        Gson gsonObject = new Gson();
+        ShopifyJsonStream.forEachElement(shopifyResponse.getBodyReader(), DomainObject.Customer.CUSTOMERS,
+                jsonReader -> gsonObject.<CustomerDto>fromJson(jsonReader, CustomerDto.class), allCustomerList::add);
     }
 
     /**
@@ -941,7 +927,7 @@ public class CustomerService {
         customerFeedbackList.forEach(data -> {
             if (Optional.ofNullable(data.getCustomerName()).isPresent()) {
                 CustomerFeedbackKVDto customerFeedbackKVDto = new CustomerFeedbackKVDto();
-                customerFeedbackKVDto = modelMapper.map(data, CustomerFeedbackKVDto.class);
+                customerFeedbackKVDto = customerFeedbackMapper.toCustomerFeedbackKVDto(data);
                 String strCustomerFeedbackCreatedDate =
                         AppUtil.getStringDateFromDate(data.getCreatedDate());
                 customerFeedbackKVDto.setCreatedDate(
@@ -977,7 +963,6 @@ public class CustomerService {
         httpHeaders.setContentType(MediaType.APPLICATION_JSON);
         httpHeaders.set(ApplicationConstants.ShopifyApiHeaders.SHOPIFY_ACCESS_TOKEN, shopifyAccessToken);
         HttpEntity<String> httpEntity = new HttpEntity<>(customerCreationJsonPayload, httpHeaders);
-        RestTemplate restTemplate = new RestTemplate();
         try {
             ResponseEntity<String> responseEntity = restTemplate.exchange(shopifyCustomerCreationEndPoint,
                     HttpMethod.POST, httpEntity, String.class);
@@ -1059,7 +1044,7 @@ public class CustomerService {
         CustomerMeasurementFeedBack customerMeasurementFeedBack =  customerMeasurementFeedbackRepositoryI.
                 getCustomerMeasurementFeedbackByOrderId(orderId);
         if(Optional.ofNullable(customerMeasurementFeedBack).isPresent()) {
-            return modelMapper.map(customerMeasurementFeedBack, CustomerMeasurementFeedbackDto.class);
+            return adminMapperUtil.convertFromCustomerMeasurementFeedBack(customerMeasurementFeedBack);
         } else {
             throw new RecordNotFoundException(messageSource.getMessage(
                     "api.customer.measurement.feedback.not.found", null,null));
@@ -0,0 +1,323 @@
+package com.hungover.customer.service;
+
+import com.hungover.customer.domain.VariantWishlistCount;
+import com.hungover.customer.repository.CustomerWishlistRepositoryI;
+import com.hungover.customer.repository.CustomerWishlistVariantTotal;
+import com.hungover.customer.repository.VariantWishlistCountRepositoryI;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PreDestroy;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Service class maintaining the wishlist count of every variant.
+ * <p>
+ * Saving or deleting a wishlist only bumps a striped in-memory counter of its variant, so concurrent wishlist
+ * changes never contend on a database row. The counters are drained in batches into {@code variant_wishlist_count}
+ * by a scheduled flush, which makes the stored counts trail the wishlists by at most the flush interval.
+ * <p>
+ * The stored counts are seeded once from the wishlists. The instance that seeds first claims the seed by inserting
+ * the seed marker row, with the empty variant ID, holding the negated time of the claim; it renews the claim after
+ * every page and sets the marker to zero once every count is set. Other instances wait for that instead of seeding
+ * too, and take the claim over once it has not been renewed for the seed lease, so a seeding instance that dies
+ * does not hold the seed forever. Until this instance has seen a complete seed, the counts are not reported as ready
+ * and callers count the wishlists themselves, and wishlist changes wait for the seed: a change made while the
+ * wishlists are being counted could otherwise be counted both by the seed and by its flushed delta. Once a wait has
+ * timed out, later changes stop waiting.
+ * <p>
+ * Changes still pending when an instance stops without flushing are lost, so the stored counts are reconciled
+ * with the wishlists periodically. A change made while its variant is being reconciled can be counted twice or not
+ * at all until the next reconciliation.
+ */
+@Service
+public class WishlistCountService {
+
+    private final Logger wishlistCountServiceLogger = LoggerFactory.getLogger(this.getClass());
+
+    private static final String FIRST_VARIANT = "";
+    private static final String SEED_MARKER = "";
+    private static final long SEED_RELEASED = -1L;
+    private static final long SEED_COMPLETE = 0L;
+    private static final int SEED_PAGE_SIZE = 500;
+
+    private final Map<String, LongAdder> pendingCounts = new ConcurrentHashMap<>();
+    private final CountDownLatch seededLatch = new CountDownLatch(1);
+
+    private CustomerWishlistRepositoryI customerWishlistRepository;
+    private VariantWishlistCountRepositoryI variantWishlistCountRepository;
+    private volatile boolean seeded;
+    private volatile boolean seedWaitTimedOut;
+    private long seedClaim;
+
+    @Value("${customer.wishlistCount.seedWaitMillis:10000}")
+    long seedWaitMillis;
+
+    @Value("${customer.wishlistCount.seedLeaseMillis:300000}")
+    long seedLeaseMillis;
+
+    public WishlistCountService(CustomerWishlistRepositoryI customerWishlistRepository,
+                                VariantWishlistCountRepositoryI variantWishlistCountRepository) {
+        super();
+        this.customerWishlistRepository = customerWishlistRepository;
+        this.variantWishlistCountRepository = variantWishlistCountRepository;
+    }
+
+    /**
+     * Waits until the stored counts have been seeded, so that a wishlist about to be saved or deleted is either
+     * counted by the seed or recorded as a change afterwards, never both. Gives up after the seed wait, leaving the
+     * count of the changed variant possibly off by the change until it is reconciled; once a wait has timed out,
+     * later changes do not wait at all.
+     */
+    public void awaitSeeded() {
+        if (seeded || seedWaitTimedOut) {
+            return;
+        }
+        try {
+            if (!seededLatch.await(seedWaitMillis, TimeUnit.MILLISECONDS)) {
+                seedWaitTimedOut = true;
+                wishlistCountServiceLogger.warn("Wishlist counts not seeded after {} ms, changing wishlists without "
+                        + "waiting for the seed", seedWaitMillis);
+            }
+        } catch (InterruptedException interruptedException) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Records a change in the number of wishlists of a variant, to be written by the next flush.
+     *
+     * @param variantId The ID of the variant.
+     * @param delta     {@code 1} for a saved wishlist, {@code -1} for a deleted one.
+     */
+    public void recordChange(String variantId, long delta) {
+        pendingCounts.computeIfAbsent(variantId, id -> new LongAdder()).add(delta);
+    }
+
+    /**
+     * Checks whether the stored counts can be read in place of counting the wishlists.
+     *
+     * @return {@code true} once the stored counts have been seeded, {@code false} otherwise.
+     */
+    public boolean isReady() {
+        return seeded;
+    }
+
+    /**
+     * Find a page of wishlisted variants with their stored counts, in variant ID order.
+     *
+     * @param afterVariantId The last variant ID of the previous page, empty for the first page.
+     * @param limit          The page size.
+     * @return The number of wishlists per variant.
+     */
+    public List<CustomerWishlistVariantTotal> findVariantTotalsAfter(String afterVariantId, int limit) {
+        return variantWishlistCountRepository.findVariantTotalsAfter(afterVariantId, PageRequest.of(0, limit));
+    }
+
+    /**
+     * Find the most wishlisted variants from the stored counts.
+     *
+     * @param limit The number of variants.
+     * @return The number of wishlists per variant, most wishlisted first.
+     */
+    public List<CustomerWishlistVariantTotal> findTopVariantTotals(int limit) {
+        return variantWishlistCountRepository.findTopVariantTotals(PageRequest.of(0, limit));
+    }
+
+    /**
+     * Scheduled method that seeds the stored counts if needed and writes the pending changes.
+     */
+    @Scheduled(fixedDelayString = "${customer.wishlistCount.flushIntervalMillis:5000}")
+    public void flushScheduled() {
+        try {
+            if (!seeded) {
+                seedIfEmpty();
+            }
+            flush();
+        } catch (RuntimeException runtimeException) {
+            wishlistCountServiceLogger.error("Wishlist count flush failed", runtimeException);
+        }
+    }
+
+    /**
+     * Writes the pending changes to the stored counts, one upsert per changed variant. A change that cannot be
+     * written is put back to be retried by the next flush.
+     */
+    @PreDestroy
+    public synchronized void flush() {
+        pendingCounts.forEach((variantId, pendingCount) -> {
+            long delta = pendingCount.sumThenReset();
+            if (delta == 0) {
+                return;
+            }
+            try {
+                variantWishlistCountRepository.addToCount(variantId, delta);
+            } catch (RuntimeException runtimeException) {
+                pendingCount.add(delta);
+                throw runtimeException;
+            }
+        });
+    }
+
+    /**
+     * Scheduled method that reconciles the stored counts with the wishlists once they have been seeded.
+     */
+    @Scheduled(fixedDelayString = "${customer.wishlistCount.reconcileIntervalMillis:86400000}",
+            initialDelayString = "${customer.wishlistCount.reconcileIntervalMillis:86400000}")
+    public void reconcileScheduled() {
+        if (!seeded) {
+            return;
+        }
+        try {
+            reconcile();
+        } catch (RuntimeException runtimeException) {
+            wishlistCountServiceLogger.error("Wishlist count reconciliation failed", runtimeException);
+        }
+    }
+
+    /**
+     * Sets every stored count to the number of wishlists of its variant, correcting changes that were lost. The
+     * pending changes of this instance are written first, so that the counts they stand for are not lost either.
+     */
+    synchronized void reconcile() {
+        flush();
+        int variantCount = setCountsFromWishlists(() -> {
+        });
+        int clearedCount = clearCountsWithoutWishlists();
+        wishlistCountServiceLogger.info("Reconciled the wishlist counts of {} variants, cleared {}", variantCount,
+                clearedCount);
+    }
+
+    /**
+     * Sets the stored counts of the variants nobody wishlists anymore to zero, one page at a time.
+     *
+     * @return The number of counts set to zero.
+     */
+    private int clearCountsWithoutWishlists() {
+        int clearedCount = 0;
+        String afterVariantId = FIRST_VARIANT;
+        List<CustomerWishlistVariantTotal> storedTotals = variantWishlistCountRepository.findVariantTotalsAfter(
+                afterVariantId, PageRequest.of(0, SEED_PAGE_SIZE));
+        while (!storedTotals.isEmpty()) {
+            Set<String> wishlistedVariantIds = customerWishlistRepository.findVariantTotalsByVariantIdIn(
+                    storedTotals.stream().map(CustomerWishlistVariantTotal::getVariantId).collect(Collectors.toList()))
+                    .stream().map(CustomerWishlistVariantTotal::getVariantId).collect(Collectors.toSet());
+            for (CustomerWishlistVariantTotal storedTotal : storedTotals) {
+                if (!wishlistedVariantIds.contains(storedTotal.getVariantId())) {
+                    variantWishlistCountRepository.setCount(storedTotal.getVariantId(), 0L);
+                    clearedCount++;
+                }
+                afterVariantId = storedTotal.getVariantId();
+            }
+            storedTotals = storedTotals.size() < SEED_PAGE_SIZE ? List.of() :
+                    variantWishlistCountRepository.findVariantTotalsAfter(afterVariantId,
+                            PageRequest.of(0, SEED_PAGE_SIZE));
+        }
+        return clearedCount;
+    }
+
+    /**
+     * Seeds the stored counts from the wishlists unless another instance holds an unexpired claim on the seed. The
+     * pending changes are dropped first, since the wishlists they stand for are counted by the seed. A seed that
+     * fails releases its claim, so that the next flush of any instance tries again.
+     */
+    synchronized void seedIfEmpty() {
+        Optional<VariantWishlistCount> seedMarker = variantWishlistCountRepository.findById(SEED_MARKER);
+        if (seedMarker.isEmpty() || seedMarker.get().getWishlistCount() != SEED_COMPLETE) {
+            Optional<Long> claim = claimSeed(seedMarker);
+            if (claim.isEmpty()) {
+                return;
+            }
+            seed(claim.get());
+        }
+        seeded = true;
+        seededLatch.countDown();
+    }
+
+    /**
+     * Claims the seed, taking over a claim that has not been renewed for the seed lease.
+     *
+     * @param seedMarker The seed marker row, empty if nobody claimed the seed yet.
+     * @return The claim, or empty if another instance holds the seed.
+     */
+    private Optional<Long> claimSeed(Optional<VariantWishlistCount> seedMarker) {
+        long claim = -System.currentTimeMillis();
+        if (seedMarker.isEmpty()) {
+            return variantWishlistCountRepository.insertIfAbsent(SEED_MARKER, claim) == 0 ? Optional.empty() :
+                    Optional.of(claim);
+        }
+        long heldClaim = seedMarker.get().getWishlistCount();
+        long claimAgeMillis = heldClaim - claim;
+        if (claimAgeMillis < seedLeaseMillis) {
+            wishlistCountServiceLogger.info("Waiting for another instance to seed the wishlist counts");
+            return Optional.empty();
+        }
+        if (variantWishlistCountRepository.compareAndSetCount(SEED_MARKER, heldClaim, claim) == 0) {
+            return Optional.empty();
+        }
+        wishlistCountServiceLogger.warn("Took over the wishlist count seed claimed {} ms ago", claimAgeMillis);
+        return Optional.of(claim);
+    }
+
+    private void seed(long claim) {
+        seedClaim = claim;
+        try {
+            pendingCounts.values().forEach(LongAdder::reset);
+            int variantCount = setCountsFromWishlists(this::renewSeedClaim);
+            if (variantWishlistCountRepository.compareAndSetCount(SEED_MARKER, seedClaim, SEED_COMPLETE) == 0) {
+                throw new IllegalStateException("Wishlist count seed claim was taken over");
+            }
+            wishlistCountServiceLogger.info("Seeded the wishlist counts of {} variants", variantCount);
+        } catch (RuntimeException runtimeException) {
+            variantWishlistCountRepository.compareAndSetCount(SEED_MARKER, seedClaim, SEED_RELEASED);
+            throw runtimeException;
+        }
+    }
+
+    /**
+     * Renews the claim on the seed, so that other instances do not take it over while the seed makes progress. The
+     * renewed claim always differs from the held one, since an update that changes nothing reports no row.
+     */
+    private void renewSeedClaim() {
+        long renewedClaim = Math.min(-System.currentTimeMillis(), seedClaim - 1);
+        if (variantWishlistCountRepository.compareAndSetCount(SEED_MARKER, seedClaim, renewedClaim) == 0) {
+            throw new IllegalStateException("Wishlist count seed claim was taken over");
+        }
+        seedClaim = renewedClaim;
+    }
+
+    /**
+     * Sets the stored count of every wishlisted variant to its number of wishlists, one page at a time.
+     *
+     * @param afterPage Called after every page.
+     * @return The number of wishlisted variants.
+     */
+    private int setCountsFromWishlists(Runnable afterPage) {
+        int variantCount = 0;
+        String afterVariantId = FIRST_VARIANT;
+        List<CustomerWishlistVariantTotal> variantTotals;
+        do {
+            variantTotals = customerWishlistRepository.findVariantTotalsAfter(afterVariantId,
+                    PageRequest.of(0, SEED_PAGE_SIZE));
+            for (CustomerWishlistVariantTotal variantTotal : variantTotals) {
+                variantWishlistCountRepository.setCount(variantTotal.getVariantId(), variantTotal.getTotal());
+                afterVariantId = variantTotal.getVariantId();
+            }
+            variantCount += variantTotals.size();
+            afterPage.run();
+        } while (variantTotals.size() == SEED_PAGE_SIZE);
+        return variantCount;
+    }
+}
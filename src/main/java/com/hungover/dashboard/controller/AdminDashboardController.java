@@ -4,12 +4,14 @@ import com.hungover.common.apiresponse.SingleDataResponse;
 import com.hungover.dashboard.service.AdminDashboardApiResponseService;
 import io.swagger.annotations.ApiOperation;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.concurrent.ExecutionException;
 
@@ -50,4 +52,39 @@ public class AdminDashboardController {
         return new ResponseEntity<>(adminDashboardApiResponseService.adminDashboardSummary(fromDate, toDate, noOfDays),
                 HttpStatus.OK);
     }
+
+    /**
+     * Retrieves the hit, miss and refresh statistics of the Admin Dashboard cache.
+     *
+     * @return The ResponseEntity containing the SingleDataResponse with the cache statistics.
+     */
+    @GetMapping(value = ENDPOINT_VERSION+"/filter/cache")
+    @ApiOperation(value = "Get admin dashboard cache statistics",
+            nickname = "Get admin dashboard cache statistics",
+            notes = "This endpoint for Get admin dashboard cache hit, miss and refresh statistics",
+            produces = "application/json")
+    public ResponseEntity<SingleDataResponse> getAdminDashboardCacheStats() {
+        return new ResponseEntity<>(adminDashboardApiResponseService.getAdminDashboardCacheStats(), HttpStatus.OK);
+    }
+
+    /**
+     * Streams the Admin Dashboard summary as Server-Sent Events, one event per section as soon as it is ready,
+     * followed by a {@code complete} event.
+     *
+     * @param fromDate The start date for filtering data.
+     * @param toDate   The end date for filtering data.
+     * @param noOfDays  The number of days to consider for certain data components.
+     * @return The emitter the section events are sent through.
+     */
+    @GetMapping(value = ENDPOINT_VERSION+"/filter/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @ApiOperation(value = "Stream admin dashboard summary based on filter input details",
+            nickname = "Stream admin dashboard summary based on filter input details",
+            notes = "This endpoint for Stream admin dashboard summary sections as they complete",
+            produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamAdminDashboardSummary(
+            @RequestParam(name = "fromDate") String fromDate,
+            @RequestParam(name = "toDate") String toDate,
+            @RequestParam(value = "noOfDays") Integer noOfDays) {
+        return adminDashboardApiResponseService.streamAdminDashboardSummary(fromDate, toDate, noOfDays);
+    }
 }
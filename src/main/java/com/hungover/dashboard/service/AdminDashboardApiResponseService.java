@@ -5,12 +5,21 @@ import com.hungover.common.constant.ApplicationConstants;
 import com.hungover.core.dto.dashboard.AdminDashboardResponseDto;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.MessageSource;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * Service class responsible for handling API responses related to the Admin Dashboard.
@@ -20,9 +29,16 @@ public class AdminDashboardApiResponseService {
 
     private final Logger adminDashboardApiResponseServiceLogger = LoggerFactory.getLogger(this.getClass());
 
+    private static final String SSE_EVENT_ERROR = "error";
+    private static final String SSE_EVENT_COMPLETE = "complete";
+    private static final String SSE_SECTION = "section";
+
     private AdminDashboardService adminDashboardService;
     private MessageSource messageSource;
 
+    @Value("${admin.dashboard.stream.timeoutMillis:120000}")
+    long streamTimeoutMillis;
+
     public AdminDashboardApiResponseService(AdminDashboardService adminDashboardService, MessageSource messageSource) {
         this.adminDashboardService = adminDashboardService;
         this.messageSource = messageSource;
@@ -55,4 +71,69 @@ public class AdminDashboardApiResponseService {
         }
         return singleDataResponse;
     }
+
+    /**
+     * Retrieves the hit, miss and refresh statistics of the Admin Dashboard cache and creates the API response.
+     *
+     * @return The SingleDataResponse containing the cache statistics.
+     */
+    public SingleDataResponse getAdminDashboardCacheStats() {
+        SingleDataResponse singleDataResponse = new SingleDataResponse();
+        singleDataResponse.setResponse(ApplicationConstants.Status.SUCCESS,
+                messageSource.getMessage("api.admin.dashboard.cache.stats.success", null, Locale.ENGLISH),
+                adminDashboardService.getAdminDashboardCacheStats());
+        return singleDataResponse;
+    }
+
+    /**
+     * Streams the Admin Dashboard summary as Server-Sent Events. Every section is sent as its own event, named
+     * after the section, as soon as it completes, so the fastest section is shown without waiting for the slowest.
+     * A failed section is reported by an {@code error} event and a final {@code complete} event carries the overall
+     * status once every section has been sent.
+     *
+     * @param fromDate The start date for filtering data.
+     * @param toDate   The end date for filtering data.
+     * @param noOfDays  The number of days to consider for certain data components.
+     * @return The emitter the section events are sent through.
+     */
+    public SseEmitter streamAdminDashboardSummary(String fromDate, String toDate, Integer noOfDays) {
+        adminDashboardApiResponseServiceLogger.info("Entered admin dashboard filter stream ApiResponse Service:::::");
+        SseEmitter sseEmitter = new SseEmitter(streamTimeoutMillis);
+        AtomicBoolean failed = new AtomicBoolean();
+        List<CompletableFuture<Void>> sentSections = new ArrayList<>();
+        adminDashboardService.startAdminDashboardSections(fromDate, toDate, noOfDays).getSectionsByName()
+                .forEach((sectionName, section) -> sentSections.add(section.handle((sectionData, throwable) -> {
+                    if (Optional.ofNullable(throwable).isPresent()) {
+                        failed.set(true);
+                        adminDashboardApiResponseServiceLogger.error("Admin dashboard section {} failed",
+                                sectionName, throwable);
+                        sendEvent(sseEmitter, SSE_EVENT_ERROR, Map.of(SSE_SECTION, sectionName));
+                    } else {
+                        sendEvent(sseEmitter, sectionName, sectionData);
+                    }
+                    return null;
+                })));
+        CompletableFuture.allOf(sentSections.toArray(new CompletableFuture[0])).whenComplete((ignored, throwable) -> {
+            SingleDataResponse singleDataResponse = new SingleDataResponse();
+            if (failed.get()) {
+                singleDataResponse.setResponse(ApplicationConstants.Status.FAIL,
+                        messageSource.getMessage("api.admin.dashboard.filter.fail", null, Locale.ENGLISH), null);
+            } else {
+                singleDataResponse.setResponse(ApplicationConstants.Status.SUCCESS,
+                        messageSource.getMessage("api.admin.dashboard.filter.success", null, Locale.ENGLISH), null);
+            }
+            sendEvent(sseEmitter, SSE_EVENT_COMPLETE, singleDataResponse);
+            sseEmitter.complete();
+        });
+        return sseEmitter;
+    }
+
+    private void sendEvent(SseEmitter sseEmitter, String eventName, Object eventData) {
+        try {
+            sseEmitter.send(SseEmitter.event().name(eventName).data(eventData, MediaType.APPLICATION_JSON));
+        } catch (IOException | IllegalStateException exception) {
+            adminDashboardApiResponseServiceLogger.debug("Admin dashboard stream closed before {} was sent",
+                    eventName, exception);
+        }
+    }
 }
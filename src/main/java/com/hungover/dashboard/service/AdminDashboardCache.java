@@ -0,0 +1,274 @@
+package com.hungover.dashboard.service;
+
+import com.hungover.core.dto.dashboard.AdminDashboardResponseDto;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Caches admin dashboard summaries by their normalised date range with stale-while-revalidate semantics.
+ * <p>
+ * A summary younger than the fresh period is served as is. An older one is still served right away while a single
+ * background refresh recomputes it, until it exceeds the maximum staleness and has to be recomputed in line.
+ * Concurrent misses of the same range share one computation. The number of ranges kept is bounded and the least
+ * recently used range is evicted first. {@link #evictAll()} drops every range when the shop's data changes, and a
+ * computation that was already running at that point is returned to its caller but not cached.
+ * <p>
+ * Background refreshes run on their own executor rather than on the fan-out executor the summary sections use, so
+ * a refresh never waits on work queued behind it on the same pool.
+ */
+@Component
+public class AdminDashboardCache {
+
+    private final Logger adminDashboardCacheLogger = LoggerFactory.getLogger(this.getClass());
+
+    private static final String KEY_SEPARATOR = "|";
+    private static final String STAT_SIZE = "size";
+    private static final String STAT_HITS = "hits";
+    private static final String STAT_STALE_HITS = "staleHits";
+    private static final String STAT_MISSES = "misses";
+    private static final String STAT_REFRESHES = "refreshes";
+    private static final String STAT_REFRESH_FAILURES = "refreshFailures";
+    private static final String STAT_EVICTIONS = "evictions";
+
+    private final ExecutorService adminDashboardRefreshExecutor;
+    private final long freshMillis;
+    private final long maxStaleMillis;
+    private final Map<String, CachedSummary> cachedSummaries;
+    private long generation;
+    private final Map<String, CompletableFuture<AdminDashboardResponseDto>> pendingSummaries =
+            new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder staleHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder refreshes = new LongAdder();
+    private final LongAdder refreshFailures = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public AdminDashboardCache(
+            @Qualifier("adminDashboardRefreshExecutor") ExecutorService adminDashboardRefreshExecutor,
+            @Value("${admin.dashboard.cache.maxEntries:64}") int maxEntries,
+            @Value("${admin.dashboard.cache.freshMillis:300000}") long freshMillis,
+            @Value("${admin.dashboard.cache.maxStaleMillis:3600000}") long maxStaleMillis) {
+        super();
+        this.adminDashboardRefreshExecutor = adminDashboardRefreshExecutor;
+        this.freshMillis = freshMillis;
+        this.maxStaleMillis = maxStaleMillis;
+        this.cachedSummaries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedSummary> eldest) {
+                boolean evict = size() > maxEntries;
+                if (evict) {
+                    evictions.increment();
+                }
+                return evict;
+            }
+        };
+    }
+
+    /**
+     * Computes an admin dashboard summary.
+     */
+    @FunctionalInterface
+    public interface SummaryLoader {
+        AdminDashboardResponseDto load() throws ExecutionException, InterruptedException;
+    }
+
+    /**
+     * Builds the cache key of a dashboard range, so that the same range spelled differently (e.g. with surrounding
+     * blanks or as a date time) shares one entry.
+     *
+     * @param fromDate The start date of the range.
+     * @param toDate   The end date of the range.
+     * @param noOfDays The number of days of the range.
+     * @return The cache key.
+     */
+    public static String getKey(String fromDate, String toDate, Integer noOfDays) {
+        return normalizeDate(fromDate) + KEY_SEPARATOR + normalizeDate(toDate) + KEY_SEPARATOR + noOfDays;
+    }
+
+    /**
+     * Returns the cached summary of the range, computing it with the loader when it is missing or too stale and
+     * refreshing it in the background when it is stale.
+     *
+     * @param key    The key built by {@link #getKey}.
+     * @param loader Computes the summary of the range.
+     * @return The summary of the range.
+     * @throws ExecutionException   if the summary cannot be computed.
+     * @throws InterruptedException if the thread is interrupted while the summary is computed.
+     */
+    public AdminDashboardResponseDto get(String key, SummaryLoader loader)
+            throws ExecutionException, InterruptedException {
+        CachedSummary cachedSummary;
+        synchronized (cachedSummaries) {
+            cachedSummary = cachedSummaries.get(key);
+        }
+        if (Optional.ofNullable(cachedSummary).isPresent()) {
+            long age = System.currentTimeMillis() - cachedSummary.computedAtMillis;
+            if (age < freshMillis) {
+                hits.increment();
+                return cachedSummary.summary;
+            }
+            if (age < maxStaleMillis) {
+                staleHits.increment();
+                refreshInBackground(key, loader);
+                return cachedSummary.summary;
+            }
+        }
+        misses.increment();
+        return load(key, loader);
+    }
+
+    /**
+     * Drops every cached range, e.g. after a webhook reported a change to the products or customers the summaries
+     * are computed from.
+     */
+    public void evictAll() {
+        synchronized (cachedSummaries) {
+            evictions.add(cachedSummaries.size());
+            cachedSummaries.clear();
+            generation++;
+        }
+    }
+
+    /**
+     * Returns the hit, miss, refresh and eviction counters of the cache together with its current size.
+     *
+     * @return The cache statistics by name.
+     */
+    public Map<String, Long> getStats() {
+        Map<String, Long> stats = new LinkedHashMap<>();
+        synchronized (cachedSummaries) {
+            stats.put(STAT_SIZE, (long) cachedSummaries.size());
+        }
+        stats.put(STAT_HITS, hits.sum());
+        stats.put(STAT_STALE_HITS, staleHits.sum());
+        stats.put(STAT_MISSES, misses.sum());
+        stats.put(STAT_REFRESHES, refreshes.sum());
+        stats.put(STAT_REFRESH_FAILURES, refreshFailures.sum());
+        stats.put(STAT_EVICTIONS, evictions.sum());
+        return stats;
+    }
+
+    private AdminDashboardResponseDto load(String key, SummaryLoader loader)
+            throws ExecutionException, InterruptedException {
+        CompletableFuture<AdminDashboardResponseDto> pendingSummary = new CompletableFuture<>();
+        CompletableFuture<AdminDashboardResponseDto> runningSummary = pendingSummaries.putIfAbsent(key,
+                pendingSummary);
+        if (Optional.ofNullable(runningSummary).isPresent()) {
+            try {
+                return runningSummary.get();
+            } catch (ExecutionException executionException) {
+                if (executionException.getCause() instanceof ExecutionException) {
+                    throw (ExecutionException) executionException.getCause();
+                }
+                throw executionException;
+            }
+        }
+        long loadGeneration = getGeneration();
+        try {
+            AdminDashboardResponseDto summary = loader.load();
+            put(key, summary, loadGeneration);
+            pendingSummary.complete(summary);
+            return summary;
+        } catch (ExecutionException | InterruptedException | RuntimeException exception) {
+            pendingSummary.completeExceptionally(exception);
+            throw exception;
+        } finally {
+            pendingSummaries.remove(key, pendingSummary);
+        }
+    }
+
+    private void refreshInBackground(String key, SummaryLoader loader) {
+        CompletableFuture<AdminDashboardResponseDto> pendingSummary = new CompletableFuture<>();
+        if (Optional.ofNullable(pendingSummaries.putIfAbsent(key, pendingSummary)).isPresent()) {
+            return;
+        }
+        try {
+            adminDashboardRefreshExecutor.execute(() -> refresh(key, loader, pendingSummary));
+        } catch (RejectedExecutionException rejectedExecutionException) {
+            pendingSummaries.remove(key, pendingSummary);
+            pendingSummary.completeExceptionally(rejectedExecutionException);
+        }
+    }
+
+    private void refresh(String key, SummaryLoader loader,
+                         CompletableFuture<AdminDashboardResponseDto> pendingSummary) {
+        long loadGeneration = getGeneration();
+        try {
+            AdminDashboardResponseDto summary = loader.load();
+            put(key, summary, loadGeneration);
+            refreshes.increment();
+            pendingSummary.complete(summary);
+        } catch (InterruptedException interruptedException) {
+            Thread.currentThread().interrupt();
+            refreshFailures.increment();
+            pendingSummary.completeExceptionally(interruptedException);
+        } catch (ExecutionException | RuntimeException exception) {
+            adminDashboardCacheLogger.warn("Could not refresh admin dashboard summary {}", key, exception);
+            refreshFailures.increment();
+            pendingSummary.completeExceptionally(exception);
+        } finally {
+            pendingSummaries.remove(key, pendingSummary);
+        }
+    }
+
+    private long getGeneration() {
+        synchronized (cachedSummaries) {
+            return generation;
+        }
+    }
+
+    private void put(String key, AdminDashboardResponseDto summary, long loadGeneration) {
+        if (Optional.ofNullable(summary).isEmpty()) {
+            return;
+        }
+        synchronized (cachedSummaries) {
+            if (loadGeneration == generation) {
+                cachedSummaries.put(key, new CachedSummary(summary, System.currentTimeMillis()));
+            }
+        }
+    }
+
+    private static String normalizeDate(String date) {
+        String trimmedDate = Optional.ofNullable(date).map(String::trim).orElse("");
+        try {
+            return LocalDate.parse(trimmedDate).toString();
+        } catch (DateTimeParseException localDateException) {
+            try {
+                return OffsetDateTime.parse(trimmedDate).toInstant().toString();
+            } catch (DateTimeParseException offsetDateTimeException) {
+                return trimmedDate;
+            }
+        }
+    }
+
+    /**
+     * A computed summary and the time it was computed at.
+     */
+    private static final class CachedSummary {
+
+        private final AdminDashboardResponseDto summary;
+        private final long computedAtMillis;
+
+        private CachedSummary(AdminDashboardResponseDto summary, long computedAtMillis) {
+            this.summary = summary;
+            this.computedAtMillis = computedAtMillis;
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.hungover.dashboard.service;
+
+import com.hungover.core.dto.customer.CustomerCountResponseDto;
+import com.hungover.core.dto.customer.CustomerFeedbackKVDto;
+import com.hungover.core.dto.order.AverageOrderValueResponseDto;
+import com.hungover.core.dto.order.YearlyOrderResponseDto;
+import com.hungover.core.dto.product.TopProductsResponseDTO;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * The sections of one admin dashboard request, each completing on its own as soon as its data is in.
+ */
+public class AdminDashboardSections {
+
+    public static final String ORDERS = "orders";
+    public static final String AVERAGE_ORDER_VALUE = "averageOrderValue";
+    public static final String CUSTOMERS = "customers";
+    public static final String CUSTOMER_FEEDBACK = "customerFeedback";
+    public static final String TOP_PRODUCTS = "topProducts";
+
+    private final CompletableFuture<YearlyOrderResponseDto> orderResponse;
+    private final CompletableFuture<AverageOrderValueResponseDto> averageOrderValueResponse;
+    private final CompletableFuture<CustomerCountResponseDto> customerResponse;
+    private final CompletableFuture<List<CustomerFeedbackKVDto>> customerFeedback;
+    private final CompletableFuture<TopProductsResponseDTO> topProductsResponse;
+
+    public AdminDashboardSections(CompletableFuture<YearlyOrderResponseDto> orderResponse,
+                                  CompletableFuture<AverageOrderValueResponseDto> averageOrderValueResponse,
+                                  CompletableFuture<CustomerCountResponseDto> customerResponse,
+                                  CompletableFuture<List<CustomerFeedbackKVDto>> customerFeedback,
+                                  CompletableFuture<TopProductsResponseDTO> topProductsResponse) {
+        this.orderResponse = orderResponse;
+        this.averageOrderValueResponse = averageOrderValueResponse;
+        this.customerResponse = customerResponse;
+        this.customerFeedback = customerFeedback;
+        this.topProductsResponse = topProductsResponse;
+    }
+
+    public CompletableFuture<YearlyOrderResponseDto> getOrderResponse() {
+        return orderResponse;
+    }
+
+    public CompletableFuture<AverageOrderValueResponseDto> getAverageOrderValueResponse() {
+        return averageOrderValueResponse;
+    }
+
+    public CompletableFuture<CustomerCountResponseDto> getCustomerResponse() {
+        return customerResponse;
+    }
+
+    public CompletableFuture<List<CustomerFeedbackKVDto>> getCustomerFeedback() {
+        return customerFeedback;
+    }
+
+    public CompletableFuture<TopProductsResponseDTO> getTopProductsResponse() {
+        return topProductsResponse;
+    }
+
+    /**
+     * Returns every section by its name, in the order the dashboard lays them out.
+     *
+     * @return The section futures by name.
+     */
+    public Map<String, CompletableFuture<?>> getSectionsByName() {
+        Map<String, CompletableFuture<?>> sectionsByName = new LinkedHashMap<>();
+        sectionsByName.put(ORDERS, orderResponse);
+        sectionsByName.put(AVERAGE_ORDER_VALUE, averageOrderValueResponse);
+        sectionsByName.put(CUSTOMERS, customerResponse);
+        sectionsByName.put(CUSTOMER_FEEDBACK, customerFeedback);
+        sectionsByName.put(TOP_PRODUCTS, topProductsResponse);
+        return sectionsByName;
+    }
+}
@@ -3,20 +3,22 @@ package com.hungover.dashboard.service;
 import com.hungover.core.dto.customer.CustomerCountResponseDto;
 import com.hungover.core.dto.customer.CustomerFeedbackKVDto;
 import com.hungover.core.dto.dashboard.AdminDashboardResponseDto;
-import com.hungover.core.dto.order.AverageOrderValueResponseDto;
-import com.hungover.core.dto.order.YearlyOrderResponseDto;
 import com.hungover.core.dto.product.TopProductsResponseDTO;
 import com.hungover.customer.service.CustomerService;
 import com.hungover.order.service.OrderService;
+import com.hungover.order.service.YearlyOrderStatistics;
 import com.hungover.product.service.ProductService;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.io.IOException;
 import java.text.ParseException;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
 
 /**
  * Service class providing methods for fetching and aggregating data for the Admin Dashboard.
@@ -27,6 +29,8 @@ public class AdminDashboardService {
     private OrderService orderService;
     private CustomerService customerService;
     private ProductService productService;
+    private ExecutorService shopifyFanOutExecutor;
+    private AdminDashboardCache adminDashboardCache;
 
     @Value("${shopifyCustomerEndPoint}")
     String shopifyCustomerEndPoint;
@@ -40,14 +44,19 @@ public class AdminDashboardService {
     String shopifyGraphQueryEndPoint;
 
     public AdminDashboardService(OrderService orderService, CustomerService customerService,
-                                 ProductService productService) {
+                                 ProductService productService,
+                                 @Qualifier("shopifyFanOutExecutor") ExecutorService shopifyFanOutExecutor,
+                                 AdminDashboardCache adminDashboardCache) {
         this.orderService = orderService;
         this.customerService = customerService;
         this.productService = productService;
+        this.shopifyFanOutExecutor = shopifyFanOutExecutor;
+        this.adminDashboardCache = adminDashboardCache;
     }
 
     /**
-     * Generates the summary data for the Admin Dashboard using asynchronous operations.
+     * Returns the summary data for the Admin Dashboard, served from the dashboard cache when the same range was
+     * computed recently.
      *
      * @param fromDate The start date for filtering data.
      * @param toDate   The end date for filtering data.
@@ -58,46 +67,84 @@ public class AdminDashboardService {
      */
     public AdminDashboardResponseDto adminDashboardSummary(String fromDate, String toDate, Integer noOfDays)
             throws ExecutionException, InterruptedException {
+        return adminDashboardCache.get(AdminDashboardCache.getKey(fromDate, toDate, noOfDays),
+                () -> computeAdminDashboardSummary(fromDate, toDate, noOfDays));
+    }
+
+    /**
+     * Returns the hit, miss and refresh statistics of the dashboard cache.
+     *
+     * @return The cache statistics by name.
+     */
+    public Map<String, Long> getAdminDashboardCacheStats() {
+        return adminDashboardCache.getStats();
+    }
+
+    /**
+     * Computes the summary data for the Admin Dashboard using asynchronous operations.
+     *
+     * @param fromDate The start date for filtering data.
+     * @param toDate   The end date for filtering data.
+     * @param noOfDays  The number of days to consider for certain data components.
+     * @return The AdminDashboardResponseDto containing the aggregated dashboard data.
+     * @throws ExecutionException if there is an error while fetching the data.
+     * @throws InterruptedException if there is an error while fetching the data.
+     */
+    AdminDashboardResponseDto computeAdminDashboardSummary(String fromDate, String toDate, Integer noOfDays)
+            throws ExecutionException, InterruptedException {
         AdminDashboardResponseDto adminDashboardResponseDto = new AdminDashboardResponseDto();
-        CompletableFuture<YearlyOrderResponseDto> getOrderResponse = CompletableFuture.supplyAsync(() -> {
+        AdminDashboardSections adminDashboardSections = startAdminDashboardSections(fromDate, toDate, noOfDays);
+        adminDashboardResponseDto.setOrderResponse(adminDashboardSections.getOrderResponse().get());
+        adminDashboardResponseDto.setAverageOrderValueResponse(
+                adminDashboardSections.getAverageOrderValueResponse().get());
+        adminDashboardResponseDto.setCustomerResponse(adminDashboardSections.getCustomerResponse().get());
+        adminDashboardResponseDto.setCustomerFeedback(adminDashboardSections.getCustomerFeedback().get());
+        adminDashboardResponseDto.setTopProductsResponse(adminDashboardSections.getTopProductsResponse().get());
+        return adminDashboardResponseDto;
+    }
+
+    /**
+     * Starts every section of the Admin Dashboard without waiting for any of them.
+     * <p>
+     * Every distinct dataset of the period (orders, customers, feedback and top products) is requested once and all
+     * of them run concurrently. The order and average order value sections are both derived from the same paid
+     * order statistics, so the orders of the period are only paged through once per request.
+     *
+     * @param fromDate The start date for filtering data.
+     * @param toDate   The end date for filtering data.
+     * @param noOfDays  The number of days to consider for certain data components.
+     * @return The sections, each completing as soon as its data is in.
+     */
+    public AdminDashboardSections startAdminDashboardSections(String fromDate, String toDate, Integer noOfDays) {
+        CompletableFuture<YearlyOrderStatistics> getPaidOrderStatistics = CompletableFuture.supplyAsync(() -> {
             try {
-                return orderService.getFilterOrderDetails(shopifyEndpoint, fromDate, toDate, shopifyAccessToken,
-                        noOfDays);
-            } catch (Exception e) {
+                return orderService.getPaidOrderStatistics(shopifyEndpoint, fromDate, toDate, shopifyAccessToken);
+            } catch (IOException e) {
                 throw new RuntimeException(e);
             }
-        });
-        adminDashboardResponseDto.setOrderResponse(getOrderResponse.get());
+        }, shopifyFanOutExecutor);
         CompletableFuture<CustomerCountResponseDto> getCustomerResponse = CompletableFuture.supplyAsync(() -> {
             try {
                 return customerService.getFilterCustomerList(shopifyCustomerEndPoint, fromDate, toDate);
             } catch (Exception e) {
                 throw new RuntimeException(e);
             }
-        });
-        adminDashboardResponseDto.setCustomerResponse(getCustomerResponse.get());
+        }, shopifyFanOutExecutor);
         CompletableFuture<List<CustomerFeedbackKVDto>> getCustomerFeedback = CompletableFuture.supplyAsync(() -> {
             try {
                 return customerService.getCustomerFeedbackFilter(fromDate, toDate);
             } catch (ParseException e) {
                 throw new RuntimeException(e);
             }
-        });
-        adminDashboardResponseDto.setCustomerFeedback(getCustomerFeedback.get());
+        }, shopifyFanOutExecutor);
         CompletableFuture<TopProductsResponseDTO> getTopProductsResponse = CompletableFuture.supplyAsync(() ->
                 productService.getTopProductByFilter(fromDate, toDate, shopifyAccessToken, shopifyGraphQueryEndPoint,
-                        shopifyProductEndPoint));
-        adminDashboardResponseDto.setTopProductsResponse(getTopProductsResponse.get());
-        CompletableFuture<AverageOrderValueResponseDto> getAverageOrderValueResponse = CompletableFuture.supplyAsync(
-                () -> {
-            try {
-                return orderService.getAverageValueOfOrders(shopifyEndpoint, fromDate, toDate, shopifyAccessToken,
-                        noOfDays);
-            } catch (IOException e) {
-                throw new RuntimeException(e);
-            }
-        });
-        adminDashboardResponseDto.setAverageOrderValueResponse(getAverageOrderValueResponse.get());
-        return adminDashboardResponseDto;
+                        shopifyProductEndPoint), shopifyFanOutExecutor);
+        return new AdminDashboardSections(
+                getPaidOrderStatistics.thenApply(paidOrderStatistics ->
+                        orderService.createFilterOrderResponse(paidOrderStatistics, noOfDays)),
+                getPaidOrderStatistics.thenApply(paidOrderStatistics ->
+                        orderService.createAverageOrderValueResponse(paidOrderStatistics, noOfDays)),
+                getCustomerResponse, getCustomerFeedback, getTopProductsResponse);
     }
 }
@@ -0,0 +1,29 @@
+package com.hungover.gst.mapper;
+
+import com.hungover.core.domain.gst.Gst;
+import com.hungover.core.dto.gst.GstDto;
+import com.hungover.util.MapStructConfig;
+import org.mapstruct.Mapper;
+
+/**
+ * Mapper between GST data and its DTO, generated at compile time.
+ */
+@Mapper(config = MapStructConfig.class)
+public interface GstMapper {
+
+    /**
+     * Converts a Gst entity to a GstDto.
+     *
+     * @param gst The entity to be converted.
+     * @return GstDto converted from the entity.
+     */
+    GstDto toGstDto(Gst gst);
+
+    /**
+     * Converts a GstDto to a Gst entity.
+     *
+     * @param gstDto The DTO to be converted.
+     * @return Gst entity converted from the DTO.
+     */
+    Gst toGst(GstDto gstDto);
+}
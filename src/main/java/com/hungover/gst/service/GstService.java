@@ -2,8 +2,8 @@ package com.hungover.gst.service;
 
 import com.hungover.core.domain.gst.Gst;
 import com.hungover.core.dto.gst.GstDto;
+import com.hungover.gst.mapper.GstMapper;
 import com.hungover.gst.repository.GstRepositoryI;
-import org.modelmapper.ModelMapper;
 import org.springframework.stereotype.Service;
 
 /**
@@ -13,12 +13,12 @@ import org.springframework.stereotype.Service;
 public class GstService {
 
     private GstRepositoryI gstRepository;
-    private ModelMapper modelMapper;
+    private GstMapper gstMapper;
 
-    public GstService(GstRepositoryI gstRepository, ModelMapper modelMapper) {
+    public GstService(GstRepositoryI gstRepository, GstMapper gstMapper) {
         super();
         this.gstRepository = gstRepository;
-        this.modelMapper = modelMapper;
+        this.gstMapper = gstMapper;
     }
 
     /**
@@ -29,9 +29,9 @@ public class GstService {
      */
     public GstDto saveGst(GstDto gstDto) {
         GstDto savedGstDto;
-        Gst gst = modelMapper.map(gstDto, Gst.class);
+        Gst gst = gstMapper.toGst(gstDto);
         Gst savedGst = gstRepository.save(gst);
-        savedGstDto = modelMapper.map(savedGst, GstDto.class);
+        savedGstDto = gstMapper.toGstDto(savedGst);
         return savedGstDto;
     }
 }
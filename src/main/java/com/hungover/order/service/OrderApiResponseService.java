@@ -111,8 +111,8 @@ public class OrderApiResponseService {
     public SingleDataResponse getYearlyOrderDetails(String lastYear, String currentYear) throws IOException {
         orderApiResponseServiceLogger.info("Entered get yearly order details ApiResponse Service::::::::::::::::::");
         SingleDataResponse singleDataResponse = new SingleDataResponse();
-        YearlyOrderResponseDto yearlyOrderResponseDto = orderService.getYearlyOrderDetails(shopifyEndpoint, lastYear,
-                currentYear, shopifyAccessToken);
+        YearlyOrderResponseDto yearlyOrderResponseDto = orderService.getYearlyOrderDetails(shopifyEndpoint,
+                lastYear, currentYear, shopifyAccessToken);
         if (Optional.ofNullable(yearlyOrderResponseDto).isPresent()) {
             singleDataResponse.setResponse(ApplicationConstants.Status.SUCCESS,
                     messageSource.getMessage("api.get.yearly.order.detail.count.success",
@@ -0,0 +1,74 @@
+package com.hungover.order.service;
+
+import com.hungover.core.dto.customer.CustomerDto;
+import com.hungover.core.dto.order.ConversionSummaryDto;
+import com.hungover.core.dto.order.OrderChannelInformationDto;
+import com.hungover.core.dto.order.ProductInfoDto;
+import com.hungover.core.dto.order.VariantDetailsDto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Everything the order detail view needs besides the order itself, as returned by the single composed GraphQL
+ * query of {@link OrderService#getOrderEnrichment}.
+ */
+public class OrderEnrichment {
+
+    private ConversionSummaryDto conversionSummary;
+    private OrderChannelInformationDto channelInformation;
+    private CustomerDto customer;
+    private final List<VariantDetailsDto> variantDetailsList = new ArrayList<>();
+    private final List<ProductInfoDto> productInfoList = new ArrayList<>();
+    private boolean lineItemsComplete;
+
+    public ConversionSummaryDto getConversionSummary() {
+        return conversionSummary;
+    }
+
+    public void setConversionSummary(ConversionSummaryDto conversionSummary) {
+        this.conversionSummary = conversionSummary;
+    }
+
+    public OrderChannelInformationDto getChannelInformation() {
+        return channelInformation;
+    }
+
+    public void setChannelInformation(OrderChannelInformationDto channelInformation) {
+        this.channelInformation = channelInformation;
+    }
+
+    public CustomerDto getCustomer() {
+        return customer;
+    }
+
+    public void setCustomer(CustomerDto customer) {
+        this.customer = customer;
+    }
+
+    /**
+     * @return The variant of every line item, in line item order.
+     */
+    public List<VariantDetailsDto> getVariantDetailsList() {
+        return variantDetailsList;
+    }
+
+    /**
+     * @return The image of every line item whose variant has one, in line item order.
+     */
+    public List<ProductInfoDto> getProductInfoList() {
+        return productInfoList;
+    }
+
+    /**
+     * @return {@code true} if the query returned every line item of the order, {@code false} if the order has more
+     * line items than a single query fetches.
+     */
+    public boolean isLineItemsComplete() {
+        return lineItemsComplete;
+    }
+
+    public void setLineItemsComplete(boolean lineItemsComplete) {
+        this.lineItemsComplete = lineItemsComplete;
+    }
+}
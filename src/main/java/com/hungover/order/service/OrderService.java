@@ -2,12 +2,15 @@ package com.hungover.order.service;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.google.gson.Gson;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
 import com.hungover.admin.repository.CustomerOrderStatusRepositoryI;
+import com.hungover.analytics.domain.ClosedMonthSegment;
+import com.hungover.analytics.service.ClosedMonthSegmentService;
 import com.hungover.common.constant.ApplicationConstants;
 import com.hungover.common.domain.DomainObject;
 import com.hungover.common.util.AppUtil;
 import com.hungover.core.domain.customer.CustomerOrderStatus;
-import com.hungover.core.dto.customer.CustomerDetailResponseDto;
 import com.hungover.core.dto.customer.CustomerDto;
 import com.hungover.core.dto.customer.CustomerMeasurementDto;
 import com.hungover.core.dto.customer.CustomerOrderStatusDto;
@@ -20,20 +23,27 @@ import com.hungover.core.dto.order.OrderDetailsResponseDto;
 import com.hungover.core.dto.order.OrderDto;
 import com.hungover.core.dto.order.OrderKeyValueDto;
 import com.hungover.core.dto.order.OrderKVDto;
-import com.hungover.core.dto.order.OrderResponseDto;
 import com.hungover.core.dto.order.ProductInfoDto;
 import com.hungover.core.dto.order.VariantDetailsDto;
 import com.hungover.core.dto.order.YearlyOrderResponseDto;
 import com.hungover.core.dto.order.ConversionSummaryDto.FirstVisit;
 import com.hungover.core.dto.order.OrderChannelInformationDto.ChannelDefinition;
+import com.hungover.customer.mapper.CustomerOrderStatusMapper;
 import com.hungover.customer.repository.CustomerMeasurementRepositoryI;
 import com.hungover.customer.service.CustomerService;
+import com.hungover.ordermirror.service.OrderMirrorService;
 import com.hungover.product.service.ProductService;
+import com.hungover.shopify.client.ShopifyBulkOperation;
+import com.hungover.shopify.client.ShopifyClient;
+import com.hungover.shopify.client.ShopifyJsonStream;
+import com.hungover.shopify.client.ShopifyPagePipeline;
+import com.hungover.shopify.client.ShopifyResponse;
 import org.json.JSONArray;
 import org.json.JSONObject;
-import org.modelmapper.ModelMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
@@ -48,18 +58,24 @@ import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
-import java.net.HttpURLConnection;
-import java.net.URL;
 import java.nio.charset.StandardCharsets;
+import java.time.Month;
+import java.time.OffsetDateTime;
+import java.time.YearMonth;
+import java.time.ZoneId;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
 import java.util.stream.Collectors;
-import java.util.stream.IntStream;
 
 
 /**
@@ -74,33 +90,130 @@ public class OrderService {
     private static final String SHOPIFY_ENDPOINT_PARAM_PROCESSED_AT_MAX = "&processed_at_max=";
     private static final String SHOPIFY_ENDPOINT_LIMIT = "limit=250";
     private static final String SHOPIFY_ENDPOINT_JSON = ".json";
+    private static final String SHOPIFY_ENDPOINT_COUNT_JSON = "/count.json";
+    private static final String SHOPIFY_ENDPOINT_PARAM_FINANCIAL_STATUS = "&financial_status=";
+    private static final String SHOPIFY_ENDPOINT_PARAM_FULFILLMENT_STATUS = "&fulfillment_status=";
+    private static final String SHOPIFY_FULFILLMENT_STATUS_SHIPPED = "shipped";
+    private static final String REST_COUNT = "count";
     private static final String DEFAULT_EMPTY = "";
     private static final String SPACE = " ";
     private static final String QUANTITY_ITEM = "item";
     private static final String TOTAL_PRICE_IN_RS = "RS ";
-    private static final String EQUAL_TO = "=";
-    private static final String RESPONSE_HINT_FOR_NEXT_PAGE = "rel=\"next\"";
     private static final String SPLIT_WITH_AND_SYMBOL = "&";
-    private static final String REPLACE_WITH_GREATER_THAN = ">";
-    private static final Integer DEFAULT_INTEGER_VALUE_ZERO = 0;
-    private static final Double DEFAULT_DOUBLE_VALUE = 0.0;
     private static final String CONTENT_TYPE = "application/graphql";
+    private static final String BULK_ORDERS_QUERY = "{ orders(query: \"processed_at:>='%s'\") { edges { node { " +
+            "id createdAt displayFinancialStatus currentTotalPriceSet { shopMoney { amount } } } } } }";
+    private static final String BULK_CREATED_AT = "createdAt";
+    private static final String BULK_FINANCIAL_STATUS = "displayFinancialStatus";
+    private static final String BULK_CURRENT_TOTAL_PRICE_SET = "currentTotalPriceSet";
+    private static final String BULK_SHOP_MONEY = "shopMoney";
+    private static final String BULK_AMOUNT = "amount";
+    private static final String ORDER_ENRICHMENT_QUERY = "{ order(id: \"gid://shopify/Order/%s\") { " +
+            "customerJourneySummary { customerOrderIndex daysToConversion momentsCount ready __typename " +
+            "firstVisit { id landingPage referralCode referralInfoHtml sourceDescription occurredAt __typename } } " +
+            "channelInformation { id __typename channelDefinition { id channelName svgIcon __typename } } " +
+            "customer { numberOfOrders } " +
+            "lineItems(first: 100) { pageInfo { hasNextPage } edges { node { variant { id weight weightUnit " +
+            "product { id } image { id url } } } } } } }";
+    private static final String ENRICHMENT_CUSTOMER = "customer";
+    private static final String ENRICHMENT_NUMBER_OF_ORDERS = "numberOfOrders";
+    private static final String ENRICHMENT_LINE_ITEMS = "lineItems";
+    private static final String ENRICHMENT_PAGE_INFO = "pageInfo";
+    private static final String ENRICHMENT_HAS_NEXT_PAGE = "hasNextPage";
+    private static final String ENRICHMENT_EDGES = "edges";
+    private static final String ENRICHMENT_NODE = "node";
+    private static final String ENRICHMENT_VARIANT = "variant";
+    private static final String ENRICHMENT_ID = "id";
+    private static final String ENRICHMENT_WEIGHT = "weight";
+    private static final String ENRICHMENT_WEIGHT_UNIT = "weightUnit";
+    private static final String ENRICHMENT_PRODUCT = "product";
+    private static final String ENRICHMENT_IMAGE = "image";
+    private static final String ENRICHMENT_URL = "url";
+    private static final String GID_SEPARATOR = "/";
+    private static final String REST_ORDERS_COUNT = "orders_count";
+    private static final String REST_WEIGHT_UNIT = "weight_unit";
+    private static final String REST_SRC = "src";
+    private static final String REST_PRODUCT_ID = "product_id";
+    private static final String REST_VARIANT_IDS = "variant_ids";
+    private static final String REST_PROCESSED_AT = "processed_at";
+    private static final Map<String, String> WEIGHT_UNIT_MAP = Map.of("KILOGRAMS", "kg", "GRAMS", "g",
+            "POUNDS", "lb", "OUNCES", "oz");
 
     private ProductService productService;
     private CustomerOrderStatusRepositoryI customerOrderStatusRepository;
-    private ModelMapper modelMapper;
+    private CustomerOrderStatusMapper customerOrderStatusMapper;
     private CustomerService customerService;
+    private ShopifyClient shopifyClient;
+    private ShopifyPagePipeline shopifyPagePipeline;
+    private ShopifyBulkOperation shopifyBulkOperation;
+    private OrderMirrorService orderMirrorService;
+    private RestTemplate restTemplate;
+    private ExecutorService shopifyFanOutExecutor;
+    private ClosedMonthSegmentService closedMonthSegmentService;
+    private ShopifyQlOrderAnalytics shopifyQlOrderAnalytics;
+
+    @Value("${shopify.orders.bulkIngestion:false}")
+    boolean shopifyOrdersBulkIngestion;
+    @Value("${shopifyGraphQueryEndPoint}")
+    String shopifyGraphQueryEndPoint;
+    @Value("${shopify.shopTimeZone:Asia/Kolkata}")
+    String shopifyShopTimeZone;
+
+    /**
+     * The backends order analytics can be answered from, in the order they are preferred.
+     */
+    enum OrderAnalyticsBackend {
+        ORDER_MIRROR, SHOPIFY_QL, BULK_OPERATION, REST
+    }
 
     public OrderService(ProductService productService, CustomerOrderStatusRepositoryI customerOrderStatusRepository,
-                        ModelMapper modelMapper, CustomerService customerService) {
+                        CustomerOrderStatusMapper customerOrderStatusMapper, CustomerService customerService,
+                        ShopifyClient shopifyClient, ShopifyPagePipeline shopifyPagePipeline,
+                        ShopifyBulkOperation shopifyBulkOperation,
+                        OrderMirrorService orderMirrorService, RestTemplate restTemplate,
+                        @Qualifier("shopifyFanOutExecutor") ExecutorService shopifyFanOutExecutor,
+                        ClosedMonthSegmentService closedMonthSegmentService,
+                        ShopifyQlOrderAnalytics shopifyQlOrderAnalytics) {
         this.productService = productService;
         this.customerOrderStatusRepository = customerOrderStatusRepository;
-        this.modelMapper = modelMapper;
+        this.customerOrderStatusMapper = customerOrderStatusMapper;
         this.customerService = customerService;
+        this.shopifyClient = shopifyClient;
+        this.shopifyPagePipeline = shopifyPagePipeline;
+        this.shopifyBulkOperation = shopifyBulkOperation;
+        this.orderMirrorService = orderMirrorService;
+        this.restTemplate = restTemplate;
+        this.shopifyFanOutExecutor = shopifyFanOutExecutor;
+        this.closedMonthSegmentService = closedMonthSegmentService;
+        this.shopifyQlOrderAnalytics = shopifyQlOrderAnalytics;
+    }
+
+    /**
+     * Picks the backend order analytics are answered from. This is the only place the choice is made: the order
+     * mirror once it is enabled and backfilled, then ShopifyQL aggregates when {@code shopify.orders.shopifyQl} is
+     * set, then bulk operations when {@code shopify.orders.bulkIngestion} is set, and otherwise the REST order list
+     * with the stored closed-month segments.
+     *
+     * @return The backend to use.
+     */
+    OrderAnalyticsBackend selectOrderAnalyticsBackend() {
+        if (orderMirrorService.isReady()) {
+            return OrderAnalyticsBackend.ORDER_MIRROR;
+        }
+        if (shopifyQlOrderAnalytics.isEnabled()) {
+            return OrderAnalyticsBackend.SHOPIFY_QL;
+        }
+        if (shopifyOrdersBulkIngestion) {
+            return OrderAnalyticsBackend.BULK_OPERATION;
+        }
+        return OrderAnalyticsBackend.REST;
     }
 
     /**
-     * Retrieves today's order count based on the provided date range.
+     * Retrieves today's order count based on the provided date range. Once the order mirror is ready the mirrored
+     * orders within the exact {@code processed_at} bounds are counted; with any other backend the counts are taken
+     * from Shopify's order count endpoint, one concurrent call per status, so neither the response size nor the latency
+     * grows with the number of orders of the day.
      *
      * @param yesterdayDate The date for yesterday.
      * @param todayDate     The date for today.
@@ -111,54 +224,82 @@ public class OrderService {
                                     String todayDate, String shopifyEndpoint) throws IOException {
         orderServiceLogger.info("Entered order service::::::::::::::::::");
         OrderKVDto orderKVDtoObj = new OrderKVDto();
-        List<Orders> getOrderList = getTodayOrderListFromShopify(shopifyAccessToken, yesterdayDate,
-                todayDate, shopifyEndpoint);
-        int orderPaidCount = (int) getOrderList.stream()
-                .filter(data -> ApplicationConstants.Orders.ORDER_FULFILLED_STATUS.equals(data.getFulfillment_status()))
-                .count();
-        int orderPendingCount = (int) getOrderList.stream()
-                .filter(data -> ApplicationConstants.Orders.ORDER_PAID_STATUS.equals(data.getFinancial_status())
-                        || ApplicationConstants.Orders.ORDER_PENDING_STATUS.equals(data.getFinancial_status()))
-                .count();
-        orderKVDtoObj.setFulfill(orderPaidCount);
-        orderKVDtoObj.setPending(orderPendingCount);
+        if (selectOrderAnalyticsBackend() == OrderAnalyticsBackend.ORDER_MIRROR) {
+            orderKVDtoObj.setFulfill(orderMirrorService.countFulfilledOrders(yesterdayDate, todayDate));
+            orderKVDtoObj.setPending(orderMirrorService.countPaidOrPendingOrders(yesterdayDate, todayDate));
+            return orderKVDtoObj;
+        }
+        String countEndpoint = getOrderCountEndpoint(shopifyEndpoint) + SHOPIFY_ENDPOINT_URL_QUESTIONMARK +
+                SHOPIFY_ENDPOINT_PARAM_PROCESSED_AT_MIN + yesterdayDate + SHOPIFY_ENDPOINT_PARAM_PROCESSED_AT_MAX +
+                todayDate;
+        CompletableFuture<Integer> fulfilledCount = supplyAsync(() -> countOrders(countEndpoint +
+                SHOPIFY_ENDPOINT_PARAM_FULFILLMENT_STATUS + SHOPIFY_FULFILLMENT_STATUS_SHIPPED, shopifyAccessToken));
+        CompletableFuture<Integer> paidCount = supplyAsync(() -> countOrders(countEndpoint +
+                SHOPIFY_ENDPOINT_PARAM_FINANCIAL_STATUS + ApplicationConstants.Orders.ORDER_PAID_STATUS,
+                shopifyAccessToken));
+        CompletableFuture<Integer> pendingCount = supplyAsync(() -> countOrders(countEndpoint +
+                SHOPIFY_ENDPOINT_PARAM_FINANCIAL_STATUS + ApplicationConstants.Orders.ORDER_PENDING_STATUS,
+                shopifyAccessToken));
+        orderKVDtoObj.setFulfill(awaitCount(fulfilledCount));
+        orderKVDtoObj.setPending(awaitCount(paidCount) + awaitCount(pendingCount));
         return orderKVDtoObj;
     }
 
     /**
-     * Retrieves today's orders from Shopify API based on the provided date range.
+     * Derives the order count endpoint from the order list endpoint, e.g. {@code .../orders.json} becomes
+     * {@code .../orders/count.json}.
      *
-     * @param yesterdayDate The date for yesterday.
-     * @param todayDate     The date for today.
-     * @return List of Orders representing the orders fetched from Shopify.
-     * @throws IOException If an error occurs while making the API call or processing the response.
-     */
-    public List<Orders> getTodayOrderListFromShopify(String shopifyAccessToken, String yesterdayDate,
-                                                     String todayDate, String shopifyEndpoint) throws IOException {
-        orderServiceLogger.info("Entered get today order details from shopify api call:::::::::::::::");
-        HttpURLConnection httpConnection = getHttpURLConnection(shopifyEndpoint +
-                SHOPIFY_ENDPOINT_URL_QUESTIONMARK + SHOPIFY_ENDPOINT_PARAM_PROCESSED_AT_MIN + yesterdayDate +
-                SHOPIFY_ENDPOINT_PARAM_PROCESSED_AT_MAX + todayDate, shopifyAccessToken);
-        try (InputStream httpConnectionInputStream = httpConnection.getInputStream();
-             BufferedReader httpConnectionBufferReader = new BufferedReader(
-                     new InputStreamReader(httpConnectionInputStream, StandardCharsets.UTF_8))) {
-            StringBuilder sbNewLine = new StringBuilder();
-            String strLine;
-            while ((strLine = httpConnectionBufferReader.readLine()) != null) {
-                sbNewLine.append(strLine).append(NEWLINE);
+     * @param shopifyEndpoint The order list endpoint.
+     * @return The order count endpoint.
+     */
+    private static String getOrderCountEndpoint(String shopifyEndpoint) {
+        String ordersEndpoint = shopifyEndpoint.endsWith(SHOPIFY_ENDPOINT_JSON)
+                ? shopifyEndpoint.substring(0, shopifyEndpoint.length() - SHOPIFY_ENDPOINT_JSON.length())
+                : shopifyEndpoint;
+        return ordersEndpoint + SHOPIFY_ENDPOINT_COUNT_JSON;
+    }
+
+    /**
+     * Counts the orders matching the filters of the given count URL.
+     *
+     * @param countUrl           The order count URL, including its filters.
+     * @param shopifyAccessToken The access token used to authenticate with Shopify.
+     * @return The number of matching orders.
+     * @throws IOException If the request fails or Shopify does not answer with a count.
+     */
+    int countOrders(String countUrl, String shopifyAccessToken) throws IOException {
+        try (ShopifyResponse shopifyResponse = shopifyClient.get(countUrl, shopifyAccessToken)) {
+            if (!shopifyResponse.isOk()) {
+                throw new IOException("Order count request failed with status " + shopifyResponse.getStatusCode());
             }
-            Gson gsonObject = new Gson();
-            OrderResponseDto orderResponseDtoObj = gsonObject.fromJson(sbNewLine.toString(), OrderResponseDto.class);
-            return orderResponseDtoObj.getOrders();
+            JSONObject countObject = new JSONObject(shopifyResponse.getBodyAsString());
+            if (!countObject.has(REST_COUNT)) {
+                throw new IOException("Shopify returned no order count");
+            }
+            return countObject.getInt(REST_COUNT);
         }
     }
 
-    HttpURLConnection getHttpURLConnection(String shopifyEndpoint, String authorization) throws IOException {
-        URL urlConnector = new URL(shopifyEndpoint);
-        HttpURLConnection httpConnection = (HttpURLConnection) urlConnector.openConnection();
-        httpConnection.setRequestMethod(ApplicationConstants.ShopifyApiHeaders.GET_REQUEST_METHOD);
-        httpConnection.setRequestProperty(ApplicationConstants.ShopifyApiHeaders.SHOPIFY_ACCESS_TOKEN, authorization);
-        return httpConnection;
+    /**
+     * Waits for a count started on the fan-out executor, rethrowing its failure as the {@link IOException} the
+     * callers expect.
+     *
+     * @param count The future count.
+     * @return The count.
+     * @throws IOException If the count failed or the wait was interrupted.
+     */
+    private static int awaitCount(CompletableFuture<Integer> count) throws IOException {
+        try {
+            return count.get();
+        } catch (InterruptedException interruptedException) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while counting orders", interruptedException);
+        } catch (ExecutionException executionException) {
+            if (executionException.getCause() instanceof IOException) {
+                throw (IOException) executionException.getCause();
+            }
+            throw new IOException("Order count failed", executionException.getCause());
+        }
     }
 
     /**
@@ -170,86 +311,94 @@ public class OrderService {
     public List<OrderKeyValueDto> getAllOrderListFromShopify(String shopifyEndpoint, String shopifyAccessToken)
             throws IOException {
         orderServiceLogger.info("Entered get all order details from shopify api call:::::::::::::::");
-        String pageInfo = "";
-        boolean lastPage = true;
         List<OrderKeyValueDto> allOrdersList = new ArrayList<>();
-        while (lastPage) {
-            HttpURLConnection httpConnection = getHttpURLConnection(shopifyEndpoint +
-                            SHOPIFY_ENDPOINT_URL_QUESTIONMARK + SHOPIFY_ENDPOINT_LIMIT + SPLIT_WITH_AND_SYMBOL + pageInfo,
-                    shopifyAccessToken);
-            int responseCode = httpConnection.getResponseCode();
-            if (responseCode == HttpURLConnection.HTTP_OK) {
-                try (BufferedReader httpConnectionBufferReader = new BufferedReader(new InputStreamReader(
-                        httpConnection.getInputStream()))) {
-                    String strLine;
-                    StringBuilder sbNewLine = new StringBuilder();
-                    while ((strLine = httpConnectionBufferReader.readLine()) != null) {
-                        sbNewLine.append(strLine);
-                    }
-                    JSONObject responseObject = new JSONObject(sbNewLine.toString());
-                    JSONArray orders = responseObject.getJSONArray(DomainObject.Order.ORDERS);
-                    List<OrderKeyValueDto> orderList = IntStream.range(0, orders.length())
-                            .mapToObj(orders::getJSONObject)
-                            .map(this::createOrderKeyValueDto)
-                            .collect(Collectors.toList());
-                    allOrdersList.addAll(orderList);
-                    String linkHeader = httpConnection.getHeaderField(ApplicationConstants.ShopifyApiHeaders.LINK);
-                    if (linkHeader == null || !linkHeader.contains(RESPONSE_HINT_FOR_NEXT_PAGE)) {
-                        break;
-                    }
-                    String nextLink = productService.parseNextLink(linkHeader);
-                    Map<String, String> params = productService.parseQueryParameters(nextLink);
-                    String strPageInfo = params.get(ApplicationConstants.ShopifyApiHeaders.PAGE_INFO)
-                            .replace(REPLACE_WITH_GREATER_THAN, DEFAULT_EMPTY);
-                    pageInfo = ApplicationConstants.ShopifyApiHeaders.PAGE_INFO + EQUAL_TO + strPageInfo;
-                }
-            } else {
-                break;
-            }
-            httpConnection.disconnect();
-        }
+        shopifyPagePipeline.forEachPage(shopifyClient, shopifyEndpoint + SHOPIFY_ENDPOINT_URL_QUESTIONMARK +
+                SHOPIFY_ENDPOINT_LIMIT, shopifyAccessToken, shopifyResponse -> ShopifyJsonStream.forEachElement(
+                shopifyResponse.getBodyReader(), DomainObject.Order.ORDERS, this::readOrderKeyValueDto,
+                allOrdersList::add));
         return allOrdersList;
     }
 
     /**
-     * Maps the JSON object representing an order to an OrderKeyValueDto object.
+     * Reads one order of the orders array into an OrderKeyValueDto, materializing only the fields the list view
+     * shows and skipping the rest of the order.
      *
-     * @param orderObj The JSON object representing an order from Shopify API.
+     * @param jsonReader The reader positioned at the start of an order object.
      * @return OrderKeyValueDto object containing order details.
+     * @throws IOException If the order cannot be read from the stream.
      */
-    private OrderKeyValueDto createOrderKeyValueDto(JSONObject orderObj) {
+    private OrderKeyValueDto readOrderKeyValueDto(JsonReader jsonReader) throws IOException {
         OrderKeyValueDto orderKeyValueDtoObj = new OrderKeyValueDto();
-        orderKeyValueDtoObj.setOrderId(orderObj.optLong(DomainObject.Order.ORDER_ID));
-        orderKeyValueDtoObj.setOrderNumber(orderObj.optInt(DomainObject.Order.NUMBER));
-        orderKeyValueDtoObj.setCreatedAt(
-                AppUtil.getDateFormatFromTimeDate(orderObj.optString(DomainObject.Order.CREATED_AT)));
-        orderKeyValueDtoObj.setCustomerFullName(getCustomerFullName(
-                orderObj.optJSONObject(DomainObject.Order.CUSTOMER)));
-        orderKeyValueDtoObj.setCurrentTotalPrice(TOTAL_PRICE_IN_RS +
-                orderObj.optString(DomainObject.Order.CURRENT_TOTAL_PRICE));
-        orderKeyValueDtoObj.setFinancialStatus(mapFinancialStatus(
-                orderObj.optString(DomainObject.Order.FINANCIAL_STATUS)));
-        orderKeyValueDtoObj.setFulfillmentStatus(mapFulfillmentStatus(
-                orderObj.optString(DomainObject.Order.FULFILLMENT_STATUS)));
-        orderKeyValueDtoObj.setQuantity(getTotalQuantity(
-                orderObj.optJSONArray(DomainObject.Order.LINE_ITEMS)));
-        orderKeyValueDtoObj.setShippingLinesCode(getShippingLinesCode(
-                orderObj.optJSONArray(DomainObject.Order.SHIPPING_LINES)));
+        String createdAt = DEFAULT_EMPTY;
+        String customerFullName = DEFAULT_EMPTY;
+        String currentTotalPrice = DEFAULT_EMPTY;
+        String financialStatus = DEFAULT_EMPTY;
+        String fulfillmentStatus = DEFAULT_EMPTY;
+        int totalQuantity = 0;
+        String shippingLinesCode = DEFAULT_EMPTY;
+        jsonReader.beginObject();
+        while (jsonReader.hasNext()) {
+            String name = jsonReader.nextName();
+            if (DomainObject.Order.ORDER_ID.equals(name)) {
+                orderKeyValueDtoObj.setOrderId(ShopifyJsonStream.nextLong(jsonReader, 0L));
+            } else if (DomainObject.Order.NUMBER.equals(name)) {
+                orderKeyValueDtoObj.setOrderNumber((int) ShopifyJsonStream.nextLong(jsonReader, 0L));
+            } else if (DomainObject.Order.CREATED_AT.equals(name)) {
+                createdAt = ShopifyJsonStream.nextString(jsonReader, DEFAULT_EMPTY);
+            } else if (DomainObject.Order.CUSTOMER.equals(name)) {
+                customerFullName = readCustomerFullName(jsonReader);
+            } else if (DomainObject.Order.CURRENT_TOTAL_PRICE.equals(name)) {
+                currentTotalPrice = ShopifyJsonStream.nextString(jsonReader, DEFAULT_EMPTY);
+            } else if (DomainObject.Order.FINANCIAL_STATUS.equals(name)) {
+                financialStatus = ShopifyJsonStream.nextString(jsonReader, DEFAULT_EMPTY);
+            } else if (DomainObject.Order.FULFILLMENT_STATUS.equals(name)) {
+                fulfillmentStatus = ShopifyJsonStream.nextString(jsonReader, DEFAULT_EMPTY);
+            } else if (DomainObject.Order.LINE_ITEMS.equals(name)) {
+                totalQuantity = readTotalQuantity(jsonReader);
+            } else if (DomainObject.Order.SHIPPING_LINES.equals(name)) {
+                shippingLinesCode = readShippingLinesCode(jsonReader);
+            } else {
+                jsonReader.skipValue();
+            }
+        }
+        jsonReader.endObject();
+        orderKeyValueDtoObj.setCreatedAt(AppUtil.getDateFormatFromTimeDate(createdAt));
+        orderKeyValueDtoObj.setCustomerFullName(customerFullName);
+        orderKeyValueDtoObj.setCurrentTotalPrice(TOTAL_PRICE_IN_RS + currentTotalPrice);
+        orderKeyValueDtoObj.setFinancialStatus(mapFinancialStatus(financialStatus));
+        orderKeyValueDtoObj.setFulfillmentStatus(mapFulfillmentStatus(fulfillmentStatus));
+        orderKeyValueDtoObj.setQuantity(totalQuantity + SPACE + QUANTITY_ITEM);
+        orderKeyValueDtoObj.setShippingLinesCode(shippingLinesCode);
         return orderKeyValueDtoObj;
     }
 
     /**
-     * Gets the full name of the customer from the customer JSON object.
+     * Reads the full name of the customer from the customer object of an order.
      *
-     * @param customerObj The JSON object representing a customer from the order details.
+     * @param jsonReader The reader positioned at the customer value.
      * @return Full name of the customer as a string.
+     * @throws IOException If the customer cannot be read from the stream.
      */
-    private String getCustomerFullName(JSONObject customerObj) {
-        if (Optional.ofNullable(customerObj).isPresent()) {
-            return customerObj.optString(DomainObject.Order.CUSTOMER_FIRST_NAME) + SPACE +
-                    customerObj.optString(DomainObject.Order.CUSTOMER_LAST_NAME);
+    private String readCustomerFullName(JsonReader jsonReader) throws IOException {
+        if (jsonReader.peek() != JsonToken.BEGIN_OBJECT) {
+            jsonReader.skipValue();
+            return DEFAULT_EMPTY;
+        }
+        String firstName = DEFAULT_EMPTY;
+        String lastName = DEFAULT_EMPTY;
+        jsonReader.beginObject();
+        while (jsonReader.hasNext()) {
+            String name = jsonReader.nextName();
+            if (DomainObject.Order.CUSTOMER_FIRST_NAME.equals(name)) {
+                firstName = ShopifyJsonStream.nextString(jsonReader, DEFAULT_EMPTY);
+            } else if (DomainObject.Order.CUSTOMER_LAST_NAME.equals(name)) {
+                lastName = ShopifyJsonStream.nextString(jsonReader, DEFAULT_EMPTY);
+            } else {
+                jsonReader.skipValue();
+            }
         }
-        return DEFAULT_EMPTY;
+        jsonReader.endObject();
+        return firstName + SPACE + lastName;
     }
 
     /**
@@ -281,38 +430,74 @@ public class OrderService {
     }
 
     /**
-     * Calculates and gets the total quantity of items in the order based on the line items.
+     * Calculates the total quantity of items in the order based on the line items.
      *
-     * @param lineItems The JSON array representing line items in the order.
-     * @return Total quantity of items in the order as a string.
+     * @param jsonReader The reader positioned at the line items array.
+     * @return Total quantity of items in the order.
+     * @throws IOException If the line items cannot be read from the stream.
      */
-    private String getTotalQuantity(JSONArray lineItems) {
+    private int readTotalQuantity(JsonReader jsonReader) throws IOException {
         int totalQuantity = 0;
-        if (Optional.ofNullable(lineItems).isPresent()) {
-            for (int i = 0; i < lineItems.length(); i++) {
-                JSONObject lineItem = lineItems.optJSONObject(i);
-                totalQuantity += lineItem.optInt(DomainObject.Order.QUANTITY);
+        if (jsonReader.peek() != JsonToken.BEGIN_ARRAY) {
+            jsonReader.skipValue();
+            return totalQuantity;
+        }
+        jsonReader.beginArray();
+        while (jsonReader.hasNext()) {
+            jsonReader.beginObject();
+            while (jsonReader.hasNext()) {
+                if (DomainObject.Order.QUANTITY.equals(jsonReader.nextName())) {
+                    totalQuantity += (int) ShopifyJsonStream.nextLong(jsonReader, 0L);
+                } else {
+                    jsonReader.skipValue();
+                }
             }
+            jsonReader.endObject();
         }
-        return totalQuantity + SPACE + QUANTITY_ITEM;
+        jsonReader.endArray();
+        return totalQuantity;
     }
 
     /**
-     * Gets the shipping lines code from the JSON array of shipping lines in the order.
+     * Reads the code of the first shipping line of the order.
      *
-     * @param shippingLines The JSON array representing shipping lines in the order.
+     * @param jsonReader The reader positioned at the shipping lines array.
      * @return Shipping lines code as a string.
+     * @throws IOException If the shipping lines cannot be read from the stream.
      */
-    private String getShippingLinesCode(JSONArray shippingLines) {
-        if (Optional.ofNullable(shippingLines).isPresent() && shippingLines.length() > DEFAULT_INTEGER_VALUE_ZERO) {
-            JSONObject firstShippingLine = shippingLines.optJSONObject(DEFAULT_INTEGER_VALUE_ZERO);
-            return firstShippingLine.optString(DomainObject.Order.CODE);
+    private String readShippingLinesCode(JsonReader jsonReader) throws IOException {
+        String shippingLinesCode = null;
+        if (jsonReader.peek() != JsonToken.BEGIN_ARRAY) {
+            jsonReader.skipValue();
+            return DEFAULT_EMPTY;
+        }
+        jsonReader.beginArray();
+        while (jsonReader.hasNext()) {
+            if (Optional.ofNullable(shippingLinesCode).isPresent()) {
+                jsonReader.skipValue();
+                continue;
+            }
+            shippingLinesCode = DEFAULT_EMPTY;
+            jsonReader.beginObject();
+            while (jsonReader.hasNext()) {
+                if (DomainObject.Order.CODE.equals(jsonReader.nextName())) {
+                    shippingLinesCode = ShopifyJsonStream.nextString(jsonReader, DEFAULT_EMPTY);
+                } else {
+                    jsonReader.skipValue();
+                }
+            }
+            jsonReader.endObject();
         }
-        return DEFAULT_EMPTY;
+        jsonReader.endArray();
+        return Optional.ofNullable(shippingLinesCode).orElse(DEFAULT_EMPTY);
     }
 
     /**
-     * Retrieves the yearly order details for the given last year and current year.
+     * Retrieves the yearly order details for the given last year and current year from the backend picked by
+     * {@link #selectOrderAnalyticsBackend()}. The mirror answers from its daily rollups, ShopifyQL with one monthly
+     * aggregate query per year and bulk operations with one bulk query per year. The REST backend reads closed
+     * months from their stored segments, so only the open months are fetched from Shopify once the segments are in
+     * place.
      *
      * @param lastYear    The last year as a string (e.g., "2022").
      * @param currentYear The current year as a string (e.g., "2023").
@@ -322,108 +507,322 @@ public class OrderService {
     public YearlyOrderResponseDto getYearlyOrderDetails(String shopifyEndpoint, String lastYear,
                                                         String currentYear, String shopifyAccessToken)
             throws IOException {
-        YearlyOrderResponseDto yearlyOrderResponseDto = new YearlyOrderResponseDto();
-        List<Orders> lastYearOrderDetailsList = getYearlyOrderDetailsFromShopify(shopifyEndpoint, lastYear, null,
-                shopifyAccessToken);
-        double wiOldPriceCount = lastYearOrderDetailsList.stream()
-                .filter(order -> order.getFinancial_status().equals(ApplicationConstants.Orders.ORDER_PAID_STATUS))
-                .mapToDouble(order -> Double.parseDouble(order.getCurrent_total_price()))
-                .sum();
-        int wiOldTotalOrderCount = (int) lastYearOrderDetailsList.stream()
-                .filter(order -> order.getFinancial_status().equals(ApplicationConstants.Orders.ORDER_PAID_STATUS))
-                .count();
-        List<String> calendarMonthsList = getCalendarMonthsList();
-        Map<String, Double> orderMonthMap = calendarMonthsList.stream().collect(Collectors.toMap(
-                month -> month,
-                month -> DEFAULT_DOUBLE_VALUE));
-        Map<String, Integer> monthsBasedOrderMap = calendarMonthsList.stream().collect(Collectors.toMap(
-                month -> month,
-                month -> DEFAULT_INTEGER_VALUE_ZERO));
-        List<Orders> currentYearOrderDetailsList = getYearlyOrderDetailsFromShopify(shopifyEndpoint, currentYear,
-                null, shopifyAccessToken);
-        double wiOrderNewPriceCount = currentYearOrderDetailsList.stream()
-                .filter(order -> order.getFinancial_status().equals(ApplicationConstants.Orders.ORDER_PAID_STATUS))
-                .mapToDouble(order -> Double.parseDouble(order.getCurrent_total_price()))
-                .sum();
-        int wiTotalOrderCount = (int) currentYearOrderDetailsList.stream()
-                .filter(order -> order.getFinancial_status().equals(ApplicationConstants.Orders.ORDER_PAID_STATUS))
-                .count();
-        currentYearOrderDetailsList.forEach(data -> {
-            if (ApplicationConstants.Orders.ORDER_PAID_STATUS.equals(data.getFinancial_status())) {
-                double wiCurrentTotalPrice = Double.parseDouble(data.getCurrent_total_price());
-                String createdMonth = AppUtil.getCreatedMonth(data.getCreated_at());
-                orderMonthMap.put(createdMonth, orderMonthMap.get(createdMonth) + wiCurrentTotalPrice);
-                monthsBasedOrderMap.put(createdMonth, monthsBasedOrderMap.get(createdMonth) + 1);
+        switch (selectOrderAnalyticsBackend()) {
+            case ORDER_MIRROR:
+                return createYearlyOrderResponse(
+                        orderMirrorService.getPaidOrderStatistics(lastYear, null, getCalendarMonthsList()),
+                        orderMirrorService.getPaidOrderStatistics(currentYear, null, getCalendarMonthsList()));
+            case SHOPIFY_QL:
+                return createYearlyOrderResponse(
+                        shopifyQlOrderAnalytics.getSalesByMonth(lastYear, null, shopifyAccessToken,
+                                getCalendarMonthsList()),
+                        shopifyQlOrderAnalytics.getSalesByMonth(currentYear, null, shopifyAccessToken,
+                                getCalendarMonthsList()));
+            case BULK_OPERATION:
+                return getYearlyOrderDetailsByBulkOperation(shopifyGraphQueryEndPoint, lastYear, currentYear,
+                        shopifyAccessToken, ZoneId.of(shopifyShopTimeZone));
+            default:
+                break;
+        }
+        YearlyOrderStatistics lastYearStatistics = new YearlyOrderStatistics(getCalendarMonthsList());
+        aggregatePaidOrdersSince(shopifyEndpoint, lastYear, shopifyAccessToken, lastYearStatistics);
+        YearlyOrderStatistics currentYearStatistics = new YearlyOrderStatistics(getCalendarMonthsList());
+        aggregatePaidOrdersSince(shopifyEndpoint, currentYear, shopifyAccessToken, currentYearStatistics);
+        return createYearlyOrderResponse(lastYearStatistics, currentYearStatistics);
+    }
+
+    /**
+     * Aggregates the paid orders processed since the given date. Closed months with a stored segment are added
+     * without any Shopify call; a partial first month, closed months without a segment and the open months are
+     * fetched, and the closed months among them are stored for the next request.
+     *
+     * @param shopifyEndpoint       The Shopify orders endpoint.
+     * @param fromDate              The start of the range.
+     * @param shopifyAccessToken    The access token used to authenticate with Shopify.
+     * @param yearlyOrderStatistics The statistics to update.
+     * @throws IOException if the orders cannot be fetched from Shopify.
+     */
+    private void aggregatePaidOrdersSince(String shopifyEndpoint, String fromDate, String shopifyAccessToken,
+                                          YearlyOrderStatistics yearlyOrderStatistics) throws IOException {
+        YearMonth firstWholeMonth = closedMonthSegmentService.getFirstWholeMonth(fromDate);
+        YearMonth lastClosedMonth = closedMonthSegmentService.getLastClosedMonth();
+        if (firstWholeMonth.isAfter(lastClosedMonth)) {
+            aggregatePaidOrders(getYearlyOrderEndPoint(shopifyEndpoint, fromDate, null), shopifyAccessToken,
+                    yearlyOrderStatistics);
+            return;
+        }
+        if (!closedMonthSegmentService.isMonthStart(fromDate)) {
+            aggregatePaidOrders(getYearlyOrderEndPoint(shopifyEndpoint, fromDate,
+                            ClosedMonthSegmentService.formatMonthEnd(firstWholeMonth.minusMonths(1))),
+                    shopifyAccessToken, yearlyOrderStatistics);
+        }
+        Map<YearMonth, ClosedMonthSegment> segments = closedMonthSegmentService.findSegments(
+                ClosedMonthSegmentService.PAID_ORDERS, firstWholeMonth, lastClosedMonth);
+        YearMonth month = firstWholeMonth;
+        while (!month.isAfter(lastClosedMonth)) {
+            ClosedMonthSegment segment = segments.get(month);
+            if (Optional.ofNullable(segment).isPresent()) {
+                yearlyOrderStatistics.addPaidOrders(month.getMonthValue(), segment.getRecordCount(),
+                        segment.getAmountMinor());
+                month = month.plusMonths(1);
+            } else {
+                month = aggregateMissingSegments(shopifyEndpoint, month, lastClosedMonth, segments,
+                        shopifyAccessToken, yearlyOrderStatistics).plusMonths(1);
             }
-        });
-        int wiPercentage = (int) ((wiOrderNewPriceCount - wiOldPriceCount) / 100);
-        int wiOrderPercentage = ((wiTotalOrderCount - wiOldTotalOrderCount) / 100);
-        yearlyOrderResponseDto.setOrderData(orderMonthMap);
-        yearlyOrderResponseDto.setPercentage(wiPercentage);
-        yearlyOrderResponseDto.setMonthsBasedOrder(monthsBasedOrderMap);
-        yearlyOrderResponseDto.setTotalOrder(wiTotalOrderCount);
-        yearlyOrderResponseDto.setOrderPercentage(BigDecimal.valueOf(wiOrderPercentage));
-        return yearlyOrderResponseDto;
+        }
+        aggregatePaidOrders(getYearlyOrderEndPoint(shopifyEndpoint,
+                        ClosedMonthSegmentService.formatMonthStart(lastClosedMonth.plusMonths(1)), null),
+                shopifyAccessToken, yearlyOrderStatistics);
     }
 
     /**
-     * Fetches the yearly order details from Shopify for the given order date.
+     * Fetches a run of closed months without a stored segment with a single query, stores a segment for each of
+     * them and adds them to the statistics. The run is fetched by processed date, so its orders are put in the month
+     * they were processed in rather than created in; otherwise an order created before the run would fall outside
+     * every month of it. A run never crosses a year, so its orders fall in distinct calendar months of the
+     * statistics.
      *
-     * @param fromDate The order date as a string (e.g., "2022-12-31T23:59:59").
-     * @return A list of {@link Orders} representing the yearly order details.
-     * @throws IOException if there is an error while fetching the data from Shopify.
+     * @param shopifyEndpoint       The Shopify orders endpoint.
+     * @param firstMonth            The first month without a segment.
+     * @param lastClosedMonth       The last closed month.
+     * @param segments              The stored segments by month.
+     * @param shopifyAccessToken    The access token used to authenticate with Shopify.
+     * @param yearlyOrderStatistics The statistics to update.
+     * @return The last month of the run.
+     * @throws IOException if the orders cannot be fetched from Shopify.
      */
-    public List<Orders> getYearlyOrderDetailsFromShopify(String shopifyEndpoint, String fromDate, String toDate,
-                                                         String shopifyAccessToken) throws IOException {
-        orderServiceLogger.info("Entered get order details from shopify api call:::::::::::::::");
-        String pageInfo = null;
-        List<Orders> allOrderList = new ArrayList<>();
-        boolean lastPage = true;
-        HttpURLConnection httpConnection = null;
-        while (lastPage) {
-            if (allOrderList.isEmpty()) {
-                if (Optional.ofNullable(toDate).isEmpty()) {
-                    httpConnection = getHttpURLConnection(shopifyEndpoint +
-                            SHOPIFY_ENDPOINT_URL_QUESTIONMARK + SHOPIFY_ENDPOINT_PARAM_PROCESSED_AT_MIN + fromDate +
-                            SPLIT_WITH_AND_SYMBOL + pageInfo, shopifyAccessToken);
-                } else {
-                    httpConnection = getHttpURLConnection(shopifyEndpoint +
-                                    SHOPIFY_ENDPOINT_URL_QUESTIONMARK + SHOPIFY_ENDPOINT_PARAM_PROCESSED_AT_MIN + fromDate +
-                                    SHOPIFY_ENDPOINT_PARAM_PROCESSED_AT_MAX + toDate + SPLIT_WITH_AND_SYMBOL + pageInfo,
-                            shopifyAccessToken);
-                }
+    private YearMonth aggregateMissingSegments(String shopifyEndpoint, YearMonth firstMonth,
+                                               YearMonth lastClosedMonth, Map<YearMonth, ClosedMonthSegment> segments,
+                                               String shopifyAccessToken,
+                                               YearlyOrderStatistics yearlyOrderStatistics) throws IOException {
+        YearMonth lastMonth = firstMonth;
+        while (lastMonth.getMonth() != Month.DECEMBER && lastMonth.isBefore(lastClosedMonth) &&
+                !segments.containsKey(lastMonth.plusMonths(1))) {
+            lastMonth = lastMonth.plusMonths(1);
+        }
+        YearlyOrderStatistics runStatistics = new YearlyOrderStatistics(getCalendarMonthsList());
+        aggregatePaidOrders(getYearlyOrderEndPoint(shopifyEndpoint,
+                        ClosedMonthSegmentService.formatMonthStart(firstMonth),
+                        ClosedMonthSegmentService.formatMonthEnd(lastMonth)),
+                shopifyAccessToken, runStatistics, REST_PROCESSED_AT);
+        for (YearMonth month = firstMonth; !month.isAfter(lastMonth); month = month.plusMonths(1)) {
+            int monthOrderCount = runStatistics.getMonthOrderCount(month.getMonthValue());
+            long monthRevenueCents = runStatistics.getMonthRevenueCents(month.getMonthValue());
+            closedMonthSegmentService.saveSegment(ClosedMonthSegmentService.PAID_ORDERS, month, monthOrderCount,
+                    monthRevenueCents);
+            yearlyOrderStatistics.addPaidOrders(month.getMonthValue(), monthOrderCount, monthRevenueCents);
+        }
+        return lastMonth;
+    }
+
+    /**
+     * Retrieves the yearly order details for the given last year and current year through Shopify bulk operations.
+     * Each year is pulled with a single bulk query whose JSONL result is streamed straight into the statistics, so
+     * no list of the year's orders is ever built.
+     *
+     * @param shopifyGraphQueryEndPoint The GraphQL endpoint of the shop.
+     * @param lastYear                  The last year as a string (e.g., "2022").
+     * @param currentYear               The current year as a string (e.g., "2023").
+     * @param shopifyAccessToken        The access token used to authenticate with Shopify.
+     * @param shopZoneId                The time zone of the shop, used to place orders in their calendar month.
+     * @return A {@link YearlyOrderResponseDto} containing the yearly order statistics.
+     * @throws IOException if a bulk operation fails or its result cannot be read.
+     */
+    public YearlyOrderResponseDto getYearlyOrderDetailsByBulkOperation(String shopifyGraphQueryEndPoint,
+                                                                       String lastYear, String currentYear,
+                                                                       String shopifyAccessToken, ZoneId shopZoneId)
+            throws IOException {
+        YearlyOrderStatistics lastYearStatistics = getBulkOrderStatistics(shopifyGraphQueryEndPoint, lastYear,
+                shopifyAccessToken, shopZoneId);
+        YearlyOrderStatistics currentYearStatistics = getBulkOrderStatistics(shopifyGraphQueryEndPoint, currentYear,
+                shopifyAccessToken, shopZoneId);
+        return createYearlyOrderResponse(lastYearStatistics, currentYearStatistics);
+    }
+
+    /**
+     * Runs a bulk query for every order processed since the given date and aggregates the paid ones.
+     *
+     * @param shopifyGraphQueryEndPoint The GraphQL endpoint of the shop.
+     * @param fromDate                  The minimum processed date of the orders.
+     * @param shopifyAccessToken        The access token used to authenticate with Shopify.
+     * @param shopZoneId                The time zone of the shop.
+     * @return The statistics of the paid orders.
+     * @throws IOException if the bulk operation fails or its result cannot be read.
+     */
+    YearlyOrderStatistics getBulkOrderStatistics(String shopifyGraphQueryEndPoint, String fromDate,
+                                                 String shopifyAccessToken, ZoneId shopZoneId) throws IOException {
+        YearlyOrderStatistics yearlyOrderStatistics = new YearlyOrderStatistics(getCalendarMonthsList());
+        String resultUrl = shopifyBulkOperation.run(shopifyGraphQueryEndPoint, shopifyAccessToken,
+                String.format(BULK_ORDERS_QUERY, fromDate));
+        if (Optional.ofNullable(resultUrl).isPresent()) {
+            long orderCount = shopifyBulkOperation.forEachLine(resultUrl, jsonReader ->
+                    readBulkOrder(jsonReader, yearlyOrderStatistics, shopZoneId));
+            orderServiceLogger.info("Aggregated {} bulk orders processed since {}", orderCount, fromDate);
+        }
+        return yearlyOrderStatistics;
+    }
+
+    /**
+     * Reads one order of a bulk operation result and adds it to the statistics if it is paid.
+     *
+     * @param jsonReader            The reader positioned at the start of the order object.
+     * @param yearlyOrderStatistics The statistics to update.
+     * @param shopZoneId            The time zone of the shop.
+     * @throws IOException If the order cannot be read from the stream.
+     */
+    private void readBulkOrder(JsonReader jsonReader, YearlyOrderStatistics yearlyOrderStatistics, ZoneId shopZoneId)
+            throws IOException {
+        String createdAt = DEFAULT_EMPTY;
+        String financialStatus = DEFAULT_EMPTY;
+        String totalPrice = null;
+        jsonReader.beginObject();
+        while (jsonReader.hasNext()) {
+            String name = jsonReader.nextName();
+            if (BULK_CREATED_AT.equals(name)) {
+                createdAt = ShopifyJsonStream.nextString(jsonReader, DEFAULT_EMPTY);
+            } else if (BULK_FINANCIAL_STATUS.equals(name)) {
+                financialStatus = ShopifyJsonStream.nextString(jsonReader, DEFAULT_EMPTY);
+            } else if (BULK_CURRENT_TOTAL_PRICE_SET.equals(name)) {
+                totalPrice = readShopMoneyAmount(jsonReader);
             } else {
-                httpConnection = getHttpURLConnection(shopifyEndpoint +
-                        SHOPIFY_ENDPOINT_URL_QUESTIONMARK + pageInfo, shopifyAccessToken);
+                jsonReader.skipValue();
             }
-            int responseCode = httpConnection.getResponseCode();
-            if (responseCode == HttpURLConnection.HTTP_OK) {
-                try (BufferedReader httpConnectionBufferReader = new BufferedReader(new InputStreamReader(
-                        httpConnection.getInputStream()))) {
-                    String sbNewLine = httpConnectionBufferReader.lines().collect(Collectors.joining());
-                    Gson gsonObject = new Gson();
-                    OrderResponseDto orderResponseDtoObj = gsonObject.fromJson(sbNewLine, OrderResponseDto.class);
-                    List<Orders> ordersList = orderResponseDtoObj.getOrders();
-                    allOrderList.addAll(ordersList);
-                    String linkHeader = httpConnection.getHeaderField(ApplicationConstants.ShopifyApiHeaders.LINK);
-                    if (linkHeader == null || !linkHeader.contains(RESPONSE_HINT_FOR_NEXT_PAGE)) {
-                        lastPage = false;
+        }
+        jsonReader.endObject();
+        if (ApplicationConstants.Orders.ORDER_PAID_STATUS.equalsIgnoreCase(financialStatus)
+                && Optional.ofNullable(totalPrice).isPresent()) {
+            int createdMonth = OffsetDateTime.parse(createdAt).atZoneSameInstant(shopZoneId).getMonthValue();
+            yearlyOrderStatistics.addPaidOrder(createdMonth, YearlyOrderStatistics.parseCents(totalPrice));
+        }
+    }
+
+    /**
+     * Reads the shop currency amount out of a GraphQL {@code MoneyBag}.
+     *
+     * @param jsonReader The reader positioned at the money bag value.
+     * @return The amount, or {@code null} if it is absent.
+     * @throws IOException If the money bag cannot be read from the stream.
+     */
+    private String readShopMoneyAmount(JsonReader jsonReader) throws IOException {
+        String amount = null;
+        if (jsonReader.peek() != JsonToken.BEGIN_OBJECT) {
+            jsonReader.skipValue();
+            return amount;
+        }
+        jsonReader.beginObject();
+        while (jsonReader.hasNext()) {
+            if (BULK_SHOP_MONEY.equals(jsonReader.nextName()) && jsonReader.peek() == JsonToken.BEGIN_OBJECT) {
+                jsonReader.beginObject();
+                while (jsonReader.hasNext()) {
+                    if (BULK_AMOUNT.equals(jsonReader.nextName())) {
+                        amount = ShopifyJsonStream.nextString(jsonReader, null);
                     } else {
-                        String nextLink = productService.parseNextLink(linkHeader);
-                        if (Optional.ofNullable(nextLink).isPresent()) {
-                            Map<String, String> params = productService.parseQueryParameters(nextLink);
-                            String strPageInfo = params.get(ApplicationConstants.ShopifyApiHeaders.PAGE_INFO)
-                                    .replace(REPLACE_WITH_GREATER_THAN, DEFAULT_EMPTY);
-                            pageInfo = ApplicationConstants.ShopifyApiHeaders.PAGE_INFO + EQUAL_TO + strPageInfo;
-                        }
+                        jsonReader.skipValue();
                     }
                 }
+                jsonReader.endObject();
+            } else {
+                jsonReader.skipValue();
+            }
+        }
+        jsonReader.endObject();
+        return amount;
+    }
+
+    /**
+     * Streams every order of an orders query into the statistics, putting each order in the month it was created in.
+     *
+     * @param firstPageUrl          The URL of the first page including the query filters.
+     * @param shopifyAccessToken    The access token used to authenticate with Shopify.
+     * @param yearlyOrderStatistics The statistics to update.
+     * @throws IOException if a page cannot be fetched or read.
+     */
+    private void aggregatePaidOrders(String firstPageUrl, String shopifyAccessToken,
+                                     YearlyOrderStatistics yearlyOrderStatistics) throws IOException {
+        aggregatePaidOrders(firstPageUrl, shopifyAccessToken, yearlyOrderStatistics, DomainObject.Order.CREATED_AT);
+    }
+
+    /**
+     * Streams every order of an orders query into the statistics. Only the given timestamp, the financial status and
+     * the current total price are read; every other member of the order is skipped without being materialised.
+     *
+     * @param firstPageUrl          The URL of the first page including the query filters.
+     * @param shopifyAccessToken    The access token used to authenticate with Shopify.
+     * @param yearlyOrderStatistics The statistics to update.
+     * @param monthTimestampName    The name of the order timestamp whose month the order is put in.
+     * @throws IOException if a page cannot be fetched or read.
+     */
+    private void aggregatePaidOrders(String firstPageUrl, String shopifyAccessToken,
+                                     YearlyOrderStatistics yearlyOrderStatistics, String monthTimestampName)
+            throws IOException {
+        orderServiceLogger.info("Entered stream order details from shopify api call:::::::::::::::");
+        shopifyPagePipeline.forEachPage(shopifyClient, firstPageUrl, shopifyAccessToken,
+                shopifyResponse -> ShopifyJsonStream.forEachElement(shopifyResponse.getBodyReader(),
+                        DomainObject.Order.ORDERS, jsonReader -> readPaidOrder(jsonReader, yearlyOrderStatistics,
+                                monthTimestampName)));
+    }
+
+    /**
+     * Reads one order of a REST page and adds it to the statistics if it is paid.
+     *
+     * @param jsonReader            The reader positioned at the start of the order object.
+     * @param yearlyOrderStatistics The statistics to update.
+     * @param monthTimestampName    The name of the order timestamp whose month the order is put in.
+     * @throws IOException If the order cannot be read from the stream.
+     */
+    private void readPaidOrder(JsonReader jsonReader, YearlyOrderStatistics yearlyOrderStatistics,
+                               String monthTimestampName) throws IOException {
+        String monthTimestamp = DEFAULT_EMPTY;
+        String financialStatus = DEFAULT_EMPTY;
+        String currentTotalPrice = DEFAULT_EMPTY;
+        jsonReader.beginObject();
+        while (jsonReader.hasNext()) {
+            String name = jsonReader.nextName();
+            if (monthTimestampName.equals(name)) {
+                monthTimestamp = ShopifyJsonStream.nextString(jsonReader, DEFAULT_EMPTY);
+            } else if (DomainObject.Order.FINANCIAL_STATUS.equals(name)) {
+                financialStatus = ShopifyJsonStream.nextString(jsonReader, DEFAULT_EMPTY);
+            } else if (DomainObject.Order.CURRENT_TOTAL_PRICE.equals(name)) {
+                currentTotalPrice = ShopifyJsonStream.nextString(jsonReader, DEFAULT_EMPTY);
             } else {
-                lastPage = false;
+                jsonReader.skipValue();
             }
-            httpConnection.disconnect();
         }
-        return allOrderList;
+        jsonReader.endObject();
+        if (ApplicationConstants.Orders.ORDER_PAID_STATUS.equals(financialStatus)) {
+            yearlyOrderStatistics.addPaidOrder(monthTimestamp, currentTotalPrice);
+        }
+    }
+
+    /**
+     * Builds the yearly order response by comparing the current year with the last year.
+     *
+     * @param lastYearStatistics    The statistics of the last year.
+     * @param currentYearStatistics The statistics of the current year.
+     * @return A {@link YearlyOrderResponseDto} containing the yearly order statistics.
+     */
+    private YearlyOrderResponseDto createYearlyOrderResponse(YearlyOrderStatistics lastYearStatistics,
+                                                             YearlyOrderStatistics currentYearStatistics) {
+        YearlyOrderResponseDto yearlyOrderResponseDto = new YearlyOrderResponseDto();
+        int wiPercentage = (int) ((currentYearStatistics.getPaidTotalPrice() -
+                lastYearStatistics.getPaidTotalPrice()) / 100);
+        int wiOrderPercentage = ((currentYearStatistics.getPaidOrderCount() -
+                lastYearStatistics.getPaidOrderCount()) / 100);
+        yearlyOrderResponseDto.setOrderData(currentYearStatistics.getOrderMonthMap());
+        yearlyOrderResponseDto.setPercentage(wiPercentage);
+        yearlyOrderResponseDto.setMonthsBasedOrder(currentYearStatistics.getMonthsBasedOrderMap());
+        yearlyOrderResponseDto.setTotalOrder(currentYearStatistics.getPaidOrderCount());
+        yearlyOrderResponseDto.setOrderPercentage(BigDecimal.valueOf(wiOrderPercentage));
+        return yearlyOrderResponseDto;
+    }
+
+    private String getYearlyOrderEndPoint(String shopifyEndpoint, String fromDate, String toDate) {
+        String orderEndPoint = shopifyEndpoint + SHOPIFY_ENDPOINT_URL_QUESTIONMARK +
+                SHOPIFY_ENDPOINT_PARAM_PROCESSED_AT_MIN + fromDate;
+        if (Optional.ofNullable(toDate).isPresent()) {
+            orderEndPoint = orderEndPoint + SHOPIFY_ENDPOINT_PARAM_PROCESSED_AT_MAX + toDate;
+        }
+        return orderEndPoint + SPLIT_WITH_AND_SYMBOL + SHOPIFY_ENDPOINT_LIMIT;
     }
 
     /**
@@ -439,27 +838,26 @@ public class OrderService {
      */
     public AverageOrderValueResponseDto getAverageValueOfOrders(String shopifyEndpoint, String fromDate, String toDate,
                                                                 String shopifyAccessToken, Integer noOfDays) throws IOException {
+        return createAverageOrderValueResponse(getPaidOrderStatistics(shopifyEndpoint, fromDate, toDate,
+                shopifyAccessToken), noOfDays);
+    }
+
+    /**
+     * Builds the average order value response from the paid order statistics of the period.
+     *
+     * @param yearlyOrderStatistics The statistics of the paid orders of the period.
+     * @param noOfDays              The number of days of the period.
+     * @return An AverageOrderValueResponseDto containing the total average order value and percentage.
+     */
+    public AverageOrderValueResponseDto createAverageOrderValueResponse(YearlyOrderStatistics yearlyOrderStatistics,
+                                                                        Integer noOfDays) {
         AverageOrderValueResponseDto averageOrderValueResponseDto = new AverageOrderValueResponseDto();
-        List<Orders> getCurrentYearOrderDetails = getYearlyOrderDetailsFromShopify(shopifyEndpoint, fromDate, toDate,
-                shopifyAccessToken);
-        int wiTotalPaidOrderStatusCount = (int) getCurrentYearOrderDetails.stream()
-                .filter(order -> order.getFinancial_status().equals(ApplicationConstants.Orders.ORDER_PAID_STATUS))
-                .count();
+        int wiTotalPaidOrderStatusCount = yearlyOrderStatistics.getPaidOrderCount();
         BigDecimal percentage = BigDecimal.valueOf(wiTotalPaidOrderStatusCount)
                 .divide(BigDecimal.valueOf(noOfDays), 2, RoundingMode.HALF_UP);
-        List<String> calendarMonthsList = getCalendarMonthsList();
-        Map<String, Integer> monthsBasedOrderMap = calendarMonthsList.stream().collect(Collectors.toMap(
-                month -> month,
-                month -> DEFAULT_INTEGER_VALUE_ZERO));
-        getCurrentYearOrderDetails.forEach(data -> {
-            if (ApplicationConstants.Orders.ORDER_PAID_STATUS.equals(data.getFinancial_status())) {
-                String createdMonth = AppUtil.getCreatedMonth(data.getCreated_at());
-                monthsBasedOrderMap.put(createdMonth, monthsBasedOrderMap.get(createdMonth) + 1);
-            }
-        });
         averageOrderValueResponseDto.setTotalAverageOrderValue(wiTotalPaidOrderStatusCount);
         averageOrderValueResponseDto.setPercentage(percentage);
-        averageOrderValueResponseDto.setMonthsBasedOrder(monthsBasedOrderMap);
+        averageOrderValueResponseDto.setMonthsBasedOrder(yearlyOrderStatistics.getMonthsBasedOrderMap());
         return averageOrderValueResponseDto;
     }
 
@@ -473,42 +871,62 @@ public class OrderService {
      */
     public YearlyOrderResponseDto getFilterOrderDetails(String shopifyEndpoint, String fromDate, String toDate,
                                                         String shopifyAccessToken, Integer noOfDays) throws IOException {
+        return createFilterOrderResponse(getPaidOrderStatistics(shopifyEndpoint, fromDate, toDate,
+                shopifyAccessToken), noOfDays);
+    }
+
+    /**
+     * Builds the filtered order response from the paid order statistics of the period.
+     *
+     * @param yearlyOrderStatistics The statistics of the paid orders of the period.
+     * @param noOfDays              The number of days of the period.
+     * @return A YearlyOrderResponseDto containing the filtered order details.
+     */
+    public YearlyOrderResponseDto createFilterOrderResponse(YearlyOrderStatistics yearlyOrderStatistics,
+                                                            Integer noOfDays) {
         YearlyOrderResponseDto yearlyOrderResponseDto = new YearlyOrderResponseDto();
-        List<Orders> filteredOrderDetailsList = getFilterOrderListFromShopify(shopifyEndpoint, fromDate,
-                toDate, shopifyAccessToken);
-        double wiOldPriceCount = filteredOrderDetailsList.stream()
-                .filter(order -> order.getFinancial_status().equals(ApplicationConstants.Orders.ORDER_PAID_STATUS))
-                .mapToDouble(order -> Double.parseDouble(order.getCurrent_total_price()))
-                .sum();
-        List<String> calendarMonthsList = getCalendarMonthsList();
-        Map<String, Double> orderMonthMap = calendarMonthsList.stream().collect(Collectors.toMap(
-                month -> month,
-                month -> DEFAULT_DOUBLE_VALUE));
-        Map<String, Integer> monthsBasedOrderMap = calendarMonthsList.stream().collect(Collectors.toMap(
-                month -> month,
-                month -> DEFAULT_INTEGER_VALUE_ZERO));
-        int wiTotalOrderCount = (int) filteredOrderDetailsList.stream()
-                .filter(order -> order.getFinancial_status().equals(ApplicationConstants.Orders.ORDER_PAID_STATUS))
-                .count();
-        filteredOrderDetailsList.forEach(data -> {
-            if (ApplicationConstants.Orders.ORDER_PAID_STATUS.equals(data.getFinancial_status())) {
-                double wiCurrentTotalPrice = Double.parseDouble(data.getCurrent_total_price());
-                String createdMonth = AppUtil.getCreatedMonth(data.getCreated_at());
-                orderMonthMap.put(createdMonth, orderMonthMap.get(createdMonth) + wiCurrentTotalPrice);
-                monthsBasedOrderMap.put(createdMonth, monthsBasedOrderMap.get(createdMonth) + 1);
-            }
-        });
-        int wiPercentage = (int) ((wiOldPriceCount) / noOfDays);
+        int wiTotalOrderCount = yearlyOrderStatistics.getPaidOrderCount();
+        int wiPercentage = (int) (yearlyOrderStatistics.getPaidTotalPrice() / noOfDays);
         BigDecimal wiOrderPercentage = BigDecimal.valueOf(wiTotalOrderCount)
                 .divide(BigDecimal.valueOf(noOfDays), 2, RoundingMode.HALF_UP);
-        yearlyOrderResponseDto.setOrderData(orderMonthMap);
+        yearlyOrderResponseDto.setOrderData(yearlyOrderStatistics.getOrderMonthMap());
         yearlyOrderResponseDto.setPercentage(wiPercentage);
-        yearlyOrderResponseDto.setMonthsBasedOrder(monthsBasedOrderMap);
+        yearlyOrderResponseDto.setMonthsBasedOrder(yearlyOrderStatistics.getMonthsBasedOrderMap());
         yearlyOrderResponseDto.setTotalOrder(wiTotalOrderCount);
         yearlyOrderResponseDto.setOrderPercentage(wiOrderPercentage);
         return yearlyOrderResponseDto;
     }
 
+    /**
+     * Aggregates the paid orders processed in the given range from the backend picked by
+     * {@link #selectOrderAnalyticsBackend()}: the mirror's daily rollups, a daily ShopifyQL aggregate, or otherwise
+     * by streaming the orders from Shopify. Bulk operations only pull whole years, so ranges fall back to streaming
+     * with that backend. Callers that need several views of the same range build them all from the one result
+     * instead of fetching the range again.
+     *
+     * @param shopifyEndpoint    The Shopify orders endpoint.
+     * @param fromDate           The start date of the range.
+     * @param toDate             The end date of the range, or {@code null} for an open ended range.
+     * @param shopifyAccessToken The access token used to authenticate with Shopify.
+     * @return The statistics of the paid orders.
+     * @throws IOException if the orders cannot be fetched from Shopify.
+     */
+    public YearlyOrderStatistics getPaidOrderStatistics(String shopifyEndpoint, String fromDate, String toDate,
+                                                        String shopifyAccessToken) throws IOException {
+        OrderAnalyticsBackend orderAnalyticsBackend = selectOrderAnalyticsBackend();
+        if (orderAnalyticsBackend == OrderAnalyticsBackend.ORDER_MIRROR) {
+            return orderMirrorService.getPaidOrderStatistics(fromDate, toDate, getCalendarMonthsList());
+        }
+        if (orderAnalyticsBackend == OrderAnalyticsBackend.SHOPIFY_QL) {
+            return shopifyQlOrderAnalytics.getSalesByDay(fromDate, toDate, shopifyAccessToken,
+                    getCalendarMonthsList());
+        }
+        YearlyOrderStatistics yearlyOrderStatistics = new YearlyOrderStatistics(getCalendarMonthsList());
+        aggregatePaidOrders(getYearlyOrderEndPoint(shopifyEndpoint, fromDate, toDate), shopifyAccessToken,
+                yearlyOrderStatistics);
+        return yearlyOrderStatistics;
+    }
+
     static List<String> getCalendarMonthsList() {
         List<String> calendarMonthsList = new ArrayList<>();
         calendarMonthsList.add(ApplicationConstants.CalendarMonths.JANUARY);
@@ -526,68 +944,13 @@ public class OrderService {
         return calendarMonthsList;
     }
 
-    /**
-     * Fetches filtered order details from the Shopify API based on the provided fromDate and toDate.
-     *
-     * @param fromDate The start date of the filter range.
-     * @param toDate   The end date of the filter range.
-     * @return A List of Orders containing the filtered order details.
-     * @throws IOException If there's an error while fetching the filtered order details from the Shopify API.
-     */
-    public List<Orders> getFilterOrderListFromShopify(String shopifyEndpoint, String fromDate, String toDate,
-                                                      String shopifyAccessToken) throws IOException {
-        orderServiceLogger.info("Entered get filtered orders details from Shopify API call:::::::::::::::");
-        String pageInfo = null;
-        List<Orders> allOrderList = new ArrayList<>();
-        boolean lastPage = true;
-        while (lastPage) {
-            String orderEndPoint = getOrderEndPoint(shopifyEndpoint, fromDate, toDate, pageInfo);
-            HttpURLConnection httpConnection = getHttpURLConnection(orderEndPoint, shopifyAccessToken);
-            int responseCode = httpConnection.getResponseCode();
-            if (responseCode == HttpURLConnection.HTTP_OK) {
-                try (BufferedReader httpConnectionBufferReader = new BufferedReader(new InputStreamReader(
-                        httpConnection.getInputStream()))) {
-                    String sbNewLine = httpConnectionBufferReader.lines().collect(Collectors.joining());
-                    Gson gsonObject = new Gson();
-                    OrderResponseDto orderResponseDtoObj = gsonObject.fromJson(sbNewLine, OrderResponseDto.class);
-                    List<Orders> ordersList = orderResponseDtoObj.getOrders();
-                    allOrderList.addAll(ordersList);
-                    String linkHeader = httpConnection.getHeaderField(ApplicationConstants.ShopifyApiHeaders.LINK);
-                    if (linkHeader == null || !linkHeader.contains(RESPONSE_HINT_FOR_NEXT_PAGE)) {
-                        lastPage = false;
-                    } else {
-                        String nextLink = productService.parseNextLink(linkHeader);
-                        if (Optional.ofNullable(nextLink).isPresent()) {
-                            Map<String, String> params = productService.parseQueryParameters(nextLink);
-                            String strPageInfo = params.get(ApplicationConstants.ShopifyApiHeaders.PAGE_INFO)
-                                    .replace(REPLACE_WITH_GREATER_THAN, DEFAULT_EMPTY);
-                            pageInfo = ApplicationConstants.ShopifyApiHeaders.PAGE_INFO + EQUAL_TO + strPageInfo;
-                        }
-                    }
-                }
-            } else {
-                lastPage = false;
-            }
-            httpConnection.disconnect();
-        }
-        return allOrderList;
-    }
-
-    String getOrderEndPoint(String shopifyEndpoint, String fromDate, String toDate, String pageInfo) {
-        String orderEndPoint;
-        if (Optional.ofNullable(pageInfo).isPresent()) {
-            orderEndPoint = shopifyEndpoint + SHOPIFY_ENDPOINT_URL_QUESTIONMARK + pageInfo;
-        } else {
-            orderEndPoint = shopifyEndpoint + SHOPIFY_ENDPOINT_URL_QUESTIONMARK +
-                    SHOPIFY_ENDPOINT_PARAM_PROCESSED_AT_MIN + fromDate +
-                    SHOPIFY_ENDPOINT_PARAM_PROCESSED_AT_MAX + toDate +
-                    SPLIT_WITH_AND_SYMBOL + SHOPIFY_ENDPOINT_LIMIT;
-        }
-        return orderEndPoint;
-    }
-
     /**
      * Retrieves the order details for a given order ID from Shopify and other relevant data related to the order.
+     * <p>
+     * Two remote calls are made in parallel on the fan-out executor: the REST order itself and one composed
+     * GraphQL query for the conversion summary, channel information, customer order count and the variant weight
+     * and image of every line item. The database reads start as soon as the order is in. Only orders with more line
+     * items than the query fetches fall back to one variant and image lookup per line item.
      *
      * @param orderId The unique identifier of the order.
      * @return An OrderDto containing the order details, total order count by customer, and conversion summary.
@@ -601,98 +964,227 @@ public class OrderService {
                                              String shopifyProductImageByProductIdAndImageIdEndPoint)
             throws ExecutionException, InterruptedException {
         OrderDto orderDtoObj = new OrderDto();
-        CompletableFuture<Orders> getOrderDetailsByOrderIdFromShopify = CompletableFuture.supplyAsync(() -> {
-            try {
-                return getOrderDetailsByOrderIdFromShopify(shopifyOrderDetailsByOrderIdEndPoint, orderId,
-                        shopifyAccessToken);
-            } catch (IOException e) {
-                throw new RuntimeException(e);
-            }
-        });
-        orderDtoObj.setOrder(getOrderDetailsByOrderIdFromShopify.get());
-        if (Optional.ofNullable(getOrderDetailsByOrderIdFromShopify.get().getCustomer().getId()).isPresent()) {
-            CompletableFuture<CustomerDto> getTotalOrderCountByCustomerIdFromShopify = CompletableFuture.supplyAsync(
-                    () -> {
-                        try {
-                            return getTotalOrderCountByCustomerIdFromShopify(shopifyResetPasswordEndPoint,
-                                    String.valueOf(getOrderDetailsByOrderIdFromShopify.get().getCustomer().getId()),
-                                    shopifyAccessToken);
-                        } catch (Exception e) {
-                            throw new RuntimeException(e);
-                        }
-                    });
-            orderDtoObj.setTotalOrdersCount(getTotalOrderCountByCustomerIdFromShopify.get().getOrders_count());
-        }
-        CompletableFuture<ConversionSummaryDto> getConversionSummary = CompletableFuture.supplyAsync(() ->
-                getConversionSummary(shopifyGraphQueryEndPoint, orderId, shopifyAccessToken));
-        orderDtoObj.setConversionSummary(getConversionSummary.get());
-        List<ProductInfoDto> productInfoDtoList = new ArrayList<>();
-        getOrderDetailsByOrderIdFromShopify.get().getLine_items().forEach(lineItems -> {
-            CompletableFuture<VariantDetailsDto> getVariantDetailsDtoCompletableFuture = CompletableFuture.supplyAsync(() ->
-            {
-                try {
-                    return getVariantDetails(shopifyVariantDetailsByVariantIdEndPoint, lineItems.getVariant_id(),
-                            shopifyAccessToken);
-                } catch (IOException e) {
-                    throw new RuntimeException(e);
-                }
-            });
-            try {
-                orderDtoObj.setWeight(getVariantDetailsDtoCompletableFuture.get().getWeight());
-                orderDtoObj.setWeightUnit(getVariantDetailsDtoCompletableFuture.get().getWeight_unit());
-            } catch (InterruptedException | ExecutionException e) {
-                throw new RuntimeException(e);
+        CompletableFuture<Orders> getOrderDetailsByOrderIdFromShopify = supplyAsync(() ->
+                getOrderDetailsByOrderIdFromShopify(shopifyOrderDetailsByOrderIdEndPoint, orderId, shopifyAccessToken));
+        CompletableFuture<OrderEnrichment> getOrderEnrichment = supplyAsync(() ->
+                getOrderEnrichment(shopifyGraphQueryEndPoint, orderId, shopifyAccessToken));
+
+        Orders orderObj = getOrderDetailsByOrderIdFromShopify.get();
+        CompletableFuture<List<CustomerOrderStatusDto>> getCustomerOrderStatusListCompletableFuture = supplyAsync(() ->
+                getCustomerOrderStatusByOrderId(orderId, orderObj));
+        CompletableFuture<CustomerMeasurementDto> getCustomerMeasurementListCompletableFuture = supplyAsync(() ->
+                customerService.getCustomerMeasurementByCustomerMeasurementId(
+                        String.valueOf(orderObj.getCustomer().getId()),
+                        orderObj.getLine_items().get(0).getProperties().get(0).getValue()));
+        OrderEnrichment orderEnrichment = getOrderEnrichment.get();
+        if (!orderEnrichment.isLineItemsComplete()) {
+            getLineItemDetails(orderObj, orderEnrichment, shopifyVariantDetailsByVariantIdEndPoint,
+                    shopifyProductImageByProductIdAndImageIdEndPoint, shopifyAccessToken);
+        }
+
+        orderDtoObj.setOrder(orderObj);
+        if (Optional.ofNullable(orderObj.getCustomer().getId()).isPresent() &&
+                Optional.ofNullable(orderEnrichment.getCustomer()).isPresent()) {
+            orderDtoObj.setTotalOrdersCount(orderEnrichment.getCustomer().getOrders_count());
+        }
+        orderDtoObj.setConversionSummary(orderEnrichment.getConversionSummary());
+        List<VariantDetailsDto> variantDetailsList = orderEnrichment.getVariantDetailsList();
+        if (!variantDetailsList.isEmpty()) {
+            VariantDetailsDto lastVariantDetailsDto = variantDetailsList.get(variantDetailsList.size() - 1);
+            orderDtoObj.setWeight(lastVariantDetailsDto.getWeight());
+            orderDtoObj.setWeightUnit(lastVariantDetailsDto.getWeight_unit());
+        }
+        orderDtoObj.setProductInfo(orderEnrichment.getProductInfoList());
+        orderDtoObj.setChannelInformation(orderEnrichment.getChannelInformation());
+        orderDtoObj.setCustomerOrderStatus(getCustomerOrderStatusListCompletableFuture.get());
+        orderDtoObj.setIsToggleEnable(getCustomerMeasurementListCompletableFuture.get().getIsNewSize());
+        return orderDtoObj;
+    }
+
+    /**
+     * Looks up the variant and image of every line item concurrently through the REST API and replaces the line
+     * item details of the enrichment with them. Used when the order has more line items than the composed query
+     * fetches.
+     *
+     * @param orderObj        The order read from Shopify.
+     * @param orderEnrichment The enrichment to complete.
+     * @throws ExecutionException   if a lookup fails.
+     * @throws InterruptedException if interrupted while waiting for the lookups.
+     */
+    private void getLineItemDetails(Orders orderObj, OrderEnrichment orderEnrichment,
+                                    String shopifyVariantDetailsByVariantIdEndPoint,
+                                    String shopifyProductImageByProductIdAndImageIdEndPoint,
+                                    String shopifyAccessToken) throws ExecutionException, InterruptedException {
+        List<CompletableFuture<VariantDetailsDto>> variantDetailsFutureList = orderObj.getLine_items().stream()
+                .map(lineItems -> supplyAsync(() -> getVariantDetails(shopifyVariantDetailsByVariantIdEndPoint,
+                        lineItems.getVariant_id(), shopifyAccessToken)))
+                .collect(Collectors.toList());
+        List<CompletableFuture<ProductInfoDto>> productInfoFutureList = variantDetailsFutureList.stream()
+                .map(variantDetailsFuture -> variantDetailsFuture.thenCompose(variantDetailsDto ->
+                        Optional.ofNullable(variantDetailsDto.getImage_id()).isPresent()
+                                ? supplyAsync(() -> getProductInfo(shopifyProductImageByProductIdAndImageIdEndPoint,
+                                variantDetailsDto.getProduct_id(), variantDetailsDto.getImage_id(), shopifyAccessToken))
+                                : CompletableFuture.<ProductInfoDto>completedFuture(null)))
+                .collect(Collectors.toList());
+        orderEnrichment.getVariantDetailsList().clear();
+        for (CompletableFuture<VariantDetailsDto> variantDetailsFuture : variantDetailsFutureList) {
+            orderEnrichment.getVariantDetailsList().add(variantDetailsFuture.get());
+        }
+        orderEnrichment.getProductInfoList().clear();
+        for (CompletableFuture<ProductInfoDto> productInfoFuture : productInfoFutureList) {
+            if (Optional.ofNullable(productInfoFuture.get()).isPresent()) {
+                orderEnrichment.getProductInfoList().add(productInfoFuture.get());
             }
-            CompletableFuture<ProductInfoDto> getProductInfoDtoCompletableFuture = CompletableFuture.supplyAsync(() ->
-            {
-                try {
-                    if (Optional.ofNullable(getVariantDetailsDtoCompletableFuture.get().getImage_id()).isPresent()) {
-                        return getProductInfo(shopifyProductImageByProductIdAndImageIdEndPoint,
-                                getVariantDetailsDtoCompletableFuture.get().getProduct_id(),
-                                getVariantDetailsDtoCompletableFuture.get().getImage_id(),
-                                shopifyAccessToken);
-                    }
-                } catch (IOException | InterruptedException | ExecutionException e) {
-                    throw new RuntimeException(e);
-                }
-                return null;
-            });
-            try {
-                if (Optional.ofNullable(getProductInfoDtoCompletableFuture.get()).isPresent()) {
-                    productInfoDtoList.add(getProductInfoDtoCompletableFuture.get());
-                }
-            } catch (InterruptedException | ExecutionException e) {
-                throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Retrieves the conversion summary, channel information, customer order count and the variant weight and
+     * image of the line items of an order with a single GraphQL query.
+     *
+     * @param shopifyGraphQueryEndPoint The GraphQL endpoint URL for the Shopify store.
+     * @param orderId                   The unique identifier of the order.
+     * @param shopifyAccessToken        The access token required to authenticate the request to the Shopify API.
+     * @return The enrichment of the order.
+     */
+    public OrderEnrichment getOrderEnrichment(String shopifyGraphQueryEndPoint, String orderId,
+                                              String shopifyAccessToken) {
+        HttpHeaders httpHeaders = new HttpHeaders();
+        httpHeaders.setContentType(MediaType.valueOf(CONTENT_TYPE));
+        httpHeaders.set(ApplicationConstants.ShopifyApiHeaders.SHOPIFY_ACCESS_TOKEN, shopifyAccessToken);
+        HttpEntity<String> httpEntity = new HttpEntity<>(String.format(ORDER_ENRICHMENT_QUERY, orderId), httpHeaders);
+        ResponseEntity<String> responseEntity = restTemplate.exchange(shopifyGraphQueryEndPoint, HttpMethod.POST,
+                httpEntity, String.class);
+        JSONObject jsonResponse = new JSONObject(Objects.requireNonNull(responseEntity.getBody()));
+        JSONObject orderJsonObject = jsonResponse.getJSONObject(DomainObject.ConversionSummary.DATA)
+                .getJSONObject(DomainObject.ConversionSummary.ORDER);
+        OrderEnrichment orderEnrichment = new OrderEnrichment();
+        JSONObject conversionSummaryJsonObject = orderJsonObject.optJSONObject(
+                DomainObject.ConversionSummary.CUSTOMER_JOURNEY_SUMMARY);
+        if (Optional.ofNullable(conversionSummaryJsonObject).isPresent()) {
+            orderEnrichment.setConversionSummary(createConversionSummary(conversionSummaryJsonObject));
+        }
+        orderEnrichment.setChannelInformation(createChannelInformation(orderJsonObject.optJSONObject(
+                DomainObject.OrderChannelInformation.CHANNEL_INFORMATION)));
+        JSONObject customerJsonObject = orderJsonObject.optJSONObject(ENRICHMENT_CUSTOMER);
+        if (Optional.ofNullable(customerJsonObject).isPresent()) {
+            orderEnrichment.setCustomer(new Gson().fromJson(new JSONObject()
+                    .put(REST_ORDERS_COUNT, customerJsonObject.optLong(ENRICHMENT_NUMBER_OF_ORDERS))
+                    .toString(), CustomerDto.class));
+        }
+        JSONObject lineItemsJsonObject = orderJsonObject.getJSONObject(ENRICHMENT_LINE_ITEMS);
+        orderEnrichment.setLineItemsComplete(!lineItemsJsonObject.getJSONObject(ENRICHMENT_PAGE_INFO)
+                .optBoolean(ENRICHMENT_HAS_NEXT_PAGE));
+        List<JSONObject> variantJsonObjects = new ArrayList<>();
+        lineItemsJsonObject.getJSONArray(ENRICHMENT_EDGES).forEach(edge -> variantJsonObjects.add(
+                ((JSONObject) edge).getJSONObject(ENRICHMENT_NODE).optJSONObject(ENRICHMENT_VARIANT)));
+        Map<String, Set<Long>> variantIdsByImageId = getVariantIdsByImageId(variantJsonObjects);
+        variantJsonObjects.forEach(variantJsonObject -> addLineItemDetails(orderEnrichment, variantJsonObject,
+                variantIdsByImageId));
+        return orderEnrichment;
+    }
+
+    /**
+     * Groups the variants of the line items of an order by the id of their image.
+     *
+     * @param variantJsonObjects The variants of the line items, {@code null} for a variant that no longer exists.
+     * @return The ids of the variants of the order by image id.
+     */
+    private Map<String, Set<Long>> getVariantIdsByImageId(List<JSONObject> variantJsonObjects) {
+        Map<String, Set<Long>> variantIdsByImageId = new HashMap<>();
+        variantJsonObjects.stream().filter(Objects::nonNull).forEach(variantJsonObject -> {
+            JSONObject imageJsonObject = variantJsonObject.optJSONObject(ENRICHMENT_IMAGE);
+            Long variantId = getLegacyResourceId(variantJsonObject.optString(ENRICHMENT_ID));
+            if (Optional.ofNullable(imageJsonObject).isPresent() && Optional.ofNullable(variantId).isPresent()) {
+                variantIdsByImageId.computeIfAbsent(imageJsonObject.optString(ENRICHMENT_ID),
+                        imageId -> new LinkedHashSet<>()).add(variantId);
             }
         });
-        orderDtoObj.setProductInfo(productInfoDtoList);
-
-        CompletableFuture<OrderChannelInformationDto> getOrderChannelInformation = CompletableFuture.supplyAsync(() ->
-                getOrderChannelInformation(shopifyGraphQueryEndPoint, orderId, shopifyAccessToken));
-        orderDtoObj.setChannelInformation(getOrderChannelInformation.get());
-        CompletableFuture<List<CustomerOrderStatusDto>> getCustomerOrderStatusListCompletableFuture =
-                CompletableFuture.supplyAsync(() -> {
-                    try {
-                        return getCustomerOrderStatusByOrderId(orderId, getOrderDetailsByOrderIdFromShopify.get());
-                    } catch (ExecutionException | JsonProcessingException | InterruptedException e) {
-                        throw new RuntimeException(e);
-                    }
-                });
-        orderDtoObj.setCustomerOrderStatus(getCustomerOrderStatusListCompletableFuture.get());
+        return variantIdsByImageId;
+    }
 
-        CompletableFuture<CustomerMeasurementDto> getCustomerMeasurementListCompletableFuture =
-                CompletableFuture.supplyAsync(() -> {
-                    try {
-                        return customerService.getCustomerMeasurementByCustomerMeasurementId(
-                                String.valueOf(getOrderDetailsByOrderIdFromShopify.get().getCustomer().getId()),
-                                getOrderDetailsByOrderIdFromShopify.get().getLine_items()
-                                        .get(0).getProperties().get(0).getValue());
-                    } catch (ExecutionException | InterruptedException e) {
-                        throw new RuntimeException(e);
-                    }
-                });
-        orderDtoObj.setIsToggleEnable(getCustomerMeasurementListCompletableFuture.get().getIsNewSize());
-        return orderDtoObj;
+    /**
+     * Adds the variant and image of one line item to the enrichment, shaped like the REST variant and image
+     * responses. The GraphQL image does not list its variants, so the variant ids of the image are those of the
+     * line items of this order that show it. The REST image lookup, used for orders with more line items than the
+     * query fetches, also lists the variants of the product that are not in the order.
+     *
+     * @param orderEnrichment     The enrichment to add to.
+     * @param variantJsonObject   The variant of the line item, or {@code null} if it no longer exists.
+     * @param variantIdsByImageId The ids of the variants of the order by image id.
+     */
+    private void addLineItemDetails(OrderEnrichment orderEnrichment, JSONObject variantJsonObject,
+                                    Map<String, Set<Long>> variantIdsByImageId) {
+        Gson gsonObject = new Gson();
+        if (Optional.ofNullable(variantJsonObject).isEmpty()) {
+            orderEnrichment.getVariantDetailsList().add(new VariantDetailsDto());
+            return;
+        }
+        JSONObject variantDetailsJsonObject = new JSONObject()
+                .put(ENRICHMENT_ID, getLegacyResourceId(variantJsonObject.optString(ENRICHMENT_ID)))
+                .put(ENRICHMENT_WEIGHT, variantJsonObject.opt(ENRICHMENT_WEIGHT))
+                .put(REST_WEIGHT_UNIT, WEIGHT_UNIT_MAP.get(variantJsonObject.optString(
+                        ENRICHMENT_WEIGHT_UNIT)));
+        orderEnrichment.getVariantDetailsList().add(gsonObject.fromJson(variantDetailsJsonObject.toString(),
+                VariantDetailsDto.class));
+        JSONObject imageJsonObject = variantJsonObject.optJSONObject(ENRICHMENT_IMAGE);
+        if (Optional.ofNullable(imageJsonObject).isPresent()) {
+            JSONObject productJsonObject = variantJsonObject.optJSONObject(ENRICHMENT_PRODUCT);
+            JSONObject imageDetailJsonObject = new JSONObject()
+                    .put(ENRICHMENT_IMAGE, new JSONObject()
+                            .put(REST_SRC, imageJsonObject.optString(ENRICHMENT_URL))
+                            .put(REST_PRODUCT_ID, Optional.ofNullable(productJsonObject)
+                                    .map(product -> getLegacyResourceId(product.optString(ENRICHMENT_ID)))
+                                    .orElse(null))
+                            .put(REST_VARIANT_IDS, new JSONArray(variantIdsByImageId.getOrDefault(
+                                    imageJsonObject.optString(ENRICHMENT_ID), Set.of()))));
+            orderEnrichment.getProductInfoList().add(createProductInfo(gsonObject.fromJson(
+                    imageDetailJsonObject.toString(), ImageDetailResponseDto.class)));
+        }
+    }
+
+    /**
+     * Extracts the numeric REST id from a GraphQL global id such as {@code gid://shopify/ProductVariant/42}.
+     *
+     * @param globalId The GraphQL global id.
+     * @return The numeric id, or {@code null} if the global id has none.
+     */
+    private Long getLegacyResourceId(String globalId) {
+        try {
+            return Long.parseLong(globalId.substring(globalId.lastIndexOf(GID_SEPARATOR) + 1));
+        } catch (NumberFormatException numberFormatException) {
+            return null;
+        }
+    }
+
+    /**
+     * A call that may throw a checked exception, run on the fan-out executor.
+     *
+     * @param <T> The type of the result.
+     */
+    @FunctionalInterface
+    private interface FanOutCall<T> {
+        T call() throws Exception;
+    }
+
+    /**
+     * Starts the call on the fan-out executor. A checked exception thrown by the call completes the future
+     * exceptionally and is rethrown by {@code get()} as the cause of an {@link ExecutionException}.
+     *
+     * @param fanOutCall The call to run.
+     * @param <T>        The type of the result.
+     * @return The future result of the call.
+     */
+    private <T> CompletableFuture<T> supplyAsync(FanOutCall<T> fanOutCall) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return fanOutCall.call();
+            } catch (RuntimeException runtimeException) {
+                throw runtimeException;
+            } catch (Exception exception) {
+                throw new CompletionException(exception);
+            }
+        }, shopifyFanOutExecutor);
     }
 
     /**
@@ -705,9 +1197,9 @@ public class OrderService {
     public Orders getOrderDetailsByOrderIdFromShopify(String shopifyOrderDetailsByOrderIdEndPoint, String orderId,
                                                       String shopifyAccessToken) throws IOException {
         orderServiceLogger.info("Entered get order details by order id from shopify api call:::::::::::::::");
-        HttpURLConnection httpConnection = getHttpURLConnection(
+        try (ShopifyResponse shopifyResponse = shopifyClient.get(
                 shopifyOrderDetailsByOrderIdEndPoint + orderId + SHOPIFY_ENDPOINT_JSON, shopifyAccessToken);
-        try (InputStream httpConnectionInputStream = httpConnection.getInputStream();
+             InputStream httpConnectionInputStream = shopifyResponse.getBody();
              BufferedReader httpConnectionBufferReader = new BufferedReader(
                      new InputStreamReader(httpConnectionInputStream, StandardCharsets.UTF_8))) {
             StringBuilder sbNewLine = new StringBuilder();
@@ -721,56 +1213,6 @@ public class OrderService {
         }
     }
 
-    /**
-     * Retrieves the total order count for a given customer ID from Shopify.
-     *
-     * @param customerId The unique identifier of the customer.
-     * @return A CustomerDto object containing the customer details, including the total order count.
-     * @throws IOException if there is an error while processing the Shopify API call.
-     */
-    public CustomerDto getTotalOrderCountByCustomerIdFromShopify(String shopifyResetPasswordEndPoint,
-                                                                 String customerId, String shopifyAccessToken) throws IOException {
-        orderServiceLogger.info("Entered get total order count by customer id from shopify api call:::::::::::::::");
-        HttpURLConnection httpConnection = getHttpURLConnection(
-                shopifyResetPasswordEndPoint + customerId + SHOPIFY_ENDPOINT_JSON, shopifyAccessToken);
-        try (InputStream httpConnectionInputStream = httpConnection.getInputStream();
-             BufferedReader httpConnectionBufferReader = new BufferedReader(
-                     new InputStreamReader(httpConnectionInputStream, StandardCharsets.UTF_8))) {
-            StringBuilder sbNewLine = new StringBuilder();
-            String strLine;
-            while ((strLine = httpConnectionBufferReader.readLine()) != null) {
-                sbNewLine.append(strLine).append(NEWLINE);
-            }
-            Gson gsonObject = new Gson();
-            CustomerDetailResponseDto customerResponseDtoObj = gsonObject.fromJson(sbNewLine.toString(),
-                    CustomerDetailResponseDto.class);
-            return customerResponseDtoObj.getCustomer();
-        }
-    }
-
-    /**
-     * Retrieves the conversion summary for a given order ID from Shopify using GraphQL.
-     *
-     * @param orderId The unique identifier of the order.
-     * @return A ConversionSummaryDto object containing the conversion summary details.
-     */
-    public ConversionSummaryDto getConversionSummary(String shopifyGraphQueryEndPoint, String orderId,
-                                                     String shopifyAccessToken) {
-        HttpHeaders httpHeaders = new HttpHeaders();
-        httpHeaders.setContentType(MediaType.valueOf(CONTENT_TYPE));
-        httpHeaders.set(ApplicationConstants.ShopifyApiHeaders.SHOPIFY_ACCESS_TOKEN, shopifyAccessToken);
-        String query = String.format(ApplicationConstants.ShopifyQuery.ORDER_CONVERSION_SUMMARY_QUERY, orderId);
-        HttpEntity<String> httpEntity = new HttpEntity<>(query, httpHeaders);
-        RestTemplate restTemplate = new RestTemplate();
-        ResponseEntity<String> responseEntity = restTemplate.exchange(shopifyGraphQueryEndPoint, HttpMethod.POST,
-                httpEntity, String.class);
-        JSONObject jsonResponse = new JSONObject(Objects.requireNonNull(responseEntity.getBody()));
-        JSONObject conversionSummaryJsonObject = jsonResponse.getJSONObject(DomainObject.ConversionSummary.DATA)
-                .getJSONObject(DomainObject.ConversionSummary.ORDER)
-                .getJSONObject(DomainObject.ConversionSummary.CUSTOMER_JOURNEY_SUMMARY);
-        return createConversionSummary(conversionSummaryJsonObject);
-    }
-
     /**
      * Creates a ConversionSummaryDto object from the given JSON data representing the conversion summary.
      *
@@ -823,7 +1265,7 @@ public class OrderService {
         if (!customerOrderStatusList.isEmpty()) {
             customerOrderStatusList.forEach(customerOrderStatusObj -> {
                 CustomerOrderStatusDto customerOrderStatusDto =
-                        modelMapper.map(customerOrderStatusObj, CustomerOrderStatusDto.class);
+                        customerOrderStatusMapper.toCustomerOrderStatusDto(customerOrderStatusObj);
                 customerOrderStatusDtoList.add(customerOrderStatusDto);
             });
         } else {
@@ -875,36 +1317,6 @@ public class OrderService {
     }
 
 
-    /**
-     * Retrieves order channel information from a Shopify store using GraphQL.
-     *
-     * @param shopifyGraphQueryEndPoint The GraphQL endpoint URL for the Shopify store.
-     * @param orderId                   The unique identifier of the order for which channel information is requested.
-     * @param shopifyAccessToken        The access token required to authenticate the request to the Shopify API.
-     * @return An OrderChannelInformationDto object containing channel information for the specified order.
-     * @see OrderChannelInformationDto
-     */
-    public OrderChannelInformationDto getOrderChannelInformation(String shopifyGraphQueryEndPoint, String orderId,
-                                                                 String shopifyAccessToken) {
-        HttpHeaders httpHeaders = new HttpHeaders();
-        httpHeaders.setContentType(MediaType.valueOf(CONTENT_TYPE));
-        httpHeaders.set(ApplicationConstants.ShopifyApiHeaders.SHOPIFY_ACCESS_TOKEN, shopifyAccessToken);
-        String query = String.format(ApplicationConstants.ShopifyQuery.ORDER_CHANNEL_INFORMATION_QUERY, orderId);
-        HttpEntity<String> httpEntity = new HttpEntity<>(query, httpHeaders);
-        RestTemplate restTemplate = new RestTemplate();
-        ResponseEntity<String> responseEntity = restTemplate.exchange(shopifyGraphQueryEndPoint, HttpMethod.POST,
-                httpEntity, String.class);
-        JSONObject jsonResponse = new JSONObject(Objects.requireNonNull(responseEntity.getBody()));
-        JSONObject orderJsonObject = jsonResponse.getJSONObject(DomainObject.ConversionSummary.DATA)
-                .getJSONObject(DomainObject.ConversionSummary.ORDER);
-        JSONObject channelInformationJsonObject = null;
-        if (!orderJsonObject.isNull(DomainObject.OrderChannelInformation.CHANNEL_INFORMATION)) {
-            channelInformationJsonObject = orderJsonObject.
-                    getJSONObject(DomainObject.OrderChannelInformation.CHANNEL_INFORMATION);
-        }
-        return createChannelInformation(channelInformationJsonObject);
-    }
-
     /**
      * Creates an OrderChannelInformationDto object from a JSON representation of channel information.
      *
@@ -975,11 +1387,10 @@ public class OrderService {
      */
     public ProductInfoDto getProductInfo(String shopifyProductImageByProductIdAndImageIdEndPoint, Long productId,
                                          Long imageId, String shopifyAccessToken ) throws IOException {
-        ProductInfoDto productInfoDto = new ProductInfoDto();
         orderServiceLogger.info("Entered get image details by product id and image id from shopify api call:::::");
-        HttpURLConnection productImageHttpConnection = getHttpURLConnection(String.format(
+        try (ShopifyResponse productImageShopifyResponse = shopifyClient.get(String.format(
                 shopifyProductImageByProductIdAndImageIdEndPoint, productId, imageId), shopifyAccessToken);
-        try (InputStream productImageHttpConnectionInputStream = productImageHttpConnection.getInputStream();
+             InputStream productImageHttpConnectionInputStream = productImageShopifyResponse.getBody();
              BufferedReader productImageHttpConnectionBufferReader = new BufferedReader(
                      new InputStreamReader(productImageHttpConnectionInputStream, StandardCharsets.UTF_8))) {
             StringBuilder productImageSbNewLine = new StringBuilder();
@@ -990,10 +1401,21 @@ public class OrderService {
             Gson productImageGsonObject = new Gson();
             ImageDetailResponseDto imageDetailResponseDto = productImageGsonObject.fromJson(
                     productImageSbNewLine.toString(), ImageDetailResponseDto.class);
-            productInfoDto.setImgSrc(imageDetailResponseDto.getImage().getSrc());
-            productInfoDto.setProductId(imageDetailResponseDto.getImage().getProduct_id());
-            productInfoDto.setVariantId(imageDetailResponseDto.getImage().getVariant_ids());
+            return createProductInfo(imageDetailResponseDto);
         }
+    }
+
+    /**
+     * Creates a ProductInfoDto from the image of a product.
+     *
+     * @param imageDetailResponseDto The image details.
+     * @return A ProductInfoDto with the image source, product ID and variant IDs of the image.
+     */
+    private ProductInfoDto createProductInfo(ImageDetailResponseDto imageDetailResponseDto) {
+        ProductInfoDto productInfoDto = new ProductInfoDto();
+        productInfoDto.setImgSrc(imageDetailResponseDto.getImage().getSrc());
+        productInfoDto.setProductId(imageDetailResponseDto.getImage().getProduct_id());
+        productInfoDto.setVariantId(imageDetailResponseDto.getImage().getVariant_ids());
         return productInfoDto;
     }
 }
@@ -0,0 +1,188 @@
+package com.hungover.order.service;
+
+import com.hungover.shopify.client.ShopifyClient;
+import com.hungover.shopify.client.ShopifyResponse;
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Order analytics backend that pushes the aggregation down to Shopify with ShopifyQL instead of downloading the
+ * orders. One query returns a small table with a row per month or per day, which is decoded into the same
+ * {@link YearlyOrderStatistics} the order download produces.
+ * <p>
+ * ShopifyQL reports the shop's sales figures: {@code orders} counts every order of the period and
+ * {@code total_sales} is net of returns, so the figures can differ slightly from summing the current total price of
+ * paid orders.
+ */
+@Service
+public class ShopifyQlOrderAnalytics {
+
+    private final Logger shopifyQlOrderAnalyticsLogger = LoggerFactory.getLogger(this.getClass());
+
+    static final String GROUP_BY_MONTH = "month";
+    static final String GROUP_BY_DAY = "day";
+
+    private static final String SALES_QUERY = "FROM sales SHOW orders, total_sales GROUP BY %1$s " +
+            "SINCE %2$s UNTIL %3$s ORDER BY %1$s ASC";
+    private static final String SHOPIFY_QL_REQUEST = "{ shopifyqlQuery(query: \"%s\") { __typename " +
+            "... on TableResponse { tableData { columns { name dataType } rowData } } " +
+            "parseErrors { code message } } }";
+    private static final String UNTIL_TODAY = "today";
+    private static final String DATA = "data";
+    private static final String ERRORS = "errors";
+    private static final String SHOPIFY_QL_QUERY = "shopifyqlQuery";
+    private static final String PARSE_ERRORS = "parseErrors";
+    private static final String TABLE_DATA = "tableData";
+    private static final String COLUMNS = "columns";
+    private static final String ROW_DATA = "rowData";
+    private static final String NAME = "name";
+    private static final String MESSAGE = "message";
+    private static final String ORDERS_COLUMN = "orders";
+    private static final String TOTAL_SALES_COLUMN = "total_sales";
+    private static final String ZERO_AMOUNT = "0";
+    private static final String YEAR_START = "-01-01";
+    private static final int YEAR_ONLY_LENGTH = 4;
+    private static final int DATE_ONLY_LENGTH = 10;
+
+    private ShopifyClient shopifyClient;
+
+    @Value("${shopify.orders.shopifyQl:false}")
+    boolean shopifyQlEnabled;
+    @Value("${shopifyGraphQueryEndPoint}")
+    String shopifyGraphQueryEndPoint;
+
+    public ShopifyQlOrderAnalytics(ShopifyClient shopifyClient) {
+        super();
+        this.shopifyClient = shopifyClient;
+    }
+
+    /**
+     * Checks whether order analytics should be answered with ShopifyQL.
+     *
+     * @return {@code true} if the ShopifyQL backend is enabled, {@code false} otherwise.
+     */
+    public boolean isEnabled() {
+        return shopifyQlEnabled;
+    }
+
+    /**
+     * Aggregates the sales of the given range with one ShopifyQL query grouped by month.
+     *
+     * @param fromDate           The start date of the range.
+     * @param toDate             The end date of the range, or {@code null} for a range up to today.
+     * @param shopifyAccessToken The access token used to authenticate with Shopify.
+     * @param calendarMonthsList The calendar months, January first.
+     * @return The statistics of the range.
+     * @throws IOException if the query fails or its result cannot be read.
+     */
+    public YearlyOrderStatistics getSalesByMonth(String fromDate, String toDate, String shopifyAccessToken,
+                                                 List<String> calendarMonthsList) throws IOException {
+        return getSalesStatistics(GROUP_BY_MONTH, fromDate, toDate, shopifyAccessToken, calendarMonthsList);
+    }
+
+    /**
+     * Aggregates the sales and order counts of the given range with one ShopifyQL query grouped by day, placing
+     * every day in its calendar month.
+     *
+     * @param fromDate           The start date of the range.
+     * @param toDate             The end date of the range, or {@code null} for a range up to today.
+     * @param shopifyAccessToken The access token used to authenticate with Shopify.
+     * @param calendarMonthsList The calendar months, January first.
+     * @return The statistics of the range.
+     * @throws IOException if the query fails or its result cannot be read.
+     */
+    public YearlyOrderStatistics getSalesByDay(String fromDate, String toDate, String shopifyAccessToken,
+                                               List<String> calendarMonthsList) throws IOException {
+        return getSalesStatistics(GROUP_BY_DAY, fromDate, toDate, shopifyAccessToken, calendarMonthsList);
+    }
+
+    private YearlyOrderStatistics getSalesStatistics(String groupBy, String fromDate, String toDate,
+                                                     String shopifyAccessToken, List<String> calendarMonthsList)
+            throws IOException {
+        String until = Optional.ofNullable(toDate).map(ShopifyQlOrderAnalytics::toShopifyQlDate)
+                .orElse(UNTIL_TODAY);
+        String salesQuery = String.format(SALES_QUERY, groupBy, toShopifyQlDate(fromDate), until);
+        shopifyQlOrderAnalyticsLogger.info("Running ShopifyQL query: {}", salesQuery);
+        JSONObject tableData = runQuery(salesQuery, shopifyAccessToken);
+        YearlyOrderStatistics yearlyOrderStatistics = new YearlyOrderStatistics(calendarMonthsList);
+        try {
+            JSONArray columns = tableData.getJSONArray(COLUMNS);
+            int dateIndex = getColumnIndex(columns, groupBy);
+            int ordersIndex = getColumnIndex(columns, ORDERS_COLUMN);
+            int totalSalesIndex = getColumnIndex(columns, TOTAL_SALES_COLUMN);
+            JSONArray rowData = tableData.getJSONArray(ROW_DATA);
+            for (int i = 0; i < rowData.length(); i++) {
+                JSONArray row = rowData.getJSONArray(i);
+                int month = YearlyOrderStatistics.parseMonth(row.getString(dateIndex));
+                long totalSalesCents = YearlyOrderStatistics.parseCents(row.optString(totalSalesIndex, ZERO_AMOUNT));
+                yearlyOrderStatistics.addPaidOrders(month, row.optInt(ordersIndex), totalSalesCents);
+            }
+        } catch (JSONException | IllegalArgumentException exception) {
+            throw new IOException("Unreadable ShopifyQL result from Shopify", exception);
+        }
+        return yearlyOrderStatistics;
+    }
+
+    /**
+     * Runs a ShopifyQL query and returns its table.
+     *
+     * @param shopifyQlQuery     The ShopifyQL query.
+     * @param shopifyAccessToken The access token used to authenticate with Shopify.
+     * @return The {@code tableData} of the response.
+     * @throws IOException if the request fails, Shopify rejects the query or the response cannot be read.
+     */
+    private JSONObject runQuery(String shopifyQlQuery, String shopifyAccessToken) throws IOException {
+        try (ShopifyResponse shopifyResponse = shopifyClient.postGraphQl(shopifyGraphQueryEndPoint,
+                shopifyAccessToken, String.format(SHOPIFY_QL_REQUEST, shopifyQlQuery))) {
+            if (!shopifyResponse.isOk()) {
+                throw new IOException("ShopifyQL request failed with status " + shopifyResponse.getStatusCode());
+            }
+            JSONObject responseObject = new JSONObject(shopifyResponse.getBodyAsString());
+            if (responseObject.isNull(DATA) || responseObject.getJSONObject(DATA).isNull(SHOPIFY_QL_QUERY)) {
+                throw new IOException("Shopify returned no data for ShopifyQL query: " +
+                        responseObject.optJSONArray(ERRORS));
+            }
+            JSONObject queryResponse = responseObject.getJSONObject(DATA).getJSONObject(SHOPIFY_QL_QUERY);
+            JSONArray parseErrors = queryResponse.optJSONArray(PARSE_ERRORS);
+            if (Optional.ofNullable(parseErrors).isPresent() && !parseErrors.isEmpty()) {
+                throw new IOException("Shopify rejected the ShopifyQL query: " +
+                        parseErrors.getJSONObject(0).optString(MESSAGE));
+            }
+            return queryResponse.getJSONObject(TABLE_DATA);
+        } catch (JSONException jsonException) {
+            throw new IOException("Unreadable ShopifyQL response from Shopify", jsonException);
+        }
+    }
+
+    private static int getColumnIndex(JSONArray columns, String columnName) throws IOException {
+        for (int i = 0; i < columns.length(); i++) {
+            if (columnName.equals(columns.getJSONObject(i).optString(NAME))) {
+                return i;
+            }
+        }
+        throw new IOException("ShopifyQL result has no " + columnName + " column");
+    }
+
+    /**
+     * Reduces a date as accepted by Shopify's REST filters to the plain date ShopifyQL expects.
+     *
+     * @param date A year or a date such as {@code 2023}, {@code 2023-01-01} or {@code 2023-01-01T00:00:00+05:30}.
+     * @return The date, e.g. {@code 2023-01-01}.
+     */
+    static String toShopifyQlDate(String date) {
+        String trimmedDate = date.trim();
+        if (trimmedDate.length() == YEAR_ONLY_LENGTH) {
+            return trimmedDate + YEAR_START;
+        }
+        return trimmedDate.length() > DATE_ONLY_LENGTH ? trimmedDate.substring(0, DATE_ONLY_LENGTH) : trimmedDate;
+    }
+}
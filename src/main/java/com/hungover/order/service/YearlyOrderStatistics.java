@@ -0,0 +1,186 @@
+package com.hungover.order.service;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Running totals of the paid orders of a period, fed one order at a time so that a year of orders never has to be
+ * held in memory. Both the REST and the bulk operation ingestion paths aggregate through this class.
+ * <p>
+ * Count, revenue and month buckets are updated in a single pass over primitive arrays indexed by month. Money is
+ * kept as a {@code long} number of cents, so summing a year of orders never accumulates floating point error; the
+ * boxed month maps the response DTOs expect are only built when they are read.
+ */
+public class YearlyOrderStatistics {
+
+    private static final int MONTHS_PER_YEAR = 12;
+    private static final int CENTS_DIGITS = 2;
+    private static final int MONTH_OFFSET = 5;
+    private static final int HALF_UP_DIGIT = 5;
+    private static final double CENTS_PER_UNIT = 100.0;
+
+    private final List<String> calendarMonthsList;
+    private final long[] monthRevenueCents = new long[MONTHS_PER_YEAR];
+    private final int[] monthOrderCounts = new int[MONTHS_PER_YEAR];
+    private long paidTotalCents;
+    private int paidOrderCount;
+
+    public YearlyOrderStatistics(List<String> calendarMonthsList) {
+        this.calendarMonthsList = calendarMonthsList;
+    }
+
+    /**
+     * Adds a paid order to the totals.
+     *
+     * @param createdMonth    The calendar month the order was created in, January being 1.
+     * @param totalPriceCents The current total price of the order in cents.
+     */
+    public void addPaidOrder(int createdMonth, long totalPriceCents) {
+        addPaidOrders(createdMonth, 1, totalPriceCents);
+    }
+
+    /**
+     * Adds several paid orders of the same month to the totals at once, e.g. a pre-aggregated daily rollup.
+     *
+     * @param month           The calendar month the orders fall in, January being 1.
+     * @param orderCount      The number of orders.
+     * @param totalPriceCents The summed current total price of the orders in cents.
+     */
+    public void addPaidOrders(int month, int orderCount, long totalPriceCents) {
+        paidTotalCents += totalPriceCents;
+        paidOrderCount += orderCount;
+        monthRevenueCents[month - 1] += totalPriceCents;
+        monthOrderCounts[month - 1] += orderCount;
+    }
+
+    /**
+     * Adds a paid order to the totals, reading the month and the price straight out of the values Shopify returned.
+     *
+     * @param createdAt  The ISO-8601 creation time of the order in the shop offset, e.g. 2023-08-18T11:03:06+05:30.
+     * @param totalPrice The current total price of the order as a decimal string, e.g. 1500.00.
+     */
+    public void addPaidOrder(CharSequence createdAt, CharSequence totalPrice) {
+        addPaidOrder(parseMonth(createdAt), parseCents(totalPrice));
+    }
+
+    /**
+     * Reads the month of an ISO-8601 date or date-time without parsing the rest of it or allocating substrings.
+     *
+     * @param isoDate The date, starting with {@code yyyy-MM}.
+     * @return The month, January being 1.
+     * @throws IllegalArgumentException if the value does not carry a valid month.
+     */
+    public static int parseMonth(CharSequence isoDate) {
+        if (isoDate.length() < MONTH_OFFSET + 2 || isoDate.charAt(MONTH_OFFSET - 1) != '-') {
+            throw new IllegalArgumentException("Not an ISO-8601 date: " + isoDate);
+        }
+        int month = digit(isoDate, MONTH_OFFSET) * 10 + digit(isoDate, MONTH_OFFSET + 1);
+        if (month < 1 || month > MONTHS_PER_YEAR) {
+            throw new IllegalArgumentException("Not an ISO-8601 date: " + isoDate);
+        }
+        return month;
+    }
+
+    /**
+     * Converts a decimal amount to cents exactly, rounding half up past the second decimal.
+     *
+     * @param amount The amount, e.g. 1500, 1500.5 or -12.345.
+     * @return The amount in cents.
+     * @throws NumberFormatException if the value is not a plain decimal number.
+     */
+    public static long parseCents(CharSequence amount) {
+        int length = amount.length();
+        int index = 0;
+        boolean negative = false;
+        if (length > 0 && (amount.charAt(0) == '-' || amount.charAt(0) == '+')) {
+            negative = amount.charAt(0) == '-';
+            index++;
+        }
+        if (index == length) {
+            throw new NumberFormatException("Not a decimal amount: " + amount);
+        }
+        long cents = 0;
+        while (index < length && amount.charAt(index) != '.') {
+            cents = Math.addExact(Math.multiplyExact(cents, 10), digit(amount, index));
+            index++;
+        }
+        int fractionDigits = 0;
+        boolean roundUp = false;
+        if (index < length) {
+            index++;
+            for (; index < length; index++) {
+                int fractionDigit = digit(amount, index);
+                if (fractionDigits < CENTS_DIGITS) {
+                    cents = Math.addExact(Math.multiplyExact(cents, 10), fractionDigit);
+                } else if (fractionDigits == CENTS_DIGITS) {
+                    roundUp = fractionDigit >= HALF_UP_DIGIT;
+                }
+                fractionDigits++;
+            }
+        }
+        for (; fractionDigits < CENTS_DIGITS; fractionDigits++) {
+            cents = Math.multiplyExact(cents, 10);
+        }
+        if (roundUp) {
+            cents++;
+        }
+        return negative ? -cents : cents;
+    }
+
+    private static int digit(CharSequence value, int index) {
+        char character = value.charAt(index);
+        if (character < '0' || character > '9') {
+            throw new NumberFormatException("Unexpected '" + character + "' in " + value);
+        }
+        return character - '0';
+    }
+
+    public long getPaidTotalCents() {
+        return paidTotalCents;
+    }
+
+    public double getPaidTotalPrice() {
+        return paidTotalCents / CENTS_PER_UNIT;
+    }
+
+    public int getPaidOrderCount() {
+        return paidOrderCount;
+    }
+
+    /**
+     * Returns the number of paid orders of a month.
+     *
+     * @param month The calendar month, January being 1.
+     * @return The number of paid orders.
+     */
+    public int getMonthOrderCount(int month) {
+        return monthOrderCounts[month - 1];
+    }
+
+    /**
+     * Returns the revenue of the paid orders of a month.
+     *
+     * @param month The calendar month, January being 1.
+     * @return The summed current total price in cents.
+     */
+    public long getMonthRevenueCents(int month) {
+        return monthRevenueCents[month - 1];
+    }
+
+    public Map<String, Double> getOrderMonthMap() {
+        Map<String, Double> orderMonthMap = new LinkedHashMap<>();
+        for (int month = 0; month < calendarMonthsList.size(); month++) {
+            orderMonthMap.put(calendarMonthsList.get(month), monthRevenueCents[month] / CENTS_PER_UNIT);
+        }
+        return orderMonthMap;
+    }
+
+    public Map<String, Integer> getMonthsBasedOrderMap() {
+        Map<String, Integer> monthsBasedOrderMap = new LinkedHashMap<>();
+        for (int month = 0; month < calendarMonthsList.size(); month++) {
+            monthsBasedOrderMap.put(calendarMonthsList.get(month), monthOrderCounts[month]);
+        }
+        return monthsBasedOrderMap;
+    }
+}
@@ -0,0 +1,72 @@
+package com.hungover.ordermirror.domain;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import java.time.LocalDate;
+
+/**
+ * Order counts and paid revenue of one day in the shop's time zone, maintained incrementally as orders are written
+ * to the mirror. Orders are placed on the day they were processed and cancelled orders are left out.
+ */
+@Entity
+@Table(name = "shopify_order_daily_rollup")
+public class OrderDailyRollup {
+
+    @Id
+    @Column(name = "rollup_date")
+    private LocalDate rollupDate;
+
+    @Column(name = "paid_order_count")
+    private int paidOrderCount;
+
+    @Column(name = "paid_revenue_minor")
+    private long paidRevenueMinor;
+
+    @Column(name = "pending_order_count")
+    private int pendingOrderCount;
+
+    @Column(name = "fulfilled_order_count")
+    private int fulfilledOrderCount;
+
+    public LocalDate getRollupDate() {
+        return rollupDate;
+    }
+
+    public void setRollupDate(LocalDate rollupDate) {
+        this.rollupDate = rollupDate;
+    }
+
+    public int getPaidOrderCount() {
+        return paidOrderCount;
+    }
+
+    public void setPaidOrderCount(int paidOrderCount) {
+        this.paidOrderCount = paidOrderCount;
+    }
+
+    public long getPaidRevenueMinor() {
+        return paidRevenueMinor;
+    }
+
+    public void setPaidRevenueMinor(long paidRevenueMinor) {
+        this.paidRevenueMinor = paidRevenueMinor;
+    }
+
+    public int getPendingOrderCount() {
+        return pendingOrderCount;
+    }
+
+    public void setPendingOrderCount(int pendingOrderCount) {
+        this.pendingOrderCount = pendingOrderCount;
+    }
+
+    public int getFulfilledOrderCount() {
+        return fulfilledOrderCount;
+    }
+
+    public void setFulfilledOrderCount(int fulfilledOrderCount) {
+        this.fulfilledOrderCount = fulfilledOrderCount;
+    }
+}
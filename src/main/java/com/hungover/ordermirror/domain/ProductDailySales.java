@@ -0,0 +1,53 @@
+package com.hungover.ordermirror.domain;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.IdClass;
+import javax.persistence.Table;
+import java.time.LocalDate;
+
+/**
+ * The quantity of a product sold on one day of the shop, summed over the line items of the mirrored orders that
+ * were processed that day and not cancelled.
+ */
+@Entity
+@Table(name = "shopify_product_daily_sales")
+@IdClass(ProductDailySalesId.class)
+public class ProductDailySales {
+
+    @Id
+    @Column(name = "sales_date")
+    private LocalDate salesDate;
+
+    @Id
+    @Column(name = "product_id")
+    private Long productId;
+
+    @Column(name = "quantity")
+    private int quantity;
+
+    public LocalDate getSalesDate() {
+        return salesDate;
+    }
+
+    public void setSalesDate(LocalDate salesDate) {
+        this.salesDate = salesDate;
+    }
+
+    public Long getProductId() {
+        return productId;
+    }
+
+    public void setProductId(Long productId) {
+        this.productId = productId;
+    }
+
+    public int getQuantity() {
+        return quantity;
+    }
+
+    public void setQuantity(int quantity) {
+        this.quantity = quantity;
+    }
+}
@@ -0,0 +1,52 @@
+package com.hungover.ordermirror.domain;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.Objects;
+
+/**
+ * Primary key of a {@link ProductDailySales}: the day and the product.
+ */
+public class ProductDailySalesId implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private LocalDate salesDate;
+    private Long productId;
+
+    public ProductDailySalesId() {
+        super();
+    }
+
+    public ProductDailySalesId(LocalDate salesDate, Long productId) {
+        super();
+        this.salesDate = salesDate;
+        this.productId = productId;
+    }
+
+    public LocalDate getSalesDate() {
+        return salesDate;
+    }
+
+    public Long getProductId() {
+        return productId;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof ProductDailySalesId)) {
+            return false;
+        }
+        ProductDailySalesId productDailySalesId = (ProductDailySalesId) other;
+        return Objects.equals(salesDate, productDailySalesId.salesDate) &&
+                Objects.equals(productId, productDailySalesId.productId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(salesDate, productId);
+    }
+}
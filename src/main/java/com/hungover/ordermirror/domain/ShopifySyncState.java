@@ -0,0 +1,61 @@
+package com.hungover.ordermirror.domain;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import java.time.Instant;
+
+/**
+ * Progress of a Shopify sync job: the {@code updated_at} watermark up to which Shopify data has been mirrored and
+ * whether the initial backfill has finished.
+ */
+@Entity
+@Table(name = "shopify_sync_state")
+public class ShopifySyncState {
+
+    @Id
+    @Column(name = "sync_name")
+    private String syncName;
+
+    @Column(name = "watermark")
+    private Instant watermark;
+
+    @Column(name = "backfill_completed")
+    private boolean backfillCompleted;
+
+    @Column(name = "last_synced_at")
+    private Instant lastSyncedAt;
+
+    public String getSyncName() {
+        return syncName;
+    }
+
+    public void setSyncName(String syncName) {
+        this.syncName = syncName;
+    }
+
+    public Instant getWatermark() {
+        return watermark;
+    }
+
+    public void setWatermark(Instant watermark) {
+        this.watermark = watermark;
+    }
+
+    public boolean isBackfillCompleted() {
+        return backfillCompleted;
+    }
+
+    public void setBackfillCompleted(boolean backfillCompleted) {
+        this.backfillCompleted = backfillCompleted;
+    }
+
+    public Instant getLastSyncedAt() {
+        return lastSyncedAt;
+    }
+
+    public void setLastSyncedAt(Instant lastSyncedAt) {
+        this.lastSyncedAt = lastSyncedAt;
+    }
+}
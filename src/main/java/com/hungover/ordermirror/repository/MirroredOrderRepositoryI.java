@@ -0,0 +1,81 @@
+package com.hungover.ordermirror.repository;
+
+import com.hungover.ordermirror.domain.MirroredOrder;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.LockModeType;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository interface for the local mirror of Shopify orders.
+ */
+@Repository
+public interface MirroredOrderRepositoryI extends CrudRepository<MirroredOrder, Long> {
+
+    /**
+     * Find which of the given orders are mirrored, without locking anything.
+     *
+     * @param orderIds The ids of the orders.
+     * @return List of the ids of the mirrored orders.
+     */
+    @Query("SELECT mirroredOrder.orderId FROM MirroredOrder mirroredOrder WHERE mirroredOrder.orderId IN :orderIds")
+    List<Long> findMirroredOrderIds(@Param("orderIds") Collection<Long> orderIds);
+
+    /**
+     * Insert an empty placeholder row for an order unless it is mirrored already, so that concurrent first writes
+     * of the order lock the same row instead of racing to insert it.
+     *
+     * @param orderId The id of the order.
+     * @return {@code 1} if the placeholder was inserted, {@code 0} if the order already had a row.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO shopify_order_mirror (order_id) VALUES (:orderId)", nativeQuery = true)
+    int insertPlaceholderIfAbsent(@Param("orderId") Long orderId);
+
+    /**
+     * Find the mirrored copies of the given orders and lock them until the end of the transaction. The rows are
+     * locked in order id order, so concurrent writers of overlapping batches cannot deadlock.
+     *
+     * @param orderIds The ids of the orders.
+     * @return List of the MirroredOrder found, ordered by order id.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT mirroredOrder FROM MirroredOrder mirroredOrder WHERE mirroredOrder.orderId IN :orderIds " +
+            "ORDER BY mirroredOrder.orderId")
+    List<MirroredOrder> findAllByIdForUpdate(@Param("orderIds") Collection<Long> orderIds);
+
+    /**
+     * Count the orders processed within the given bounds that are not cancelled and have the given fulfillment
+     * status.
+     *
+     * @param processedAtMin    The earliest processing time, inclusive.
+     * @param processedAtMax    The latest processing time, inclusive.
+     * @param fulfillmentStatus The fulfillment status.
+     * @return The number of matching orders.
+     */
+    long countByProcessedAtBetweenAndCancelledAtIsNullAndFulfillmentStatus(Instant processedAtMin,
+                                                                           Instant processedAtMax,
+                                                                           String fulfillmentStatus);
+
+    /**
+     * Count the orders processed within the given bounds that are not cancelled and have one of the given financial
+     * statuses.
+     *
+     * @param processedAtMin    The earliest processing time, inclusive.
+     * @param processedAtMax    The latest processing time, inclusive.
+     * @param financialStatuses The financial statuses.
+     * @return The number of matching orders.
+     */
+    long countByProcessedAtBetweenAndCancelledAtIsNullAndFinancialStatusIn(Instant processedAtMin,
+                                                                           Instant processedAtMax,
+                                                                           Collection<String> financialStatuses);
+}
@@ -0,0 +1,54 @@
+package com.hungover.ordermirror.repository;
+
+import com.hungover.ordermirror.domain.OrderDailyRollup;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Repository interface for the daily order rollups.
+ */
+@Repository
+public interface OrderDailyRollupRepositoryI extends CrudRepository<OrderDailyRollup, LocalDate> {
+
+    /**
+     * Find the rollups of the days in the given range.
+     *
+     * @param fromDate The first day of the range.
+     * @param toDate   The day after the last day of the range.
+     * @return List of OrderDailyRollup ordered by day.
+     */
+    List<OrderDailyRollup> findByRollupDateGreaterThanEqualAndRollupDateLessThanOrderByRollupDate(
+            LocalDate fromDate, LocalDate toDate);
+
+    /**
+     * Add the given amounts to the rollup of a day, creating the rollup if the day has none yet. Negative amounts
+     * take back what an earlier version of an order contributed.
+     *
+     * @param rollupDate          The day.
+     * @param paidOrderCount      The change in paid orders.
+     * @param paidRevenueMinor    The change in paid revenue, in minor units.
+     * @param pendingOrderCount   The change in pending orders.
+     * @param fulfilledOrderCount The change in fulfilled orders.
+     * @return The number of affected rows.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO shopify_order_daily_rollup (rollup_date, paid_order_count, paid_revenue_minor, " +
+            "pending_order_count, fulfilled_order_count) VALUES (:rollupDate, :paidOrderCount, :paidRevenueMinor, " +
+            ":pendingOrderCount, :fulfilledOrderCount) ON DUPLICATE KEY UPDATE " +
+            "paid_order_count = paid_order_count + VALUES(paid_order_count), " +
+            "paid_revenue_minor = paid_revenue_minor + VALUES(paid_revenue_minor), " +
+            "pending_order_count = pending_order_count + VALUES(pending_order_count), " +
+            "fulfilled_order_count = fulfilled_order_count + VALUES(fulfilled_order_count)", nativeQuery = true)
+    int addToRollup(@Param("rollupDate") LocalDate rollupDate, @Param("paidOrderCount") int paidOrderCount,
+                    @Param("paidRevenueMinor") long paidRevenueMinor,
+                    @Param("pendingOrderCount") int pendingOrderCount,
+                    @Param("fulfilledOrderCount") int fulfilledOrderCount);
+}
@@ -0,0 +1,36 @@
+package com.hungover.ordermirror.repository;
+
+import com.hungover.ordermirror.domain.ProductDailySales;
+import com.hungover.ordermirror.domain.ProductDailySalesId;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+
+/**
+ * Repository interface for the daily product sales.
+ */
+@Repository
+public interface ProductDailySalesRepositoryI extends CrudRepository<ProductDailySales, ProductDailySalesId> {
+
+    /**
+     * Add the given quantity to the sales of a product on a day, creating the row if there is none yet. A negative
+     * quantity takes back what an earlier version of an order contributed.
+     *
+     * @param salesDate The day.
+     * @param productId The product.
+     * @param quantity  The change in quantity sold.
+     * @return The number of affected rows.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO shopify_product_daily_sales (sales_date, product_id, quantity) " +
+            "VALUES (:salesDate, :productId, :quantity) ON DUPLICATE KEY UPDATE " +
+            "quantity = quantity + VALUES(quantity)", nativeQuery = true)
+    int addToSales(@Param("salesDate") LocalDate salesDate, @Param("productId") long productId,
+                   @Param("quantity") int quantity);
+}
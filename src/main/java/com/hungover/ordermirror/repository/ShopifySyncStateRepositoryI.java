@@ -0,0 +1,13 @@
+package com.hungover.ordermirror.repository;
+
+import com.hungover.ordermirror.domain.ShopifySyncState;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository interface for the progress of the Shopify sync jobs.
+ */
+@Repository
+public interface ShopifySyncStateRepositoryI extends CrudRepository<ShopifySyncState, String> {
+
+}
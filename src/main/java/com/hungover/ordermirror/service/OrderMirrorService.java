@@ -0,0 +1,195 @@
+package com.hungover.ordermirror.service;
+
+import com.hungover.common.constant.ApplicationConstants;
+import com.hungover.order.service.YearlyOrderStatistics;
+import com.hungover.ordermirror.domain.OrderDailyRollup;
+import com.hungover.ordermirror.domain.ShopifySyncState;
+import com.hungover.ordermirror.repository.MirroredOrderRepositoryI;
+import com.hungover.ordermirror.repository.OrderDailyRollupRepositoryI;
+import com.hungover.ordermirror.repository.ShopifySyncStateRepositoryI;
+import com.hungover.product.service.ProductSalesMap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Service class answering order analytics from the local order mirror instead of the Shopify API. The mirror is
+ * only used once it is enabled and the initial backfill has completed.
+ */
+@Service
+public class OrderMirrorService {
+
+    private static final int DATE_ONLY_LENGTH = 10;
+
+    private static final List<String> PAID_OR_PENDING_STATUSES = List.of(
+            ApplicationConstants.Orders.ORDER_PAID_STATUS, ApplicationConstants.Orders.ORDER_PENDING_STATUS);
+
+    private MirroredOrderRepositoryI mirroredOrderRepository;
+    private OrderDailyRollupRepositoryI orderDailyRollupRepository;
+    private ShopifySyncStateRepositoryI shopifySyncStateRepository;
+    private ProductSalesCube productSalesCube;
+
+    @Value("${shopify.orderMirror.enabled:false}")
+    boolean orderMirrorEnabled;
+    @Value("${shopify.shopTimeZone:Asia/Kolkata}")
+    String shopifyShopTimeZone;
+
+    public OrderMirrorService(MirroredOrderRepositoryI mirroredOrderRepository,
+                              OrderDailyRollupRepositoryI orderDailyRollupRepository,
+                              ShopifySyncStateRepositoryI shopifySyncStateRepository,
+                              ProductSalesCube productSalesCube) {
+        super();
+        this.mirroredOrderRepository = mirroredOrderRepository;
+        this.orderDailyRollupRepository = orderDailyRollupRepository;
+        this.shopifySyncStateRepository = shopifySyncStateRepository;
+        this.productSalesCube = productSalesCube;
+    }
+
+    /**
+     * Checks whether analytics can be served from the mirror.
+     *
+     * @return {@code true} if the mirror is enabled and fully backfilled, {@code false} otherwise.
+     */
+    public boolean isReady() {
+        return orderMirrorEnabled && shopifySyncStateRepository.findById(OrderMirrorSyncService.ORDERS_SYNC_NAME)
+                .map(ShopifySyncState::isBackfillCompleted)
+                .orElse(false);
+    }
+
+    /**
+     * Aggregates the paid orders processed in the given range from the daily rollups, placing every order in the
+     * month it was processed in.
+     *
+     * @param fromDate           The start of the range, as accepted by Shopify's {@code processed_at_min}.
+     * @param toDate             The end of the range, or {@code null} for an open ended range.
+     * @param calendarMonthsList The calendar months, January first.
+     * @return The statistics of the paid orders.
+     */
+    public YearlyOrderStatistics getPaidOrderStatistics(String fromDate, String toDate,
+                                                        List<String> calendarMonthsList) {
+        YearlyOrderStatistics yearlyOrderStatistics = new YearlyOrderStatistics(calendarMonthsList);
+        findDailyRollups(fromDate, toDate).forEach(orderDailyRollup -> yearlyOrderStatistics.addPaidOrders(
+                orderDailyRollup.getRollupDate().getMonthValue(), orderDailyRollup.getPaidOrderCount(),
+                orderDailyRollup.getPaidRevenueMinor()));
+        return yearlyOrderStatistics;
+    }
+
+    /**
+     * Counts the fulfilled orders processed within the given bounds. The mirrored orders are counted directly, so
+     * the bounds are kept exactly like Shopify's {@code processed_at_min} and {@code processed_at_max} instead of
+     * being widened to whole days.
+     *
+     * @param fromDate The start of the range, inclusive.
+     * @param toDate   The end of the range, inclusive.
+     * @return The number of fulfilled orders.
+     */
+    public int countFulfilledOrders(String fromDate, String toDate) {
+        ZoneId shopZoneId = ZoneId.of(shopifyShopTimeZone);
+        return (int) mirroredOrderRepository.countByProcessedAtBetweenAndCancelledAtIsNullAndFulfillmentStatus(
+                toInstant(fromDate, shopZoneId), toUpperBound(toDate, shopZoneId),
+                ApplicationConstants.Orders.ORDER_FULFILLED_STATUS);
+    }
+
+    /**
+     * Counts the paid or pending orders processed within the given bounds, kept exactly like
+     * {@link #countFulfilledOrders}.
+     *
+     * @param fromDate The start of the range, inclusive.
+     * @param toDate   The end of the range, inclusive.
+     * @return The number of paid or pending orders.
+     */
+    public int countPaidOrPendingOrders(String fromDate, String toDate) {
+        ZoneId shopZoneId = ZoneId.of(shopifyShopTimeZone);
+        return (int) mirroredOrderRepository.countByProcessedAtBetweenAndCancelledAtIsNullAndFinancialStatusIn(
+                toInstant(fromDate, shopZoneId), toUpperBound(toDate, shopZoneId), PAID_OR_PENDING_STATUSES);
+    }
+
+    /**
+     * Sums the quantity sold per product over the orders processed in the given range, from the in-memory product
+     * sales cube.
+     *
+     * @param fromDate The start of the range.
+     * @param toDate   The end of the range, or {@code null} for an open ended range.
+     * @return The quantity sold per product.
+     */
+    public ProductSalesMap getProductSales(String fromDate, String toDate) {
+        ZoneId shopZoneId = ZoneId.of(shopifyShopTimeZone);
+        return productSalesCube.getProductSales(toFromDay(fromDate, shopZoneId), toDayExclusive(toDate, shopZoneId));
+    }
+
+    /**
+     * Finds the daily rollups covering the given range.
+     *
+     * @param fromDate The start of the range.
+     * @param toDate   The end of the range, or {@code null} for an open ended range.
+     * @return The rollups of the days in the range, at most one per day.
+     */
+    private List<OrderDailyRollup> findDailyRollups(String fromDate, String toDate) {
+        ZoneId shopZoneId = ZoneId.of(shopifyShopTimeZone);
+        return orderDailyRollupRepository.findByRollupDateGreaterThanEqualAndRollupDateLessThanOrderByRollupDate(
+                toFromDay(fromDate, shopZoneId), toDayExclusive(toDate, shopZoneId));
+    }
+
+    /**
+     * Widens the start of a range to the start of its day in the shop.
+     *
+     * @param fromDate   The start of the range.
+     * @param shopZoneId The time zone of the shop.
+     * @return The first day of the range.
+     */
+    private LocalDate toFromDay(String fromDate, ZoneId shopZoneId) {
+        return toInstant(fromDate, shopZoneId).atZone(shopZoneId).toLocalDate();
+    }
+
+    /**
+     * Widens the end of a range to whole days of the shop, so an end at midnight stops before that day and any
+     * later end includes its whole day.
+     *
+     * @param toDate     The end of the range, or {@code null} for an open ended range.
+     * @param shopZoneId The time zone of the shop.
+     * @return The day after the last day of the range.
+     */
+    private LocalDate toDayExclusive(String toDate, ZoneId shopZoneId) {
+        ZonedDateTime upperBound = toUpperBound(toDate, shopZoneId).atZone(shopZoneId);
+        return upperBound.toLocalTime().equals(LocalTime.MIDNIGHT) ?
+                upperBound.toLocalDate() : upperBound.toLocalDate().plusDays(1);
+    }
+
+    private Instant toUpperBound(String toDate, ZoneId shopZoneId) {
+        if (Optional.ofNullable(toDate).isEmpty()) {
+            return Instant.now().plus(1, ChronoUnit.DAYS);
+        }
+        return toInstant(toDate, shopZoneId);
+    }
+
+    /**
+     * Converts a date as accepted by Shopify's date filters into an instant. Dates without an offset are read in
+     * the shop's time zone, the same way Shopify reads them.
+     *
+     * @param date       A date such as {@code 2023-01-01}, {@code 2023-01-01T00:00:00} or
+     *                   {@code 2023-01-01T00:00:00+05:30}.
+     * @param shopZoneId The time zone of the shop.
+     * @return The instant the date stands for.
+     */
+    Instant toInstant(String date, ZoneId shopZoneId) {
+        if (date.length() == DATE_ONLY_LENGTH) {
+            return LocalDate.parse(date).atStartOfDay(shopZoneId).toInstant();
+        }
+        try {
+            return OffsetDateTime.parse(date).toInstant();
+        } catch (DateTimeParseException dateTimeParseException) {
+            return LocalDateTime.parse(date).atZone(shopZoneId).toInstant();
+        }
+    }
+}
@@ -0,0 +1,372 @@
+package com.hungover.ordermirror.service;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.hungover.common.domain.DomainObject;
+import com.hungover.ordermirror.domain.MirroredOrder;
+import com.hungover.ordermirror.domain.MirroredOrderLineItem;
+import com.hungover.ordermirror.domain.ShopifySyncState;
+import com.hungover.ordermirror.repository.ShopifySyncStateRepositoryI;
+import com.hungover.shopify.client.ShopifyClient;
+import com.hungover.shopify.client.ShopifyJsonStream;
+import com.hungover.shopify.client.ShopifyPagePipeline;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Service class keeping the local order mirror in step with Shopify.
+ * <p>
+ * The first run backfills every order of the shop, oldest update first. Every later run only asks Shopify for the
+ * orders updated since the stored watermark (minus a small overlap for clock skew and late commits), so the cost of
+ * a sync is proportional to the number of changed orders instead of the size of the shop. Orders are written
+ * through {@link OrderRollupService}, which keeps the daily order rollups in step with the mirror and never lets an
+ * older version of an order replace a newer one, so the sync job and the webhook worker can write concurrently.
+ */
+@Service
+public class OrderMirrorSyncService {
+
+    private final Logger orderMirrorSyncServiceLogger = LoggerFactory.getLogger(this.getClass());
+
+    static final String ORDERS_SYNC_NAME = "orders";
+
+    private static final String SHOPIFY_ENDPOINT_PARAM_SYNC = "?status=any&limit=250&order=updated_at%20asc";
+    private static final String SHOPIFY_ENDPOINT_PARAM_UPDATED_AT_MIN = "&updated_at_min=";
+    private static final String ID = "id";
+    private static final String ORDER_NUMBER = "order_number";
+    private static final String CREATED_AT = "created_at";
+    private static final String PROCESSED_AT = "processed_at";
+    private static final String UPDATED_AT = "updated_at";
+    private static final String CANCELLED_AT = "cancelled_at";
+    private static final String FINANCIAL_STATUS = "financial_status";
+    private static final String FULFILLMENT_STATUS = "fulfillment_status";
+    private static final String CURRENT_TOTAL_PRICE = "current_total_price";
+    private static final String TOTAL_PRICE = "total_price";
+    private static final String CURRENCY = "currency";
+    private static final String CUSTOMER = "customer";
+    private static final String FIRST_NAME = "first_name";
+    private static final String LAST_NAME = "last_name";
+    private static final String LINE_ITEMS = "line_items";
+    private static final String PRODUCT_ID = "product_id";
+    private static final String VARIANT_ID = "variant_id";
+    private static final String TITLE = "title";
+    private static final String QUANTITY = "quantity";
+    private static final String PRICE = "price";
+    private static final String SHIPPING_LINES = "shipping_lines";
+    private static final String CODE = "code";
+    private static final String SPACE = " ";
+
+    private ShopifyClient shopifyClient;
+    private ShopifyPagePipeline shopifyPagePipeline;
+    private ShopifySyncStateRepositoryI shopifySyncStateRepository;
+    private OrderRollupService orderRollupService;
+
+    @Value("${shopifyEndpoint}")
+    String shopifyEndpoint;
+    @Value("${shopifyAccessToken}")
+    String shopifyAccessToken;
+    @Value("${shopify.orderMirror.enabled:false}")
+    boolean orderMirrorEnabled;
+    @Value("${shopify.orderMirror.overlapSeconds:300}")
+    long orderMirrorOverlapSeconds;
+
+    public OrderMirrorSyncService(ShopifyClient shopifyClient, ShopifyPagePipeline shopifyPagePipeline,
+                                  ShopifySyncStateRepositoryI shopifySyncStateRepository,
+                                  OrderRollupService orderRollupService) {
+        super();
+        this.shopifyClient = shopifyClient;
+        this.shopifyPagePipeline = shopifyPagePipeline;
+        this.shopifySyncStateRepository = shopifySyncStateRepository;
+        this.orderRollupService = orderRollupService;
+    }
+
+    /**
+     * Scheduled method that pulls the orders changed since the last run into the mirror.
+     */
+    @Scheduled(fixedDelayString = "${shopify.orderMirror.syncIntervalMillis:300000}",
+            initialDelayString = "${shopify.orderMirror.initialDelayMillis:60000}")
+    public void syncOrders() {
+        if (!orderMirrorEnabled) {
+            return;
+        }
+        try {
+            int orderCount = synchronizeOrders();
+            orderMirrorSyncServiceLogger.info("Order mirror synchronized {} orders", orderCount);
+        } catch (IOException | RuntimeException exception) {
+            orderMirrorSyncServiceLogger.error("Order mirror synchronization failed", exception);
+        }
+    }
+
+    /**
+     * Copies every order updated since the stored watermark into the mirror. The watermark is advanced after each
+     * page, so an interrupted run resumes where it stopped.
+     *
+     * @return The number of orders read from Shopify.
+     * @throws IOException if Shopify cannot be reached or returns a malformed page.
+     */
+    public int synchronizeOrders() throws IOException {
+        ShopifySyncState shopifySyncState = shopifySyncStateRepository.findById(ORDERS_SYNC_NAME)
+                .orElseGet(this::createSyncState);
+        String firstPageUrl = shopifyEndpoint + SHOPIFY_ENDPOINT_PARAM_SYNC;
+        if (Optional.ofNullable(shopifySyncState.getWatermark()).isPresent()) {
+            firstPageUrl += SHOPIFY_ENDPOINT_PARAM_UPDATED_AT_MIN +
+                    shopifySyncState.getWatermark().minusSeconds(orderMirrorOverlapSeconds);
+        }
+        int[] orderCount = {0};
+        shopifyPagePipeline.forEachPage(shopifyClient, firstPageUrl, shopifyAccessToken, shopifyResponse -> {
+            List<MirroredOrder> mirroredOrderList = new ArrayList<>();
+            ShopifyJsonStream.forEachElement(shopifyResponse.getBodyReader(), DomainObject.Order.ORDERS,
+                    this::readMirroredOrder, mirroredOrderList::add);
+            orderRollupService.saveOrders(mirroredOrderList);
+            mirroredOrderList.stream()
+                    .map(MirroredOrder::getUpdatedAt)
+                    .filter(updatedAt -> Optional.ofNullable(updatedAt).isPresent())
+                    .max(Instant::compareTo)
+                    .filter(updatedAt -> Optional.ofNullable(shopifySyncState.getWatermark()).isEmpty() ||
+                            updatedAt.isAfter(shopifySyncState.getWatermark()))
+                    .ifPresent(shopifySyncState::setWatermark);
+            shopifySyncState.setLastSyncedAt(Instant.now());
+            shopifySyncStateRepository.save(shopifySyncState);
+            orderCount[0] += mirroredOrderList.size();
+        });
+        if (!shopifySyncState.isBackfillCompleted()) {
+            orderMirrorSyncServiceLogger.info("Order mirror backfill completed");
+        }
+        shopifySyncState.setBackfillCompleted(true);
+        shopifySyncState.setLastSyncedAt(Instant.now());
+        shopifySyncStateRepository.save(shopifySyncState);
+        return orderCount[0];
+    }
+
+    /**
+     * Checks whether the order mirror is kept up to date, i.e. whether orders may be written to it at all.
+     *
+     * @return {@code true} if the order mirror is enabled, {@code false} otherwise.
+     */
+    public boolean isEnabled() {
+        return orderMirrorEnabled;
+    }
+
+    /**
+     * Writes the orders delivered by Shopify webhooks into the mirror. Webhooks can arrive late, twice or out of
+     * order; {@link OrderRollupService#saveOrders} keeps only the latest version of each order and skips it when
+     * the mirror already holds a newer one. Each payload is parsed on its own, and a payload that is not a valid
+     * order is logged and skipped so that it does not hold back the others.
+     *
+     * @param orderPayloads The JSON bodies of {@code orders/create} and {@code orders/updated} webhooks.
+     * @return The number of orders written to the mirror.
+     */
+    public int mirrorOrders(List<String> orderPayloads) {
+        List<MirroredOrder> mirroredOrderList = new ArrayList<>(orderPayloads.size());
+        for (String orderPayload : orderPayloads) {
+            try (JsonReader jsonReader = new JsonReader(new StringReader(orderPayload))) {
+                jsonReader.setLenient(true);
+                MirroredOrder mirroredOrder = readMirroredOrder(jsonReader);
+                if (Optional.ofNullable(mirroredOrder.getOrderId()).orElse(0L) == 0L) {
+                    throw new IOException("Order webhook without an order id");
+                }
+                mirroredOrderList.add(mirroredOrder);
+            } catch (IOException | RuntimeException exception) {
+                orderMirrorSyncServiceLogger.warn("Skipping malformed order webhook payload", exception);
+            }
+        }
+        if (mirroredOrderList.isEmpty()) {
+            return 0;
+        }
+        return orderRollupService.saveOrders(mirroredOrderList);
+    }
+
+    private ShopifySyncState createSyncState() {
+        ShopifySyncState shopifySyncState = new ShopifySyncState();
+        shopifySyncState.setSyncName(ORDERS_SYNC_NAME);
+        return shopifySyncState;
+    }
+
+    /**
+     * Reads one order of the orders array into a MirroredOrder, skipping every field the mirror does not keep.
+     *
+     * @param jsonReader The reader positioned at the start of an order object.
+     * @return The mirrored order.
+     * @throws IOException if the order cannot be read.
+     */
+    private MirroredOrder readMirroredOrder(JsonReader jsonReader) throws IOException {
+        MirroredOrder mirroredOrder = new MirroredOrder();
+        jsonReader.beginObject();
+        while (jsonReader.hasNext()) {
+            switch (jsonReader.nextName()) {
+                case ID:
+                    mirroredOrder.setOrderId(ShopifyJsonStream.nextLong(jsonReader, 0L));
+                    break;
+                case ORDER_NUMBER:
+                    mirroredOrder.setOrderNumber((int) ShopifyJsonStream.nextLong(jsonReader, 0L));
+                    break;
+                case CREATED_AT:
+                    mirroredOrder.setCreatedAt(nextInstant(jsonReader));
+                    break;
+                case PROCESSED_AT:
+                    mirroredOrder.setProcessedAt(nextInstant(jsonReader));
+                    break;
+                case UPDATED_AT:
+                    mirroredOrder.setUpdatedAt(nextInstant(jsonReader));
+                    break;
+                case CANCELLED_AT:
+                    mirroredOrder.setCancelledAt(nextInstant(jsonReader));
+                    break;
+                case FINANCIAL_STATUS:
+                    mirroredOrder.setFinancialStatus(ShopifyJsonStream.nextString(jsonReader, null));
+                    break;
+                case FULFILLMENT_STATUS:
+                    mirroredOrder.setFulfillmentStatus(ShopifyJsonStream.nextString(jsonReader, null));
+                    break;
+                case CURRENT_TOTAL_PRICE:
+                    mirroredOrder.setCurrentTotalPrice(nextDecimal(jsonReader));
+                    break;
+                case TOTAL_PRICE:
+                    mirroredOrder.setTotalPrice(nextDecimal(jsonReader));
+                    break;
+                case CURRENCY:
+                    mirroredOrder.setCurrency(ShopifyJsonStream.nextString(jsonReader, null));
+                    break;
+                case CUSTOMER:
+                    readCustomer(jsonReader, mirroredOrder);
+                    break;
+                case LINE_ITEMS:
+                    readLineItems(jsonReader, mirroredOrder);
+                    break;
+                case SHIPPING_LINES:
+                    mirroredOrder.setShippingCode(readShippingCode(jsonReader));
+                    break;
+                default:
+                    jsonReader.skipValue();
+                    break;
+            }
+        }
+        jsonReader.endObject();
+        mirroredOrder.setTotalQuantity(mirroredOrder.getLineItems().stream()
+                .map(MirroredOrderLineItem::getQuantity)
+                .filter(quantity -> Optional.ofNullable(quantity).isPresent())
+                .mapToInt(Integer::intValue)
+                .sum());
+        return mirroredOrder;
+    }
+
+    private void readCustomer(JsonReader jsonReader, MirroredOrder mirroredOrder) throws IOException {
+        if (jsonReader.peek() != JsonToken.BEGIN_OBJECT) {
+            jsonReader.skipValue();
+            return;
+        }
+        String firstName = "";
+        String lastName = "";
+        jsonReader.beginObject();
+        while (jsonReader.hasNext()) {
+            switch (jsonReader.nextName()) {
+                case ID:
+                    mirroredOrder.setCustomerId(ShopifyJsonStream.nextLong(jsonReader, 0L));
+                    break;
+                case FIRST_NAME:
+                    firstName = ShopifyJsonStream.nextString(jsonReader, "");
+                    break;
+                case LAST_NAME:
+                    lastName = ShopifyJsonStream.nextString(jsonReader, "");
+                    break;
+                default:
+                    jsonReader.skipValue();
+                    break;
+            }
+        }
+        jsonReader.endObject();
+        mirroredOrder.setCustomerName((firstName + SPACE + lastName).trim());
+    }
+
+    private void readLineItems(JsonReader jsonReader, MirroredOrder mirroredOrder) throws IOException {
+        if (jsonReader.peek() != JsonToken.BEGIN_ARRAY) {
+            jsonReader.skipValue();
+            return;
+        }
+        jsonReader.beginArray();
+        while (jsonReader.hasNext()) {
+            MirroredOrderLineItem lineItem = new MirroredOrderLineItem();
+            jsonReader.beginObject();
+            while (jsonReader.hasNext()) {
+                switch (jsonReader.nextName()) {
+                    case ID:
+                        lineItem.setLineItemId(ShopifyJsonStream.nextLong(jsonReader, 0L));
+                        break;
+                    case PRODUCT_ID:
+                        lineItem.setProductId(nextNullableLong(jsonReader));
+                        break;
+                    case VARIANT_ID:
+                        lineItem.setVariantId(nextNullableLong(jsonReader));
+                        break;
+                    case TITLE:
+                        lineItem.setTitle(ShopifyJsonStream.nextString(jsonReader, null));
+                        break;
+                    case QUANTITY:
+                        lineItem.setQuantity((int) ShopifyJsonStream.nextLong(jsonReader, 0L));
+                        break;
+                    case PRICE:
+                        lineItem.setPrice(nextDecimal(jsonReader));
+                        break;
+                    default:
+                        jsonReader.skipValue();
+                        break;
+                }
+            }
+            jsonReader.endObject();
+            mirroredOrder.addLineItem(lineItem);
+        }
+        jsonReader.endArray();
+    }
+
+    private String readShippingCode(JsonReader jsonReader) throws IOException {
+        if (jsonReader.peek() != JsonToken.BEGIN_ARRAY) {
+            jsonReader.skipValue();
+            return null;
+        }
+        String shippingCode = null;
+        jsonReader.beginArray();
+        while (jsonReader.hasNext()) {
+            if (Optional.ofNullable(shippingCode).isPresent() || jsonReader.peek() != JsonToken.BEGIN_OBJECT) {
+                jsonReader.skipValue();
+                continue;
+            }
+            jsonReader.beginObject();
+            while (jsonReader.hasNext()) {
+                if (CODE.equals(jsonReader.nextName())) {
+                    shippingCode = ShopifyJsonStream.nextString(jsonReader, null);
+                } else {
+                    jsonReader.skipValue();
+                }
+            }
+            jsonReader.endObject();
+        }
+        jsonReader.endArray();
+        return shippingCode;
+    }
+
+    private Instant nextInstant(JsonReader jsonReader) throws IOException {
+        String value = ShopifyJsonStream.nextString(jsonReader, null);
+        return Optional.ofNullable(value).isPresent() ? OffsetDateTime.parse(value).toInstant() : null;
+    }
+
+    private BigDecimal nextDecimal(JsonReader jsonReader) throws IOException {
+        String value = ShopifyJsonStream.nextString(jsonReader, null);
+        return Optional.ofNullable(value).isPresent() ? new BigDecimal(value) : null;
+    }
+
+    private Long nextNullableLong(JsonReader jsonReader) throws IOException {
+        long value = ShopifyJsonStream.nextLong(jsonReader, Long.MIN_VALUE);
+        return value == Long.MIN_VALUE ? null : value;
+    }
+}
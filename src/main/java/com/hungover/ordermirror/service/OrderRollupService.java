@@ -0,0 +1,245 @@
+package com.hungover.ordermirror.service;
+
+import com.hungover.common.constant.ApplicationConstants;
+import com.hungover.ordermirror.domain.MirroredOrder;
+import com.hungover.ordermirror.repository.MirroredOrderRepositoryI;
+import com.hungover.ordermirror.repository.OrderDailyRollupRepositoryI;
+import com.hungover.ordermirror.repository.ProductDailySalesRepositoryI;
+import com.hungover.product.service.ProductSalesMap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Service class writing orders to the mirror while keeping the daily order rollups and the daily product sales in
+ * step.
+ * <p>
+ * Every write takes back what the stored version of an order contributed to its day and adds what the new version
+ * contributes, so a rollup row always equals the sum over the mirrored orders of its day without ever being
+ * recomputed from them. The mirror, the rollups and the product sales are written in one transaction, and the
+ * product sales changes reach the {@link ProductSalesCube} once it has committed.
+ * <p>
+ * The sync job and the webhook worker write the same orders concurrently and in no particular order. Each write
+ * locks the stored rows of its orders and only writes a version whose {@code updated_at} is not older than the
+ * stored one, so an order can never go back to an older version and its contribution is moved exactly once. An
+ * order that is not mirrored yet first gets an empty placeholder row, inserted without a prior locking read: two
+ * writers locking a missing row would both hold a gap lock and deadlock on their inserts, whereas the second
+ * placeholder insert just waits for the first writer to commit and then locks its row. The placeholder has no
+ * processed date and no line items, so it contributes nothing that would need taking back.
+ */
+@Service
+public class OrderRollupService {
+
+    private static final int PAID_ORDER_COUNT = 0;
+    private static final int PAID_REVENUE_MINOR = 1;
+    private static final int PENDING_ORDER_COUNT = 2;
+    private static final int FULFILLED_ORDER_COUNT = 3;
+    private static final int ROLLUP_MEASURES = 4;
+    private static final int MINOR_UNIT_DIGITS = 2;
+
+    private MirroredOrderRepositoryI mirroredOrderRepository;
+    private OrderDailyRollupRepositoryI orderDailyRollupRepository;
+    private ProductDailySalesRepositoryI productDailySalesRepository;
+    private ProductSalesCube productSalesCube;
+
+    @Value("${shopify.shopTimeZone:Asia/Kolkata}")
+    String shopifyShopTimeZone;
+
+    public OrderRollupService(MirroredOrderRepositoryI mirroredOrderRepository,
+                              OrderDailyRollupRepositoryI orderDailyRollupRepository,
+                              ProductDailySalesRepositoryI productDailySalesRepository,
+                              ProductSalesCube productSalesCube) {
+        super();
+        this.mirroredOrderRepository = mirroredOrderRepository;
+        this.orderDailyRollupRepository = orderDailyRollupRepository;
+        this.productDailySalesRepository = productDailySalesRepository;
+        this.productSalesCube = productSalesCube;
+    }
+
+    /**
+     * Writes the orders to the mirror and moves their contribution to the daily rollups and the daily product sales
+     * from the stored versions to the given ones. Of several versions of an order only the latest is kept, and it is
+     * skipped when the mirror already holds a newer one.
+     *
+     * @param mirroredOrders The new versions of the orders.
+     * @return The number of orders written to the mirror.
+     */
+    @Transactional
+    public int saveOrders(Collection<MirroredOrder> mirroredOrders) {
+        ZoneId shopZoneId = ZoneId.of(shopifyShopTimeZone);
+        Map<LocalDate, long[]> rollupDeltas = new TreeMap<>();
+        Map<LocalDate, ProductSalesMap> salesDeltas = new TreeMap<>();
+        Map<Long, MirroredOrder> latestOrderMap = new LinkedHashMap<>();
+        mirroredOrders.forEach(mirroredOrder -> latestOrderMap.merge(mirroredOrder.getOrderId(), mirroredOrder,
+                (current, candidate) -> isNewer(candidate, current) ? candidate : current));
+        List<Long> orderIds = new ArrayList<>(latestOrderMap.keySet());
+        Set<Long> mirroredOrderIds = new HashSet<>(mirroredOrderRepository.findMirroredOrderIds(orderIds));
+        orderIds.stream().filter(orderId -> !mirroredOrderIds.contains(orderId)).sorted()
+                .forEach(mirroredOrderRepository::insertPlaceholderIfAbsent);
+        mirroredOrderRepository.findAllByIdForUpdate(orderIds).forEach(storedOrder -> {
+            if (!isNewer(latestOrderMap.get(storedOrder.getOrderId()), storedOrder)) {
+                latestOrderMap.remove(storedOrder.getOrderId());
+                return;
+            }
+            addContribution(rollupDeltas, storedOrder, -1, shopZoneId);
+            addProductSales(salesDeltas, storedOrder, -1, shopZoneId);
+        });
+        List<MirroredOrder> newerOrders = new ArrayList<>(latestOrderMap.values());
+        newerOrders.forEach(mirroredOrder -> {
+            addContribution(rollupDeltas, mirroredOrder, 1, shopZoneId);
+            addProductSales(salesDeltas, mirroredOrder, 1, shopZoneId);
+        });
+        mirroredOrderRepository.saveAll(newerOrders);
+        rollupDeltas.forEach((rollupDate, rollupDelta) -> {
+            if (rollupDelta[PAID_ORDER_COUNT] != 0 || rollupDelta[PAID_REVENUE_MINOR] != 0 ||
+                    rollupDelta[PENDING_ORDER_COUNT] != 0 || rollupDelta[FULFILLED_ORDER_COUNT] != 0) {
+                orderDailyRollupRepository.addToRollup(rollupDate, (int) rollupDelta[PAID_ORDER_COUNT],
+                        rollupDelta[PAID_REVENUE_MINOR], (int) rollupDelta[PENDING_ORDER_COUNT],
+                        (int) rollupDelta[FULFILLED_ORDER_COUNT]);
+            }
+        });
+        saveProductSales(salesDeltas);
+        return newerOrders.size();
+    }
+
+    /**
+     * Checks whether a version of an order may replace another one. A version without {@code updated_at} is
+     * replaced by any other and only replaces another version without it.
+     *
+     * @param candidate The version about to be written.
+     * @param current   The version it would replace.
+     * @return {@code true} if the candidate is not older than the current version, {@code false} otherwise.
+     */
+    private boolean isNewer(MirroredOrder candidate, MirroredOrder current) {
+        if (Optional.ofNullable(current.getUpdatedAt()).isEmpty()) {
+            return true;
+        }
+        return Optional.ofNullable(candidate.getUpdatedAt()).isPresent() &&
+                !candidate.getUpdatedAt().isBefore(current.getUpdatedAt());
+    }
+
+    /**
+     * Writes the non-zero product sales changes and hands them to the cube once the transaction has committed, so
+     * the cube never holds sales that were rolled back. The cube's change lock is held from just before the commit
+     * until the changes are applied, so a concurrent cube load can neither miss nor double count them.
+     *
+     * @param salesDeltas The change in quantity sold per day and product.
+     */
+    private void saveProductSales(Map<LocalDate, ProductSalesMap> salesDeltas) {
+        Map<LocalDate, ProductSalesMap> changedSales = new TreeMap<>();
+        boolean synchronizationActive = TransactionSynchronizationManager.isSynchronizationActive();
+        if (!synchronizationActive) {
+            productSalesCube.beginChange();
+        }
+        try {
+            salesDeltas.forEach((salesDate, salesDelta) -> salesDelta.forEach((productId, quantity) -> {
+                if (quantity != 0) {
+                    productDailySalesRepository.addToSales(salesDate, productId, quantity);
+                    changedSales.computeIfAbsent(salesDate, day -> new ProductSalesMap()).add(productId, quantity);
+                }
+            }));
+            if (!synchronizationActive && !changedSales.isEmpty()) {
+                productSalesCube.applyChanges(changedSales);
+            }
+        } finally {
+            if (!synchronizationActive) {
+                productSalesCube.endChange();
+            }
+        }
+        if (!synchronizationActive || changedSales.isEmpty()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            private boolean changeBegun;
+
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                productSalesCube.beginChange();
+                changeBegun = true;
+            }
+
+            @Override
+            public void afterCommit() {
+                productSalesCube.applyChanges(changedSales);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (changeBegun) {
+                    changeBegun = false;
+                    productSalesCube.endChange();
+                }
+            }
+        });
+    }
+
+    /**
+     * Adds what an order contributes to the rollup of its day, multiplied by the sign.
+     *
+     * @param rollupDeltas The changes per day.
+     * @param mirroredOrder The order.
+     * @param sign         {@code 1} to add the order, {@code -1} to take it back.
+     * @param shopZoneId   The time zone of the shop.
+     */
+    private void addContribution(Map<LocalDate, long[]> rollupDeltas, MirroredOrder mirroredOrder, int sign,
+                                 ZoneId shopZoneId) {
+        if (Optional.ofNullable(mirroredOrder.getCancelledAt()).isPresent() ||
+                Optional.ofNullable(mirroredOrder.getProcessedAt()).isEmpty()) {
+            return;
+        }
+        long[] rollupDelta = rollupDeltas.computeIfAbsent(
+                mirroredOrder.getProcessedAt().atZone(shopZoneId).toLocalDate(), day -> new long[ROLLUP_MEASURES]);
+        if (ApplicationConstants.Orders.ORDER_PAID_STATUS.equals(mirroredOrder.getFinancialStatus())) {
+            rollupDelta[PAID_ORDER_COUNT] += sign;
+            rollupDelta[PAID_REVENUE_MINOR] += sign * Optional.ofNullable(mirroredOrder.getCurrentTotalPrice())
+                    .map(price -> price.setScale(MINOR_UNIT_DIGITS, RoundingMode.HALF_UP).unscaledValue()
+                            .longValueExact())
+                    .orElse(0L);
+        } else if (ApplicationConstants.Orders.ORDER_PENDING_STATUS.equals(mirroredOrder.getFinancialStatus())) {
+            rollupDelta[PENDING_ORDER_COUNT] += sign;
+        }
+        if (ApplicationConstants.Orders.ORDER_FULFILLED_STATUS.equals(mirroredOrder.getFulfillmentStatus())) {
+            rollupDelta[FULFILLED_ORDER_COUNT] += sign;
+        }
+    }
+
+    /**
+     * Adds the quantities of an order's line items to the product sales of its day, multiplied by the sign. Only
+     * orders that count towards the rollups count towards the product sales.
+     *
+     * @param salesDeltas   The change in quantity sold per day and product.
+     * @param mirroredOrder The order.
+     * @param sign          {@code 1} to add the order, {@code -1} to take it back.
+     * @param shopZoneId    The time zone of the shop.
+     */
+    private void addProductSales(Map<LocalDate, ProductSalesMap> salesDeltas, MirroredOrder mirroredOrder, int sign,
+                                 ZoneId shopZoneId) {
+        if (Optional.ofNullable(mirroredOrder.getCancelledAt()).isPresent() ||
+                Optional.ofNullable(mirroredOrder.getProcessedAt()).isEmpty()) {
+            return;
+        }
+        LocalDate salesDate = mirroredOrder.getProcessedAt().atZone(shopZoneId).toLocalDate();
+        mirroredOrder.getLineItems().forEach(lineItem -> {
+            if (Optional.ofNullable(lineItem.getProductId()).isPresent() &&
+                    Optional.ofNullable(lineItem.getQuantity()).isPresent()) {
+                salesDeltas.computeIfAbsent(salesDate, day -> new ProductSalesMap())
+                        .add(lineItem.getProductId(), sign * lineItem.getQuantity());
+            }
+        });
+    }
+}
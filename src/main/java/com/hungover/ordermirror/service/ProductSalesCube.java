@@ -0,0 +1,158 @@
+package com.hungover.ordermirror.service;
+
+import com.hungover.ordermirror.domain.ProductDailySales;
+import com.hungover.ordermirror.repository.ProductDailySalesRepositoryI;
+import com.hungover.product.service.ProductSalesMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory copy of the daily product sales: one sparse slice of product quantities per day of the shop. The sales
+ * of any range are answered by merging the slices of its days, so changing the range of a report never queries the
+ * database or Shopify.
+ * <p>
+ * The cube is loaded from the database on first use and then kept in step with the changes written by
+ * {@link OrderRollupService}. It is reloaded periodically to pick up sales written by other instances.
+ * <p>
+ * A change reaches the cube only after its transaction has committed, so a load reading the database between that
+ * commit and {@link #applyChanges} would count the change twice, and a load ignoring it would lose it. Transactions
+ * therefore hold the change lock from just before they commit until their change is applied, and loads take it
+ * exclusively: a load either runs before the commit and the change is applied on top of it, or after the change has
+ * been applied to the previous copy, which the load then replaces.
+ */
+@Service
+public class ProductSalesCube {
+
+    private final Logger productSalesCubeLogger = LoggerFactory.getLogger(this.getClass());
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final ReadWriteLock changeLock = new ReentrantReadWriteLock();
+
+    private ProductDailySalesRepositoryI productDailySalesRepository;
+    private NavigableMap<LocalDate, ProductSalesMap> dailySales;
+
+    public ProductSalesCube(ProductDailySalesRepositoryI productDailySalesRepository) {
+        super();
+        this.productDailySalesRepository = productDailySalesRepository;
+    }
+
+    /**
+     * Sums the sales of every product over the days of the given range.
+     *
+     * @param fromDay        The first day of the range.
+     * @param toDayExclusive The day after the last day of the range.
+     * @return The quantity sold per product.
+     */
+    public ProductSalesMap getProductSales(LocalDate fromDay, LocalDate toDayExclusive) {
+        ProductSalesMap productSalesMap = new ProductSalesMap();
+        if (!fromDay.isBefore(toDayExclusive)) {
+            return productSalesMap;
+        }
+        loadIfNeeded();
+        lock.readLock().lock();
+        try {
+            dailySales.subMap(fromDay, true, toDayExclusive, false).values().forEach(productSalesMap::addAll);
+        } finally {
+            lock.readLock().unlock();
+        }
+        return productSalesMap;
+    }
+
+    /**
+     * Marks the start of a change to the daily product sales. Must be called on the committing thread before the
+     * change commits and be followed by {@link #endChange()} once the change has been applied or rolled back; loads
+     * wait in between.
+     */
+    public void beginChange() {
+        changeLock.readLock().lock();
+    }
+
+    /**
+     * Marks the end of a change started with {@link #beginChange()}.
+     */
+    public void endChange() {
+        changeLock.readLock().unlock();
+    }
+
+    /**
+     * Applies changes that have been written to the daily product sales. Changes are ignored until the cube is
+     * loaded, since loading reads them from the database. Changes must be applied between {@link #beginChange()} and
+     * {@link #endChange()}, so that no load counts them twice.
+     *
+     * @param salesDeltas The change in quantity sold per day and product.
+     */
+    public void applyChanges(Map<LocalDate, ProductSalesMap> salesDeltas) {
+        lock.writeLock().lock();
+        try {
+            if (dailySales == null) {
+                return;
+            }
+            salesDeltas.forEach((salesDate, salesDelta) ->
+                    dailySales.computeIfAbsent(salesDate, day -> new ProductSalesMap()).addAll(salesDelta));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Scheduled method that reloads a loaded cube from the database. Readers and committing changes wait for the
+     * reload, so a change is neither lost nor counted twice.
+     */
+    @Scheduled(fixedDelayString = "${product.salesCube.reloadIntervalMillis:3600000}")
+    public void reload() {
+        changeLock.writeLock().lock();
+        lock.writeLock().lock();
+        try {
+            if (dailySales != null) {
+                dailySales = loadDailySales();
+            }
+        } finally {
+            lock.writeLock().unlock();
+            changeLock.writeLock().unlock();
+        }
+    }
+
+    private void loadIfNeeded() {
+        lock.readLock().lock();
+        try {
+            if (dailySales != null) {
+                return;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        changeLock.writeLock().lock();
+        lock.writeLock().lock();
+        try {
+            if (dailySales == null) {
+                dailySales = loadDailySales();
+            }
+        } finally {
+            lock.writeLock().unlock();
+            changeLock.writeLock().unlock();
+        }
+    }
+
+    private NavigableMap<LocalDate, ProductSalesMap> loadDailySales() {
+        NavigableMap<LocalDate, ProductSalesMap> loadedSales = new TreeMap<>();
+        int rowCount = 0;
+        for (ProductDailySales productDailySales : productDailySalesRepository.findAll()) {
+            if (productDailySales.getQuantity() != 0) {
+                loadedSales.computeIfAbsent(productDailySales.getSalesDate(), day -> new ProductSalesMap())
+                        .add(productDailySales.getProductId(), productDailySales.getQuantity());
+                rowCount++;
+            }
+        }
+        productSalesCubeLogger.info("Loaded {} daily product sales over {} days", rowCount, loadedSales.size());
+        return loadedSales;
+    }
+}
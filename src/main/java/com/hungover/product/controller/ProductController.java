@@ -14,6 +14,7 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.io.IOException;
+import java.util.Optional;
 
 /**
  * Controller class for handling product-related API endpoints.
@@ -47,13 +48,22 @@ public class ProductController {
      * Handles the HTTP GET request to retrieve the top products and returns the response
      * in a ResponseEntity with the SingleDataResponse object.
      *
+     * @param limit The number of top products to return. Every product is ranked when it is absent, and a limit
+     *              below one returns the single best seller.
      * @return ResponseEntity containing the SingleDataResponse object with the top products data.
      */
     @GetMapping(value = ENDPOINT_VERSION+"/top")
     @ApiOperation(value = "Get top products", nickname = "Get top products",
             notes = "This endpoint for Get top products", produces = "application/json", consumes = "application/json")
-    public ResponseEntity<SingleDataResponse> getTopProducts() {
-        return new ResponseEntity<>(productApiResponseService.getTopProducts(), HttpStatus.OK);
+    public ResponseEntity<SingleDataResponse> getTopProducts(
+            @RequestParam(value = "limit", required = false) Integer limit) {
+        return new ResponseEntity<>(productApiResponseService.getTopProducts(getTopProductsLimit(limit)),
+                HttpStatus.OK);
+    }
+
+    private static int getTopProductsLimit(Integer limit) {
+        return Optional.ofNullable(limit).map(topProductsLimit -> Math.max(1, topProductsLimit))
+                .orElse(Integer.MAX_VALUE);
     }
 
     /**
@@ -0,0 +1,43 @@
+package com.hungover.product.service;
+
+/**
+ * The fields of a catalog product that the top product reports show, read once from the Shopify products endpoint
+ * so that a report can be ranked again without reading the catalog.
+ */
+public class CatalogProduct {
+
+    private final long productId;
+    private final String title;
+    private final int inventoryQuantity;
+    private final String imageSrc;
+    private final String price;
+
+    public CatalogProduct(long productId, String title, int inventoryQuantity, String imageSrc, String price) {
+        super();
+        this.productId = productId;
+        this.title = title;
+        this.inventoryQuantity = inventoryQuantity;
+        this.imageSrc = imageSrc;
+        this.price = price;
+    }
+
+    public long getProductId() {
+        return productId;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public int getInventoryQuantity() {
+        return inventoryQuantity;
+    }
+
+    public String getImageSrc() {
+        return imageSrc;
+    }
+
+    public String getPrice() {
+        return price;
+    }
+}
@@ -70,13 +70,14 @@ public class ProductApiResponseService {
      * Retrieves the top products data from the ProductService and creates a SingleDataResponse object
      * containing the response data.
      *
+     * @param limit The number of top products to return.
      * @return SingleDataResponse object containing the top products data.
      */
-    public SingleDataResponse getTopProducts() {
+    public SingleDataResponse getTopProducts(int limit) {
         productApiResponseServiceLogger.info("Entered into Get top products api response service");
         SingleDataResponse singleDataResponse = new SingleDataResponse();
         TopProductsResponseDTO topProductsResponseDTO = productService.
-                getTopProducts(shopifyAccessToken, shopifyGraphQueryEndPoint, shopifyProductEndPoint);
+                getTopProducts(shopifyAccessToken, shopifyGraphQueryEndPoint, shopifyProductEndPoint, limit);
         if (Optional.ofNullable(topProductsResponseDTO).isPresent()) {
             singleDataResponse.setResponse(ApplicationConstants.Status.SUCCESS,
                     messageSource.getMessage("api.get.top.product.success", null, Locale.ENGLISH),
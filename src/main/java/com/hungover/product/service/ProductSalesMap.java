@@ -0,0 +1,117 @@
+package com.hungover.product.service;
+
+/**
+ * Sales quantities keyed by Shopify product id, stored in primitive arrays with open addressing so that joining the
+ * sales to the catalog costs one probe per product and never boxes an id or a quantity.
+ */
+public class ProductSalesMap {
+
+    private static final int DEFAULT_CAPACITY = 64;
+    private static final long HASH_MULTIPLIER = 0x9E3779B97F4A7C15L;
+
+    private long[] productIds;
+    private int[] quantities;
+    private boolean[] occupied;
+    private int mask;
+    private int size;
+
+    public ProductSalesMap() {
+        allocate(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Adds a sold quantity to the total of a product.
+     *
+     * @param productId The Shopify product id.
+     * @param quantity  The quantity sold.
+     */
+    public void add(long productId, int quantity) {
+        int slot = findSlot(productId);
+        if (occupied[slot]) {
+            quantities[slot] += quantity;
+            return;
+        }
+        productIds[slot] = productId;
+        quantities[slot] = quantity;
+        occupied[slot] = true;
+        size++;
+        if (size * 2 > productIds.length) {
+            resize();
+        }
+    }
+
+    /**
+     * Returns the total quantity sold of a product.
+     *
+     * @param productId The Shopify product id.
+     * @return The total quantity, or 0 if the product has no sales.
+     */
+    public int get(long productId) {
+        int slot = findSlot(productId);
+        return occupied[slot] ? quantities[slot] : 0;
+    }
+
+    /**
+     * Adds every total of another map to the totals of this one.
+     *
+     * @param productSalesMap The sales to add.
+     */
+    public void addAll(ProductSalesMap productSalesMap) {
+        productSalesMap.forEach(this::add);
+    }
+
+    /**
+     * Passes every product and its total quantity to the consumer, in no particular order.
+     *
+     * @param productQuantityConsumer The consumer.
+     */
+    public void forEach(ProductQuantityConsumer productQuantityConsumer) {
+        for (int i = 0; i < productIds.length; i++) {
+            if (occupied[i]) {
+                productQuantityConsumer.accept(productIds[i], quantities[i]);
+            }
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private int findSlot(long productId) {
+        int slot = (int) ((productId * HASH_MULTIPLIER) >>> 32) & mask;
+        while (occupied[slot] && productIds[slot] != productId) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void resize() {
+        long[] oldProductIds = productIds;
+        int[] oldQuantities = quantities;
+        boolean[] oldOccupied = occupied;
+        allocate(oldProductIds.length * 2);
+        for (int i = 0; i < oldProductIds.length; i++) {
+            if (oldOccupied[i]) {
+                int slot = findSlot(oldProductIds[i]);
+                productIds[slot] = oldProductIds[i];
+                quantities[slot] = oldQuantities[i];
+                occupied[slot] = true;
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        productIds = new long[capacity];
+        quantities = new int[capacity];
+        occupied = new boolean[capacity];
+        mask = capacity - 1;
+    }
+
+    /**
+     * Receives a product and its total quantity without boxing either.
+     */
+    @FunctionalInterface
+    public interface ProductQuantityConsumer {
+        void accept(long productId, int quantity);
+    }
+}
@@ -1,6 +1,8 @@
 package com.hungover.product.service;
 
 import com.google.gson.Gson;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
 import com.hungover.common.constant.ApplicationConstants;
 import com.hungover.common.domain.DomainObject;
 import com.hungover.core.dto.order.VariantDetailsDto;
@@ -10,10 +12,16 @@ import com.hungover.core.dto.product.ProductDataResponseDto;
 import com.hungover.core.dto.product.ProductKeyValueDto;
 import com.hungover.core.dto.product.TopProductKeyValueDto;
 import com.hungover.core.dto.product.TopProductsResponseDTO;
+import com.hungover.ordermirror.service.OrderMirrorService;
+import com.hungover.shopify.client.ShopifyClient;
+import com.hungover.shopify.client.ShopifyJsonStream;
+import com.hungover.shopify.client.ShopifyPagePipeline;
+import com.hungover.shopify.client.ShopifyResponse;
 import org.json.JSONArray;
 import org.json.JSONObject;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
@@ -27,8 +35,6 @@ import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
-import java.net.HttpURLConnection;
-import java.net.URL;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -36,10 +42,9 @@ import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
 import java.util.Optional;
-import java.util.stream.Collectors;
-import java.util.stream.IntStream;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 
 /**
@@ -57,7 +62,6 @@ public class ProductService {
     private static final String SPLIT_WITH_AND_SYMBOL = "&";
     private static final String REPLACE_WITH_GREATER_THAN = ">";
     private static final String REPLACE_WITH_LESSER_THAN = "<";
-    private static final String NULL = "null";
     private static final String SHOPIFY_ENDPOINT_URL_QUESTIONMARK = "?";
     private static final String SHOPIFY_ENDPOINT_LIMIT = "limit=250";
     private static final String CONTENT_TYPE = "application/graphql";
@@ -67,9 +71,32 @@ public class ProductService {
     private static final String ROW_DATA = "rowData";
     private static final String SHOPIFY_ENDPOINT_JSON = ".json";
     private static final String NEWLINE = "\n";
+    private static final int TOP_PRODUCT_ID_COLUMN = 0;
+    private static final int TOP_PRODUCT_SALES_COLUMN = 2;
+    private static final int ALL_PRODUCTS = Integer.MAX_VALUE;
+
+    private RestTemplate restTemplate;
+    private ShopifyClient shopifyClient;
+    private ShopifyPagePipeline shopifyPagePipeline;
+    private OrderMirrorService orderMirrorService;
+    private volatile CatalogSnapshot catalogSnapshot;
+    private final AtomicLong catalogEvictions = new AtomicLong();
+
+    @Value("${product.catalog.maxAgeSeconds:300}")
+    long catalogMaxAgeSeconds;
+
+    public ProductService(RestTemplate restTemplate, ShopifyClient shopifyClient,
+                          ShopifyPagePipeline shopifyPagePipeline, OrderMirrorService orderMirrorService) {
+        super();
+        this.restTemplate = restTemplate;
+        this.shopifyClient = shopifyClient;
+        this.shopifyPagePipeline = shopifyPagePipeline;
+        this.orderMirrorService = orderMirrorService;
+    }
 
     /**
-     * Retrieves a list of product data from the Shopify API by making paginated API calls.
+     * Retrieves a list of product data from the Shopify API by making paginated API calls. Each page is streamed
+     * straight into its products without buffering the body.
      *
      * @return A list of {@link ProductKeyValueDto} objects containing product data.
      * @throws IOException if there's an error while making the API calls or processing the response.
@@ -77,82 +104,96 @@ public class ProductService {
     public List<ProductKeyValueDto> getAllProductListFromShopify(String shopifyAccessToken,
                                                                  String shopifyProductEndPoint) throws IOException {
         productServiceLogger.info("Entered get product details from Shopify API call:::::::::::::::");
-        String pageInfo = "";
         List<ProductKeyValueDto> allProductList = new ArrayList<>();
-        while (true) {
-            HttpURLConnection httpConnection = getHttpURLConnection(pageInfo, shopifyAccessToken,
-                    shopifyProductEndPoint);
-            int responseCode = httpConnection.getResponseCode();
-            if (responseCode == HttpURLConnection.HTTP_OK) {
-                try (BufferedReader httpConnectionBufferReader = new BufferedReader(new InputStreamReader(
-                        httpConnection.getInputStream()))) {
-                    String responseBody = httpConnectionBufferReader.lines().collect(Collectors.joining());
-                    JSONObject responseObject = new JSONObject(responseBody);
-                    JSONArray products = responseObject.getJSONArray(DomainObject.Product.PRODUCTS);
-                    List<ProductKeyValueDto> productList = IntStream.range(0, products.length())
-                            .mapToObj(products::getJSONObject)
-                            .map(this::createProductKeyValueDto)
-                            .collect(Collectors.toList());
-                    allProductList.addAll(productList);
-                    String linkHeader = httpConnection.getHeaderField(ApplicationConstants.ShopifyApiHeaders.LINK);
-                    if (linkHeader == null || !linkHeader.contains(RESPONSE_HINT_FOR_NEXT_PAGE)) {
-                        break;
-                    }
-                    String nextLink = parseNextLink(linkHeader);
-                    Map<String, String> params = parseQueryParameters(nextLink);
-                    String strPageInfo = params.get(ApplicationConstants.ShopifyApiHeaders.PAGE_INFO)
-                            .replace(REPLACE_WITH_GREATER_THAN, DEFAULT_EMPTY);
-                    pageInfo = ApplicationConstants.ShopifyApiHeaders.PAGE_INFO + EQUAL_TO + strPageInfo;
-                }
-            } else {
-                break;
-            }
-            httpConnection.disconnect();
-        }
+        shopifyPagePipeline.forEachPage(shopifyClient, buildProductEndPoint(DEFAULT_EMPTY, shopifyProductEndPoint),
+                shopifyAccessToken, shopifyResponse -> ShopifyJsonStream.forEachElement(
+                        shopifyResponse.getBodyReader(), DomainObject.Product.PRODUCTS, this::readProductKeyValueDto,
+                        allProductList::add));
         return allProductList;
     }
 
-     HttpURLConnection getHttpURLConnection(String pageInfo, String authorization,
-                                                   String shopifyProductEndPoint) throws IOException {
-        URL urlConnector = new URL(shopifyProductEndPoint + SHOPIFY_ENDPOINT_URL_QUESTIONMARK +
-                SHOPIFY_ENDPOINT_LIMIT + SPLIT_WITH_AND_SYMBOL + pageInfo);
-        HttpURLConnection httpConnection = (HttpURLConnection) urlConnector.openConnection();
-        httpConnection.setRequestMethod(ApplicationConstants.ShopifyApiHeaders.GET_REQUEST_METHOD);
-        httpConnection.setRequestProperty(ApplicationConstants.ShopifyApiHeaders.SHOPIFY_ACCESS_TOKEN,
-                authorization);
-        return httpConnection;
+    /**
+     * Builds the paginated products endpoint URL.
+     *
+     * @param pageInfo               The page_info parameter of the page to request, empty for the first page.
+     * @param shopifyProductEndPoint The Shopify products endpoint.
+     * @return The URL of the requested products page.
+     */
+    String buildProductEndPoint(String pageInfo, String shopifyProductEndPoint) {
+        return shopifyProductEndPoint + SHOPIFY_ENDPOINT_URL_QUESTIONMARK +
+                SHOPIFY_ENDPOINT_LIMIT + SPLIT_WITH_AND_SYMBOL + pageInfo;
     }
 
     /**
-     * Creates a {@link ProductKeyValueDto} object from the JSON representation of a product obtained from the API.
+     * Reads a {@link ProductKeyValueDto} from the product at the current position of the stream.
      *
-     * @param productObj The JSON object representing a product's data.
+     * @param jsonReader The reader positioned on a product of the API response.
      * @return A {@link ProductKeyValueDto} object containing product data.
+     * @throws IOException if the product cannot be read.
      */
-    private ProductKeyValueDto createProductKeyValueDto(JSONObject productObj) {
+    private ProductKeyValueDto readProductKeyValueDto(JsonReader jsonReader) throws IOException {
         ProductKeyValueDto productKeyValueDto = new ProductKeyValueDto();
-        productKeyValueDto.setTitle(productObj.optString(DomainObject.Product.TITLE, DEFAULT_EMPTY));
-        productKeyValueDto.setStatus(productObj.optString(DomainObject.Product.STATUS));
-        JSONArray variants = productObj.optJSONArray(DomainObject.Product.VARIANTS);
-        if (Optional.ofNullable(variants).isPresent()) {
-            int inventoryQuantity = IntStream.range(0, variants.length())
-                    .mapToObj(variants::getJSONObject)
-                    .filter(Objects::nonNull)
-                    .mapToInt(variantObj -> variantObj.optInt(DomainObject.Product.INVENTORY_QUANTITY, 0))
-                    .sum();
-            productKeyValueDto.setInventory(inventoryQuantity +
-                    ApplicationConstants.Products.INVENTORY_MESSAGE_CONTENT + variants.length() +
-                    ApplicationConstants.Products.VARIANTS);
-            productKeyValueDto.setInventoryQuantity(inventoryQuantity);
-        } else {
-            productKeyValueDto.setInventory(DEFAULT_EMPTY);
-            productKeyValueDto.setInventoryQuantity(0);
+        productKeyValueDto.setTitle(DEFAULT_EMPTY);
+        productKeyValueDto.setStatus(DEFAULT_EMPTY);
+        productKeyValueDto.setInventory(DEFAULT_EMPTY);
+        productKeyValueDto.setInventoryQuantity(0);
+        productKeyValueDto.setProductType(DEFAULT_EMPTY);
+        productKeyValueDto.setVendor(DEFAULT_EMPTY);
+        jsonReader.beginObject();
+        while (jsonReader.hasNext()) {
+            String name = jsonReader.nextName();
+            if (DomainObject.Product.TITLE.equals(name)) {
+                productKeyValueDto.setTitle(ShopifyJsonStream.nextString(jsonReader, DEFAULT_EMPTY));
+            } else if (DomainObject.Product.STATUS.equals(name)) {
+                productKeyValueDto.setStatus(ShopifyJsonStream.nextString(jsonReader, DEFAULT_EMPTY));
+            } else if (DomainObject.Product.VARIANTS.equals(name) && jsonReader.peek() == JsonToken.BEGIN_ARRAY) {
+                readVariantInventory(jsonReader, productKeyValueDto);
+            } else if (DomainObject.Product.TYPE.equals(name)) {
+                productKeyValueDto.setProductType(ShopifyJsonStream.nextString(jsonReader, DEFAULT_EMPTY));
+            } else if (DomainObject.Product.VENDOR.equals(name)) {
+                productKeyValueDto.setVendor(ShopifyJsonStream.nextString(jsonReader, DEFAULT_EMPTY));
+            } else {
+                jsonReader.skipValue();
+            }
         }
-        productKeyValueDto.setProductType(productObj.optString(DomainObject.Product.TYPE, DEFAULT_EMPTY));
-        productKeyValueDto.setVendor(productObj.optString(DomainObject.Product.VENDOR, DEFAULT_EMPTY));
+        jsonReader.endObject();
         return productKeyValueDto;
     }
 
+    /**
+     * Reads the variants of a product and sets its inventory quantity and inventory message from them.
+     *
+     * @param jsonReader         The reader positioned on the variants array of a product.
+     * @param productKeyValueDto The product to set the inventory of.
+     * @throws IOException if the variants cannot be read.
+     */
+    private void readVariantInventory(JsonReader jsonReader, ProductKeyValueDto productKeyValueDto)
+            throws IOException {
+        int variantCount = 0;
+        long inventoryQuantity = 0L;
+        jsonReader.beginArray();
+        while (jsonReader.hasNext()) {
+            variantCount++;
+            if (jsonReader.peek() != JsonToken.BEGIN_OBJECT) {
+                jsonReader.skipValue();
+                continue;
+            }
+            jsonReader.beginObject();
+            while (jsonReader.hasNext()) {
+                if (DomainObject.Product.INVENTORY_QUANTITY.equals(jsonReader.nextName())) {
+                    inventoryQuantity += ShopifyJsonStream.nextLong(jsonReader, 0L);
+                } else {
+                    jsonReader.skipValue();
+                }
+            }
+            jsonReader.endObject();
+        }
+        jsonReader.endArray();
+        productKeyValueDto.setInventory(inventoryQuantity + ApplicationConstants.Products.INVENTORY_MESSAGE_CONTENT +
+                variantCount + ApplicationConstants.Products.VARIANTS);
+        productKeyValueDto.setInventoryQuantity(Math.toIntExact(inventoryQuantity));
+    }
+
     /**
      * Parses the "Link" header in the HTTP response to extract the URL of the next page of results.
      *
@@ -187,72 +228,129 @@ public class ProductService {
     }
 
     /**
-     * Get the top products based on sales and inventory quantity.
+     * Get the top products based on sales and inventory quantity. The sales quantities are joined to the catalog by
+     * product id in a primitive map and only the requested number of best sellers is kept while the catalog is
+     * read, so the work is linear in the catalog size.
      *
+     * @param limit The number of top products to return.
      * @return A TopProductsResponseDTO object containing the top products, their sales, and inventory quantity.
      */
     public TopProductsResponseDTO getTopProducts(String shopifyAccessToken, String shopifyGraphQueryEndPoint,
-                                                 String shopifyProductEndPoint) {
-        TopProductsResponseDTO topProductsResponseDTO = new TopProductsResponseDTO();
+                                                 String shopifyProductEndPoint, int limit) {
         HttpHeaders httpHeaders = new HttpHeaders();
         httpHeaders.setContentType(MediaType.valueOf(CONTENT_TYPE));
         httpHeaders.set(ApplicationConstants.ShopifyApiHeaders.SHOPIFY_ACCESS_TOKEN, shopifyAccessToken);
         String query = ApplicationConstants.ShopifyQuery.TOP_PRODUCT_QUERY;
         HttpEntity<String> httpEntity = new HttpEntity<>(query, httpHeaders);
-        RestTemplate restTemplate = new RestTemplate();
         ResponseEntity<String> responseEntity = restTemplate.exchange(shopifyGraphQueryEndPoint, HttpMethod.POST,
                 httpEntity, String.class);
-        JSONObject jsonResponse = new JSONObject(responseEntity.getBody());
-        List<List<String>> strList = new ArrayList<>();
+        ProductSalesMap productSales = parseProductSales(new JSONObject(responseEntity.getBody()));
+        return rankProducts(fetchCatalog(restTemplate, httpEntity, shopifyProductEndPoint), productSales, limit);
+    }
+
+    /**
+     * Reads the quantity sold per product from a ShopifyQL top products response.
+     *
+     * @param jsonResponse The ShopifyQL response, with the product id and the quantity sold in every row.
+     * @return The quantity sold per product.
+     */
+    private ProductSalesMap parseProductSales(JSONObject jsonResponse) {
+        ProductSalesMap productSales = new ProductSalesMap();
         if (jsonResponse.has(RESPONSE_DATA) && jsonResponse.getJSONObject(RESPONSE_DATA).has(SHOPIFY_QL_QUERY)) {
-            JSONObject tableData = jsonResponse.getJSONObject(RESPONSE_DATA).
-                    getJSONObject(SHOPIFY_QL_QUERY).getJSONObject(TABLE_DATA);
-            strList = extractTableData(tableData.getJSONArray(ROW_DATA));
-        }
-        Map<String, Integer> quantityList = new HashMap<>();
-        for (List<String> entry : strList) {
-            String productId = entry.get(0);
-            int sales = Integer.parseInt(entry.get(2));
-            quantityList.put(productId, quantityList.getOrDefault(productId, 0) + sales);
+            JSONArray rowData = jsonResponse.getJSONObject(RESPONSE_DATA).getJSONObject(SHOPIFY_QL_QUERY)
+                    .getJSONObject(TABLE_DATA).getJSONArray(ROW_DATA);
+            for (int i = 0; i < rowData.length(); i++) {
+                JSONArray row = rowData.getJSONArray(i);
+                productSales.add(Long.parseLong(row.getString(TOP_PRODUCT_ID_COLUMN)),
+                        Integer.parseInt(row.getString(TOP_PRODUCT_SALES_COLUMN)));
+            }
         }
+        return productSales;
+    }
+
+    /**
+     * Ranks the catalog by the given sales. Every product's inventory is reported, but only the products that can
+     * enter the ranking are turned into TopProductKeyValueDto objects.
+     *
+     * @param catalogProducts The catalog, in catalog order.
+     * @param productSales    The sales quantities by product id.
+     * @param limit           The number of top products to return.
+     * @return A TopProductsResponseDTO object containing the top products, their sales, and inventory quantity.
+     */
+    private TopProductsResponseDTO rankProducts(List<CatalogProduct> catalogProducts, ProductSalesMap productSales,
+                                                int limit) {
         Map<String, Integer> products = new HashMap<>();
-        List<List<TopProductKeyValueDto>> topProductList = fetchAllProductsData(restTemplate, httpEntity,
-                quantityList, products, shopifyProductEndPoint);
-        Comparator<List<TopProductKeyValueDto>> outerListComparator = (list1, list2) -> {
-            String sales1 = list1.get(0).getSales();
-            String sales2 = list2.get(0).getSales();
-            return Integer.parseInt(sales1) - Integer.parseInt(sales2);
-        };
-        topProductList.sort(outerListComparator);
-        Collections.reverse(topProductList);
-        topProductsResponseDTO.setTopProducts(topProductList);
+        TopProductRanking topProductRanking = new TopProductRanking(limit);
+        for (CatalogProduct catalogProduct : catalogProducts) {
+            products.put(catalogProduct.getTitle(), catalogProduct.getInventoryQuantity());
+            int sales = productSales.get(catalogProduct.getProductId());
+            if (topProductRanking.isCandidate(sales)) {
+                TopProductKeyValueDto topProductKeyValueDtoObj = new TopProductKeyValueDto();
+                topProductKeyValueDtoObj.setTitle(catalogProduct.getTitle());
+                topProductKeyValueDtoObj.setInventoryQuantity(String.valueOf(catalogProduct.getInventoryQuantity()));
+                topProductKeyValueDtoObj.setSales(String.valueOf(sales));
+                topProductKeyValueDtoObj.setImageSrc(catalogProduct.getImageSrc());
+                topProductKeyValueDtoObj.setPrice(catalogProduct.getPrice());
+                topProductRanking.offer(sales, topProductKeyValueDtoObj);
+            }
+        }
+        TopProductsResponseDTO topProductsResponseDTO = new TopProductsResponseDTO();
+        topProductsResponseDTO.setTopProducts(topProductRanking.getTopProducts());
         topProductsResponseDTO.setProducts(products);
         topProductsResponseDTO.setCount(products.size());
         return topProductsResponseDTO;
     }
 
     /**
-     * Fetch all products data from Shopify API and process it to get the required information.
+     * Drops the catalog snapshot so that the next ranking reads the catalog from Shopify again, e.g. after a
+     * {@code products/update} webhook. A catalog that was being read at that point is used once but not kept.
+     */
+    public void evictCatalogSnapshot() {
+        catalogEvictions.incrementAndGet();
+        catalogSnapshot = null;
+    }
+
+    /**
+     * Returns the catalog read within the last {@code product.catalog.maxAgeSeconds}, reading it again from Shopify
+     * once it is older.
      *
-     * @param restTemplate The RestTemplate instance to make API calls.
-     * @param entity       The HttpEntity containing headers and body for the API call.
-     * @param quantityList A map containing product IDs as keys and their corresponding sales quantities as values.
-     * @param products     A map containing product titles as keys and their corresponding
-     *                     inventory quantities as values.
-     * @return A List of List of TopProductKeyValueDto containing the processed products' data.
+     * @param entity                 The HttpEntity containing headers for the API call.
+     * @param shopifyProductEndPoint The Shopify products endpoint.
+     * @return The catalog, in catalog order.
      */
-    private List<List<TopProductKeyValueDto>> fetchAllProductsData(RestTemplate restTemplate, HttpEntity<String> entity,
-        Map<String, Integer> quantityList, Map<String, Integer> products, String shopifyProductEndPoint) {
-        List<List<TopProductKeyValueDto>> allProducts = new ArrayList<>();
+    private List<CatalogProduct> getCatalog(HttpEntity<String> entity, String shopifyProductEndPoint) {
+        CatalogSnapshot snapshot = catalogSnapshot;
+        long nowMillis = System.currentTimeMillis();
+        if (Optional.ofNullable(snapshot).isEmpty() || !snapshot.productEndPoint.equals(shopifyProductEndPoint) ||
+                nowMillis - snapshot.loadedAtMillis >= TimeUnit.SECONDS.toMillis(catalogMaxAgeSeconds)) {
+            long evictionCount = catalogEvictions.get();
+            snapshot = new CatalogSnapshot(shopifyProductEndPoint,
+                    fetchCatalog(restTemplate, entity, shopifyProductEndPoint), nowMillis);
+            if (catalogEvictions.get() == evictionCount) {
+                catalogSnapshot = snapshot;
+            }
+        }
+        return snapshot.catalogProducts;
+    }
+
+    /**
+     * Fetch all products data from Shopify API and keep the fields the top product reports show.
+     *
+     * @param restTemplate           The RestTemplate instance to make API calls.
+     * @param entity                 The HttpEntity containing headers and body for the API call.
+     * @param shopifyProductEndPoint The Shopify products endpoint.
+     * @return The catalog without gift cards, in catalog order.
+     */
+    private List<CatalogProduct> fetchCatalog(RestTemplate restTemplate, HttpEntity<String> entity,
+                                              String shopifyProductEndPoint) {
+        List<CatalogProduct> catalogProducts = new ArrayList<>();
         String pageInfo = "";
         boolean lastPage = true;
         do {
             String url = shopifyProductEndPoint + SHOPIFY_ENDPOINT_URL_QUESTIONMARK + SHOPIFY_ENDPOINT_LIMIT + pageInfo;
             ResponseEntity<String> productsResponse = restTemplate.exchange(url, HttpMethod.GET, entity, String.class);
             JSONObject productsJson = new JSONObject(productsResponse.getBody());
-            List<List<TopProductKeyValueDto>> productsData = extractProductsData(
-                    productsJson.getJSONArray(DomainObject.Product.PRODUCTS), quantityList, products);
-            allProducts.addAll(productsData);
+            extractCatalogProducts(productsJson.getJSONArray(DomainObject.Product.PRODUCTS), catalogProducts);
             if (productsResponse.getHeaders().containsKey(ApplicationConstants.ShopifyApiHeaders.LINK)) {
                 List<String> links = productsResponse.getHeaders().get(ApplicationConstants.ShopifyApiHeaders.LINK);
                 for (String link : links) {
@@ -276,8 +374,7 @@ public class ProductService {
                 lastPage = false;
             }
         } while (lastPage);
-
-        return allProducts;
+        return Collections.unmodifiableList(catalogProducts);
     }
 
     /**
@@ -300,49 +397,27 @@ public class ProductService {
     }
 
     /**
-     * Extracts product data from a JSONArray and converts it into a list of lists of TopProductKeyValueDto objects.
+     * Extracts the catalog fields of every product of a JSONArray except gift cards.
      *
-     * @param productsJson The JSONArray containing product data.
-     * @param quantityList A Map containing the quantity of each product.
-     * @param products A Map to store product titles and their corresponding inventory quantities.
-     * @return A List of List of TopProductKeyValueDto objects representing the product data.
+     * @param productsJson    The JSONArray containing product data.
+     * @param catalogProducts The list the products are added to.
      */
-    private List<List<TopProductKeyValueDto>> extractProductsData(JSONArray productsJson,
-        Map<String, Integer> quantityList, Map<String, Integer> products) {
-        List<List<TopProductKeyValueDto>> allProducts = new ArrayList<>();
+    private void extractCatalogProducts(JSONArray productsJson, List<CatalogProduct> catalogProducts) {
         for (int i = 0; i < productsJson.length(); i++) {
             JSONObject product = productsJson.getJSONObject(i);
-            Long productId = product.getLong(DomainObject.Product.ID);
+            if (product.getString(DomainObject.Product.TYPE).equals(DomainObject.Product.GIFT_CARDS)) {
+                continue;
+            }
             int inventoryQuantity = 0;
             JSONArray variants = product.getJSONArray(DomainObject.Product.VARIANTS);
             for (int j = 0; j < variants.length(); j++) {
                 inventoryQuantity += variants.getJSONObject(j).getInt(DomainObject.Product.INVENTORY_QUANTITY);
             }
-            JSONObject firstVariantJsonObject = variants.getJSONObject(0);
-            JSONObject imageSrc = product.getJSONObject(DomainObject.Product.IMAGE);
-            Map<Long, Integer> filteredQuantityList = new HashMap<>();
-            for (Map.Entry<String, Integer> entry : quantityList.entrySet()) {
-                Long strProductId = Long.valueOf(entry.getKey());
-                int wiQuantityCount = entry.getValue();
-
-                if (strProductId.equals(productId)) {
-                    filteredQuantityList.put(strProductId, wiQuantityCount);
-                }
-            }
-            if (!product.getString(DomainObject.Product.TYPE).equals(DomainObject.Product.GIFT_CARDS)) {
-                List<TopProductKeyValueDto> topProductKeyValueDtoList = new ArrayList<>();
-                TopProductKeyValueDto topProductKeyValueDtoObj = new TopProductKeyValueDto();
-                products.put(product.getString(DomainObject.Product.TITLE), inventoryQuantity);
-                topProductKeyValueDtoObj.setTitle(product.getString(DomainObject.Product.TITLE));
-                topProductKeyValueDtoObj.setInventoryQuantity(String.valueOf(inventoryQuantity));
-                topProductKeyValueDtoObj.setSales(String.valueOf(filteredQuantityList.get(productId)));
-                topProductKeyValueDtoObj.setImageSrc(imageSrc.getString(DomainObject.Product.IMAGE_SRC));
-                topProductKeyValueDtoObj.setPrice(firstVariantJsonObject.getString(DomainObject.Product.PRICE));
-                topProductKeyValueDtoList.add(topProductKeyValueDtoObj);
-                allProducts.add(topProductKeyValueDtoList);
-            }
+            catalogProducts.add(new CatalogProduct(product.getLong(DomainObject.Product.ID),
+                    product.getString(DomainObject.Product.TITLE), inventoryQuantity,
+                    product.getJSONObject(DomainObject.Product.IMAGE).getString(DomainObject.Product.IMAGE_SRC),
+                    variants.getJSONObject(0).getString(DomainObject.Product.PRICE)));
         }
-        return allProducts;
     }
 
     /**
@@ -361,7 +436,6 @@ public class ProductService {
         httpHeaders.setContentType(MediaType.valueOf(CONTENT_TYPE));
         httpHeaders.set(ApplicationConstants.ShopifyApiHeaders.SHOPIFY_ACCESS_TOKEN, shopifyAccessToken);
         HttpEntity<String> httpEntity = new HttpEntity<>(httpHeaders);
-        RestTemplate restTemplate = new RestTemplate();
         Map<String, Integer> quantityList = getQuantityList(currentYear, shopifyGraphQueryEndPoint, shopifyAccessToken);
         Map<String, Integer> quantityListOld = getQuantityList(lastYear, noOfDays, shopifyAccessToken,
                 shopifyGraphQueryEndPoint);
@@ -403,7 +477,6 @@ public class ProductService {
         httpHeaders.setContentType(MediaType.valueOf(CONTENT_TYPE));
         httpHeaders.set(ApplicationConstants.ShopifyApiHeaders.SHOPIFY_ACCESS_TOKEN, shopifyAccessToken);
         HttpEntity<String> httpEntity = new HttpEntity<>(query, httpHeaders);
-        RestTemplate restTemplate = new RestTemplate();
         ResponseEntity<String> responseEntity = restTemplate.exchange(shopifyGraphQueryEndPoint, HttpMethod.POST,
                 httpEntity, String.class);
         JSONObject responseObject = new JSONObject(responseEntity.getBody());
@@ -437,7 +510,6 @@ public class ProductService {
         httpHeaders.setContentType(MediaType.valueOf(CONTENT_TYPE));
         httpHeaders.set(ApplicationConstants.ShopifyApiHeaders.SHOPIFY_ACCESS_TOKEN, shopifyAccessToken);
         HttpEntity<String> httpEntity = new HttpEntity<>(query, httpHeaders);
-        RestTemplate restTemplate = new RestTemplate();
         ResponseEntity<String> responseEntity = restTemplate.exchange(shopifyGraphQueryEndPoint, HttpMethod.POST,
                 httpEntity, String.class);
         JSONObject responseObject = new JSONObject(responseEntity.getBody());
@@ -563,7 +635,9 @@ public class ProductService {
     }
 
     /**
-     * Retrieves top products based on the specified date range.
+     * Retrieves top products based on the specified date range. Once the order mirror is ready the sales of the
+     * range are merged from the in-memory daily product sales and ranked against a recently read catalog, so
+     * changing the range makes no remote call. Until then they are read with a ShopifyQL query.
      *
      * @param fromDate The start date of the filter range.
      * @param toDate   The end date of the filter range.
@@ -571,47 +645,21 @@ public class ProductService {
      */
     public TopProductsResponseDTO getTopProductByFilter(String fromDate, String toDate, String shopifyAccessToken,
         String shopifyGraphQueryEndPoint, String shopifyProductEndPoint) {
-        TopProductsResponseDTO topProductsResponseDTO = new TopProductsResponseDTO();
         HttpHeaders httpHeaders = new HttpHeaders();
         httpHeaders.setContentType(MediaType.valueOf(CONTENT_TYPE));
         httpHeaders.set(ApplicationConstants.ShopifyApiHeaders.SHOPIFY_ACCESS_TOKEN, shopifyAccessToken);
-        String query = String.format(ApplicationConstants.ShopifyQuery.TOP_PRODUCT_FILTER_QUERY,
-                fromDate, toDate);
-        HttpEntity<String> httpEntity = new HttpEntity<>(query, httpHeaders);
-        RestTemplate restTemplate = new RestTemplate();
-        ResponseEntity<String> responseEntity = restTemplate.exchange(shopifyGraphQueryEndPoint, HttpMethod.POST,
-                httpEntity, String.class);
-        JSONObject jsonResponse = new JSONObject(responseEntity.getBody());
-        List<List<String>> strList = new ArrayList<>();
-        if (jsonResponse.has(RESPONSE_DATA) && jsonResponse.getJSONObject(RESPONSE_DATA).has(SHOPIFY_QL_QUERY)) {
-            JSONObject tableData = jsonResponse.getJSONObject(RESPONSE_DATA).
-                    getJSONObject(SHOPIFY_QL_QUERY).getJSONObject(TABLE_DATA);
-            strList = extractTableData(tableData.getJSONArray(ROW_DATA));
-        }
-        Map<String, Integer> quantityList = new HashMap<>();
-        for (List<String> entry : strList) {
-            String productId = entry.get(0);
-            int sales = Integer.parseInt(entry.get(2));
-            quantityList.put(productId, quantityList.getOrDefault(productId, 0) + sales);
+        ProductSalesMap productSales;
+        if (orderMirrorService.isReady()) {
+            productSales = orderMirrorService.getProductSales(fromDate, toDate);
+        } else {
+            String query = String.format(ApplicationConstants.ShopifyQuery.TOP_PRODUCT_FILTER_QUERY,
+                    fromDate, toDate);
+            ResponseEntity<String> responseEntity = restTemplate.exchange(shopifyGraphQueryEndPoint,
+                    HttpMethod.POST, new HttpEntity<>(query, httpHeaders), String.class);
+            productSales = parseProductSales(new JSONObject(responseEntity.getBody()));
         }
-        Map<String, Integer> products = new HashMap<>();
-        List<List<TopProductKeyValueDto>> topProductList = fetchAllProductsData(restTemplate, httpEntity,
-                quantityList, products, shopifyProductEndPoint);
-        Comparator<List<TopProductKeyValueDto>> outerListComparator = (list1, list2) -> {
-            String sales1 = list1.get(0).getSales();
-            String sales2 = list2.get(0).getSales();
-            if (NULL.equals(sales1) && NULL.equals(sales2)) {
-                return 0;
-            } else {
-                return Integer.parseInt(sales1) - Integer.parseInt(sales2);
-            }
-        };
-        topProductList.sort(outerListComparator);
-        Collections.reverse(topProductList);
-        topProductsResponseDTO.setTopProducts(topProductList);
-        topProductsResponseDTO.setProducts(products);
-        topProductsResponseDTO.setCount(products.size());
-        return topProductsResponseDTO;
+        return rankProducts(getCatalog(new HttpEntity<>(httpHeaders), shopifyProductEndPoint), productSales,
+                ALL_PRODUCTS);
     }
 
     /**
@@ -626,14 +674,12 @@ public class ProductService {
     public VariantDetailsDto getVariantDetailsByVariantId(String shopifyVariantDetailsByVariantIdEndPoint,
                                                           Long variantId, String shopifyAccessToken)
             throws IOException {
-        HttpURLConnection variantDetailsHttpConnection = getHttpURLConnection(
+        try (ShopifyResponse variantDetailsShopifyResponse = shopifyClient.get(
                 shopifyVariantDetailsByVariantIdEndPoint + variantId + SHOPIFY_ENDPOINT_JSON,
-                shopifyAccessToken);
-        try {
-            int responseCode = variantDetailsHttpConnection.getResponseCode();
-            if (responseCode == HttpURLConnection.HTTP_OK) {
+                shopifyAccessToken)) {
+            if (variantDetailsShopifyResponse.isOk()) {
                 try (InputStream variantDetailsHttpConnectionInputStream =
-                             variantDetailsHttpConnection.getInputStream();
+                             variantDetailsShopifyResponse.getBody();
                      BufferedReader variantDetailsHttpConnectionBufferReader = new BufferedReader(
                              new InputStreamReader(variantDetailsHttpConnectionInputStream, StandardCharsets.UTF_8))) {
                     StringBuilder variantDetailsSbNewLine = new StringBuilder();
@@ -649,24 +695,18 @@ public class ProductService {
             } else {
                 return new VariantDetailsDto();
             }
-        } finally {
-            variantDetailsHttpConnection.disconnect();
         }
     }
 
-    /**
-     * Establishes an HTTP connection using the provided Shopify endpoint URL and authorization token.
-     *
-     * @param shopifyEndpoint The Shopify endpoint URL to connect to.
-     * @param authorization   The authorization token used for the connection.
-     * @return An HttpURLConnection object configured with the specified endpoint and authorization token.
-     * @throws IOException If an I/O error occurs while establishing the connection.
-     */
-    HttpURLConnection getHttpURLConnection(String shopifyEndpoint, String authorization) throws IOException {
-        URL urlConnector = new URL(shopifyEndpoint);
-        HttpURLConnection httpConnection = (HttpURLConnection) urlConnector.openConnection();
-        httpConnection.setRequestMethod(ApplicationConstants.ShopifyApiHeaders.GET_REQUEST_METHOD);
-        httpConnection.setRequestProperty(ApplicationConstants.ShopifyApiHeaders.SHOPIFY_ACCESS_TOKEN, authorization);
-        return httpConnection;
+    private static final class CatalogSnapshot {
+        private final String productEndPoint;
+        private final List<CatalogProduct> catalogProducts;
+        private final long loadedAtMillis;
+
+        private CatalogSnapshot(String productEndPoint, List<CatalogProduct> catalogProducts, long loadedAtMillis) {
+            this.productEndPoint = productEndPoint;
+            this.catalogProducts = catalogProducts;
+            this.loadedAtMillis = loadedAtMillis;
+        }
     }
 }
@@ -0,0 +1,97 @@
+package com.hungover.product.service;
+
+import com.hungover.core.dto.product.TopProductKeyValueDto;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Keeps the best selling products seen so far in a min-heap bounded to the requested size, so ranking the catalog
+ * is linear in its size and only the kept products are ever sorted. Products with the same sales keep their catalog
+ * order.
+ */
+public class TopProductRanking {
+
+    private static final int MAX_INITIAL_CAPACITY = 256;
+    private static final Comparator<RankedProduct> WORST_FIRST = Comparator
+            .comparingInt((RankedProduct rankedProduct) -> rankedProduct.sales)
+            .thenComparing(Comparator.comparingInt((RankedProduct rankedProduct) -> rankedProduct.position)
+                    .reversed());
+
+    private final int limit;
+    private final PriorityQueue<RankedProduct> rankedProducts;
+    private int position;
+
+    /**
+     * Creates a ranking of the given size.
+     *
+     * @param limit The number of products to keep, {@link Integer#MAX_VALUE} to rank every product.
+     * @throws IllegalArgumentException if the limit is not positive.
+     */
+    public TopProductRanking(int limit) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("Top products limit must be positive: " + limit);
+        }
+        this.limit = limit;
+        this.rankedProducts = new PriorityQueue<>(Math.min(limit, MAX_INITIAL_CAPACITY), WORST_FIRST);
+    }
+
+    /**
+     * Checks whether a product with the given sales would enter the ranking, so that products which would not are
+     * never turned into DTOs.
+     *
+     * @param sales The quantity sold.
+     * @return {@code true} if the product would be kept.
+     */
+    public boolean isCandidate(int sales) {
+        return rankedProducts.size() < limit || sales > rankedProducts.peek().sales;
+    }
+
+    /**
+     * Offers the next product of the catalog to the ranking. Products must be offered in catalog order.
+     *
+     * @param sales      The quantity sold.
+     * @param topProduct The product.
+     */
+    public void offer(int sales, TopProductKeyValueDto topProduct) {
+        int productPosition = position++;
+        if (!isCandidate(sales)) {
+            return;
+        }
+        if (rankedProducts.size() == limit) {
+            rankedProducts.poll();
+        }
+        rankedProducts.add(new RankedProduct(sales, productPosition, topProduct));
+    }
+
+    /**
+     * Returns the kept products, best selling first, each wrapped in its own list as the response expects.
+     *
+     * @return The top products.
+     */
+    public List<List<TopProductKeyValueDto>> getTopProducts() {
+        List<RankedProduct> ranking = new ArrayList<>(rankedProducts);
+        ranking.sort(WORST_FIRST.reversed());
+        List<List<TopProductKeyValueDto>> topProducts = new ArrayList<>(ranking.size());
+        for (RankedProduct rankedProduct : ranking) {
+            List<TopProductKeyValueDto> topProduct = new ArrayList<>(1);
+            topProduct.add(rankedProduct.topProduct);
+            topProducts.add(topProduct);
+        }
+        return topProducts;
+    }
+
+    private static final class RankedProduct {
+        private final int sales;
+        private final int position;
+        private final TopProductKeyValueDto topProduct;
+
+        private RankedProduct(int sales, int position, TopProductKeyValueDto topProduct) {
+            this.sales = sales;
+            this.position = position;
+            this.topProduct = topProduct;
+        }
+    }
+}
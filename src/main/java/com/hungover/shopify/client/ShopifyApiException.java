@@ -0,0 +1,26 @@
+package com.hungover.shopify.client;
+
+import java.io.IOException;
+
+/**
+ * Raised when Shopify answers a request with a non-successful HTTP status.
+ */
+public class ShopifyApiException extends IOException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final int statusCode;
+
+    public ShopifyApiException(String url, int statusCode) {
+        this(statusCode, "Shopify returned HTTP response code: " + statusCode + " for URL: " + url);
+    }
+
+    protected ShopifyApiException(int statusCode, String message) {
+        super(message);
+        this.statusCode = statusCode;
+    }
+
+    public int getStatusCode() {
+        return statusCode;
+    }
+}
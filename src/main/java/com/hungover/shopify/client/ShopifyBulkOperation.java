@@ -0,0 +1,159 @@
+package com.hungover.shopify.client;
+
+import com.google.gson.stream.JsonReader;
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.StringReader;
+import java.util.Optional;
+
+/**
+ * Runs Shopify GraphQL bulk operations for pulls that are too large for cursor pagination.
+ * <p>
+ * A bulk query is submitted with {@code bulkOperationRunQuery}, Shopify executes it in the background and publishes
+ * the result as a JSONL file (one object per line) behind a pre-signed URL. The file is streamed line by line, so
+ * the caller never holds more than one object in memory. Shopify only allows one bulk query per shop at a time,
+ * which is why {@link #run} is serialised.
+ */
+public class ShopifyBulkOperation {
+
+    private final Logger shopifyBulkOperationLogger = LoggerFactory.getLogger(this.getClass());
+
+    private static final String RUN_QUERY_MUTATION = "mutation { bulkOperationRunQuery(query: \"\"\"%s\"\"\") " +
+            "{ bulkOperation { id status } userErrors { field message } } }";
+    private static final String STATUS_QUERY = "query { node(id: \"%s\") { ... on BulkOperation " +
+            "{ id status errorCode objectCount url } } }";
+    private static final String DATA = "data";
+    private static final String BULK_OPERATION_RUN_QUERY = "bulkOperationRunQuery";
+    private static final String BULK_OPERATION = "bulkOperation";
+    private static final String USER_ERRORS = "userErrors";
+    private static final String NODE = "node";
+    private static final String ID = "id";
+    private static final String STATUS = "status";
+    private static final String ERROR_CODE = "errorCode";
+    private static final String OBJECT_COUNT = "objectCount";
+    private static final String URL = "url";
+    private static final String MESSAGE = "message";
+    private static final String ERRORS = "errors";
+    private static final String STATUS_COMPLETED = "COMPLETED";
+    private static final String STATUS_CREATED = "CREATED";
+    private static final String STATUS_RUNNING = "RUNNING";
+
+    private final ShopifyClient shopifyClient;
+    private final long pollIntervalMillis;
+    private final long timeoutMillis;
+
+    public ShopifyBulkOperation(ShopifyClient shopifyClient, long pollIntervalMillis, long timeoutMillis) {
+        super();
+        this.shopifyClient = shopifyClient;
+        this.pollIntervalMillis = pollIntervalMillis;
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    /**
+     * Reads one line of a bulk operation result.
+     */
+    @FunctionalInterface
+    public interface LineReader {
+        void read(JsonReader jsonReader) throws IOException;
+    }
+
+    /**
+     * Submits a bulk query and waits until Shopify has finished running it.
+     *
+     * @param shopifyGraphQueryEndPoint The GraphQL endpoint of the shop.
+     * @param shopifyAccessToken        The access token used to authenticate with Shopify.
+     * @param bulkQuery                 The query to run, without the surrounding mutation.
+     * @return The pre-signed URL of the JSONL result, or {@code null} if the query matched no objects.
+     * @throws IOException if the operation cannot be submitted, fails, or does not finish within the timeout.
+     */
+    public synchronized String run(String shopifyGraphQueryEndPoint, String shopifyAccessToken, String bulkQuery)
+            throws IOException {
+        JSONObject runQuery = postGraphQl(shopifyGraphQueryEndPoint, shopifyAccessToken,
+                String.format(RUN_QUERY_MUTATION, bulkQuery)).getJSONObject(BULK_OPERATION_RUN_QUERY);
+        JSONArray userErrors = runQuery.optJSONArray(USER_ERRORS);
+        if (Optional.ofNullable(userErrors).isPresent() && !userErrors.isEmpty()) {
+            throw new IOException("Shopify rejected the bulk query: " +
+                    userErrors.getJSONObject(0).optString(MESSAGE));
+        }
+        String operationId = runQuery.getJSONObject(BULK_OPERATION).getString(ID);
+        shopifyBulkOperationLogger.info("Submitted bulk operation {}", operationId);
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        while (true) {
+            JSONObject operation = postGraphQl(shopifyGraphQueryEndPoint, shopifyAccessToken,
+                    String.format(STATUS_QUERY, operationId)).getJSONObject(NODE);
+            String status = operation.getString(STATUS);
+            if (STATUS_COMPLETED.equals(status)) {
+                shopifyBulkOperationLogger.info("Bulk operation {} completed with {} objects", operationId,
+                        operation.optString(OBJECT_COUNT));
+                return operation.isNull(URL) ? null : operation.getString(URL);
+            }
+            if (!STATUS_CREATED.equals(status) && !STATUS_RUNNING.equals(status)) {
+                throw new IOException("Bulk operation " + operationId + " ended with status " + status +
+                        " (" + operation.optString(ERROR_CODE) + ")");
+            }
+            if (System.currentTimeMillis() >= deadline) {
+                throw new IOException("Bulk operation " + operationId + " did not finish within " +
+                        timeoutMillis + " ms");
+            }
+            pause();
+        }
+    }
+
+    /**
+     * Streams the JSONL result of a bulk operation, handing each line to the reader as soon as it is downloaded.
+     *
+     * @param resultUrl  The pre-signed URL returned by {@link #run}.
+     * @param lineReader Reads one object of the result.
+     * @return The number of lines read.
+     * @throws IOException if the file cannot be downloaded or a line is not valid JSON.
+     */
+    public long forEachLine(String resultUrl, LineReader lineReader) throws IOException {
+        long lineCount = 0;
+        try (ShopifyResponse shopifyResponse = shopifyClient.download(resultUrl);
+             BufferedReader bufferedReader = new BufferedReader(shopifyResponse.getBodyReader())) {
+            String line;
+            while ((line = bufferedReader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                try (JsonReader jsonReader = new JsonReader(new StringReader(line))) {
+                    jsonReader.setLenient(true);
+                    lineReader.read(jsonReader);
+                }
+                lineCount++;
+            }
+        }
+        return lineCount;
+    }
+
+    private JSONObject postGraphQl(String shopifyGraphQueryEndPoint, String shopifyAccessToken, String query)
+            throws IOException {
+        try (ShopifyResponse shopifyResponse = shopifyClient.postGraphQl(shopifyGraphQueryEndPoint,
+                shopifyAccessToken, query)) {
+            JSONObject responseObject = new JSONObject(shopifyResponse.getBodyAsString());
+            if (responseObject.isNull(DATA)) {
+                throw new IOException("Shopify returned no data for bulk operation request: " +
+                        responseObject.optJSONArray(ERRORS));
+            }
+            return responseObject.getJSONObject(DATA);
+        } catch (JSONException jsonException) {
+            throw new IOException("Unreadable bulk operation response from Shopify", jsonException);
+        }
+    }
+
+    private void pause() throws InterruptedIOException {
+        try {
+            Thread.sleep(pollIntervalMillis);
+        } catch (InterruptedException interruptedException) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for the bulk operation");
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.hungover.shopify.client;
+
+/**
+ * Client side mirror of one of Shopify's leaky buckets. REST calls use the call limit bucket (one point per call),
+ * GraphQL calls use the query cost bucket. Callers reserve points before sending a request and are told how long to
+ * wait until the bucket has drained enough; the state is re-synchronised from every response Shopify sends back.
+ * Points reserved by requests that are still in flight are not in the state Shopify reports yet, so they are added
+ * back on every re-synchronisation until the request has been answered and {@link #release(double)} is called.
+ */
+public class ShopifyCallBudget {
+
+    private static final double NANOS_PER_SECOND = 1_000_000_000d;
+    private static final double MILLIS_PER_SECOND = 1_000d;
+
+    private double capacity;
+    private double leakRatePerSecond;
+    private double used;
+    private double reserved;
+    private double expectedCost;
+    private long updatedAtNanos;
+
+    public ShopifyCallBudget(double capacity, double leakRatePerSecond, double expectedCost) {
+        this.capacity = capacity;
+        this.leakRatePerSecond = leakRatePerSecond;
+        this.expectedCost = expectedCost;
+        this.updatedAtNanos = System.nanoTime();
+    }
+
+    /**
+     * Reserves points for a request that is about to be sent.
+     *
+     * @param cost The number of points the request is expected to consume.
+     * @return The number of milliseconds the caller has to wait before sending the request.
+     */
+    public synchronized long reserve(double cost) {
+        leak();
+        double overflow = used + cost - capacity;
+        used += cost;
+        reserved += cost;
+        if (overflow <= 0) {
+            return 0L;
+        }
+        return (long) Math.ceil(overflow / leakRatePerSecond * MILLIS_PER_SECOND);
+    }
+
+    /**
+     * Releases the reservation of a request once Shopify has answered it or it failed. Its points stay in the bucket
+     * until they leak out or Shopify reports a state that includes them.
+     *
+     * @param cost The number of points that were reserved for the request.
+     */
+    public synchronized void release(double cost) {
+        reserved = Math.max(0d, reserved - cost);
+    }
+
+    /**
+     * Re-synchronises the bucket with the state reported by Shopify, keeping the points of requests still in flight.
+     *
+     * @param reportedUsed     The number of points currently in the bucket according to Shopify.
+     * @param reportedCapacity The size of the bucket according to Shopify.
+     */
+    public synchronized void update(double reportedUsed, double reportedCapacity) {
+        leak();
+        this.capacity = reportedCapacity;
+        this.used = reportedUsed + reserved;
+    }
+
+    /**
+     * Updates the leak rate, e.g. when Shopify reports the restore rate of a Plus store.
+     *
+     * @param reportedLeakRatePerSecond The number of points leaking out of the bucket every second.
+     */
+    public synchronized void updateLeakRate(double reportedLeakRatePerSecond) {
+        if (reportedLeakRatePerSecond > 0) {
+            leak();
+            this.leakRatePerSecond = reportedLeakRatePerSecond;
+        }
+    }
+
+    /**
+     * Returns the number of milliseconds it takes to free the given number of points in an empty bucket.
+     *
+     * @param cost The number of points.
+     * @return The time needed to restore the points, in milliseconds.
+     */
+    public synchronized long millisToRestore(double cost) {
+        return (long) Math.ceil(cost / leakRatePerSecond * MILLIS_PER_SECOND);
+    }
+
+    public synchronized double getExpectedCost() {
+        return expectedCost;
+    }
+
+    public synchronized void setExpectedCost(double expectedCost) {
+        if (expectedCost > 0) {
+            this.expectedCost = expectedCost;
+        }
+    }
+
+    public synchronized double getUsed() {
+        leak();
+        return used;
+    }
+
+    private void leak() {
+        long now = System.nanoTime();
+        double leaked = (now - updatedAtNanos) / NANOS_PER_SECOND * leakRatePerSecond;
+        used = Math.max(0d, used - leaked);
+        updatedAtNanos = now;
+    }
+}
@@ -0,0 +1,84 @@
+package com.hungover.shopify.client;
+
+import com.hungover.common.constant.ApplicationConstants;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+
+/**
+ * Thin client over the shared, pooled HTTP client used for all Shopify Admin API calls.
+ */
+@Component
+public class ShopifyClient {
+    private final Logger shopifyClientLogger = LoggerFactory.getLogger(this.getClass());
+
+    private static final MediaType GRAPHQL_CONTENT_TYPE = MediaType.get("application/graphql");
+
+    private final OkHttpClient shopifyHttpClient;
+
+    public ShopifyClient(OkHttpClient shopifyHttpClient) {
+        super();
+        this.shopifyHttpClient = shopifyHttpClient;
+    }
+
+    /**
+     * Issues a GET request against the Shopify Admin API.
+     *
+     * @param url                The absolute URL to request.
+     * @param shopifyAccessToken The access token used to authenticate with Shopify.
+     * @return The response; the caller is responsible for closing it.
+     * @throws IOException if the request could not be executed.
+     */
+    public ShopifyResponse get(String url, String shopifyAccessToken) throws IOException {
+        shopifyClientLogger.debug("Shopify GET {}", url);
+        Request request = new Request.Builder()
+                .url(url)
+                .header(ApplicationConstants.ShopifyApiHeaders.SHOPIFY_ACCESS_TOKEN, shopifyAccessToken)
+                .get()
+                .build();
+        return new ShopifyResponse(shopifyHttpClient.newCall(request).execute());
+    }
+
+    /**
+     * Posts a GraphQL document to the Shopify Admin API.
+     *
+     * @param url                The GraphQL endpoint of the shop.
+     * @param shopifyAccessToken The access token used to authenticate with Shopify.
+     * @param query              The GraphQL query or mutation.
+     * @return The response; the caller is responsible for closing it.
+     * @throws IOException if the request could not be executed.
+     */
+    public ShopifyResponse postGraphQl(String url, String shopifyAccessToken, String query) throws IOException {
+        shopifyClientLogger.debug("Shopify POST {}", url);
+        Request request = new Request.Builder()
+                .url(url)
+                .header(ApplicationConstants.ShopifyApiHeaders.SHOPIFY_ACCESS_TOKEN, shopifyAccessToken)
+                .post(RequestBody.create(GRAPHQL_CONTENT_TYPE, query))
+                .build();
+        return new ShopifyResponse(shopifyHttpClient.newCall(request).execute());
+    }
+
+    /**
+     * Downloads a file Shopify hands out through a pre-signed URL, such as the result of a bulk operation.
+     * The access token is not sent and the call is not metered, since the URL points outside the Admin API.
+     *
+     * @param url The pre-signed URL of the file.
+     * @return The response; the caller is responsible for closing it.
+     * @throws IOException if the request could not be executed.
+     */
+    public ShopifyResponse download(String url) throws IOException {
+        shopifyClientLogger.debug("Shopify download {}", url);
+        Request request = new Request.Builder()
+                .url(url)
+                .tag(ShopifyRateLimitInterceptor.Metering.class, ShopifyRateLimitInterceptor.Metering.UNMETERED)
+                .get()
+                .build();
+        return new ShopifyResponse(shopifyHttpClient.newCall(request).execute());
+    }
+}
@@ -0,0 +1,165 @@
+package com.hungover.shopify.client;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.function.Consumer;
+
+/**
+ * Streams the elements of a top level array (e.g. {@code orders} or {@code customers}) out of a Shopify REST
+ * response without first buffering the body into a String or building a JSON tree. Every other member of the
+ * envelope is skipped token by token.
+ */
+public final class ShopifyJsonStream {
+
+    private ShopifyJsonStream() {
+    }
+
+    /**
+     * Reads a single array element from the current position of the reader.
+     *
+     * @param <T> The type the element is read into.
+     */
+    @FunctionalInterface
+    public interface ElementReader<T> {
+        T read(JsonReader jsonReader) throws IOException;
+    }
+
+    /**
+     * Visits a single array element at the current position of the reader, consuming it completely.
+     */
+    @FunctionalInterface
+    public interface ElementVisitor {
+        void visit(JsonReader jsonReader) throws IOException;
+    }
+
+    /**
+     * Reads every element of the named top level array and hands it to the consumer as soon as it is parsed.
+     *
+     * @param reader        The response body.
+     * @param arrayName     The name of the top level array, e.g. {@code orders}.
+     * @param elementReader Reads one element from the stream.
+     * @param consumer      Receives each parsed element.
+     * @param <T>           The element type.
+     * @return The number of elements read.
+     * @throws IOException if the body cannot be read or is not valid JSON.
+     */
+    public static <T> int forEachElement(Reader reader, String arrayName, ElementReader<T> elementReader,
+                                         Consumer<T> consumer) throws IOException {
+        return forEachElement(reader, arrayName, jsonReader -> consumer.accept(elementReader.read(jsonReader)));
+    }
+
+    /**
+     * Visits every element of the named top level array, for callers that fold the elements into a result of their
+     * own instead of collecting them.
+     *
+     * @param reader         The response body.
+     * @param arrayName      The name of the top level array, e.g. {@code orders}.
+     * @param elementVisitor Reads one element from the stream.
+     * @return The number of elements visited.
+     * @throws IOException if the body cannot be read or is not valid JSON.
+     */
+    public static int forEachElement(Reader reader, String arrayName, ElementVisitor elementVisitor)
+            throws IOException {
+        int count = 0;
+        try (JsonReader jsonReader = new JsonReader(reader)) {
+            jsonReader.setLenient(true);
+            jsonReader.beginObject();
+            while (jsonReader.hasNext()) {
+                if (!arrayName.equals(jsonReader.nextName()) || jsonReader.peek() != JsonToken.BEGIN_ARRAY) {
+                    jsonReader.skipValue();
+                    continue;
+                }
+                jsonReader.beginArray();
+                while (jsonReader.hasNext()) {
+                    elementVisitor.visit(jsonReader);
+                    count++;
+                }
+                jsonReader.endArray();
+            }
+            jsonReader.endObject();
+        }
+        return count;
+    }
+
+    /**
+     * Reads the current value as a string, returning the default for JSON {@code null}.
+     *
+     * @param jsonReader   The reader positioned on a value.
+     * @param defaultValue The value returned for JSON {@code null}.
+     * @return The value as a string.
+     * @throws IOException if the value cannot be read.
+     */
+    public static String nextString(JsonReader jsonReader, String defaultValue) throws IOException {
+        if (jsonReader.peek() == JsonToken.NULL) {
+            jsonReader.nextNull();
+            return defaultValue;
+        }
+        if (jsonReader.peek() == JsonToken.BEGIN_OBJECT || jsonReader.peek() == JsonToken.BEGIN_ARRAY) {
+            jsonReader.skipValue();
+            return defaultValue;
+        }
+        return jsonReader.nextString();
+    }
+
+    /**
+     * Reads the current value as a boolean, returning the default for JSON {@code null} or non boolean values.
+     *
+     * @param jsonReader   The reader positioned on a value.
+     * @param defaultValue The value returned when the value is not a boolean.
+     * @return The value as a boolean.
+     * @throws IOException if the value cannot be read.
+     */
+    public static boolean nextBoolean(JsonReader jsonReader, boolean defaultValue) throws IOException {
+        if (jsonReader.peek() == JsonToken.BOOLEAN) {
+            return jsonReader.nextBoolean();
+        }
+        String value = nextString(jsonReader, null);
+        if (Boolean.TRUE.toString().equalsIgnoreCase(value) || Boolean.FALSE.toString().equalsIgnoreCase(value)) {
+            return Boolean.parseBoolean(value);
+        }
+        return defaultValue;
+    }
+
+    /**
+     * Reads the current value as a long, returning the default for JSON {@code null} or non numeric values.
+     *
+     * @param jsonReader   The reader positioned on a value.
+     * @param defaultValue The value returned when the value is not a number.
+     * @return The value as a long.
+     * @throws IOException if the value cannot be read.
+     */
+    public static long nextLong(JsonReader jsonReader, long defaultValue) throws IOException {
+        String value = nextString(jsonReader, null);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException numberFormatException) {
+            return defaultValue;
+        }
+    }
+
+    /**
+     * Reads the current value as a double, returning the default for JSON {@code null} or non numeric values.
+     *
+     * @param jsonReader   The reader positioned on a value.
+     * @param defaultValue The value returned when the value is not a number.
+     * @return The value as a double.
+     * @throws IOException if the value cannot be read.
+     */
+    public static double nextDouble(JsonReader jsonReader, double defaultValue) throws IOException {
+        String value = nextString(jsonReader, null);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Double.parseDouble(value);
+        } catch (NumberFormatException numberFormatException) {
+            return defaultValue;
+        }
+    }
+}
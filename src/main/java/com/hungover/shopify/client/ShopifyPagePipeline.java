@@ -0,0 +1,169 @@
+package com.hungover.shopify.client;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pipelines cursor based pagination of the Shopify REST API.
+ * <p>
+ * The {@code page_info} cursor of the next page is known as soon as the headers of the current page arrive, so a
+ * producer running on the I/O executor requests page N+1 right after the headers of page N are in and hands the
+ * still unread response to the caller through a bounded queue. The caller parses and maps one page while the
+ * following pages are already being transferred; the queue size caps the number of pages in flight.
+ */
+public class ShopifyPagePipeline {
+
+    private final Logger shopifyPagePipelineLogger = LoggerFactory.getLogger(this.getClass());
+
+    private static final Object END_OF_PAGES = new Object();
+    private static final long POLL_INTERVAL_MILLIS = 100L;
+
+    private final Executor shopifyIoExecutor;
+    private final int prefetchPages;
+
+    public ShopifyPagePipeline(Executor shopifyIoExecutor, int prefetchPages) {
+        super();
+        this.shopifyIoExecutor = shopifyIoExecutor;
+        this.prefetchPages = prefetchPages;
+    }
+
+    /**
+     * Consumes one page of a paginated response.
+     */
+    @FunctionalInterface
+    public interface PageConsumer {
+        void accept(ShopifyResponse page) throws IOException;
+    }
+
+    /**
+     * Walks every page starting at the given URL, following the {@code rel="next"} links, and hands each successful
+     * page to the consumer in order. The walk stops at the last page; a non-200 response on any page fails the whole
+     * walk, so callers never see a silently truncated result. Pages are closed once the consumer returns.
+     *
+     * @param shopifyClient      The client used to request the pages.
+     * @param firstPageUrl       The URL of the first page.
+     * @param shopifyAccessToken The access token used to authenticate with Shopify.
+     * @param pageConsumer       Receives each page.
+     * @return The number of pages handed to the consumer.
+     * @throws ShopifyApiException if Shopify does not answer a page with HTTP 200.
+     * @throws IOException         if a page cannot be fetched or the consumer fails.
+     */
+    public int forEachPage(ShopifyClient shopifyClient, String firstPageUrl, String shopifyAccessToken,
+                           PageConsumer pageConsumer) throws IOException {
+        BlockingQueue<Object> pages = new ArrayBlockingQueue<>(prefetchPages);
+        PageProducer pageProducer = new PageProducer(shopifyClient, firstPageUrl, shopifyAccessToken, pages);
+        CompletableFuture<Void> producerFuture = CompletableFuture.runAsync(pageProducer, shopifyIoExecutor);
+        int pageCount = 0;
+        boolean completed = false;
+        try {
+            while (true) {
+                Object page = pages.take();
+                if (page == END_OF_PAGES) {
+                    completed = true;
+                    return pageCount;
+                }
+                if (page instanceof IOException) {
+                    throw (IOException) page;
+                }
+                if (page instanceof RuntimeException) {
+                    throw (RuntimeException) page;
+                }
+                try (ShopifyResponse shopifyResponse = (ShopifyResponse) page) {
+                    if (!shopifyResponse.isOk()) {
+                        shopifyPagePipelineLogger.warn("Pagination of {} failed at page {} with HTTP {}",
+                                firstPageUrl, pageCount + 1, shopifyResponse.getStatusCode());
+                        throw new ShopifyApiException(shopifyResponse.getUrl(), shopifyResponse.getStatusCode());
+                    }
+                    pageConsumer.accept(shopifyResponse);
+                    pageCount++;
+                }
+            }
+        } catch (InterruptedException interruptedException) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while paginating " + firstPageUrl);
+        } finally {
+            if (!completed) {
+                pageProducer.cancel();
+                drain(pages, producerFuture);
+            }
+        }
+    }
+
+    private void drain(BlockingQueue<Object> pages, CompletableFuture<Void> producerFuture) {
+        while (!producerFuture.isDone() || !pages.isEmpty()) {
+            try {
+                Object page = pages.poll(POLL_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+                if (page instanceof ShopifyResponse) {
+                    ((ShopifyResponse) page).close();
+                }
+            } catch (InterruptedException interruptedException) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Requests the pages one after the other as soon as the headers of the previous page are in.
+     */
+    private static final class PageProducer implements Runnable {
+
+        private final ShopifyClient shopifyClient;
+        private final String firstPageUrl;
+        private final String shopifyAccessToken;
+        private final BlockingQueue<Object> pages;
+        private volatile boolean cancelled;
+
+        private PageProducer(ShopifyClient shopifyClient, String firstPageUrl, String shopifyAccessToken,
+                             BlockingQueue<Object> pages) {
+            this.shopifyClient = shopifyClient;
+            this.firstPageUrl = firstPageUrl;
+            this.shopifyAccessToken = shopifyAccessToken;
+            this.pages = pages;
+        }
+
+        private void cancel() {
+            cancelled = true;
+        }
+
+        @Override
+        public void run() {
+            String pageUrl = firstPageUrl;
+            try {
+                while (Optional.ofNullable(pageUrl).isPresent() && !cancelled) {
+                    ShopifyResponse shopifyResponse = shopifyClient.get(pageUrl, shopifyAccessToken);
+                    pageUrl = shopifyResponse.isOk() ? shopifyResponse.getNextPageUrl() : null;
+                    if (!offer(shopifyResponse)) {
+                        shopifyResponse.close();
+                        return;
+                    }
+                }
+                offer(END_OF_PAGES);
+            } catch (IOException | RuntimeException exception) {
+                offer(exception);
+            }
+        }
+
+        private boolean offer(Object page) {
+            try {
+                while (!cancelled) {
+                    if (pages.offer(page, POLL_INTERVAL_MILLIS, TimeUnit.MILLISECONDS)) {
+                        return true;
+                    }
+                }
+            } catch (InterruptedException interruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            return false;
+        }
+    }
+}
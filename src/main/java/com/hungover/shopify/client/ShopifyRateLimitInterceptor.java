@@ -0,0 +1,341 @@
+package com.hungover.shopify.client;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.MalformedJsonException;
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okio.Buffer;
+import okio.ForwardingSource;
+import okio.Okio;
+import okio.Source;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.InterruptedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Keeps every call made through the shared Shopify HTTP client under the store's rate limits.
+ * <p>
+ * REST calls are paced from the {@code X-Shopify-Shop-Api-Call-Limit} header, GraphQL calls from the
+ * {@code extensions.cost.throttleStatus} block of the response. Requests that Shopify still rejects with 429,
+ * a THROTTLED GraphQL error or a 5xx on an idempotent request are retried with jittered exponential backoff
+ * (honouring {@code Retry-After}); once the retries are exhausted a {@link ShopifyThrottledException}, or a
+ * {@link ShopifyApiException} for server errors, is raised so that paginated pulls fail loudly instead of returning
+ * partial data. Requests tagged {@link Metering#UNMETERED}, such as
+ * downloads of pre-signed bulk operation results, do not count against the Admin API limits and pass through.
+ */
+public class ShopifyRateLimitInterceptor implements Interceptor {
+
+    private final Logger shopifyRateLimitLogger = LoggerFactory.getLogger(this.getClass());
+
+    private static final String CALL_LIMIT_HEADER = "X-Shopify-Shop-Api-Call-Limit";
+    private static final String RETRY_AFTER_HEADER = "Retry-After";
+    private static final String GRAPHQL_PATH_SUFFIX = "graphql.json";
+    private static final String GET_METHOD = "GET";
+    private static final String HEAD_METHOD = "HEAD";
+    private static final String SPLIT_WITH_SLASH = "/";
+    private static final String EXTENSIONS = "extensions";
+    private static final String COST = "cost";
+    private static final String REQUESTED_QUERY_COST = "requestedQueryCost";
+    private static final String THROTTLE_STATUS = "throttleStatus";
+    private static final String MAXIMUM_AVAILABLE = "maximumAvailable";
+    private static final String CURRENTLY_AVAILABLE = "currentlyAvailable";
+    private static final String RESTORE_RATE = "restoreRate";
+    private static final String ERRORS = "errors";
+    private static final String CODE = "code";
+    private static final String THROTTLED = "THROTTLED";
+    private static final int HTTP_TOO_MANY_REQUESTS = 429;
+    private static final int HTTP_SERVER_ERROR = 500;
+    private static final double REST_CALL_COST = 1d;
+    private static final long MILLIS_PER_SECOND = 1000L;
+
+    private final ShopifyCallBudget restBudget;
+    private final ShopifyCallBudget graphQlBudget;
+    private final int maxRetries;
+    private final long baseBackoffMillis;
+    private final long maxBackoffMillis;
+    private final long maxPeekBytes;
+
+    /**
+     * Request tag telling the interceptor whether a call counts against the Admin API limits.
+     */
+    public enum Metering {
+        UNMETERED
+    }
+
+    public ShopifyRateLimitInterceptor(ShopifyCallBudget restBudget, ShopifyCallBudget graphQlBudget, int maxRetries,
+                                       long baseBackoffMillis, long maxBackoffMillis, long maxPeekBytes) {
+        super();
+        this.restBudget = restBudget;
+        this.graphQlBudget = graphQlBudget;
+        this.maxRetries = maxRetries;
+        this.baseBackoffMillis = baseBackoffMillis;
+        this.maxBackoffMillis = maxBackoffMillis;
+        this.maxPeekBytes = maxPeekBytes;
+    }
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        Request request = chain.request();
+        if (request.tag(Metering.class) == Metering.UNMETERED) {
+            return chain.proceed(request);
+        }
+        boolean graphQl = request.url().encodedPath().endsWith(GRAPHQL_PATH_SUFFIX);
+        ShopifyCallBudget budget = graphQl ? graphQlBudget : restBudget;
+        for (int attempt = 0; ; attempt++) {
+            double cost = graphQl ? graphQlBudget.getExpectedCost() : REST_CALL_COST;
+            long wait = budget.reserve(cost);
+            Response response;
+            try {
+                pause(wait);
+                response = chain.proceed(request);
+            } finally {
+                budget.release(cost);
+            }
+            boolean throttled = graphQl ? recordGraphQlCost(response) : recordRestCallLimit(response);
+            if (!throttled && !isRetryable(request, response)) {
+                return response;
+            }
+            if (attempt >= maxRetries) {
+                response.close();
+                shopifyRateLimitLogger.error("Giving up on {} after {} retries, last status {}",
+                        request.url(), maxRetries, response.code());
+                if (throttled || response.code() == HTTP_TOO_MANY_REQUESTS) {
+                    throw new ShopifyThrottledException(request.url().toString(), response.code(), maxRetries);
+                }
+                throw new ShopifyApiException(request.url().toString(), response.code());
+            }
+            long delay = retryDelay(response, attempt, throttled ? budget.millisToRestore(cost) : 0L);
+            shopifyRateLimitLogger.warn("Shopify throttled {} (status {}), retrying in {} ms",
+                    request.url(), response.code(), delay);
+            response.close();
+            pause(delay);
+        }
+    }
+
+    /**
+     * Synchronises the REST bucket from the call limit header, e.g. {@code 32/40}.
+     *
+     * @param response The response received from Shopify.
+     * @return Always {@code false}; REST throttling is signalled through the status code.
+     */
+    boolean recordRestCallLimit(Response response) {
+        String callLimit = response.header(CALL_LIMIT_HEADER);
+        if (Optional.ofNullable(callLimit).isPresent()) {
+            String[] parts = callLimit.split(SPLIT_WITH_SLASH);
+            try {
+                restBudget.update(Double.parseDouble(parts[0].trim()), Double.parseDouble(parts[1].trim()));
+            } catch (NumberFormatException | ArrayIndexOutOfBoundsException exception) {
+                shopifyRateLimitLogger.debug("Ignoring malformed call limit header {}", callLimit);
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Synchronises the GraphQL bucket from the cost extension of the response and detects THROTTLED errors,
+     * which Shopify reports with a 200 status. The body is streamed from a peek of the response, reading only
+     * {@code errors} and {@code extensions} and skipping {@code data} token by token, and never past
+     * {@code maxPeekBytes}, so large query results are neither copied nor parsed into a tree.
+     *
+     * @param response The response received from Shopify.
+     * @return {@code true} if the query was throttled, {@code false} otherwise.
+     * @throws IOException if the response body cannot be peeked.
+     */
+    boolean recordGraphQlCost(Response response) throws IOException {
+        ResponseBody body = response.body();
+        if (!response.isSuccessful() || Optional.ofNullable(body).isEmpty()) {
+            return false;
+        }
+        if (body.contentLength() > maxPeekBytes) {
+            shopifyRateLimitLogger.debug("GraphQL response of {} bytes is too large to read its cost extension",
+                    body.contentLength());
+            return false;
+        }
+        boolean throttled = false;
+        Source peekSource = new PeekLimitSource(body.source().peek(), maxPeekBytes);
+        try (JsonReader jsonReader = new JsonReader(new InputStreamReader(Okio.buffer(peekSource).inputStream(),
+                StandardCharsets.UTF_8))) {
+            jsonReader.setLenient(true);
+            jsonReader.beginObject();
+            while (jsonReader.hasNext()) {
+                String name = jsonReader.nextName();
+                if (ERRORS.equals(name) && jsonReader.peek() == JsonToken.BEGIN_ARRAY) {
+                    throttled = readThrottled(jsonReader);
+                } else if (EXTENSIONS.equals(name) && jsonReader.peek() == JsonToken.BEGIN_OBJECT) {
+                    readCostExtension(jsonReader);
+                } else {
+                    jsonReader.skipValue();
+                }
+            }
+        } catch (MalformedJsonException | EOFException | IllegalStateException exception) {
+            shopifyRateLimitLogger.debug("GraphQL response carries no readable cost extension");
+        }
+        return throttled;
+    }
+
+    private boolean readThrottled(JsonReader jsonReader) throws IOException {
+        boolean throttled = false;
+        jsonReader.beginArray();
+        while (jsonReader.hasNext()) {
+            if (jsonReader.peek() != JsonToken.BEGIN_OBJECT) {
+                jsonReader.skipValue();
+                continue;
+            }
+            jsonReader.beginObject();
+            while (jsonReader.hasNext()) {
+                if (EXTENSIONS.equals(jsonReader.nextName()) && jsonReader.peek() == JsonToken.BEGIN_OBJECT) {
+                    throttled |= THROTTLED.equals(readErrorCode(jsonReader));
+                } else {
+                    jsonReader.skipValue();
+                }
+            }
+            jsonReader.endObject();
+        }
+        jsonReader.endArray();
+        return throttled;
+    }
+
+    private String readErrorCode(JsonReader jsonReader) throws IOException {
+        String code = null;
+        jsonReader.beginObject();
+        while (jsonReader.hasNext()) {
+            if (CODE.equals(jsonReader.nextName())) {
+                code = ShopifyJsonStream.nextString(jsonReader, null);
+            } else {
+                jsonReader.skipValue();
+            }
+        }
+        jsonReader.endObject();
+        return code;
+    }
+
+    private void readCostExtension(JsonReader jsonReader) throws IOException {
+        jsonReader.beginObject();
+        while (jsonReader.hasNext()) {
+            if (COST.equals(jsonReader.nextName()) && jsonReader.peek() == JsonToken.BEGIN_OBJECT) {
+                readCost(jsonReader);
+            } else {
+                jsonReader.skipValue();
+            }
+        }
+        jsonReader.endObject();
+    }
+
+    private void readCost(JsonReader jsonReader) throws IOException {
+        jsonReader.beginObject();
+        while (jsonReader.hasNext()) {
+            String name = jsonReader.nextName();
+            if (REQUESTED_QUERY_COST.equals(name)) {
+                graphQlBudget.setExpectedCost(ShopifyJsonStream.nextDouble(jsonReader, 0d));
+            } else if (THROTTLE_STATUS.equals(name) && jsonReader.peek() == JsonToken.BEGIN_OBJECT) {
+                readThrottleStatus(jsonReader);
+            } else {
+                jsonReader.skipValue();
+            }
+        }
+        jsonReader.endObject();
+    }
+
+    private void readThrottleStatus(JsonReader jsonReader) throws IOException {
+        double maximumAvailable = Double.NaN;
+        double currentlyAvailable = Double.NaN;
+        double restoreRate = 0d;
+        jsonReader.beginObject();
+        while (jsonReader.hasNext()) {
+            String name = jsonReader.nextName();
+            if (MAXIMUM_AVAILABLE.equals(name)) {
+                maximumAvailable = ShopifyJsonStream.nextDouble(jsonReader, Double.NaN);
+            } else if (CURRENTLY_AVAILABLE.equals(name)) {
+                currentlyAvailable = ShopifyJsonStream.nextDouble(jsonReader, Double.NaN);
+            } else if (RESTORE_RATE.equals(name)) {
+                restoreRate = ShopifyJsonStream.nextDouble(jsonReader, 0d);
+            } else {
+                jsonReader.skipValue();
+            }
+        }
+        jsonReader.endObject();
+        graphQlBudget.updateLeakRate(restoreRate);
+        if (!Double.isNaN(maximumAvailable) && !Double.isNaN(currentlyAvailable)) {
+            graphQlBudget.update(maximumAvailable - currentlyAvailable, maximumAvailable);
+        }
+    }
+
+    private boolean isRetryable(Request request, Response response) {
+        if (response.code() == HTTP_TOO_MANY_REQUESTS) {
+            return true;
+        }
+        boolean idempotent = GET_METHOD.equals(request.method()) || HEAD_METHOD.equals(request.method());
+        return idempotent && response.code() >= HTTP_SERVER_ERROR;
+    }
+
+    /**
+     * Works out how long to wait before the next attempt: {@code Retry-After} when Shopify sends it, otherwise
+     * exponential backoff with equal jitter, never less than the time the bucket needs to restore the request cost.
+     *
+     * @param response     The rejected response.
+     * @param attempt      The zero based number of the attempt that was rejected.
+     * @param minimumDelay The time the bucket needs to restore the cost of the request, in milliseconds.
+     * @return The delay in milliseconds.
+     */
+    long retryDelay(Response response, int attempt, long minimumDelay) {
+        String retryAfter = response.header(RETRY_AFTER_HEADER);
+        if (Optional.ofNullable(retryAfter).isPresent()) {
+            try {
+                return (long) Math.ceil(Double.parseDouble(retryAfter.trim()) * MILLIS_PER_SECOND);
+            } catch (NumberFormatException numberFormatException) {
+                shopifyRateLimitLogger.debug("Ignoring non numeric Retry-After header {}", retryAfter);
+            }
+        }
+        long backoff = Math.min(maxBackoffMillis, baseBackoffMillis << Math.min(attempt, 20));
+        long jittered = backoff / 2 + ThreadLocalRandom.current().nextLong(backoff / 2 + 1);
+        return Math.max(minimumDelay, jittered);
+    }
+
+    private void pause(long delayMillis) throws InterruptedIOException {
+        if (delayMillis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(delayMillis);
+        } catch (InterruptedException interruptedException) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for the Shopify rate limit");
+        }
+    }
+
+    /**
+     * Ends a peeked response body after a fixed number of bytes, so reading the cost of a response of unknown
+     * length never buffers more than that.
+     */
+    private static final class PeekLimitSource extends ForwardingSource {
+
+        private long remainingBytes;
+
+        PeekLimitSource(Source delegate, long limitBytes) {
+            super(delegate);
+            this.remainingBytes = limitBytes;
+        }
+
+        @Override
+        public long read(Buffer sink, long byteCount) throws IOException {
+            if (remainingBytes <= 0) {
+                return -1L;
+            }
+            long read = super.read(sink, Math.min(byteCount, remainingBytes));
+            if (read > 0) {
+                remainingBytes -= read;
+            }
+            return read;
+        }
+    }
+}
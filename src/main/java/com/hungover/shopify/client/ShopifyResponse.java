@@ -0,0 +1,130 @@
+package com.hungover.shopify.client;
+
+import com.hungover.common.constant.ApplicationConstants;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.net.HttpURLConnection;
+import java.util.Optional;
+
+/**
+ * A single response from the Shopify Admin API. The body is read straight from the pooled connection,
+ * so the response must be closed once it has been consumed to hand the connection back to the pool.
+ */
+public class ShopifyResponse implements Closeable {
+
+    private static final String RESPONSE_HINT_FOR_NEXT_PAGE = "rel=\"next\"";
+    private static final String SPLIT_WITH_COMMA = ",";
+    private static final String SPLIT_WITH_SEMI_COLON = ";";
+    private static final String REPLACE_WITH_LESSER_THAN = "<";
+    private static final String REPLACE_WITH_GREATER_THAN = ">";
+
+    private final Response response;
+
+    public ShopifyResponse(Response response) {
+        this.response = response;
+    }
+
+    /**
+     * Returns the HTTP status code of the response.
+     *
+     * @return The HTTP status code.
+     */
+    public int getStatusCode() {
+        return response.code();
+    }
+
+    /**
+     * Returns the URL the response answers.
+     *
+     * @return The request URL.
+     */
+    public String getUrl() {
+        return response.request().url().toString();
+    }
+
+    /**
+     * Checks whether Shopify answered with HTTP 200.
+     *
+     * @return {@code true} if the status code is 200, {@code false} otherwise.
+     */
+    public boolean isOk() {
+        return response.code() == HttpURLConnection.HTTP_OK;
+    }
+
+    /**
+     * Returns the value of the given response header.
+     *
+     * @param name The header name.
+     * @return The header value, or {@code null} if the header is absent.
+     */
+    public String getHeader(String name) {
+        return response.header(name);
+    }
+
+    /**
+     * Returns the response body as a byte stream. Gzip encoded bodies are already decoded.
+     *
+     * @return The response body stream.
+     * @throws IOException if Shopify answered with a non-successful status code.
+     */
+    public InputStream getBody() throws IOException {
+        return successfulBody().byteStream();
+    }
+
+    /**
+     * Returns the response body as a character stream decoded with the charset announced by Shopify.
+     *
+     * @return The response body reader.
+     * @throws IOException if Shopify answered with a non-successful status code.
+     */
+    public Reader getBodyReader() throws IOException {
+        return successfulBody().charStream();
+    }
+
+    /**
+     * Reads the whole response body into a string.
+     *
+     * @return The response body.
+     * @throws IOException if Shopify answered with a non-successful status code or the body cannot be read.
+     */
+    public String getBodyAsString() throws IOException {
+        return successfulBody().string();
+    }
+
+    /**
+     * Extracts the URL of the next page from the "Link" header of a paginated response.
+     *
+     * @return The absolute URL of the next page, or {@code null} if this is the last page.
+     */
+    public String getNextPageUrl() {
+        String linkHeader = response.header(ApplicationConstants.ShopifyApiHeaders.LINK);
+        if (Optional.ofNullable(linkHeader).isEmpty() || !linkHeader.contains(RESPONSE_HINT_FOR_NEXT_PAGE)) {
+            return null;
+        }
+        for (String link : linkHeader.split(SPLIT_WITH_COMMA)) {
+            if (link.contains(RESPONSE_HINT_FOR_NEXT_PAGE)) {
+                String url = link.split(SPLIT_WITH_SEMI_COLON)[0].trim();
+                return url.replace(REPLACE_WITH_LESSER_THAN, "").replace(REPLACE_WITH_GREATER_THAN, "");
+            }
+        }
+        return null;
+    }
+
+    private ResponseBody successfulBody() throws ShopifyApiException {
+        ResponseBody responseBody = response.body();
+        if (!response.isSuccessful() || responseBody == null) {
+            throw new ShopifyApiException(response.request().url().toString(), response.code());
+        }
+        return responseBody;
+    }
+
+    @Override
+    public void close() {
+        response.close();
+    }
+}
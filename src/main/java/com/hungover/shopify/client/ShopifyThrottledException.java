@@ -0,0 +1,15 @@
+package com.hungover.shopify.client;
+
+/**
+ * Raised when Shopify keeps throttling a request, with a 429 or a THROTTLED GraphQL error, after every retry. A
+ * throttled GraphQL query carries status 200, so the status code alone does not tell the failure apart.
+ */
+public class ShopifyThrottledException extends ShopifyApiException {
+
+    private static final long serialVersionUID = 1L;
+
+    public ShopifyThrottledException(String url, int statusCode, int retries) {
+        super(statusCode, "Shopify throttled the request for URL: " + url + " after " + retries +
+                " retries, last HTTP response code: " + statusCode);
+    }
+}
@@ -4,23 +4,41 @@ import com.hungover.core.domain.customer.CustomerMeasurement;
 import com.hungover.core.domain.customer.CustomerMeasurementFeedBack;
 import com.hungover.core.dto.customer.CustomerMeasurementDto;
 import com.hungover.core.dto.customer.CustomerMeasurementFeedbackDto;
+import com.hungover.customer.mapper.CustomerMeasurementMapper;
 import org.modelmapper.Conditions;
 import org.modelmapper.ModelMapper;
+import org.modelmapper.TypeMap;
+import org.modelmapper.spi.PropertyInfo;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
+import java.util.stream.Collectors;
+
 /**
- * Utility class for mapping between different objects using ModelMapper.
+ * Utility class for mapping between different objects. Customer measurements are converted by the generated
+ * {@link CustomerMeasurementMapper}, measurement feedback by type maps of a ModelMapper owned by this class.
+ * <p>
+ * The type maps are built, with null properties skipped, and checked once when the class is created. They are
+ * never reconfigured afterwards, so concurrent conversions share them without locking or interfering.
  */
 @Component
 public class AdminMapperUtil {
     private final Logger adminMapperUtilLogger = LoggerFactory.getLogger(this.getClass());
 
-    private ModelMapper modelMapper;
+    private CustomerMeasurementMapper customerMeasurementMapper;
+    private final TypeMap<CustomerMeasurementFeedbackDto, CustomerMeasurementFeedBack> feedbackDtoTypeMap;
+    private final TypeMap<CustomerMeasurementFeedBack, CustomerMeasurementFeedbackDto> feedbackTypeMap;
 
-    public AdminMapperUtil(ModelMapper modelMapper) {
-        this.modelMapper = modelMapper;
+    public AdminMapperUtil(CustomerMeasurementMapper customerMeasurementMapper) {
+        this.customerMeasurementMapper = customerMeasurementMapper;
+        ModelMapper modelMapper = new ModelMapper();
+        modelMapper.getConfiguration().setPropertyCondition(Conditions.isNotNull());
+        feedbackDtoTypeMap = createTypeMap(modelMapper, CustomerMeasurementFeedbackDto.class,
+                CustomerMeasurementFeedBack.class);
+        feedbackTypeMap = createTypeMap(modelMapper, CustomerMeasurementFeedBack.class,
+                CustomerMeasurementFeedbackDto.class);
     }
 
     /**
@@ -30,9 +48,8 @@ public class AdminMapperUtil {
      * @return The resulting CustomerMeasurement object.
      */
     public CustomerMeasurement convertFromCustomerMeasurementDto(CustomerMeasurementDto customerMeasurementDtoObj) {
-        adminMapperUtilLogger.info("Convert CustomerMeasurementDto to CustomerMeasurement");
-        modelMapper.getConfiguration().setPropertyCondition(Conditions.isNotNull());
-        return modelMapper.map(customerMeasurementDtoObj, CustomerMeasurement.class);
+        adminMapperUtilLogger.debug("Convert CustomerMeasurementDto to CustomerMeasurement");
+        return customerMeasurementMapper.toCustomerMeasurement(customerMeasurementDtoObj);
     }
 
     /**
@@ -42,9 +59,8 @@ public class AdminMapperUtil {
      * @return The resulting CustomerMeasurementDto object.
      */
     public CustomerMeasurementDto convertToCustomerMeasurementDto(CustomerMeasurement customerMeasurementObj) {
-        adminMapperUtilLogger.info("Convert CustomerMeasurement to CustomerMeasurementDto");
-        modelMapper.getConfiguration().setPropertyCondition(Conditions.isNotNull());
-        return modelMapper.map(customerMeasurementObj, CustomerMeasurementDto.class);
+        adminMapperUtilLogger.debug("Convert CustomerMeasurement to CustomerMeasurementDto");
+        return customerMeasurementMapper.toCustomerMeasurementDto(customerMeasurementObj);
     }
 
     /**
@@ -55,9 +71,8 @@ public class AdminMapperUtil {
      */
     public CustomerMeasurementFeedBack convertFromCustomerMeasurementFeedbackDto(CustomerMeasurementFeedbackDto
                                                                                          customerMeasurementFeedbackDto) {
-        adminMapperUtilLogger.info("Convert CustomerMeasurementFeedbackDto to CustomerMeasurementFeedback");
-        modelMapper.getConfiguration().setPropertyCondition(Conditions.isNotNull());
-        return modelMapper.map(customerMeasurementFeedbackDto, CustomerMeasurementFeedBack.class);
+        adminMapperUtilLogger.debug("Convert CustomerMeasurementFeedbackDto to CustomerMeasurementFeedback");
+        return feedbackDtoTypeMap.map(customerMeasurementFeedbackDto);
     }
 
     /**
@@ -68,8 +83,27 @@ public class AdminMapperUtil {
      */
     public CustomerMeasurementFeedbackDto convertFromCustomerMeasurementFeedBack(CustomerMeasurementFeedBack
                                                                                          savedcustomerMeasurementFeedBack) {
-        adminMapperUtilLogger.info("Convert CustomerMeasurementFeedback to CustomerMeasurementFeedbackDto");
-        modelMapper.getConfiguration().setPropertyCondition(Conditions.isNotNull());
-        return modelMapper.map(savedcustomerMeasurementFeedBack, CustomerMeasurementFeedbackDto.class);
+        adminMapperUtilLogger.debug("Convert CustomerMeasurementFeedback to CustomerMeasurementFeedbackDto");
+        return feedbackTypeMap.map(savedcustomerMeasurementFeedBack);
+    }
+
+    /**
+     * Builds the type map of a source and destination pair and reports the destination properties it cannot fill.
+     *
+     * @param modelMapper     The ModelMapper holding the type map.
+     * @param sourceType      The type converted from.
+     * @param destinationType The type converted to.
+     * @return The type map of the pair.
+     */
+    private <S, D> TypeMap<S, D> createTypeMap(ModelMapper modelMapper, Class<S> sourceType,
+                                               Class<D> destinationType) {
+        TypeMap<S, D> typeMap = modelMapper.createTypeMap(sourceType, destinationType);
+        List<PropertyInfo> unmappedProperties = typeMap.getUnmappedProperties();
+        if (!unmappedProperties.isEmpty()) {
+            adminMapperUtilLogger.warn("{} properties have no source in {}: {}", destinationType.getSimpleName(),
+                    sourceType.getSimpleName(), unmappedProperties.stream().map(PropertyInfo::getName)
+                            .collect(Collectors.joining(", ")));
+        }
+        return typeMap;
     }
 }
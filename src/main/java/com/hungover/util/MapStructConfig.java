@@ -0,0 +1,16 @@
+package com.hungover.util;
+
+import org.mapstruct.InjectionStrategy;
+import org.mapstruct.MapperConfig;
+import org.mapstruct.NullValueCheckStrategy;
+import org.mapstruct.ReportingPolicy;
+
+/**
+ * Shared configuration of the MapStruct mappers. The generated mappers are Spring beans that copy every non-null
+ * property with plain getter and setter calls. A target property without a source is reported when the mappers are
+ * generated, so each mapper has to name the properties it leaves to its caller.
+ */
+@MapperConfig(componentModel = "spring", injectionStrategy = InjectionStrategy.CONSTRUCTOR,
+        nullValueCheckStrategy = NullValueCheckStrategy.ALWAYS, unmappedTargetPolicy = ReportingPolicy.WARN)
+public interface MapStructConfig {
+}
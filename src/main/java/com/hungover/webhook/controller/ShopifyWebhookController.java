@@ -0,0 +1,60 @@
+package com.hungover.webhook.controller;
+
+import com.hungover.webhook.service.ShopifyWebhookService;
+import io.swagger.annotations.ApiOperation;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Controller class receiving Shopify webhooks.
+ */
+@RestController
+@RequestMapping("/webhook")
+public class ShopifyWebhookController {
+
+    private ShopifyWebhookService shopifyWebhookService;
+    private static final String ENDPOINT_VERSION = "v2";
+    private static final String SHOPIFY_TOPIC = "X-Shopify-Topic";
+    private static final String SHOPIFY_HMAC_SHA256 = "X-Shopify-Hmac-Sha256";
+    private static final String SHOPIFY_WEBHOOK_ID = "X-Shopify-Webhook-Id";
+
+    public ShopifyWebhookController(ShopifyWebhookService shopifyWebhookService) {
+        super();
+        this.shopifyWebhookService = shopifyWebhookService;
+    }
+
+    /**
+     * Receives a Shopify webhook. The payload is only verified and queued here, it is applied asynchronously.
+     *
+     * @param topic     The webhook topic, e.g. {@code orders/updated}.
+     * @param hmac      The Base64 HMAC-SHA256 of the body, signed with the app's shared secret.
+     * @param webhookId The unique id of the delivery.
+     * @param payload   The raw body of the webhook.
+     * @return 200 once queued or when the topic is not consumed, 401 for an invalid signature and 503 when the
+     * queue is full so that Shopify retries the delivery.
+     */
+    @PostMapping(value = ENDPOINT_VERSION + "/shopify")
+    @ApiOperation(value = "Receive Shopify webhook", nickname = "Receive Shopify webhook",
+            notes = "This endpoint for Receive Shopify webhook", consumes = "application/json")
+    public ResponseEntity<Void> receiveShopifyWebhook(
+            @RequestHeader(name = SHOPIFY_TOPIC) String topic,
+            @RequestHeader(name = SHOPIFY_HMAC_SHA256, required = false) String hmac,
+            @RequestHeader(name = SHOPIFY_WEBHOOK_ID, required = false) String webhookId,
+            @RequestBody byte[] payload) {
+        if (!shopifyWebhookService.isAuthentic(payload, hmac)) {
+            return new ResponseEntity<>(HttpStatus.UNAUTHORIZED);
+        }
+        if (!shopifyWebhookService.isSupportedTopic(topic)) {
+            return new ResponseEntity<>(HttpStatus.OK);
+        }
+        if (!shopifyWebhookService.enqueue(topic, webhookId, payload)) {
+            return new ResponseEntity<>(HttpStatus.SERVICE_UNAVAILABLE);
+        }
+        return new ResponseEntity<>(HttpStatus.OK);
+    }
+}
@@ -0,0 +1,29 @@
+package com.hungover.webhook.service;
+
+/**
+ * A verified Shopify webhook waiting in the ingestion queue.
+ */
+public class ShopifyWebhookEvent {
+
+    private final String topic;
+    private final String webhookId;
+    private final String payload;
+
+    public ShopifyWebhookEvent(String topic, String webhookId, String payload) {
+        this.topic = topic;
+        this.webhookId = webhookId;
+        this.payload = payload;
+    }
+
+    public String getTopic() {
+        return topic;
+    }
+
+    public String getWebhookId() {
+        return webhookId;
+    }
+
+    public String getPayload() {
+        return payload;
+    }
+}
@@ -0,0 +1,170 @@
+package com.hungover.webhook.service;
+
+import com.hungover.dashboard.service.AdminDashboardCache;
+import com.hungover.ordermirror.service.OrderMirrorSyncService;
+import com.hungover.product.service.ProductService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Service class for receiving Shopify webhooks.
+ * <p>
+ * The request thread only verifies the signature and puts the payload on a bounded in-memory queue, so Shopify gets
+ * its acknowledgement without waiting on the database. A scheduled worker drains the queue in batches and applies
+ * each batch to the local copies of the shop's data: order webhooks are merged into the order mirror when it is
+ * enabled and dropped otherwise, product updates drop the catalog snapshot and product or customer changes drop the
+ * cached dashboard summaries. When the queue is full the webhook is refused, which makes Shopify retry it later
+ * instead of the application buffering without bound.
+ */
+@Service
+public class ShopifyWebhookService {
+
+    private final Logger shopifyWebhookServiceLogger = LoggerFactory.getLogger(this.getClass());
+
+    static final String TOPIC_ORDERS_CREATE = "orders/create";
+    static final String TOPIC_ORDERS_UPDATED = "orders/updated";
+    static final String TOPIC_PRODUCTS_UPDATE = "products/update";
+    static final String TOPIC_CUSTOMERS_CREATE = "customers/create";
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+
+    private final BlockingQueue<ShopifyWebhookEvent> webhookQueue;
+    private final int batchSize;
+    private OrderMirrorSyncService orderMirrorSyncService;
+    private ProductService productService;
+    private AdminDashboardCache adminDashboardCache;
+
+    @Value("${shopify.webhook.secret:}")
+    String shopifyWebhookSecret;
+
+    public ShopifyWebhookService(OrderMirrorSyncService orderMirrorSyncService, ProductService productService,
+                                 AdminDashboardCache adminDashboardCache,
+                                 @Value("${shopify.webhook.queueCapacity:10000}") int queueCapacity,
+                                 @Value("${shopify.webhook.batchSize:250}") int batchSize) {
+        super();
+        this.orderMirrorSyncService = orderMirrorSyncService;
+        this.productService = productService;
+        this.adminDashboardCache = adminDashboardCache;
+        this.webhookQueue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Checks whether the topic is one this application consumes.
+     *
+     * @param topic The value of the {@code X-Shopify-Topic} header.
+     * @return {@code true} if the topic is handled, {@code false} otherwise.
+     */
+    public boolean isSupportedTopic(String topic) {
+        return TOPIC_ORDERS_CREATE.equals(topic) || TOPIC_ORDERS_UPDATED.equals(topic) ||
+                TOPIC_PRODUCTS_UPDATE.equals(topic) || TOPIC_CUSTOMERS_CREATE.equals(topic);
+    }
+
+    /**
+     * Verifies that the webhook was signed by Shopify with the shared secret of the app.
+     *
+     * @param payload The raw request body, exactly as received.
+     * @param hmac    The value of the {@code X-Shopify-Hmac-Sha256} header.
+     * @return {@code true} if the signature matches, {@code false} otherwise.
+     */
+    public boolean isAuthentic(byte[] payload, String hmac) {
+        if (Optional.ofNullable(hmac).isEmpty() || Optional.ofNullable(shopifyWebhookSecret).isEmpty() ||
+                shopifyWebhookSecret.isEmpty()) {
+            return false;
+        }
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(new SecretKeySpec(shopifyWebhookSecret.getBytes(StandardCharsets.UTF_8), HMAC_ALGORITHM));
+            byte[] expectedHmac = Base64.getEncoder().encode(mac.doFinal(payload));
+            return MessageDigest.isEqual(expectedHmac, hmac.getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException generalSecurityException) {
+            shopifyWebhookServiceLogger.error("Unable to verify Shopify webhook signature", generalSecurityException);
+            return false;
+        }
+    }
+
+    /**
+     * Queues a verified webhook for the worker without blocking.
+     *
+     * @param topic     The webhook topic.
+     * @param webhookId The value of the {@code X-Shopify-Webhook-Id} header.
+     * @param payload   The raw request body.
+     * @return {@code true} if the webhook was queued, {@code false} if the queue is full.
+     */
+    public boolean enqueue(String topic, String webhookId, byte[] payload) {
+        boolean queued = webhookQueue.offer(new ShopifyWebhookEvent(topic, webhookId,
+                new String(payload, StandardCharsets.UTF_8)));
+        if (!queued) {
+            shopifyWebhookServiceLogger.warn("Webhook queue full, refusing {} webhook {}", topic, webhookId);
+        }
+        return queued;
+    }
+
+    /**
+     * Scheduled method that drains the webhook queue in batches until it is empty.
+     */
+    @Scheduled(fixedDelayString = "${shopify.webhook.drainIntervalMillis:1000}")
+    public void applyQueuedWebhooks() {
+        List<ShopifyWebhookEvent> webhookEventList = new ArrayList<>(batchSize);
+        while (webhookQueue.drainTo(webhookEventList, batchSize) > 0) {
+            applyBatch(webhookEventList);
+            webhookEventList.clear();
+        }
+    }
+
+    /**
+     * Applies one batch of webhooks, grouped by topic so that each local table is written once per batch.
+     *
+     * @param webhookEventList The webhooks of the batch, in arrival order.
+     */
+    void applyBatch(List<ShopifyWebhookEvent> webhookEventList) {
+        Map<String, List<String>> topicPayloadMap = new LinkedHashMap<>();
+        webhookEventList.forEach(webhookEvent -> topicPayloadMap
+                .computeIfAbsent(webhookEvent.getTopic(), topic -> new ArrayList<>())
+                .add(webhookEvent.getPayload()));
+        List<String> orderPayloadList = new ArrayList<>();
+        orderPayloadList.addAll(topicPayloadMap.getOrDefault(TOPIC_ORDERS_CREATE, List.of()));
+        orderPayloadList.addAll(topicPayloadMap.getOrDefault(TOPIC_ORDERS_UPDATED, List.of()));
+        if (!orderPayloadList.isEmpty() && orderMirrorSyncService.isEnabled()) {
+            try {
+                int orderCount = orderMirrorSyncService.mirrorOrders(orderPayloadList);
+                shopifyWebhookServiceLogger.info("Applied {} order webhooks to {} mirrored orders",
+                        orderPayloadList.size(), orderCount);
+            } catch (RuntimeException exception) {
+                shopifyWebhookServiceLogger.error("Unable to apply {} order webhooks, the next order sync will " +
+                        "catch up", orderPayloadList.size(), exception);
+            }
+        }
+        int productUpdateCount = topicPayloadMap.getOrDefault(TOPIC_PRODUCTS_UPDATE, List.of()).size();
+        int customerCreateCount = topicPayloadMap.getOrDefault(TOPIC_CUSTOMERS_CREATE, List.of()).size();
+        if (productUpdateCount > 0) {
+            productService.evictCatalogSnapshot();
+        }
+        if (productUpdateCount > 0 || customerCreateCount > 0) {
+            adminDashboardCache.evictAll();
+            shopifyWebhookServiceLogger.info("Evicted cached summaries after {} product and {} customer webhooks",
+                    productUpdateCount, customerCreateCount);
+        }
+    }
+
+    int getQueuedWebhookCount() {
+        return webhookQueue.size();
+    }
+}
@@ -0,0 +1,44 @@
+CREATE TABLE shopify_order_mirror (
+    order_id            BIGINT         NOT NULL,
+    order_number        INT            NULL,
+    created_at          DATETIME(3)    NULL,
+    processed_at        DATETIME(3)    NULL,
+    updated_at          DATETIME(3)    NULL,
+    cancelled_at        DATETIME(3)    NULL,
+    financial_status    VARCHAR(32)    NULL,
+    fulfillment_status  VARCHAR(32)    NULL,
+    current_total_price DECIMAL(14, 2) NULL,
+    total_price         DECIMAL(14, 2) NULL,
+    currency            VARCHAR(8)     NULL,
+    customer_id         BIGINT         NULL,
+    customer_name       VARCHAR(255)   NULL,
+    shipping_code       VARCHAR(255)   NULL,
+    total_quantity      INT            NULL,
+    PRIMARY KEY (order_id),
+    INDEX idx_shopify_order_mirror_processed_at (processed_at),
+    INDEX idx_shopify_order_mirror_updated_at (updated_at),
+    INDEX idx_shopify_order_mirror_customer_id (customer_id)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
+
+CREATE TABLE shopify_order_line_item_mirror (
+    line_item_id BIGINT         NOT NULL,
+    order_id     BIGINT         NOT NULL,
+    product_id   BIGINT         NULL,
+    variant_id   BIGINT         NULL,
+    title        VARCHAR(255)   NULL,
+    quantity     INT            NULL,
+    price        DECIMAL(14, 2) NULL,
+    PRIMARY KEY (line_item_id),
+    INDEX idx_shopify_order_line_item_mirror_order_id (order_id),
+    INDEX idx_shopify_order_line_item_mirror_variant_id (variant_id),
+    CONSTRAINT fk_shopify_order_line_item_mirror_order FOREIGN KEY (order_id)
+        REFERENCES shopify_order_mirror (order_id) ON DELETE CASCADE
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
+
+CREATE TABLE shopify_sync_state (
+    sync_name          VARCHAR(64) NOT NULL,
+    watermark          DATETIME(3) NULL,
+    backfill_completed BIT(1)      NOT NULL DEFAULT 0,
+    last_synced_at     DATETIME(3) NULL,
+    PRIMARY KEY (sync_name)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
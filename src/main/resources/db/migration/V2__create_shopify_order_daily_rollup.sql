@@ -0,0 +1,11 @@
+CREATE TABLE shopify_order_daily_rollup (
+    rollup_date           DATE   NOT NULL,
+    paid_order_count      INT    NOT NULL DEFAULT 0,
+    paid_revenue_minor    BIGINT NOT NULL DEFAULT 0,
+    pending_order_count   INT    NOT NULL DEFAULT 0,
+    fulfilled_order_count INT    NOT NULL DEFAULT 0,
+    PRIMARY KEY (rollup_date)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
+
+-- The rollups are maintained as orders are written to the mirror and start empty. A mirror already filled before
+-- this migration is re-seeded explicitly with build-utils/scripts/order_mirror_backfill.sql.
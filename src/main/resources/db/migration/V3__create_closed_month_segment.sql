@@ -0,0 +1,8 @@
+CREATE TABLE analytics_closed_month_segment (
+    metric        VARCHAR(32) NOT NULL,
+    segment_month DATE        NOT NULL,
+    record_count  INT         NOT NULL DEFAULT 0,
+    amount_minor  BIGINT      NOT NULL DEFAULT 0,
+    computed_at   DATETIME(3) NOT NULL,
+    PRIMARY KEY (metric, segment_month)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
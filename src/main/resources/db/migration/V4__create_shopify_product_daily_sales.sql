@@ -0,0 +1,9 @@
+CREATE TABLE shopify_product_daily_sales (
+    sales_date DATE   NOT NULL,
+    product_id BIGINT NOT NULL,
+    quantity   INT    NOT NULL DEFAULT 0,
+    PRIMARY KEY (sales_date, product_id)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
+
+-- The product sales are maintained as orders are written to the mirror and start empty. A mirror already filled
+-- before this migration is re-seeded explicitly with build-utils/scripts/order_mirror_backfill.sql.
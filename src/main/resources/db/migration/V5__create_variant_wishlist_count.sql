@@ -0,0 +1,6 @@
+CREATE TABLE variant_wishlist_count (
+    variant_id     VARCHAR(64) NOT NULL,
+    wishlist_count BIGINT      NOT NULL DEFAULT 0,
+    PRIMARY KEY (variant_id),
+    KEY idx_variant_wishlist_count_count (wishlist_count, variant_id)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
@@ -0,0 +1,6 @@
+ALTER TABLE customer_order_status
+    ADD COLUMN measurement_customer_id VARCHAR(64)
+        GENERATED ALWAYS AS (JSON_UNQUOTE(JSON_EXTRACT(customer_measurement, '$.customerId'))) STORED,
+    ADD COLUMN measurement_name VARCHAR(255)
+        GENERATED ALWAYS AS (JSON_UNQUOTE(JSON_EXTRACT(customer_measurement, '$.name'))) STORED,
+    ADD KEY idx_customer_order_status_measurement (measurement_customer_id, measurement_name);
@@ -0,0 +1,13 @@
+-- The wishlist table belongs to the shared schema, so the index is only added where the table exists and has no
+-- index leading with variant_id yet.
+SET @create_customer_wishlist_variant_index = IF(
+    (SELECT COUNT(*) FROM information_schema.tables
+     WHERE table_schema = DATABASE() AND table_name = 'customer_wishlist') = 1
+    AND (SELECT COUNT(*) FROM information_schema.statistics
+         WHERE table_schema = DATABASE() AND table_name = 'customer_wishlist' AND column_name = 'variant_id'
+           AND seq_in_index = 1) = 0,
+    'CREATE INDEX idx_customer_wishlist_variant_customer ON customer_wishlist (variant_id, customer_id)',
+    'DO 0');
+PREPARE create_customer_wishlist_variant_index FROM @create_customer_wishlist_variant_index;
+EXECUTE create_customer_wishlist_variant_index;
+DEALLOCATE PREPARE create_customer_wishlist_variant_index;
@@ -10,6 +10,7 @@ import com.hungover.core.domain.customer.CustomerOrderStatus;
 import com.hungover.core.domain.notification.Notification;
 import com.hungover.core.dto.customer.CustomerMeasurementDto;
 import com.hungover.core.dto.customer.CustomerOrderStatusDto;
+import com.hungover.customer.mapper.CustomerOrderStatusMapper;
 import com.hungover.customer.repository.CustomerMeasurementRepositoryI;
 import com.hungover.email.notification.service.AdminEmailNotificationService;
 import com.hungover.email.notification.service.EmailNotificationService;
@@ -27,7 +28,6 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.mockito.junit.MockitoJUnitRunner;
-import org.modelmapper.ModelMapper;
 import org.springframework.context.MessageSource;
 
 import java.io.StringWriter;
@@ -65,7 +65,7 @@ class AdminServiceTest {
     @Mock
     private VelocityEngine velocityEngine;
     @Mock
-    private ModelMapper modelMapper;
+    private CustomerOrderStatusMapper customerOrderStatusMapper;
     @Mock
     private CustomerOrderStatusRepositoryI customerOrderStatusRepository;
     @Mock
@@ -160,13 +160,14 @@ class AdminServiceTest {
         when(customerMeasurementRepositoryI.save(existingMeasurement)).thenReturn(existingMeasurement);
         when(adminMapperUtil.convertToCustomerMeasurementDto(existingMeasurement))
                 .thenReturn(customerMeasurementInputDto);
-        when(customerOrderStatusCustomImpl.customerMeasurementSizeName("testName"))
+        when(customerOrderStatusCustomImpl.customerMeasurementSizeName(String.valueOf(1L), "Chest"))
                 .thenReturn(customerOrderStatusList);
 
         CustomerMeasurementDto updatedCustomerMeasurementDto = adminService
                 .updateCustomerMeasurement(customerMeasurementInputDto, customerMeasurementId);
         Assertions.assertEquals(customerMeasurementInputDto.getCustomerEmail(),
                 updatedCustomerMeasurementDto.getCustomerEmail());
+        verify(customerOrderStatusCustomImpl).customerMeasurementSizeName(String.valueOf(1L), "Chest");
     }
 
     @Test
@@ -286,9 +287,10 @@ class AdminServiceTest {
         customerOrderStatus.setIsFitSample(Boolean.TRUE);
         savedCustomerOrderStatusList.add(customerOrderStatus);
 
-        when(modelMapper.map(customerOrderStatusDto, CustomerOrderStatus.class)).thenReturn(customerOrderStatus);
+        when(customerOrderStatusMapper.toCustomerOrderStatus(customerOrderStatusDto)).thenReturn(customerOrderStatus);
         when(customerOrderStatusRepository.saveAll(anyList())).thenReturn(savedCustomerOrderStatusList);
-        when(modelMapper.map(customerOrderStatus, CustomerOrderStatusDto.class)).thenReturn(customerOrderStatusDto);
+        when(customerOrderStatusMapper.toCustomerOrderStatusDto(customerOrderStatus))
+                .thenReturn(customerOrderStatusDto);
 
         // Act
         List<CustomerOrderStatusDto> savedCustomerOrderStatusDtoList = adminService.saveCustomerOrderStatus(
@@ -0,0 +1,119 @@
+package com.hungover.analytics.service;
+
+import com.hungover.analytics.domain.ClosedMonthSegment;
+import com.hungover.analytics.repository.ClosedMonthSegmentRepositoryI;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+
+import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ClosedMonthSegmentServiceTest {
+
+    private static final String SHOP_TIME_ZONE = "Asia/Kolkata";
+
+    ClosedMonthSegmentService closedMonthSegmentService;
+    @Mock
+    private ClosedMonthSegmentRepositoryI closedMonthSegmentRepository;
+
+    @BeforeEach
+    public void setUp() {
+        MockitoAnnotations.openMocks(this);
+        closedMonthSegmentService = new ClosedMonthSegmentService(closedMonthSegmentRepository, SHOP_TIME_ZONE, 3);
+    }
+
+    @Test
+    @DisplayName("Should close a month only once its settle period has passed")
+    void testGetLastClosedMonth() {
+        // Arrange
+        LocalDate today = LocalDate.now(ZoneId.of(SHOP_TIME_ZONE));
+
+        // Act
+        YearMonth lastClosedMonth = closedMonthSegmentService.getLastClosedMonth();
+
+        // Assert
+        Assertions.assertEquals(YearMonth.from(today.minusDays(3)).minusMonths(1), lastClosedMonth);
+        Assertions.assertTrue(lastClosedMonth.isBefore(closedMonthSegmentService.getCurrentMonth()));
+    }
+
+    @Test
+    @DisplayName("Should start a range at its own month only when it starts at the very start of that month")
+    void testGetFirstWholeMonth() {
+        Assertions.assertEquals(YearMonth.of(2023, 1), closedMonthSegmentService.getFirstWholeMonth("2023"));
+        Assertions.assertEquals(YearMonth.of(2023, 1), closedMonthSegmentService.getFirstWholeMonth("2023-01-01"));
+        Assertions.assertEquals(YearMonth.of(2023, 2), closedMonthSegmentService.getFirstWholeMonth("2023-01-15"));
+        Assertions.assertEquals(YearMonth.of(2023, 1),
+                closedMonthSegmentService.getFirstWholeMonth("2022-12-31T18:30:00Z"));
+        Assertions.assertEquals(YearMonth.of(2023, 2),
+                closedMonthSegmentService.getFirstWholeMonth("2023-01-01T10:00:00"));
+    }
+
+    @Test
+    @DisplayName("Should format month bounds for Shopify's inclusive date filters")
+    void testFormatMonthBounds() {
+        Assertions.assertEquals("2024-02-01T00:00:00",
+                ClosedMonthSegmentService.formatMonthStart(YearMonth.of(2024, 2)));
+        Assertions.assertEquals("2024-02-29T23:59:59",
+                ClosedMonthSegmentService.formatMonthEnd(YearMonth.of(2024, 2)));
+    }
+
+    @Test
+    @DisplayName("Should return the stored segments of a range by month")
+    void testFindSegments() {
+        // Arrange
+        ClosedMonthSegment closedMonthSegment = new ClosedMonthSegment();
+        closedMonthSegment.setMetric(ClosedMonthSegmentService.PAID_ORDERS);
+        closedMonthSegment.setSegmentMonth(LocalDate.parse("2023-02-01"));
+        closedMonthSegment.setRecordCount(4);
+        when(closedMonthSegmentRepository.findByMetricAndSegmentMonthBetweenOrderBySegmentMonth(
+                ClosedMonthSegmentService.PAID_ORDERS, LocalDate.parse("2023-01-01"), LocalDate.parse("2023-03-01")))
+                .thenReturn(List.of(closedMonthSegment));
+
+        // Act
+        Map<YearMonth, ClosedMonthSegment> segments = closedMonthSegmentService.findSegments(
+                ClosedMonthSegmentService.PAID_ORDERS, YearMonth.of(2023, 1), YearMonth.of(2023, 3));
+
+        // Assert
+        Assertions.assertEquals(1, segments.size());
+        Assertions.assertSame(closedMonthSegment, segments.get(YearMonth.of(2023, 2)));
+        Assertions.assertTrue(closedMonthSegmentService.findSegments(ClosedMonthSegmentService.PAID_ORDERS,
+                YearMonth.of(2023, 3), YearMonth.of(2023, 1)).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should store segments of closed months and drop those of open months")
+    void testSaveSegment() {
+        // Arrange
+        YearMonth lastClosedMonth = closedMonthSegmentService.getLastClosedMonth();
+        ArgumentCaptor<ClosedMonthSegment> closedMonthSegmentCaptor = ArgumentCaptor.forClass(
+                ClosedMonthSegment.class);
+
+        // Act
+        boolean openMonthSaved = closedMonthSegmentService.saveSegment(ClosedMonthSegmentService.NEW_CUSTOMERS,
+                lastClosedMonth.plusMonths(1), 7, 0L);
+        verify(closedMonthSegmentRepository, never()).save(any());
+        boolean closedMonthSaved = closedMonthSegmentService.saveSegment(ClosedMonthSegmentService.PAID_ORDERS,
+                lastClosedMonth, 3, 450000L);
+
+        // Assert
+        Assertions.assertFalse(openMonthSaved);
+        Assertions.assertTrue(closedMonthSaved);
+        verify(closedMonthSegmentRepository).save(closedMonthSegmentCaptor.capture());
+        Assertions.assertEquals(lastClosedMonth.atDay(1), closedMonthSegmentCaptor.getValue().getSegmentMonth());
+        Assertions.assertEquals(3, closedMonthSegmentCaptor.getValue().getRecordCount());
+        Assertions.assertEquals(450000L, closedMonthSegmentCaptor.getValue().getAmountMinor());
+    }
+}
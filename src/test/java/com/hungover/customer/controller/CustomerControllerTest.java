@@ -93,18 +93,37 @@ class CustomerControllerTest {
                 "All customer wishlist retrieved successfully", wishlistDtoList);
         ResponseEntity<ApiListResponse> expectedApiListResponseResponseEntity = new ResponseEntity<>(apiListResponse, HttpStatus.OK);
 
-        when(customerApiResponseService.getAllCustomerWishlist()).thenReturn(apiListResponse);
+        when(customerApiResponseService.getAllCustomerWishlist(null, null, 100)).thenReturn(apiListResponse);
         when(messageSource.getMessage(anyString(), any(), any(Locale.class)))
                 .thenReturn("All customer wishlist retrieved successfully");
 
         // Act
-        ResponseEntity<ApiListResponse> actualApiListResponseResponseEntity = customerController.getAllCustomerWishlist();
+        ResponseEntity<ApiListResponse> actualApiListResponseResponseEntity = customerController.getAllCustomerWishlist(null, null, 100);
 
         // Assert
-        verify(customerApiResponseService).getAllCustomerWishlist();
+        verify(customerApiResponseService).getAllCustomerWishlist(null, null, 100);
         Assertions.assertEquals(expectedApiListResponseResponseEntity, actualApiListResponseResponseEntity);
     }
 
+    @Test
+    @DisplayName("Should get the most wished variants successfully")
+    void getMostWishedVariants_Success() {
+        // Arrange
+        ApiListResponse apiListResponse = new ApiListResponse();
+        apiListResponse.setResponse(ApplicationConstants.Status.SUCCESS,
+                "All customer wishlist retrieved successfully", new ArrayList<CustomerWishlistKVDto>());
+        when(customerApiResponseService.getMostWishedVariants(10)).thenReturn(apiListResponse);
+
+        // Act
+        ResponseEntity<ApiListResponse> actualApiListResponseResponseEntity =
+                customerController.getMostWishedVariants(10);
+
+        // Assert
+        verify(customerApiResponseService).getMostWishedVariants(10);
+        Assertions.assertEquals(new ResponseEntity<>(apiListResponse, HttpStatus.OK),
+                actualApiListResponseResponseEntity);
+    }
+
     @Test
     @DisplayName("Should get customer wishlist by variant id successfully")
     void getCustomerWishlistByVariantId_Success() {
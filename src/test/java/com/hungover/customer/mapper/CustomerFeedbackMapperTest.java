@@ -0,0 +1,27 @@
+package com.hungover.customer.mapper;
+
+import com.hungover.core.domain.customer.CustomerFeedback;
+import com.hungover.core.dto.customer.CustomerFeedbackKVDto;
+import com.hungover.util.MapperTestBeans;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.modelmapper.ModelMapper;
+
+class CustomerFeedbackMapperTest {
+
+    private final CustomerFeedbackMapper customerFeedbackMapper = new CustomerFeedbackMapperImpl();
+
+    @Test
+    @DisplayName("Should convert a customer feedback to its KV DTO as ModelMapper did")
+    void testToCustomerFeedbackKVDto() {
+        // Arrange
+        CustomerFeedback customerFeedback = MapperTestBeans.populate(CustomerFeedback.class);
+
+        // Act
+        CustomerFeedbackKVDto customerFeedbackKVDto = customerFeedbackMapper.toCustomerFeedbackKVDto(customerFeedback);
+
+        // Assert
+        MapperTestBeans.assertSameProperties(new ModelMapper().map(customerFeedback, CustomerFeedbackKVDto.class),
+                customerFeedbackKVDto);
+    }
+}
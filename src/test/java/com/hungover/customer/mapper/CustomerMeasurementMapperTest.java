@@ -0,0 +1,44 @@
+package com.hungover.customer.mapper;
+
+import com.hungover.core.domain.customer.CustomerMeasurement;
+import com.hungover.core.dto.customer.CustomerMeasurementDto;
+import com.hungover.util.MapperTestBeans;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.modelmapper.ModelMapper;
+
+class CustomerMeasurementMapperTest {
+
+    private final CustomerMeasurementMapper customerMeasurementMapper = new CustomerMeasurementMapperImpl();
+    private final ModelMapper modelMapper = new ModelMapper();
+
+    @Test
+    @DisplayName("Should convert a customer measurement to its DTO as ModelMapper did")
+    void testToCustomerMeasurementDto() {
+        // Arrange
+        CustomerMeasurement customerMeasurement = MapperTestBeans.populate(CustomerMeasurement.class);
+
+        // Act
+        CustomerMeasurementDto customerMeasurementDto =
+                customerMeasurementMapper.toCustomerMeasurementDto(customerMeasurement);
+
+        // Assert
+        MapperTestBeans.assertSameProperties(modelMapper.map(customerMeasurement, CustomerMeasurementDto.class),
+                customerMeasurementDto);
+    }
+
+    @Test
+    @DisplayName("Should convert a customer measurement DTO to its entity as ModelMapper did")
+    void testToCustomerMeasurement() {
+        // Arrange
+        CustomerMeasurementDto customerMeasurementDto = MapperTestBeans.populate(CustomerMeasurementDto.class);
+
+        // Act
+        CustomerMeasurement customerMeasurement =
+                customerMeasurementMapper.toCustomerMeasurement(customerMeasurementDto);
+
+        // Assert
+        MapperTestBeans.assertSameProperties(modelMapper.map(customerMeasurementDto, CustomerMeasurement.class),
+                customerMeasurement);
+    }
+}
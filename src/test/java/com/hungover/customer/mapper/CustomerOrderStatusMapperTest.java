@@ -0,0 +1,64 @@
+package com.hungover.customer.mapper;
+
+import com.hungover.core.domain.customer.CustomerOrderStatus;
+import com.hungover.core.domain.customer.CustomerOrderStatusDetails;
+import com.hungover.core.dto.customer.CustomerOrderStatusDetailsDto;
+import com.hungover.core.dto.customer.CustomerOrderStatusDto;
+import com.hungover.util.MapperTestBeans;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.modelmapper.ModelMapper;
+
+class CustomerOrderStatusMapperTest {
+
+    private final CustomerOrderStatusMapper customerOrderStatusMapper =
+            new CustomerOrderStatusMapperImpl(new CustomerMeasurementMapperImpl());
+    private final ModelMapper modelMapper = new ModelMapper();
+
+    @Test
+    @DisplayName("Should convert an order status and its measurement to DTOs as ModelMapper did")
+    void testToCustomerOrderStatusDto() {
+        // Arrange
+        CustomerOrderStatus customerOrderStatus = MapperTestBeans.populate(CustomerOrderStatus.class);
+
+        // Act
+        CustomerOrderStatusDto customerOrderStatusDto =
+                customerOrderStatusMapper.toCustomerOrderStatusDto(customerOrderStatus);
+
+        // Assert
+        MapperTestBeans.assertSameProperties(modelMapper.map(customerOrderStatus, CustomerOrderStatusDto.class),
+                customerOrderStatusDto);
+    }
+
+    @Test
+    @DisplayName("Should convert an order status DTO and its measurement to entities as ModelMapper did")
+    void testToCustomerOrderStatus() {
+        // Arrange
+        CustomerOrderStatusDto customerOrderStatusDto = MapperTestBeans.populate(CustomerOrderStatusDto.class);
+
+        // Act
+        CustomerOrderStatus customerOrderStatus =
+                customerOrderStatusMapper.toCustomerOrderStatus(customerOrderStatusDto);
+
+        // Assert
+        MapperTestBeans.assertSameProperties(modelMapper.map(customerOrderStatusDto, CustomerOrderStatus.class),
+                customerOrderStatus);
+    }
+
+    @Test
+    @DisplayName("Should convert order status details to their DTO as ModelMapper did")
+    void testToCustomerOrderStatusDetailsDto() {
+        // Arrange
+        CustomerOrderStatusDetails customerOrderStatusDetails =
+                MapperTestBeans.populate(CustomerOrderStatusDetails.class);
+
+        // Act
+        CustomerOrderStatusDetailsDto customerOrderStatusDetailsDto =
+                customerOrderStatusMapper.toCustomerOrderStatusDetailsDto(customerOrderStatusDetails);
+
+        // Assert
+        MapperTestBeans.assertSameProperties(
+                modelMapper.map(customerOrderStatusDetails, CustomerOrderStatusDetailsDto.class),
+                customerOrderStatusDetailsDto);
+    }
+}
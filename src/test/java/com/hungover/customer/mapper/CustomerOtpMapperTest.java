@@ -0,0 +1,27 @@
+package com.hungover.customer.mapper;
+
+import com.hungover.core.domain.customer.CustomerOtp;
+import com.hungover.core.dto.customer.CustomerOtpDto;
+import com.hungover.util.MapperTestBeans;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.modelmapper.ModelMapper;
+
+class CustomerOtpMapperTest {
+
+    private final CustomerOtpMapper customerOtpMapper = new CustomerOtpMapperImpl();
+
+    @Test
+    @DisplayName("Should convert a customer OTP to its DTO as ModelMapper did")
+    void testToCustomerOtpDto() {
+        // Arrange
+        CustomerOtp customerOtp = MapperTestBeans.populate(CustomerOtp.class);
+
+        // Act
+        CustomerOtpDto customerOtpDto = customerOtpMapper.toCustomerOtpDto(customerOtp);
+
+        // Assert
+        MapperTestBeans.assertSameProperties(new ModelMapper().map(customerOtp, CustomerOtpDto.class),
+                customerOtpDto);
+    }
+}
@@ -0,0 +1,57 @@
+package com.hungover.customer.mapper;
+
+import com.hungover.core.domain.customer.CustomerWishlist;
+import com.hungover.core.dto.customer.CustomerWishlistDto;
+import com.hungover.core.dto.customer.CustomerWishlistKVDto;
+import com.hungover.util.MapperTestBeans;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.modelmapper.ModelMapper;
+
+class CustomerWishlistMapperTest {
+
+    private final CustomerWishlistMapper customerWishlistMapper = new CustomerWishlistMapperImpl();
+    private final ModelMapper modelMapper = new ModelMapper();
+
+    @Test
+    @DisplayName("Should convert a wishlist to its DTO as ModelMapper did")
+    void testToCustomerWishlistDto() {
+        // Arrange
+        CustomerWishlist customerWishlist = MapperTestBeans.populate(CustomerWishlist.class);
+
+        // Act
+        CustomerWishlistDto customerWishlistDto = customerWishlistMapper.toCustomerWishlistDto(customerWishlist);
+
+        // Assert
+        MapperTestBeans.assertSameProperties(modelMapper.map(customerWishlist, CustomerWishlistDto.class),
+                customerWishlistDto);
+    }
+
+    @Test
+    @DisplayName("Should convert a wishlist DTO to its entity as ModelMapper did")
+    void testToCustomerWishlist() {
+        // Arrange
+        CustomerWishlistDto customerWishlistDto = MapperTestBeans.populate(CustomerWishlistDto.class);
+
+        // Act
+        CustomerWishlist customerWishlist = customerWishlistMapper.toCustomerWishlist(customerWishlistDto);
+
+        // Assert
+        MapperTestBeans.assertSameProperties(modelMapper.map(customerWishlistDto, CustomerWishlist.class),
+                customerWishlist);
+    }
+
+    @Test
+    @DisplayName("Should convert a wishlist to its KV DTO as ModelMapper did")
+    void testToCustomerWishlistKVDto() {
+        // Arrange
+        CustomerWishlist customerWishlist = MapperTestBeans.populate(CustomerWishlist.class);
+
+        // Act
+        CustomerWishlistKVDto customerWishlistKVDto = customerWishlistMapper.toCustomerWishlistKVDto(customerWishlist);
+
+        // Assert
+        MapperTestBeans.assertSameProperties(modelMapper.map(customerWishlist, CustomerWishlistKVDto.class),
+                customerWishlistKVDto);
+    }
+}
@@ -91,35 +91,55 @@ class CustomerApiResponseServiceTest {
         customerWishlistDtoList.add(new CustomerWishlistKVDto("Crew Neck Tee", "https://cdn.shopify.com/s/files/1/0659/7548/4645/products/charcoal_shot_1_ss_crew_tan.jpg?v=1663916699", "43457554022629", "Charcoal", "Short Sleeve", "No Pocket", 1));
         customerWishlistDtoList.add(new CustomerWishlistKVDto("V-Neck Tee", "https://cdn.shopify.com/s/files/1/0659/7548/4645/products/white_shot_1_ss_v_denim.jpg?v=1670414143", "43425807663333", "White", "Short Sleeve", "No Pocket", 1));
 
-        when(customerService.getAllCustomerWishlist()).thenReturn(customerWishlistDtoList);
+        when(customerService.getAllCustomerWishlist(null, null, 100)).thenReturn(customerWishlistDtoList);
         when(messageSource.getMessage(anyString(), any(), any(Locale.class)))
                 .thenReturn("All customer wishlist retrieved successfully");
 
         // Act
-        ApiListResponse actualApiListResponse = customerApiResponseService.getAllCustomerWishlist();
+        ApiListResponse actualApiListResponse = customerApiResponseService.getAllCustomerWishlist(null, null, 100);
 
         // Assert
-        verify(customerService).getAllCustomerWishlist();
+        verify(customerService).getAllCustomerWishlist(null, null, 100);
         Assertions.assertEquals(ApplicationConstants.Status.SUCCESS, actualApiListResponse.getStatus().getSuccess());
         Assertions.assertEquals("All customer wishlist retrieved successfully", actualApiListResponse.getStatus().getMessage());
         Assertions.assertEquals(customerWishlistDtoList, actualApiListResponse.getData());
     }
 
+    @Test
+    @DisplayName("Should return the most wished variants")
+    void getMostWishedVariants_Success() {
+        // Arrange
+        List<CustomerWishlistKVDto> customerWishlistDtoList = new ArrayList<>();
+        customerWishlistDtoList.add(new CustomerWishlistKVDto("Crew Neck Tee", "", "43457554022629", "Charcoal",
+                "Short Sleeve", "No Pocket", 7));
+        when(customerService.getMostWishedVariants(10)).thenReturn(customerWishlistDtoList);
+        when(messageSource.getMessage(anyString(), any(), any(Locale.class)))
+                .thenReturn("All customer wishlist retrieved successfully");
+
+        // Act
+        ApiListResponse actualApiListResponse = customerApiResponseService.getMostWishedVariants(10);
+
+        // Assert
+        verify(customerService).getMostWishedVariants(10);
+        Assertions.assertEquals(ApplicationConstants.Status.SUCCESS, actualApiListResponse.getStatus().getSuccess());
+        Assertions.assertEquals(customerWishlistDtoList, actualApiListResponse.getData());
+    }
+
     @Test
     @DisplayName("Should return fail status when customer wishlist is empty")
     void getAllCustomerWishlist_Empty() {
         // Arrange
         List<CustomerWishlistKVDto> emptyWishlist = new ArrayList<>();
 
-        when(customerService.getAllCustomerWishlist()).thenReturn(emptyWishlist);
+        when(customerService.getAllCustomerWishlist(null, null, 100)).thenReturn(emptyWishlist);
         when(messageSource.getMessage(anyString(), any(), any(Locale.class)))
                 .thenReturn("Customer wishlist is empty");
 
         // Act
-        ApiListResponse actualApiListResponse = customerApiResponseService.getAllCustomerWishlist();
+        ApiListResponse actualApiListResponse = customerApiResponseService.getAllCustomerWishlist(null, null, 100);
 
         // Assert
-        verify(customerService).getAllCustomerWishlist();
+        verify(customerService).getAllCustomerWishlist(null, null, 100);
         Assertions.assertEquals(ApplicationConstants.Status.FAIL, actualApiListResponse.getStatus().getSuccess());
         Assertions.assertEquals("Customer wishlist is empty", actualApiListResponse.getStatus().getMessage());
         Assertions.assertNull(actualApiListResponse.getData());
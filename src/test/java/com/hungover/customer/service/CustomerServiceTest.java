@@ -3,6 +3,8 @@ package com.hungover.customer.service;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.google.gson.Gson;
 import com.hungover.admin.repository.CustomerOrderStatusRepositoryI;
+import com.hungover.analytics.repository.ClosedMonthSegmentRepositoryI;
+import com.hungover.analytics.service.ClosedMonthSegmentService;
 import com.hungover.common.constant.ApplicationConstants;
 import com.hungover.common.exception.RecordNotFoundException;
 import com.hungover.common.exception.UniqueRecordException;
@@ -24,22 +26,35 @@ import com.hungover.core.dto.customer.CustomerResetPasswordDto;
 import com.hungover.core.dto.customer.CustomerWishlistDto;
 import com.hungover.core.dto.customer.CustomerWishlistKVDto;
 import com.hungover.core.dto.customer.ResetPasswordDto;
+import com.hungover.customer.mapper.CustomerFeedbackMapper;
+import com.hungover.customer.mapper.CustomerMeasurementMapper;
+import com.hungover.customer.mapper.CustomerOtpMapper;
+import com.hungover.customer.mapper.CustomerWishlistMapper;
 import com.hungover.customer.repository.CustomerFeedbackRepositoryI;
 import com.hungover.customer.repository.CustomerMeasurementFeedbackRepositoryI;
 import com.hungover.customer.repository.CustomerMeasurementRepositoryI;
 import com.hungover.customer.repository.CustomerOtpRepository;
 import com.hungover.customer.repository.CustomerWishlistRepositoryI;
+import com.hungover.customer.repository.CustomerWishlistVariantTotal;
 import com.hungover.email.notification.service.EmailNotificationService;
+import com.hungover.shopify.client.ShopifyClient;
+import com.hungover.shopify.client.ShopifyPagePipeline;
+import com.hungover.shopify.client.ShopifyResponse;
 import com.hungover.util.AdminMapperUtil;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
 import org.junit.jupiter.api.*;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.MockitoAnnotations;
-import org.modelmapper.ModelMapper;
+import org.mockito.Spy;
 import org.slf4j.Logger;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.MessageSource;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
@@ -49,13 +64,10 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestTemplate;
 
-import java.io.ByteArrayInputStream;
-import java.io.InputStream;
-import java.lang.reflect.Method;
 import java.net.HttpURLConnection;
-import java.net.URL;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
+import java.time.YearMonth;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Date;
@@ -64,6 +76,11 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 import static org.junit.Assert.assertEquals;
@@ -71,9 +88,13 @@ import static org.junit.Assert.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.anyInt;
+import static org.mockito.Mockito.anyList;
+import static org.mockito.Mockito.anyLong;
 import static org.mockito.Mockito.anyString;
+import static org.mockito.Mockito.contains;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.isNull;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
@@ -82,7 +103,6 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
-import static org.powermock.api.mockito.PowerMockito.whenNew;
 
 class CustomerServiceTest {
 
@@ -90,7 +110,16 @@ class CustomerServiceTest {
     private CustomerService customerService;
 
     @Mock
-    private ModelMapper modelMapper;
+    private CustomerWishlistMapper customerWishlistMapper;
+
+    @Mock
+    private CustomerMeasurementMapper customerMeasurementMapper;
+
+    @Mock
+    private CustomerFeedbackMapper customerFeedbackMapper;
+
+    @Mock
+    private CustomerOtpMapper customerOtpMapper;
 
     @Mock
     private CustomerWishlistRepositoryI customerWishlistRepository;
@@ -118,6 +147,17 @@ class CustomerServiceTest {
     private MessageSource messageSource;
     @Mock
     private AdminMapperUtil adminMapperUtil;
+    @Mock
+    private ShopifyClient shopifyClient;
+    @Spy
+    private ShopifyPagePipeline shopifyPagePipeline = new ShopifyPagePipeline(ForkJoinPool.commonPool(), 2);
+    @Spy
+    private ClosedMonthSegmentService closedMonthSegmentService = new ClosedMonthSegmentService(
+            mock(ClosedMonthSegmentRepositoryI.class), "Asia/Kolkata", 3);
+    @Mock
+    private ExecutorService shopifyFanOutExecutor;
+    @Mock
+    private WishlistCountService wishlistCountService;
 
     @Value("${shopifyResetPasswordEndPoint}")
     String shopifyResetPasswordEndPoint;
@@ -156,10 +196,10 @@ class CustomerServiceTest {
         when(customerWishlistRepository.findByCustomerId(customerId))
                 .thenReturn(customerWishlistDataList);
 
-        when(modelMapper.map(customerWishlistDataObj1, CustomerWishlistDto.class))
+        when(customerWishlistMapper.toCustomerWishlistDto(customerWishlistDataObj1))
                 .thenReturn(expectedCustomerWishlistDto1);
 
-        when(modelMapper.map(customerWishlistDataObj2, CustomerWishlistDto.class))
+        when(customerWishlistMapper.toCustomerWishlistDto(customerWishlistDataObj2))
                 .thenReturn(expectedCustomerWishlistDto2);
 
         // Act
@@ -170,8 +210,8 @@ class CustomerServiceTest {
         Assertions.assertEquals(expectedCustomerWishlistDto1, actualCustomerWishlistDtoList.get(0));
         Assertions.assertEquals(expectedCustomerWishlistDto2, actualCustomerWishlistDtoList.get(1));
         verify(customerWishlistRepository).findByCustomerId(customerId);
-        verify(modelMapper).map(customerWishlistDataObj1, CustomerWishlistDto.class);
-        verify(modelMapper).map(customerWishlistDataObj2, CustomerWishlistDto.class);
+        verify(customerWishlistMapper).toCustomerWishlistDto(customerWishlistDataObj1);
+        verify(customerWishlistMapper).toCustomerWishlistDto(customerWishlistDataObj2);
     }
 
     @Test
@@ -191,11 +231,11 @@ class CustomerServiceTest {
         Assertions.assertThrows(RecordNotFoundException.class, () -> customerService.getCustomerWishlistByCustomerId(customerId));
 
         verify(customerWishlistRepository).findByCustomerId(customerId);
-        verifyNoMoreInteractions(modelMapper);
+        verifyNoMoreInteractions(customerWishlistMapper);
     }
 
     @Test
-    @DisplayName("Should get all customer wishlist")
+    @DisplayName("Should get a page of customer wishlists counted by the database")
     void getAllCustomerWishlist_Success() {
         // Arrange
         String variantId1 = "123";
@@ -209,10 +249,6 @@ class CustomerServiceTest {
         customerWishlistDataObj2.setCustomerId("456");
         customerWishlistDataObj2.setVariantId(variantId2);
 
-        List<CustomerWishlist> customerWishlistDataList = new ArrayList<>();
-        customerWishlistDataList.add(customerWishlistDataObj1);
-        customerWishlistDataList.add(customerWishlistDataObj2);
-
         CustomerWishlistKVDto expectedCustomerWishlistKVDto1 = new CustomerWishlistKVDto();
         expectedCustomerWishlistKVDto1.setColor("Pink");
         expectedCustomerWishlistKVDto1.setVariantId(variantId1);
@@ -221,33 +257,126 @@ class CustomerServiceTest {
         expectedCustomerWishlistKVDto2.setColor("Blue");
         expectedCustomerWishlistKVDto2.setVariantId(variantId2);
 
-        Map<String, List<CustomerWishlist>> customerWishListDtoMap = new HashMap<>();
-        customerWishListDtoMap.put(variantId1, Collections.singletonList(customerWishlistDataObj1));
-        customerWishListDtoMap.put(variantId2, Collections.singletonList(customerWishlistDataObj2));
+        when(customerWishlistRepository.findVariantTotalsAfter("", PageRequest.of(0, 2)))
+                .thenReturn(List.of(new CustomerWishlistVariantTotal(variantId1, 3L),
+                        new CustomerWishlistVariantTotal(variantId2, 1L)));
+        when(customerWishlistRepository.findDescribingWishlistsByVariantIdIn(List.of(variantId1, variantId2)))
+                .thenReturn(List.of(customerWishlistDataObj2, customerWishlistDataObj1));
+        when(customerWishlistMapper.toCustomerWishlistKVDto(customerWishlistDataObj1))
+                .thenReturn(expectedCustomerWishlistKVDto1);
+        when(customerWishlistMapper.toCustomerWishlistKVDto(customerWishlistDataObj2))
+                .thenReturn(expectedCustomerWishlistKVDto2);
 
-        Map<String, Long> lcustomerWishListDtoMap = new HashMap<>();
-        lcustomerWishListDtoMap.put(variantId1, 1L);
-        lcustomerWishListDtoMap.put(variantId2, 1L);
+        // Act
+        List<CustomerWishlistKVDto> actualCustomerWishlistKVDtoList = customerService.getAllCustomerWishlist(null,
+                null, 2);
 
-        when(customerWishlistRepository.findAll())
-                .thenReturn(customerWishlistDataList);
+        // Assert
+        Assertions.assertEquals(2, actualCustomerWishlistKVDtoList.size());
+        Assertions.assertEquals(expectedCustomerWishlistKVDto1, actualCustomerWishlistKVDtoList.get(0));
+        Assertions.assertEquals(3, actualCustomerWishlistKVDtoList.get(0).getTotal());
+        Assertions.assertEquals(expectedCustomerWishlistKVDto2, actualCustomerWishlistKVDtoList.get(1));
+        Assertions.assertEquals(1, actualCustomerWishlistKVDtoList.get(1).getTotal());
+        verify(customerWishlistRepository, never()).findAll();
+    }
 
-        when(modelMapper.map(customerWishlistDataObj1, CustomerWishlistKVDto.class))
-                .thenReturn(expectedCustomerWishlistKVDto1);
+    @Test
+    @DisplayName("Should continue after the given variant and cap the page size")
+    void getAllCustomerWishlist_NextPage() {
+        // Arrange
+        when(customerWishlistRepository.findVariantTotalsAfter(eq("456"), any(PageRequest.class)))
+                .thenReturn(List.of());
+
+        // Act
+        List<CustomerWishlistKVDto> actualCustomerWishlistKVDtoList = customerService.getAllCustomerWishlist(null,
+                "456", 100000);
+
+        // Assert
+        Assertions.assertTrue(actualCustomerWishlistKVDtoList.isEmpty());
+        verify(customerWishlistRepository).findVariantTotalsAfter("456", PageRequest.of(0, 500));
+        verify(customerWishlistRepository, never()).findDescribingWishlistsByVariantIdIn(anyList());
+    }
+
+    @Test
+    @DisplayName("Should read the page totals from the maintained wishlist counts once they are ready")
+    void getAllCustomerWishlist_FromWishlistCounts() {
+        // Arrange
+        CustomerWishlist customerWishlistDataObj = new CustomerWishlist();
+        customerWishlistDataObj.setVariantId("123");
+        CustomerWishlistKVDto expectedCustomerWishlistKVDto = new CustomerWishlistKVDto();
+        expectedCustomerWishlistKVDto.setVariantId("123");
+        when(wishlistCountService.isReady()).thenReturn(true);
+        when(wishlistCountService.findVariantTotalsAfter("", 100))
+                .thenReturn(List.of(new CustomerWishlistVariantTotal("123", 4L)));
+        when(customerWishlistRepository.findDescribingWishlistsByVariantIdIn(List.of("123")))
+                .thenReturn(List.of(customerWishlistDataObj));
+        when(customerWishlistMapper.toCustomerWishlistKVDto(customerWishlistDataObj))
+                .thenReturn(expectedCustomerWishlistKVDto);
+
+        // Act
+        List<CustomerWishlistKVDto> actualCustomerWishlistKVDtoList = customerService.getAllCustomerWishlist(null,
+                null, 100);
 
-        when(modelMapper.map(customerWishlistDataObj2, CustomerWishlistKVDto.class))
+        // Assert
+        Assertions.assertEquals(1, actualCustomerWishlistKVDtoList.size());
+        Assertions.assertEquals(4, actualCustomerWishlistKVDtoList.get(0).getTotal());
+        verify(customerWishlistRepository, never()).findVariantTotalsAfter(anyString(), any(PageRequest.class));
+    }
+
+    @Test
+    @DisplayName("Should describe the most wished variants in count order")
+    void getMostWishedVariants_Success() {
+        // Arrange
+        CustomerWishlist customerWishlistDataObj1 = new CustomerWishlist();
+        customerWishlistDataObj1.setVariantId("456");
+        CustomerWishlist customerWishlistDataObj2 = new CustomerWishlist();
+        customerWishlistDataObj2.setVariantId("123");
+        CustomerWishlistKVDto expectedCustomerWishlistKVDto1 = new CustomerWishlistKVDto();
+        expectedCustomerWishlistKVDto1.setVariantId("456");
+        CustomerWishlistKVDto expectedCustomerWishlistKVDto2 = new CustomerWishlistKVDto();
+        expectedCustomerWishlistKVDto2.setVariantId("123");
+        when(wishlistCountService.findTopVariantTotals(2)).thenReturn(List.of(
+                new CustomerWishlistVariantTotal("456", 9L), new CustomerWishlistVariantTotal("123", 4L)));
+        when(customerWishlistRepository.findDescribingWishlistsByVariantIdIn(List.of("456", "123")))
+                .thenReturn(List.of(customerWishlistDataObj1, customerWishlistDataObj2));
+        when(customerWishlistMapper.toCustomerWishlistKVDto(customerWishlistDataObj1))
+                .thenReturn(expectedCustomerWishlistKVDto1);
+        when(customerWishlistMapper.toCustomerWishlistKVDto(customerWishlistDataObj2))
                 .thenReturn(expectedCustomerWishlistKVDto2);
 
         // Act
-        List<CustomerWishlistKVDto> actualCustomerWishlistKVDtoList = customerService.getAllCustomerWishlist();
+        List<CustomerWishlistKVDto> actualCustomerWishlistKVDtoList = customerService.getMostWishedVariants(2);
 
         // Assert
         Assertions.assertEquals(2, actualCustomerWishlistKVDtoList.size());
-        Assertions.assertEquals(expectedCustomerWishlistKVDto1, actualCustomerWishlistKVDtoList.get(0));
-        Assertions.assertEquals(expectedCustomerWishlistKVDto2, actualCustomerWishlistKVDtoList.get(1));
-        verify(customerWishlistRepository).findAll();
-        verify(modelMapper).map(customerWishlistDataObj1, CustomerWishlistKVDto.class);
-        verify(modelMapper).map(customerWishlistDataObj2, CustomerWishlistKVDto.class);
+        Assertions.assertEquals("456", actualCustomerWishlistKVDtoList.get(0).getVariantId());
+        Assertions.assertEquals(9, actualCustomerWishlistKVDtoList.get(0).getTotal());
+        Assertions.assertEquals("123", actualCustomerWishlistKVDtoList.get(1).getVariantId());
+    }
+
+    @Test
+    @DisplayName("Should count only the wishlists of the requested variant")
+    void getAllCustomerWishlist_ByVariant() {
+        // Arrange
+        CustomerWishlist customerWishlistDataObj = new CustomerWishlist();
+        customerWishlistDataObj.setVariantId("123");
+        CustomerWishlistKVDto expectedCustomerWishlistKVDto = new CustomerWishlistKVDto();
+        expectedCustomerWishlistKVDto.setVariantId("123");
+        when(customerWishlistRepository.findVariantTotalsByVariantId("123"))
+                .thenReturn(List.of(new CustomerWishlistVariantTotal("123", 7L)));
+        when(customerWishlistRepository.findDescribingWishlistsByVariantIdIn(List.of("123")))
+                .thenReturn(List.of(customerWishlistDataObj));
+        when(customerWishlistMapper.toCustomerWishlistKVDto(customerWishlistDataObj))
+                .thenReturn(expectedCustomerWishlistKVDto);
+
+        // Act
+        List<CustomerWishlistKVDto> actualCustomerWishlistKVDtoList = customerService.getAllCustomerWishlist("123",
+                null, 100);
+
+        // Assert
+        Assertions.assertEquals(1, actualCustomerWishlistKVDtoList.size());
+        Assertions.assertEquals(7, actualCustomerWishlistKVDtoList.get(0).getTotal());
+        verify(customerWishlistRepository, never()).findVariantTotalsAfter(anyString(), any(PageRequest.class));
     }
 
     @Test
@@ -279,10 +408,10 @@ class CustomerServiceTest {
         when(customerWishlistRepository.findByVariantId(variantId))
                 .thenReturn(customerWishlistDataList);
 
-        when(modelMapper.map(customerWishlistDataObj1, CustomerWishlistDto.class))
+        when(customerWishlistMapper.toCustomerWishlistDto(customerWishlistDataObj1))
                 .thenReturn(expectedCustomerWishlistDto1);
 
-        when(modelMapper.map(customerWishlistDataObj2, CustomerWishlistDto.class))
+        when(customerWishlistMapper.toCustomerWishlistDto(customerWishlistDataObj2))
                 .thenReturn(expectedCustomerWishlistDto2);
 
         // Act
@@ -293,8 +422,8 @@ class CustomerServiceTest {
         Assertions.assertEquals(expectedCustomerWishlistDto1, actualCustomerWishlistDtoList.get(0));
         Assertions.assertEquals(expectedCustomerWishlistDto2, actualCustomerWishlistDtoList.get(1));
         verify(customerWishlistRepository).findByVariantId(variantId);
-        verify(modelMapper).map(customerWishlistDataObj1, CustomerWishlistDto.class);
-        verify(modelMapper).map(customerWishlistDataObj2, CustomerWishlistDto.class);
+        verify(customerWishlistMapper).toCustomerWishlistDto(customerWishlistDataObj1);
+        verify(customerWishlistMapper).toCustomerWishlistDto(customerWishlistDataObj2);
     }
 
     @Test
@@ -312,7 +441,7 @@ class CustomerServiceTest {
         Assertions.assertThrows(RecordNotFoundException.class, () -> customerService.getCustomerWishlistByVariantId(variantId));
 
         verify(customerWishlistRepository).findByVariantId(variantId);
-        verifyNoMoreInteractions(modelMapper);
+        verifyNoMoreInteractions(customerWishlistMapper);
     }
 
     @Test
@@ -333,7 +462,7 @@ class CustomerServiceTest {
         customerFeedbackKVDto.setComments("Hello yes");
 
         Mockito.when(customerFeedbackRepositoryI.findAllByOrderByCreatedDateDesc()).thenReturn(customerFeedbackList);
-        when(modelMapper.map(any(), any())).thenReturn(customerFeedbackKVDto);
+        when(customerFeedbackMapper.toCustomerFeedbackKVDto(any())).thenReturn(customerFeedbackKVDto);
 
         List<CustomerFeedbackKVDto> customerFeedbackKVDtoList = customerService.getCustomerFeedback();
 
@@ -370,10 +499,10 @@ class CustomerServiceTest {
         when(customerMeasurementRepositoryI.findByCustomerId(customerId))
                 .thenReturn(customerMeasurementDataList);
 
-        when(modelMapper.map(customerMeasurementDataObj1, CustomerMeasurementDto.class))
+        when(customerMeasurementMapper.toCustomerMeasurementDto(customerMeasurementDataObj1))
                 .thenReturn(expectedCustomerMeasurementDto1);
 
-        when(modelMapper.map(customerMeasurementDataObj2, CustomerMeasurementDto.class))
+        when(customerMeasurementMapper.toCustomerMeasurementDto(customerMeasurementDataObj2))
                 .thenReturn(expectedCustomerMeasurementDto2);
 
         // Act
@@ -384,8 +513,8 @@ class CustomerServiceTest {
         Assertions.assertEquals(expectedCustomerMeasurementDto1, actualCustomerMeasurementDtoList.get(0));
         Assertions.assertEquals(expectedCustomerMeasurementDto2, actualCustomerMeasurementDtoList.get(1));
         verify(customerMeasurementRepositoryI).findByCustomerId(customerId);
-        verify(modelMapper).map(customerMeasurementDataObj1, CustomerMeasurementDto.class);
-        verify(modelMapper).map(customerMeasurementDataObj2, CustomerMeasurementDto.class);
+        verify(customerMeasurementMapper).toCustomerMeasurementDto(customerMeasurementDataObj1);
+        verify(customerMeasurementMapper).toCustomerMeasurementDto(customerMeasurementDataObj2);
     }
 
     @Test
@@ -401,7 +530,7 @@ class CustomerServiceTest {
         Assertions.assertThrows(RecordNotFoundException.class, () -> customerService.getCustomerMeasurementByCustomerId(customerId));
 
         verify(customerMeasurementRepositoryI).findByCustomerId(customerId);
-        verifyNoInteractions(modelMapper); // No mapping should be attempted
+        verifyNoInteractions(customerMeasurementMapper); // No mapping should be attempted
     }
 
     @Test
@@ -415,7 +544,7 @@ class CustomerServiceTest {
         when(customerMeasurementRepositoryI.findById(customerMeasurementId))
                 .thenReturn(Optional.of(customerMeasurement));
 
-        when(modelMapper.map(customerMeasurement, CustomerMeasurementDto.class))
+        when(customerMeasurementMapper.toCustomerMeasurementDto(customerMeasurement))
                 .thenReturn(new CustomerMeasurementDto());
 
         // Act
@@ -424,7 +553,7 @@ class CustomerServiceTest {
         // Assert
         Assertions.assertNotNull(customerMeasurementDto);
         verify(customerMeasurementRepositoryI).deleteById(customerMeasurementId);
-        verify(modelMapper).map(customerMeasurement, CustomerMeasurementDto.class);
+        verify(customerMeasurementMapper).toCustomerMeasurementDto(customerMeasurement);
     }
 
     @Test
@@ -441,7 +570,7 @@ class CustomerServiceTest {
                 () -> customerService.deleteCustomerMeasurementById(customerMeasurementId));
 
         verify(customerMeasurementRepositoryI).findById(customerMeasurementId);
-        verifyNoInteractions(modelMapper); // No mapping should be attempted
+        verifyNoInteractions(customerMeasurementMapper); // No mapping should be attempted
     }
 
     @Test
@@ -553,13 +682,13 @@ class CustomerServiceTest {
         customerWishlist.setCustomerId("testCustomer");
         customerWishlist.setVariantId("testVariant");
 
-        when(modelMapper.map(customerWishlistDto, CustomerWishlist.class))
+        when(customerWishlistMapper.toCustomerWishlist(customerWishlistDto))
                 .thenReturn(customerWishlist);
 
         when(customerWishlistRepository.save(customerWishlist))
                 .thenReturn(customerWishlist); // Return saved wishlist
 
-        when(modelMapper.map(customerWishlist, CustomerWishlistDto.class))
+        when(customerWishlistMapper.toCustomerWishlistDto(customerWishlist))
                 .thenReturn(customerWishlistDto);
 
         // Act
@@ -567,9 +696,32 @@ class CustomerServiceTest {
 
         // Assert
         Assertions.assertNotNull(savedCustomerWishlistDto);
-        verify(modelMapper).map(customerWishlistDto, CustomerWishlist.class);
+        verify(customerWishlistMapper).toCustomerWishlist(customerWishlistDto);
+        verify(customerWishlistRepository).save(customerWishlist);
+        verify(customerWishlistMapper).toCustomerWishlistDto(customerWishlist);
+        verify(wishlistCountService).recordChange("testVariant", 1);
+    }
+
+    @Test
+    @DisplayName("Should not count a wishlist the customer already had again")
+    void saveCustomerWishlist_Existing() {
+        // Arrange
+        CustomerWishlistDto customerWishlistDto = new CustomerWishlistDto();
+        CustomerWishlist customerWishlist = new CustomerWishlist();
+        customerWishlist.setCustomerId("testCustomer");
+        customerWishlist.setVariantId("testVariant");
+        when(customerWishlistMapper.toCustomerWishlist(customerWishlistDto)).thenReturn(customerWishlist);
+        when(customerWishlistRepository.findByCustomerIdAndVariantId("testCustomer", "testVariant"))
+                .thenReturn(customerWishlist);
+        when(customerWishlistRepository.save(customerWishlist)).thenReturn(customerWishlist);
+        when(customerWishlistMapper.toCustomerWishlistDto(customerWishlist)).thenReturn(customerWishlistDto);
+
+        // Act
+        customerService.saveCustomerWishlist(customerWishlistDto);
+
+        // Assert
         verify(customerWishlistRepository).save(customerWishlist);
-        verify(modelMapper).map(customerWishlist, CustomerWishlistDto.class);
+        verify(wishlistCountService, never()).recordChange(anyString(), anyLong());
     }
 
     @Test
@@ -586,7 +738,7 @@ class CustomerServiceTest {
                 .thenReturn(existingCustomerWishlistObj);
 
         CustomerWishlistDto expectedCustomerWishlistDto = new CustomerWishlistDto();
-        when(modelMapper.map(existingCustomerWishlistObj, CustomerWishlistDto.class))
+        when(customerWishlistMapper.toCustomerWishlistDto(existingCustomerWishlistObj))
                 .thenReturn(expectedCustomerWishlistDto);
 
         // Act
@@ -596,7 +748,7 @@ class CustomerServiceTest {
         Assertions.assertNotNull(customerWishlistDto);
         Assertions.assertEquals(expectedCustomerWishlistDto, customerWishlistDto);
         verify(customerWishlistRepository).findByCustomerIdAndVariantId(customerId, variantId);
-        verify(modelMapper).map(existingCustomerWishlistObj, CustomerWishlistDto.class);
+        verify(customerWishlistMapper).toCustomerWishlistDto(existingCustomerWishlistObj);
     }
 
     @Test
@@ -628,7 +780,7 @@ class CustomerServiceTest {
                 .thenReturn(existingCustomerWishlistObj);
 
         CustomerWishlistDto expectedCustomerWishlistDto = new CustomerWishlistDto();
-        when(modelMapper.map(existingCustomerWishlistObj, CustomerWishlistDto.class))
+        when(customerWishlistMapper.toCustomerWishlistDto(existingCustomerWishlistObj))
                 .thenReturn(expectedCustomerWishlistDto);
 
         // Act
@@ -639,7 +791,8 @@ class CustomerServiceTest {
         Assertions.assertEquals(expectedCustomerWishlistDto, customerWishlistDto);
         verify(customerWishlistRepository).findByCustomerIdAndVariantId(customerId, variantId);
         verify(customerWishlistRepository).deleteByCustomerIdAndVariantId(customerId, variantId);
-        verify(modelMapper).map(existingCustomerWishlistObj, CustomerWishlistDto.class);
+        verify(customerWishlistMapper).toCustomerWishlistDto(existingCustomerWishlistObj);
+        verify(wishlistCountService).recordChange(variantId, -1);
     }
 
     @Test
@@ -656,6 +809,7 @@ class CustomerServiceTest {
         Assertions.assertThrows(RecordNotFoundException.class, () -> customerService.deleteCustomerWishlistByCustomerIdAndVariantId(customerId, variantId));
         verify(customerWishlistRepository).findByCustomerIdAndVariantId(customerId, variantId);
         verify(customerWishlistRepository, never()).deleteByCustomerIdAndVariantId(customerId, variantId);
+        verify(wishlistCountService, never()).recordChange(anyString(), anyLong());
     }
 
     @Test
@@ -674,8 +828,8 @@ class CustomerServiceTest {
         savedCustomerOtpObj.setCode(123); // Set the expected OTP code
         when(customerOtpRepository.save(any())).thenReturn(savedCustomerOtpObj);
 
-        // Mock the behavior of modelMapper
-        when(modelMapper.map(savedCustomerOtpObj, CustomerOtpDto.class)).thenReturn(new CustomerOtpDto());
+        // Mock the behavior of customerOtpMapper
+        when(customerOtpMapper.toCustomerOtpDto(savedCustomerOtpObj)).thenReturn(new CustomerOtpDto());
         when(emailNotificationService.sendLoginIssueMailForAdmin(any(Notification.class))).thenReturn(null);
 
         // Perform the method call
@@ -699,7 +853,7 @@ class CustomerServiceTest {
         CustomerOtp savedCustomerOtp = new CustomerOtp();
         when(customerOtpRepository.save(any(CustomerOtp.class))).thenReturn(savedCustomerOtp);
 
-        when(modelMapper.map(savedCustomerOtp, CustomerOtpDto.class)).thenReturn(new CustomerOtpDto());
+        when(customerOtpMapper.toCustomerOtpDto(savedCustomerOtp)).thenReturn(new CustomerOtpDto());
 
         // Act
         CustomerOtpDto customerOtpDto = customerService.saveCustomerOtp(customerEmail);
@@ -724,7 +878,7 @@ class CustomerServiceTest {
                 .thenReturn(existingCustomerOtp);
 
         CustomerOtpDto mappedCustomerOtpDto = new CustomerOtpDto();
-        when(modelMapper.map(existingCustomerOtp, CustomerOtpDto.class)).thenReturn(mappedCustomerOtpDto);
+        when(customerOtpMapper.toCustomerOtpDto(existingCustomerOtp)).thenReturn(mappedCustomerOtpDto);
 
         // Act
         CustomerOtpDto validatedCustomerOtpDto = customerService.validateCustomerOtp(customerOtpDto);
@@ -773,7 +927,7 @@ class CustomerServiceTest {
                 createdFromDateObj, createdToDateObj)).thenReturn(customerFeedbackList);
 
         CustomerFeedbackKVDto mappedCustomerFeedbackKVDto = new CustomerFeedbackKVDto();
-        when(modelMapper.map(any(CustomerFeedback.class), eq(CustomerFeedbackKVDto.class)))
+        when(customerFeedbackMapper.toCustomerFeedbackKVDto(any(CustomerFeedback.class)))
                 .thenReturn(mappedCustomerFeedbackKVDto);
 
         // Act
@@ -784,7 +938,7 @@ class CustomerServiceTest {
         Assertions.assertEquals(1, customerFeedbackKVDtoList.size());
         Assertions.assertSame(mappedCustomerFeedbackKVDto, customerFeedbackKVDtoList.get(0));
         verify(customerFeedbackRepositoryI).findByCreatedDateBetweenOrderByCreatedDateDesc(createdFromDateObj, createdToDateObj);
-        verify(modelMapper).map(any(CustomerFeedback.class), eq(CustomerFeedbackKVDto.class));
+        verify(customerFeedbackMapper).toCustomerFeedbackKVDto(any(CustomerFeedback.class));
     }
 
     @Test
@@ -796,45 +950,50 @@ class CustomerServiceTest {
 
         doNothing().when(customerServiceLogger).info(anyString());
 
-        HttpURLConnection httpConnectionMock = mock(HttpURLConnection.class);
-        when(httpConnectionMock.getResponseCode()).thenReturn(HttpURLConnection.HTTP_OK);
-
-        InputStream inputStream = getInputStream();
-        when(httpConnectionMock.getInputStream()).thenReturn(inputStream);
-
-        int responseCode = HttpURLConnection.HTTP_OK;
-        when(httpConnectionMock.getResponseCode()).thenReturn(responseCode);
-
         String linkHeader = "<https://example.com/shopify/customers?page_info=abc>; rel=\"next\"";
-        when(httpConnectionMock.getHeaderField(ApplicationConstants.ShopifyApiHeaders.LINK))
-                .thenReturn(linkHeader);
+        when(shopifyClient.get(anyString(), eq(shopifyAccessToken)))
+                .thenReturn(getShopifyResponse(linkHeader), getShopifyResponse(null));
 
         List<CustomerKeyValueDto> allCustomerList = new ArrayList<>();
 
-        URL urlConnectorMock = mock(URL.class);
-        whenNew(URL.class).withArguments(anyString()).thenReturn(urlConnectorMock);
-        when(urlConnectorMock.openConnection()).thenReturn(httpConnectionMock);
-
         // Act
-        Method privateMethod = CustomerService.class.getDeclaredMethod("processHttpResponseForCustomerKeyValueDtoList", HttpURLConnection.class, List.class);
-        privateMethod.setAccessible(true);
-        boolean shouldBreak = false;
-
-        customerService.processHttpResponseForCustomerKeyValueDtoList(httpConnectionMock, allCustomerList);
-
-        when(customerService.parseNextPageInfo(linkHeader)).thenReturn(null);
+        customerService.processHttpResponseForCustomerKeyValueDtoList(getShopifyResponse(null), allCustomerList);
 
         List<CustomerKeyValueDto> actualCustomerList = customerService.getAllCustomerListFromShopify(
                 shopifyCustomerEndPoint, shopifyAccessToken);
 
         // Assert
         Assertions.assertNotNull(actualCustomerList);
-        Assertions.assertFalse(shouldBreak);
         Assertions.assertEquals(2, allCustomerList.size());
+        Assertions.assertEquals(4, actualCustomerList.size());
+        verify(shopifyClient, times(2)).get(anyString(), eq(shopifyAccessToken));
+    }
+
+    @Test
+    @DisplayName("Should stream the customers of a response, leaving out customers without a first name")
+    void testProcessHttpResponseForCustomerKeyValueDtoList_SkipsCustomersWithoutFirstName() throws Exception {
+        // Arrange
+        String customersJson = "{\"customers\": [" +
+                "{\"id\": 1, \"email\": \"guest@gmail.com\", \"first_name\": null, \"orders_count\": 1}, " +
+                "{\"id\": 2, \"email\": \"johndoe@gmail.com\", \"first_name\": \"John\", " +
+                "\"addresses\": [{\"first_name\": \"Jane\"}], \"total_spent\": \"1500.00\", " +
+                "\"verified_email\": true, \"phone\": null}]}";
+        List<CustomerKeyValueDto> allCustomerList = new ArrayList<>();
+
+        // Act
+        customerService.processHttpResponseForCustomerKeyValueDtoList(getShopifyResponse(null, customersJson),
+                allCustomerList);
+
+        // Assert
+        Assertions.assertEquals(1, allCustomerList.size());
+        Assertions.assertEquals("John", allCustomerList.get(0).getFirst_name());
+        Assertions.assertEquals("johndoe@gmail.com", allCustomerList.get(0).getEmail());
+        Assertions.assertEquals(ApplicationConstants.Orders.PRICE_IN_RUPEES + 1500.0,
+                allCustomerList.get(0).getOrderPrice());
     }
 
-    private static InputStream getInputStream() {
-        String jsonContent = "{\n" +
+    private static String getCustomersJson() {
+        return "{\n" +
                 "    \"customers\": [\n" +
                 "        {\n" +
                 "            \"id\": 7251638386917,\n" +
@@ -860,8 +1019,23 @@ class CustomerServiceTest {
                 "        }\n" +
                 "    ]\n" +
                 "}";
-        InputStream inputStream = new ByteArrayInputStream(jsonContent.getBytes());
-        return inputStream;
+    }
+
+    private static ShopifyResponse getShopifyResponse(String linkHeader) {
+        return getShopifyResponse(linkHeader, getCustomersJson());
+    }
+
+    private static ShopifyResponse getShopifyResponse(String linkHeader, String customersJson) {
+        Response.Builder responseBuilder = new Response.Builder()
+                .request(new Request.Builder().url("https://example.com/shopify/customers").build())
+                .protocol(Protocol.HTTP_1_1)
+                .code(HttpURLConnection.HTTP_OK)
+                .message("OK")
+                .body(ResponseBody.create(okhttp3.MediaType.get("application/json"), customersJson));
+        if (Optional.ofNullable(linkHeader).isPresent()) {
+            responseBuilder.header(ApplicationConstants.ShopifyApiHeaders.LINK, linkHeader);
+        }
+        return new ShopifyResponse(responseBuilder.build());
     }
 
     @Test
@@ -912,14 +1086,7 @@ class CustomerServiceTest {
 
         doNothing().when(customerServiceLogger).info(anyString());
 
-        HttpURLConnection httpConnectionMock = mock(HttpURLConnection.class);
-        when(httpConnectionMock.getResponseCode()).thenReturn(HttpURLConnection.HTTP_OK);
-
-        InputStream inputStream = getInputStream();
-        when(httpConnectionMock.getInputStream()).thenReturn(inputStream);
-
-        int responseCode = HttpURLConnection.HTTP_OK;
-        when(httpConnectionMock.getResponseCode()).thenReturn(responseCode);
+        when(shopifyClient.get(anyString(), any())).thenAnswer(invocation -> getShopifyResponse(null));
 
         CustomerDto customer1 = new CustomerDto();
         customer1.setCreated_at(new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ssXXX").parse("2023-01-15T10:30:00Z"));
@@ -941,20 +1108,10 @@ class CustomerServiceTest {
             customerYearlyDataMap.put(createdMonth, customerYearlyDataMap.get(createdMonth) + 1);
         });
 
-        URL urlConnectorMock = mock(URL.class);
-        whenNew(URL.class).withArguments(anyString()).thenReturn(urlConnectorMock);
-        when(urlConnectorMock.openConnection()).thenReturn(httpConnectionMock);
-
-        Method privateMethod = CustomerService.class.getDeclaredMethod("processHttpResponseForCustomerKeyValueDtoList", HttpURLConnection.class, List.class);
-        privateMethod.setAccessible(true);
-        boolean shouldBreak = false;
-        customerService.processHttpResponseForCustomerDtoList(httpConnectionMock, filterCustomerList);
+        customerService.processHttpResponseForCustomerDtoList(getShopifyResponse(null), filterCustomerList);
 
         customerService.getFilterCustomerListFromShopify(shopifyCustomerEndPoint, fromDate, toDate, shopifyAccessToken);
 
-        String linkHeader = "<https://example.com/shopify/customers?page_info=abc>; rel=\"next\"";
-        when(httpConnectionMock.getHeaderField(ApplicationConstants.ShopifyApiHeaders.LINK))
-                .thenReturn(linkHeader);
         // Act
         CustomerCountResponseDto customerCountResponseDto = customerService.getFilterCustomerList(shopifyCustomerEndPoint, fromDate, toDate);
 
@@ -963,7 +1120,6 @@ class CustomerServiceTest {
         Assertions.assertNotNull(customerCountResponseDto.getCustomerCountByYear());
         Assertions.assertFalse(customerCountResponseDto.getCustomerCountByYear().isEmpty());
         Assertions.assertNotNull(customerCountResponseDto.getPercentChange());
-        Assertions.assertFalse(shouldBreak);
     }
 
     @Test
@@ -978,53 +1134,16 @@ class CustomerServiceTest {
         doNothing().when(customerServiceLogger).info(anyString());
 
         // Mocking dependencies
+        runFanOutInline();
         CustomerService customerServiceSpy = Mockito.spy(customerService);
-        HttpURLConnection httpConnectionMock = mock(HttpURLConnection.class);
-        when(httpConnectionMock.getResponseCode()).thenReturn(HttpURLConnection.HTTP_OK);
-
-        InputStream inputStreamMock = getInputStream();
-        when(httpConnectionMock.getInputStream()).thenReturn(inputStreamMock);
-
-        int responseCode = HttpURLConnection.HTTP_OK;
-        when(httpConnectionMock.getResponseCode()).thenReturn(responseCode);
-
-        // Stub fetchCustomerDataFromShopify for both years
-        doAnswer(invocation -> {
-            Map<String, Double> monthlyCustomerDataMap = invocation.getArgument(1);
-            monthlyCustomerDataMap.put("January", 10.0);
-            monthlyCustomerDataMap.put("February", 15.0);
-            return null; // Since the method returns void, return null here
-        }).when(customerServiceSpy).fetchCustomerDataFromShopify(eq(shopifyCustomerEndPoint), any(), eq(lastYear), eq(shopifyAccessToken));
-
-        doAnswer(invocation -> {
-            Map<String, Double> monthlyCustomerDataMap = invocation.getArgument(1);
-            monthlyCustomerDataMap.put("January", 10.0);
-            monthlyCustomerDataMap.put("February", 15.0);
-            return null; // Since the method returns void, return null here
-        }).when(customerServiceSpy).fetchCustomerDataFromShopify(eq(shopifyCustomerEndPoint), any(), eq(currentYear), eq(shopifyAccessToken));
-
-        String linkHeader = "<https://example.com/shopify/customers?page_info=abc>; rel=\"next\"";
-        when(httpConnectionMock.getHeaderField(ApplicationConstants.ShopifyApiHeaders.LINK))
-                .thenReturn(linkHeader);
-
-        URL urlConnectorMock = mock(URL.class);
-        whenNew(URL.class).withArguments(anyString()).thenReturn(urlConnectorMock);
-        when(urlConnectorMock.openConnection()).thenReturn(httpConnectionMock);
-
-        Map<String, Double> monthlyCustomerDataMap = new HashMap<>();
-        monthlyCustomerDataMap.put("January", 10.0);
-        monthlyCustomerDataMap.put("February", 15.0);
-
-        int year = 2023;
-
-        // Stub processHttpResponseForCustomer for both years
-        Method privateMethod = CustomerService.class.getDeclaredMethod("processHttpResponseForCustomer", HttpURLConnection.class, Map.class, int.class);
-        privateMethod.setAccessible(true);
-        boolean shouldBreak = false;
 
-        customerServiceSpy.processHttpResponseForCustomer(httpConnectionMock, monthlyCustomerDataMap, year);
-
-        when(customerServiceSpy.parseNextPageInfo(linkHeader)).thenReturn(null);
+        // Stub the monthly customer counts for both years
+        doReturn(0).when(customerServiceSpy).countCustomersCreatedIn(eq(shopifyCustomerEndPoint), any(),
+                eq(shopifyAccessToken));
+        doReturn(10).when(customerServiceSpy).countCustomersCreatedIn(shopifyCustomerEndPoint,
+                YearMonth.of(lastYear, 1), shopifyAccessToken);
+        doReturn(15).when(customerServiceSpy).countCustomersCreatedIn(shopifyCustomerEndPoint,
+                YearMonth.of(currentYear, 2), shopifyAccessToken);
 
         // Act
         CustomerCountResponseDto customerCountResponseDto = customerServiceSpy.getCustomerCountByMonthForYears(shopifyCustomerEndPoint, lastYear, currentYear, shopifyAccessToken);
@@ -1036,10 +1155,13 @@ class CustomerServiceTest {
 
         Map<String, Double> lastYearCountsMap = customerCountByYearMap.get(Integer.toString(lastYear));
         Assertions.assertNotNull(lastYearCountsMap);
+        Assertions.assertEquals(10.0, lastYearCountsMap.get("January"));
 
         Map<String, Double> currentYearCountsMap = customerCountByYearMap.get(Integer.toString(currentYear));
         Assertions.assertNotNull(currentYearCountsMap);
-        Assertions.assertFalse(shouldBreak);
+        Assertions.assertEquals(15.0, currentYearCountsMap.get("February"));
+        verify(customerServiceSpy, times(24)).countCustomersCreatedIn(eq(shopifyCustomerEndPoint), any(),
+                eq(shopifyAccessToken));
     }
 
     @Test
@@ -1060,40 +1182,12 @@ class CustomerServiceTest {
         CustomerCurrentYearDataMap.put("February", 25.0);
 
         doNothing().when(customerServiceLogger).info(anyString());
-
-        HttpURLConnection httpConnectionMock = mock(HttpURLConnection.class);
-        when(httpConnectionMock.getResponseCode()).thenReturn(HttpURLConnection.HTTP_OK);
-
-        InputStream inputStream = getInputStream();
-        when(httpConnectionMock.getInputStream()).thenReturn(inputStream);
-
-        int responseCode = HttpURLConnection.HTTP_OK;
-        when(httpConnectionMock.getResponseCode()).thenReturn(responseCode);
+        runFanOutInline();
+        when(shopifyClient.get(anyString(), any())).thenAnswer(invocation -> getShopifyCountResponse(5));
 
         CustomerService.getCalendarMonthsList();
 
-        CustomerService customerServiceSpy = Mockito.spy(customerService);
-
-        doAnswer(invocation -> {
-            Map<String, Double> monthlyCustomerDataMap = invocation.getArgument(1);
-            monthlyCustomerDataMap.put("January", 10.0);
-            monthlyCustomerDataMap.put("February", 15.0);
-            return null; // Since the method returns void, return null here
-        }).when(customerServiceSpy).fetchCustomerDataFromShopify(eq(shopifyCustomerEndPoint), any(), eq(lastYear), eq(shopifyAccessToken));
-
-        doAnswer(invocation -> {
-            Map<String, Double> monthlyCustomerDataMap = invocation.getArgument(1);
-            monthlyCustomerDataMap.put("January", 10.0);
-            monthlyCustomerDataMap.put("February", 15.0);
-            return null; // Since the method returns void, return null here
-        }).when(customerServiceSpy).fetchCustomerDataFromShopify(eq(shopifyCustomerEndPoint), any(), eq(currentYear), eq(shopifyAccessToken));
-
-        String linkHeader = "<https://example.com/shopify/customers?page_info=abc>; rel=\"next\"";
-        when(httpConnectionMock.getHeaderField(ApplicationConstants.ShopifyApiHeaders.LINK))
-                .thenReturn(linkHeader);
-
         // Act
-        customerService.parseNextPageInfo(linkHeader);
         CustomerCountResponseDto customerCountResponseDto = customerService.getCustomerCountByMonthForYears(shopifyCustomerEndPoint, lastYear, currentYear, shopifyAccessToken);
 
         // Assert
@@ -1106,6 +1200,74 @@ class CustomerServiceTest {
 
         Map<String, Double> currentYearCountsMap = customerCountByYearMap.get(Integer.toString(currentYear));
         Assertions.assertNotNull(currentYearCountsMap);
+        Assertions.assertEquals(5.0, currentYearCountsMap.get("December"));
+        verify(shopifyClient).get(eq("https://example.com/shopify/customers/count.json?" +
+                "created_at_min=2021-02-01T00:00:00&created_at_max=2021-02-28T23:59:59"), eq(shopifyAccessToken));
+    }
+
+    @Test
+    @DisplayName("Should count the missing months of both years concurrently")
+    void testGetCustomerCountByMonthForYears_CountsConcurrently() throws Exception {
+        // Arrange
+        String shopifyCustomerEndPoint = "https://example.com/shopify/customers.json";
+        String shopifyAccessToken = "your-access-token";
+        ExecutorService fanOutThreads = Executors.newFixedThreadPool(24);
+        doAnswer(invocation -> {
+            fanOutThreads.execute(invocation.getArgument(0));
+            return null;
+        }).when(shopifyFanOutExecutor).execute(any(Runnable.class));
+        CountDownLatch customerCountsStarted = new CountDownLatch(24);
+        when(shopifyClient.get(anyString(), eq(shopifyAccessToken))).thenAnswer(invocation -> {
+            customerCountsStarted.countDown();
+            if (!customerCountsStarted.await(5, TimeUnit.SECONDS)) {
+                throw new IOException("Customer counts ran one after another");
+            }
+            return getShopifyCountResponse(2);
+        });
+
+        // Act
+        CustomerCountResponseDto customerCountResponseDto;
+        try {
+            customerCountResponseDto = customerService.getCustomerCountByMonthForYears(shopifyCustomerEndPoint,
+                    2021, 2022, shopifyAccessToken);
+        } finally {
+            fanOutThreads.shutdownNow();
+        }
+
+        // Assert
+        Assertions.assertEquals(2.0, customerCountResponseDto.getCustomerCountByYear().get("2021").get("March"));
+        Assertions.assertEquals(2.0, customerCountResponseDto.getCustomerCountByYear().get("2022").get("June"));
+        verify(shopifyClient, times(24)).get(contains("https://example.com/shopify/customers/count.json?"),
+                eq(shopifyAccessToken));
+    }
+
+    @Test
+    @DisplayName("Should fail the customer counts when Shopify does not answer with a count")
+    void testGetCustomerCountByMonthForYears_CountFailed() throws IOException {
+        // Arrange
+        runFanOutInline();
+        when(shopifyClient.get(anyString(), any())).thenAnswer(invocation -> getShopifyResponse(null));
+
+        // Act & Assert
+        Assertions.assertThrows(IOException.class, () -> customerService.getCustomerCountByMonthForYears(
+                "https://example.com/shopify/customers.json", 2021, 2022, "your-access-token"));
+    }
+
+    private void runFanOutInline() {
+        doAnswer(invocation -> {
+            ((Runnable) invocation.getArgument(0)).run();
+            return null;
+        }).when(shopifyFanOutExecutor).execute(any(Runnable.class));
+    }
+
+    private static ShopifyResponse getShopifyCountResponse(int count) {
+        return new ShopifyResponse(new Response.Builder()
+                .request(new Request.Builder().url("https://example.com/shopify/customers/count.json").build())
+                .protocol(Protocol.HTTP_1_1)
+                .code(HttpURLConnection.HTTP_OK)
+                .message("OK")
+                .body(ResponseBody.create(okhttp3.MediaType.get("application/json"), "{\"count\":" + count + "}"))
+                .build());
     }
 
     @Test
@@ -1216,7 +1378,7 @@ class CustomerServiceTest {
 
         when(customerMeasurementRepositoryI.findByCustomerIdAndName(customerId, sizeName))
                 .thenReturn(customerMeasurementObj);
-        when(modelMapper.map(customerMeasurementObj, CustomerMeasurementDto.class))
+        when(customerMeasurementMapper.toCustomerMeasurementDto(customerMeasurementObj))
                 .thenReturn(expectedDto);
 
         // Act
@@ -1261,7 +1423,7 @@ class CustomerServiceTest {
 
         when(customerMeasurementFeedbackRepositoryI.getCustomerMeasurementFeedbackByOrderId(orderId))
                 .thenReturn(customerMeasurementFeedBack);
-        when(modelMapper.map(customerMeasurementFeedBack, CustomerMeasurementFeedbackDto.class))
+        when(adminMapperUtil.convertFromCustomerMeasurementFeedBack(customerMeasurementFeedBack))
                 .thenReturn(expectedDto);
 
         // Act
@@ -1269,7 +1431,7 @@ class CustomerServiceTest {
 
         // Assert
         verify(customerMeasurementFeedbackRepositoryI).getCustomerMeasurementFeedbackByOrderId(orderId);
-        verify(modelMapper).map(customerMeasurementFeedBack, CustomerMeasurementFeedbackDto.class);
+        verify(adminMapperUtil).convertFromCustomerMeasurementFeedBack(customerMeasurementFeedBack);
         assertEquals(expectedDto, actualDto);
     }
     @Test
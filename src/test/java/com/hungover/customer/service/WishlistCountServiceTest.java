@@ -0,0 +1,306 @@
+package com.hungover.customer.service;
+
+import com.hungover.customer.domain.VariantWishlistCount;
+import com.hungover.customer.repository.CustomerWishlistRepositoryI;
+import com.hungover.customer.repository.CustomerWishlistVariantTotal;
+import com.hungover.customer.repository.VariantWishlistCountRepositoryI;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.anyLong;
+import static org.mockito.Mockito.anyString;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class WishlistCountServiceTest {
+
+    @InjectMocks
+    WishlistCountService wishlistCountService;
+    @Mock
+    private CustomerWishlistRepositoryI customerWishlistRepository;
+    @Mock
+    private VariantWishlistCountRepositoryI variantWishlistCountRepository;
+
+    @BeforeEach
+    public void setUp() {
+        MockitoAnnotations.openMocks(this);
+        wishlistCountService.seedLeaseMillis = 300000L;
+    }
+
+    @Test
+    @DisplayName("Should write the net change of every variant once per flush")
+    void testFlush() {
+        // Arrange
+        wishlistCountService.recordChange("123", 1);
+        wishlistCountService.recordChange("123", 1);
+        wishlistCountService.recordChange("456", 1);
+        wishlistCountService.recordChange("456", -1);
+
+        // Act
+        wishlistCountService.flush();
+        wishlistCountService.flush();
+
+        // Assert
+        verify(variantWishlistCountRepository, times(1)).addToCount("123", 2);
+        verify(variantWishlistCountRepository, never()).addToCount(eq("456"), anyLong());
+    }
+
+    @Test
+    @DisplayName("Should count every concurrent change exactly once")
+    void testRecordChange_Concurrent() throws InterruptedException {
+        // Arrange
+        ExecutorService executorService = Executors.newFixedThreadPool(8);
+        CountDownLatch startLatch = new CountDownLatch(1);
+        try {
+            for (int i = 0; i < 8; i++) {
+                executorService.execute(() -> {
+                    try {
+                        startLatch.await();
+                    } catch (InterruptedException interruptedException) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                    for (int j = 0; j < 1000; j++) {
+                        wishlistCountService.recordChange("123", 1);
+                    }
+                });
+            }
+
+            // Act
+            startLatch.countDown();
+            executorService.shutdown();
+            Assertions.assertTrue(executorService.awaitTermination(10, TimeUnit.SECONDS));
+            wishlistCountService.flush();
+        } finally {
+            executorService.shutdownNow();
+        }
+
+        // Assert
+        verify(variantWishlistCountRepository).addToCount("123", 8000);
+    }
+
+    @Test
+    @DisplayName("Should keep a change that could not be written for the next flush")
+    void testFlush_WriteFailed() {
+        // Arrange
+        wishlistCountService.recordChange("123", 1);
+        doThrow(new IllegalStateException("Database unavailable"))
+                .when(variantWishlistCountRepository).addToCount("123", 1);
+
+        // Act
+        Assertions.assertThrows(IllegalStateException.class, () -> wishlistCountService.flush());
+        wishlistCountService.recordChange("123", 1);
+        doThrow(new IllegalStateException("Database unavailable"))
+                .when(variantWishlistCountRepository).addToCount("123", 2);
+        Assertions.assertThrows(IllegalStateException.class, () -> wishlistCountService.flush());
+
+        // Assert
+        verify(variantWishlistCountRepository).addToCount("123", 2);
+    }
+
+    @Test
+    @DisplayName("Should seed unclaimed counts from the wishlists, dropping changes the seed already counts")
+    void testFlushScheduled_Seeds() {
+        // Arrange
+        wishlistCountService.recordChange("123", 1);
+        when(variantWishlistCountRepository.findById("")).thenReturn(Optional.empty());
+        when(variantWishlistCountRepository.insertIfAbsent(eq(""), anyLong())).thenReturn(1);
+        when(variantWishlistCountRepository.compareAndSetCount(eq(""), anyLong(), anyLong())).thenReturn(1);
+        when(customerWishlistRepository.findVariantTotalsAfter("", PageRequest.of(0, 500)))
+                .thenReturn(List.of(new CustomerWishlistVariantTotal("123", 5L),
+                        new CustomerWishlistVariantTotal("456", 2L)));
+
+        // Act
+        Assertions.assertFalse(wishlistCountService.isReady());
+        wishlistCountService.flushScheduled();
+        wishlistCountService.flushScheduled();
+
+        // Assert
+        Assertions.assertTrue(wishlistCountService.isReady());
+        verify(variantWishlistCountRepository).setCount("123", 5L);
+        verify(variantWishlistCountRepository).setCount("456", 2L);
+        verify(variantWishlistCountRepository).compareAndSetCount(eq(""), anyLong(), eq(0L));
+        verify(variantWishlistCountRepository, never()).addToCount(anyString(), anyLong());
+        verify(customerWishlistRepository, times(1)).findVariantTotalsAfter(anyString(), any(PageRequest.class));
+    }
+
+    @Test
+    @DisplayName("Should not seed counts that already exist")
+    void testFlushScheduled_AlreadySeeded() {
+        // Arrange
+        when(variantWishlistCountRepository.findById("")).thenReturn(Optional.of(getSeedMarker(0L)));
+
+        // Act
+        wishlistCountService.flushScheduled();
+
+        // Assert
+        Assertions.assertTrue(wishlistCountService.isReady());
+        verify(variantWishlistCountRepository, never()).insertIfAbsent(anyString(), anyLong());
+        verify(customerWishlistRepository, never()).findVariantTotalsAfter(anyString(), any(PageRequest.class));
+    }
+
+    @Test
+    @DisplayName("Should leave the seed to the instance that claimed it and wait for it to complete")
+    void testFlushScheduled_SeedClaimedElsewhere() {
+        // Arrange
+        when(variantWishlistCountRepository.findById("")).thenReturn(Optional.empty(),
+                Optional.of(getSeedMarker(-System.currentTimeMillis())));
+        when(variantWishlistCountRepository.insertIfAbsent(eq(""), anyLong())).thenReturn(0);
+
+        // Act
+        wishlistCountService.flushScheduled();
+        wishlistCountService.flushScheduled();
+
+        // Assert
+        Assertions.assertFalse(wishlistCountService.isReady());
+        verify(customerWishlistRepository, never()).findVariantTotalsAfter(anyString(), any(PageRequest.class));
+        verify(variantWishlistCountRepository, never()).setCount(anyString(), anyLong());
+        verify(variantWishlistCountRepository, never()).compareAndSetCount(anyString(), anyLong(), anyLong());
+    }
+
+    @Test
+    @DisplayName("Should take over a seed claim that has not been renewed for the seed lease")
+    void testFlushScheduled_SeedClaimExpired() {
+        // Arrange
+        when(variantWishlistCountRepository.findById("")).thenReturn(Optional.of(getSeedMarker(-1L)));
+        when(variantWishlistCountRepository.compareAndSetCount(eq(""), anyLong(), anyLong())).thenReturn(1);
+        when(customerWishlistRepository.findVariantTotalsAfter("", PageRequest.of(0, 500)))
+                .thenReturn(List.of(new CustomerWishlistVariantTotal("123", 5L)));
+
+        // Act
+        wishlistCountService.flushScheduled();
+
+        // Assert
+        Assertions.assertTrue(wishlistCountService.isReady());
+        verify(variantWishlistCountRepository).compareAndSetCount(eq(""), eq(-1L), anyLong());
+        verify(variantWishlistCountRepository).setCount("123", 5L);
+        verify(variantWishlistCountRepository).compareAndSetCount(eq(""), anyLong(), eq(0L));
+    }
+
+    @Test
+    @DisplayName("Should stop seeding and not report the counts ready when another instance took the claim over")
+    void testFlushScheduled_SeedClaimTakenOver() {
+        // Arrange
+        when(variantWishlistCountRepository.findById("")).thenReturn(Optional.empty());
+        when(variantWishlistCountRepository.insertIfAbsent(eq(""), anyLong())).thenReturn(1);
+        when(variantWishlistCountRepository.compareAndSetCount(eq(""), anyLong(), anyLong())).thenReturn(0);
+        when(customerWishlistRepository.findVariantTotalsAfter("", PageRequest.of(0, 500)))
+                .thenReturn(List.of(new CustomerWishlistVariantTotal("123", 5L)));
+
+        // Act
+        wishlistCountService.flushScheduled();
+
+        // Assert
+        Assertions.assertFalse(wishlistCountService.isReady());
+        verify(variantWishlistCountRepository, never()).compareAndSetCount(eq(""), anyLong(), eq(0L));
+        verify(variantWishlistCountRepository).compareAndSetCount(eq(""), anyLong(), eq(-1L));
+    }
+
+    @Test
+    @DisplayName("Should stop waiting for the seed once a wait has timed out")
+    void testAwaitSeeded_TimedOut() {
+        // Arrange
+        wishlistCountService.seedWaitMillis = 10L;
+        wishlistCountService.awaitSeeded();
+        wishlistCountService.seedWaitMillis = 10000L;
+
+        // Act
+        long startNanos = System.nanoTime();
+        wishlistCountService.awaitSeeded();
+        long waitedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+
+        // Assert
+        Assertions.assertTrue(waitedMillis < 5000L);
+        Assertions.assertFalse(wishlistCountService.isReady());
+    }
+
+    @Test
+    @DisplayName("Should reconcile the stored counts with the wishlists after writing the pending changes")
+    void testReconcile() {
+        // Arrange
+        wishlistCountService.recordChange("789", 1);
+        when(customerWishlistRepository.findVariantTotalsAfter("", PageRequest.of(0, 500)))
+                .thenReturn(List.of(new CustomerWishlistVariantTotal("123", 5L)));
+        when(variantWishlistCountRepository.findVariantTotalsAfter("", PageRequest.of(0, 500)))
+                .thenReturn(List.of(new CustomerWishlistVariantTotal("123", 5L),
+                        new CustomerWishlistVariantTotal("456", 2L)));
+        when(customerWishlistRepository.findVariantTotalsByVariantIdIn(List.of("123", "456")))
+                .thenReturn(List.of(new CustomerWishlistVariantTotal("123", 5L)));
+
+        // Act
+        wishlistCountService.reconcile();
+
+        // Assert
+        verify(variantWishlistCountRepository).addToCount("789", 1);
+        verify(variantWishlistCountRepository).setCount("123", 5L);
+        verify(variantWishlistCountRepository).setCount("456", 0L);
+        verify(variantWishlistCountRepository, never()).setCount("", 0L);
+    }
+
+    @Test
+    @DisplayName("Should hold a wishlist change made during the seed until the seed has counted the wishlists")
+    void testAwaitSeeded_ChangeDuringSeed() throws Exception {
+        // Arrange
+        wishlistCountService.seedWaitMillis = 10000L;
+        CountDownLatch seedReadingLatch = new CountDownLatch(1);
+        CountDownLatch releaseSeedLatch = new CountDownLatch(1);
+        when(variantWishlistCountRepository.findById("")).thenReturn(Optional.empty());
+        when(variantWishlistCountRepository.insertIfAbsent(eq(""), anyLong())).thenReturn(1);
+        when(variantWishlistCountRepository.compareAndSetCount(eq(""), anyLong(), anyLong())).thenReturn(1);
+        when(customerWishlistRepository.findVariantTotalsAfter("", PageRequest.of(0, 500))).thenAnswer(invocation -> {
+            seedReadingLatch.countDown();
+            Assertions.assertTrue(releaseSeedLatch.await(10, TimeUnit.SECONDS));
+            return List.of(new CustomerWishlistVariantTotal("123", 5L));
+        });
+        ExecutorService executorService = Executors.newFixedThreadPool(2);
+        try {
+            Future<?> seedFuture = executorService.submit(() -> wishlistCountService.flushScheduled());
+            Assertions.assertTrue(seedReadingLatch.await(10, TimeUnit.SECONDS));
+
+            // Act
+            Future<?> changeFuture = executorService.submit(() -> {
+                wishlistCountService.awaitSeeded();
+                wishlistCountService.recordChange("123", 1);
+            });
+            Thread.sleep(100L);
+            boolean changedDuringSeed = changeFuture.isDone();
+            releaseSeedLatch.countDown();
+            seedFuture.get(10, TimeUnit.SECONDS);
+            changeFuture.get(10, TimeUnit.SECONDS);
+            wishlistCountService.flush();
+
+            // Assert
+            Assertions.assertFalse(changedDuringSeed);
+        } finally {
+            executorService.shutdownNow();
+        }
+        verify(variantWishlistCountRepository).setCount("123", 5L);
+        verify(variantWishlistCountRepository).addToCount("123", 1);
+    }
+
+    private VariantWishlistCount getSeedMarker(long wishlistCount) {
+        VariantWishlistCount seedMarker = new VariantWishlistCount();
+        seedMarker.setVariantId("");
+        seedMarker.setWishlistCount(wishlistCount);
+        return seedMarker;
+    }
+}
@@ -13,6 +13,7 @@ import org.mockito.MockitoAnnotations;
 import org.springframework.context.MessageSource;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import static org.mockito.Mockito.*;
 
@@ -52,4 +53,40 @@ class AdminDashboardControllerTest {
         Assertions.assertEquals(expectedSingleDataResponseResponseEntity, actualSingleDataResponseResponseEntity);
     }
 
-}
\ No newline at end of file
+    @Test
+    @DisplayName("Test getAdminDashboardCacheStats endpoint")
+    void testGetAdminDashboardCacheStatsEndpoint() {
+        // Arrange
+        SingleDataResponse singleDataResponse = new SingleDataResponse();
+        singleDataResponse.setResponse(ApplicationConstants.Status.SUCCESS,
+                "Admin dashboard cache statistics fetched successfully", null);
+        when(adminDashboardApiResponseService.getAdminDashboardCacheStats()).thenReturn(singleDataResponse);
+
+        // Act
+        ResponseEntity<SingleDataResponse> responseEntity = adminDashboardController.getAdminDashboardCacheStats();
+
+        // Assert
+        verify(adminDashboardApiResponseService).getAdminDashboardCacheStats();
+        Assertions.assertEquals(HttpStatus.OK, responseEntity.getStatusCode());
+        Assertions.assertEquals(singleDataResponse, responseEntity.getBody());
+    }
+
+    @Test
+    @DisplayName("Test streamAdminDashboardSummary endpoint")
+    void testStreamAdminDashboardSummaryEndpoint() {
+        // Arrange
+        String fromDate = "2023-01-01";
+        String toDate = "2023-12-31";
+        Integer noOfDays = 30;
+        SseEmitter sseEmitter = new SseEmitter();
+        when(adminDashboardApiResponseService.streamAdminDashboardSummary(fromDate, toDate, noOfDays))
+                .thenReturn(sseEmitter);
+
+        // Act
+        SseEmitter actualSseEmitter = adminDashboardController.streamAdminDashboardSummary(fromDate, toDate, noOfDays);
+
+        // Assert
+        verify(adminDashboardApiResponseService).streamAdminDashboardSummary(fromDate, toDate, noOfDays);
+        Assertions.assertSame(sseEmitter, actualSseEmitter);
+    }
+}
@@ -2,7 +2,11 @@ package com.hungover.dashboard.service;
 
 import com.hungover.common.apiresponse.SingleDataResponse;
 import com.hungover.common.constant.ApplicationConstants;
+import com.hungover.core.dto.customer.CustomerCountResponseDto;
 import com.hungover.core.dto.dashboard.AdminDashboardResponseDto;
+import com.hungover.core.dto.order.AverageOrderValueResponseDto;
+import com.hungover.core.dto.order.YearlyOrderResponseDto;
+import com.hungover.core.dto.product.TopProductsResponseDTO;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -10,8 +14,11 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.springframework.context.MessageSource;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.util.ArrayList;
 import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -95,4 +102,44 @@ class AdminDashboardApiResponseServiceTest {
         verify(messageSource, times(1)).getMessage(eq("api.admin.dashboard.filter.fail"), any(), any(Locale.class));
     }
 
-}
\ No newline at end of file
+    @Test
+    @DisplayName("Test streamAdminDashboardSummary reports success once every section is sent")
+    void testStreamAdminDashboardSummary_Success() {
+        String fromDate = "2023-01-01";
+        String toDate = "2023-12-31";
+        Integer noOfDays = 30;
+        when(adminDashboardService.startAdminDashboardSections(fromDate, toDate, noOfDays))
+                .thenReturn(new AdminDashboardSections(CompletableFuture.completedFuture(new YearlyOrderResponseDto()),
+                        CompletableFuture.completedFuture(new AverageOrderValueResponseDto()),
+                        CompletableFuture.completedFuture(new CustomerCountResponseDto()),
+                        CompletableFuture.completedFuture(new ArrayList<>()),
+                        CompletableFuture.completedFuture(new TopProductsResponseDTO())));
+
+        SseEmitter sseEmitter = adminDashboardApiResponseService.streamAdminDashboardSummary(fromDate, toDate, noOfDays);
+
+        assertNotNull(sseEmitter);
+        verify(adminDashboardService, times(1)).startAdminDashboardSections(fromDate, toDate, noOfDays);
+        verify(messageSource, times(1)).getMessage(eq("api.admin.dashboard.filter.success"), any(), any(Locale.class));
+        verify(messageSource, never()).getMessage(eq("api.admin.dashboard.filter.fail"), any(), any(Locale.class));
+    }
+
+    @Test
+    @DisplayName("Test streamAdminDashboardSummary keeps streaming after a section fails")
+    void testStreamAdminDashboardSummary_SectionFailure() {
+        String fromDate = "2023-01-01";
+        String toDate = "2023-12-31";
+        Integer noOfDays = 30;
+        CompletableFuture<CustomerCountResponseDto> customerResponse = new CompletableFuture<>();
+        when(adminDashboardService.startAdminDashboardSections(fromDate, toDate, noOfDays))
+                .thenReturn(new AdminDashboardSections(CompletableFuture.completedFuture(new YearlyOrderResponseDto()),
+                        CompletableFuture.completedFuture(new AverageOrderValueResponseDto()), customerResponse,
+                        CompletableFuture.completedFuture(new ArrayList<>()),
+                        CompletableFuture.completedFuture(new TopProductsResponseDTO())));
+
+        adminDashboardApiResponseService.streamAdminDashboardSummary(fromDate, toDate, noOfDays);
+        verify(messageSource, never()).getMessage(any(), any(), any(Locale.class));
+        customerResponse.completeExceptionally(new RuntimeException("Customer service exception"));
+
+        verify(messageSource, times(1)).getMessage(eq("api.admin.dashboard.filter.fail"), any(), any(Locale.class));
+    }
+}
@@ -0,0 +1,204 @@
+package com.hungover.dashboard.service;
+
+import com.hungover.core.dto.dashboard.AdminDashboardResponseDto;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class AdminDashboardCacheTest {
+
+    private static final String RANGE_KEY = AdminDashboardCache.getKey("2023-01-01", "2023-12-31", 365);
+
+    private ExecutorService adminDashboardRefreshExecutor;
+
+    @BeforeEach
+    public void setUp() {
+        adminDashboardRefreshExecutor = Executors.newFixedThreadPool(4);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        adminDashboardRefreshExecutor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Should normalise equivalent ranges to the same key")
+    void testGetKey() {
+        Assertions.assertEquals(RANGE_KEY, AdminDashboardCache.getKey(" 2023-01-01", "2023-12-31 ", 365));
+        Assertions.assertNotEquals(RANGE_KEY, AdminDashboardCache.getKey("2023-01-01", "2023-12-31", 30));
+    }
+
+    @Test
+    @DisplayName("Should compute a range once and serve it from the cache while it is fresh")
+    void testGet_FreshHit() throws Exception {
+        // Arrange
+        AdminDashboardCache adminDashboardCache = new AdminDashboardCache(adminDashboardRefreshExecutor, 4, 60000L,
+                120000L);
+        AtomicInteger loadCount = new AtomicInteger();
+        AdminDashboardResponseDto adminDashboardResponseDto = new AdminDashboardResponseDto();
+
+        // Act
+        AdminDashboardResponseDto first = adminDashboardCache.get(RANGE_KEY, () -> {
+            loadCount.incrementAndGet();
+            return adminDashboardResponseDto;
+        });
+        AdminDashboardResponseDto second = adminDashboardCache.get(RANGE_KEY, () -> {
+            loadCount.incrementAndGet();
+            return new AdminDashboardResponseDto();
+        });
+
+        // Assert
+        Assertions.assertSame(adminDashboardResponseDto, first);
+        Assertions.assertSame(adminDashboardResponseDto, second);
+        Assertions.assertEquals(1, loadCount.get());
+        Map<String, Long> stats = adminDashboardCache.getStats();
+        Assertions.assertEquals(1L, stats.get("hits"));
+        Assertions.assertEquals(1L, stats.get("misses"));
+        Assertions.assertEquals(1L, stats.get("size"));
+    }
+
+    @Test
+    @DisplayName("Should serve a stale summary right away and refresh it in the background")
+    void testGet_StaleWhileRevalidate() throws Exception {
+        // Arrange
+        AdminDashboardCache adminDashboardCache = new AdminDashboardCache(adminDashboardRefreshExecutor, 4, 0L,
+                120000L);
+        AdminDashboardResponseDto staleResponse = new AdminDashboardResponseDto();
+        AdminDashboardResponseDto refreshedResponse = new AdminDashboardResponseDto();
+        CountDownLatch refreshed = new CountDownLatch(1);
+        adminDashboardCache.get(RANGE_KEY, () -> staleResponse);
+
+        // Act
+        AdminDashboardResponseDto served = adminDashboardCache.get(RANGE_KEY, () -> {
+            refreshed.countDown();
+            return refreshedResponse;
+        });
+
+        // Assert
+        Assertions.assertSame(staleResponse, served);
+        Assertions.assertTrue(refreshed.await(5, TimeUnit.SECONDS));
+        long deadline = System.currentTimeMillis() + 5000;
+        while (adminDashboardCache.getStats().get("refreshes") == 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        Assertions.assertEquals(1L, adminDashboardCache.getStats().get("staleHits"));
+        Assertions.assertEquals(1L, adminDashboardCache.getStats().get("refreshes"));
+        Assertions.assertSame(refreshedResponse, adminDashboardCache.get(RANGE_KEY, () -> null));
+    }
+
+    @Test
+    @DisplayName("Should evict the least recently used range once the cache is full")
+    void testGet_EvictsLeastRecentlyUsed() throws Exception {
+        // Arrange
+        AdminDashboardCache adminDashboardCache = new AdminDashboardCache(adminDashboardRefreshExecutor, 2, 60000L,
+                120000L);
+        AtomicInteger loadCount = new AtomicInteger();
+        AdminDashboardCache.SummaryLoader loader = () -> {
+            loadCount.incrementAndGet();
+            return new AdminDashboardResponseDto();
+        };
+
+        // Act
+        adminDashboardCache.get("a", loader);
+        adminDashboardCache.get("b", loader);
+        adminDashboardCache.get("a", loader);
+        adminDashboardCache.get("c", loader);
+        adminDashboardCache.get("a", loader);
+        adminDashboardCache.get("b", loader);
+
+        // Assert
+        Assertions.assertEquals(4, loadCount.get());
+        Assertions.assertEquals(2L, adminDashboardCache.getStats().get("evictions"));
+        Assertions.assertEquals(2L, adminDashboardCache.getStats().get("size"));
+    }
+
+    @Test
+    @DisplayName("Should share one computation between concurrent misses of the same range")
+    void testGet_CoalescesConcurrentMisses() throws Exception {
+        // Arrange
+        AdminDashboardCache adminDashboardCache = new AdminDashboardCache(adminDashboardRefreshExecutor, 4, 60000L,
+                120000L);
+        AtomicInteger loadCount = new AtomicInteger();
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AdminDashboardResponseDto adminDashboardResponseDto = new AdminDashboardResponseDto();
+        Future<AdminDashboardResponseDto> first = adminDashboardRefreshExecutor.submit(() ->
+                adminDashboardCache.get(RANGE_KEY, () -> {
+                    loadCount.incrementAndGet();
+                    loading.countDown();
+                    release.await();
+                    return adminDashboardResponseDto;
+                }));
+        Assertions.assertTrue(loading.await(5, TimeUnit.SECONDS));
+
+        // Act
+        Future<AdminDashboardResponseDto> second = adminDashboardRefreshExecutor.submit(() ->
+                adminDashboardCache.get(RANGE_KEY, () -> {
+                    loadCount.incrementAndGet();
+                    return new AdminDashboardResponseDto();
+                }));
+        Thread.sleep(100);
+        release.countDown();
+
+        // Assert
+        Assertions.assertSame(adminDashboardResponseDto, first.get(5, TimeUnit.SECONDS));
+        Assertions.assertSame(adminDashboardResponseDto, second.get(5, TimeUnit.SECONDS));
+        Assertions.assertEquals(1, loadCount.get());
+    }
+
+    @Test
+    @DisplayName("Should rethrow the failure of the computation and cache nothing")
+    void testGet_LoadFailure() {
+        // Arrange
+        AdminDashboardCache adminDashboardCache = new AdminDashboardCache(adminDashboardRefreshExecutor, 4, 60000L,
+                120000L);
+        ExecutionException failure = new ExecutionException(new RuntimeException("Shopify unavailable"));
+
+        // Act & Assert
+        ExecutionException executionException = Assertions.assertThrows(ExecutionException.class,
+                () -> adminDashboardCache.get(RANGE_KEY, () -> {
+                    throw failure;
+                }));
+        Assertions.assertSame(failure, executionException);
+        Assertions.assertEquals(0L, adminDashboardCache.getStats().get("size"));
+    }
+
+    @Test
+    @DisplayName("Should drop every range on eviction and not cache a summary computed before it")
+    void testEvictAll() throws Exception {
+        // Arrange
+        AdminDashboardCache adminDashboardCache = new AdminDashboardCache(adminDashboardRefreshExecutor, 4, 60000L,
+                120000L);
+        adminDashboardCache.get(RANGE_KEY, AdminDashboardResponseDto::new);
+        AtomicInteger loadCount = new AtomicInteger();
+
+        // Act
+        adminDashboardCache.evictAll();
+        String otherKey = AdminDashboardCache.getKey("2023-01-01", "2023-01-31", 30);
+        adminDashboardCache.get(otherKey, () -> {
+            adminDashboardCache.evictAll();
+            return new AdminDashboardResponseDto();
+        });
+        adminDashboardCache.get(RANGE_KEY, () -> {
+            loadCount.incrementAndGet();
+            return new AdminDashboardResponseDto();
+        });
+
+        // Assert
+        Assertions.assertEquals(1, loadCount.get());
+        Map<String, Long> stats = adminDashboardCache.getStats();
+        Assertions.assertEquals(1L, stats.get("size"));
+        Assertions.assertEquals(1L, stats.get("evictions"));
+    }
+}
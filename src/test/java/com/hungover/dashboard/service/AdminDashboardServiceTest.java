@@ -3,10 +3,12 @@ package com.hungover.dashboard.service;
 import com.hungover.core.dto.customer.CustomerCountResponseDto;
 import com.hungover.core.dto.customer.CustomerFeedbackKVDto;
 import com.hungover.core.dto.dashboard.AdminDashboardResponseDto;
+import com.hungover.core.dto.order.AverageOrderValueResponseDto;
 import com.hungover.core.dto.order.YearlyOrderResponseDto;
 import com.hungover.core.dto.product.TopProductsResponseDTO;
 import com.hungover.customer.service.CustomerService;
 import com.hungover.order.service.OrderService;
+import com.hungover.order.service.YearlyOrderStatistics;
 import com.hungover.product.service.ProductService;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
@@ -23,9 +25,13 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 class AdminDashboardServiceTest {
@@ -38,6 +44,7 @@ class AdminDashboardServiceTest {
     private CustomerService customerService;
     @Mock
     private ProductService productService;
+    private final ExecutorService shopifyFanOutExecutor = ForkJoinPool.commonPool();
 
     @Value("${shopifyCustomerEndPoint}")
     String shopifyCustomerEndPoint;
@@ -99,7 +106,8 @@ class AdminDashboardServiceTest {
         when(productService.getTopProductByFilter(fromDate, toDate, shopifyAccessToken, shopifyGraphQueryEndPoint, shopifyProductEndPoint)).thenReturn(topProductsResponseDTOCompletableFuture.get());
 
         // Test the method
-        AdminDashboardService adminDashboardService = new AdminDashboardService(orderService, customerService, productService);
+        AdminDashboardService adminDashboardService = new AdminDashboardService(orderService, customerService, productService,
+                shopifyFanOutExecutor, new AdminDashboardCache(shopifyFanOutExecutor, 64, 300000L, 3600000L));
         AdminDashboardResponseDto result = adminDashboardService.adminDashboardSummary(fromDate, toDate, noOfDays);
 
         // Perform assertions on the result
@@ -116,7 +124,8 @@ class AdminDashboardServiceTest {
         when(orderService.getFilterOrderDetails(anyString(), anyString(), anyString(), anyString(), anyInt()))
                 .thenThrow(new RuntimeException()); // Customize the exception you want to throw
 
-        AdminDashboardService adminDashboardService = new AdminDashboardService(orderService, customerService, productService);
+        AdminDashboardService adminDashboardService = new AdminDashboardService(orderService, customerService, productService,
+                shopifyFanOutExecutor, new AdminDashboardCache(shopifyFanOutExecutor, 64, 300000L, 3600000L));
 
         CompletableFuture<YearlyOrderResponseDto> yearlyOrderResponseDtoCompletableFuture = CompletableFuture.supplyAsync(() -> {
             try {
@@ -148,7 +157,8 @@ class AdminDashboardServiceTest {
                 .thenThrow(new RuntimeException("Customer service exception"));
 
         // Create an instance of AdminDashboardService and call the method
-        AdminDashboardService adminDashboardService = new AdminDashboardService(orderService, customerService, productService);
+        AdminDashboardService adminDashboardService = new AdminDashboardService(orderService, customerService, productService,
+                shopifyFanOutExecutor, new AdminDashboardCache(shopifyFanOutExecutor, 64, 300000L, 3600000L));
 
         // Perform assertions for the expected exceptions
         ExecutionException executionException = Assertions.assertThrows(ExecutionException.class, () ->
@@ -172,7 +182,8 @@ class AdminDashboardServiceTest {
                 .thenThrow(new ParseException("Parse exception", 0));
 
         // Create an instance of AdminDashboardService and call the method
-        AdminDashboardService adminDashboardService = new AdminDashboardService(orderService, customerService, productService);
+        AdminDashboardService adminDashboardService = new AdminDashboardService(orderService, customerService, productService,
+                shopifyFanOutExecutor, new AdminDashboardCache(shopifyFanOutExecutor, 64, 300000L, 3600000L));
 
         // Perform assertions for the expected exceptions
         ExecutionException executionException = Assertions.assertThrows(ExecutionException.class, () ->
@@ -196,7 +207,8 @@ class AdminDashboardServiceTest {
                 .thenThrow(new RuntimeException("Product service exception"));
 
         // Create an instance of AdminDashboardService and call the method
-        AdminDashboardService adminDashboardService = new AdminDashboardService(orderService, customerService, productService);
+        AdminDashboardService adminDashboardService = new AdminDashboardService(orderService, customerService, productService,
+                shopifyFanOutExecutor, new AdminDashboardCache(shopifyFanOutExecutor, 64, 300000L, 3600000L));
 
         // Perform assertions for the expected exceptions
         ExecutionException executionException = Assertions.assertThrows(ExecutionException.class, () ->
@@ -206,4 +218,35 @@ class AdminDashboardServiceTest {
         assertTrue(executionException.getCause() instanceof RuntimeException);
         assertEquals("Product service exception", executionException.getCause().getMessage());
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Should page through the orders of the period once and derive both order sections from them")
+    void testAdminDashboardSummary_SharesOrderFetch() throws Exception {
+        // Arrange
+        String fromDate = "2023-01-01";
+        String toDate = "2023-12-31";
+        Integer noOfDays = 365;
+        YearlyOrderStatistics yearlyOrderStatistics = new YearlyOrderStatistics(List.of());
+        YearlyOrderResponseDto yearlyOrderResponseDto = new YearlyOrderResponseDto();
+        AverageOrderValueResponseDto averageOrderValueResponseDto = new AverageOrderValueResponseDto();
+        when(orderService.getPaidOrderStatistics(any(), eq(fromDate), eq(toDate), any()))
+                .thenReturn(yearlyOrderStatistics);
+        when(orderService.createFilterOrderResponse(yearlyOrderStatistics, noOfDays))
+                .thenReturn(yearlyOrderResponseDto);
+        when(orderService.createAverageOrderValueResponse(yearlyOrderStatistics, noOfDays))
+                .thenReturn(averageOrderValueResponseDto);
+        AdminDashboardService adminDashboardService = new AdminDashboardService(orderService, customerService,
+                productService, shopifyFanOutExecutor, new AdminDashboardCache(shopifyFanOutExecutor, 64, 300000L,
+                3600000L));
+
+        // Act
+        AdminDashboardResponseDto result = adminDashboardService.adminDashboardSummary(fromDate, toDate, noOfDays);
+
+        // Assert
+        assertEquals(yearlyOrderResponseDto, result.getOrderResponse());
+        assertEquals(averageOrderValueResponseDto, result.getAverageOrderValueResponse());
+        verify(orderService, times(1)).getPaidOrderStatistics(any(), eq(fromDate), eq(toDate), any());
+        verify(orderService, times(0)).getFilterOrderDetails(any(), any(), any(), any(), any());
+        verify(orderService, times(0)).getAverageValueOfOrders(any(), any(), any(), any(), any());
+    }
+}
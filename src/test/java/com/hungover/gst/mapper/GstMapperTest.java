@@ -0,0 +1,40 @@
+package com.hungover.gst.mapper;
+
+import com.hungover.core.domain.gst.Gst;
+import com.hungover.core.dto.gst.GstDto;
+import com.hungover.util.MapperTestBeans;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.modelmapper.ModelMapper;
+
+class GstMapperTest {
+
+    private final GstMapper gstMapper = new GstMapperImpl();
+    private final ModelMapper modelMapper = new ModelMapper();
+
+    @Test
+    @DisplayName("Should convert GST data to its DTO as ModelMapper did")
+    void testToGstDto() {
+        // Arrange
+        Gst gst = MapperTestBeans.populate(Gst.class);
+
+        // Act
+        GstDto gstDto = gstMapper.toGstDto(gst);
+
+        // Assert
+        MapperTestBeans.assertSameProperties(modelMapper.map(gst, GstDto.class), gstDto);
+    }
+
+    @Test
+    @DisplayName("Should convert a GST DTO to its entity as ModelMapper did")
+    void testToGst() {
+        // Arrange
+        GstDto gstDto = MapperTestBeans.populate(GstDto.class);
+
+        // Act
+        Gst gst = gstMapper.toGst(gstDto);
+
+        // Assert
+        MapperTestBeans.assertSameProperties(modelMapper.map(gstDto, Gst.class), gst);
+    }
+}
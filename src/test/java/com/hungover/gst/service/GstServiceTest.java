@@ -2,6 +2,7 @@ package com.hungover.gst.service;
 
 import com.hungover.core.domain.gst.Gst;
 import com.hungover.core.dto.gst.GstDto;
+import com.hungover.gst.mapper.GstMapper;
 import com.hungover.gst.repository.GstRepositoryI;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
@@ -9,7 +10,6 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
-import org.modelmapper.ModelMapper;
 
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -20,7 +20,7 @@ class GstServiceTest {
     private GstService gstService;
 
     @Mock
-    private ModelMapper modelMapper;
+    private GstMapper gstMapper;
 
     @Mock
     private GstRepositoryI gstRepositoryI;
@@ -40,9 +40,9 @@ class GstServiceTest {
         gstObj.setCompanyName("CNW");
         gstObj.setGst("18.0");
 
-        when(modelMapper.map(gstInputDto, Gst.class)).thenReturn(gstObj);
+        when(gstMapper.toGst(gstInputDto)).thenReturn(gstObj);
         when(gstRepositoryI.save(gstObj)).thenReturn(gstObj);
-        when(modelMapper.map(gstObj, GstDto.class)).thenReturn(gstInputDto);
+        when(gstMapper.toGstDto(gstObj)).thenReturn(gstInputDto);
 
         GstDto savedGstDto = gstService.saveGst(gstInputDto);
 
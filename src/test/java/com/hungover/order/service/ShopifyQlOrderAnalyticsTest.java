@@ -0,0 +1,127 @@
+package com.hungover.order.service;
+
+import com.hungover.common.constant.ApplicationConstants;
+import com.hungover.shopify.client.ShopifyClient;
+import com.hungover.shopify.client.ShopifyResponse;
+import okhttp3.MediaType;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.net.HttpURLConnection;
+
+import static org.mockito.Mockito.anyString;
+import static org.mockito.Mockito.contains;
+import static org.mockito.Mockito.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ShopifyQlOrderAnalyticsTest {
+
+    private static final String SHOPIFY_GRAPH_QUERY_END_POINT =
+            "https://example.myshopify.com/admin/api/2023-07/graphql.json";
+    private static final String SHOPIFY_ACCESS_TOKEN = "your-access-token";
+    private static final String MONTHLY_SALES_RESPONSE = "{\"data\":{\"shopifyqlQuery\":{" +
+            "\"__typename\":\"TableResponse\",\"tableData\":{\"columns\":[" +
+            "{\"name\":\"month\",\"dataType\":\"MONTH_TIMESTAMP\"},{\"name\":\"orders\",\"dataType\":\"INTEGER\"}," +
+            "{\"name\":\"total_sales\",\"dataType\":\"MONEY\"}],\"rowData\":[" +
+            "[\"2023-01-01\",\"2\",\"1500.5\"],[\"2023-02-01\",\"0\",\"0.0\"],[\"2023-03-01\",\"1\",\"200\"]]}," +
+            "\"parseErrors\":[]}}}";
+    private static final String PARSE_ERROR_RESPONSE = "{\"data\":{\"shopifyqlQuery\":{" +
+            "\"__typename\":\"ParseErrorResponse\",\"parseErrors\":[{\"code\":\"SYNTAX_ERROR\"," +
+            "\"message\":\"Unexpected token\"}]}}}";
+
+    @InjectMocks
+    ShopifyQlOrderAnalytics shopifyQlOrderAnalytics;
+    @Mock
+    private ShopifyClient shopifyClient;
+
+    @BeforeEach
+    public void setUp() {
+        MockitoAnnotations.openMocks(this);
+        setPrivateField(shopifyQlOrderAnalytics, "shopifyGraphQueryEndPoint", SHOPIFY_GRAPH_QUERY_END_POINT);
+    }
+
+    private void setPrivateField(Object target, String fieldName, Object value) {
+        try {
+            Field field = target.getClass().getDeclaredField(fieldName);
+            field.setAccessible(true);
+            field.set(target, value);
+        } catch (NoSuchFieldException | IllegalAccessException e) {
+            e.printStackTrace();
+        }
+    }
+
+    private static ShopifyResponse getShopifyResponse(String json) {
+        return new ShopifyResponse(new Response.Builder()
+                .request(new Request.Builder().url(SHOPIFY_GRAPH_QUERY_END_POINT).build())
+                .protocol(Protocol.HTTP_1_1)
+                .code(HttpURLConnection.HTTP_OK)
+                .message("OK")
+                .body(ResponseBody.create(MediaType.get("application/json"), json))
+                .build());
+    }
+
+    @Test
+    @DisplayName("Should decode the monthly ShopifyQL sales table into order statistics")
+    void testGetSalesByMonth() throws IOException {
+        // Arrange
+        when(shopifyClient.postGraphQl(eq(SHOPIFY_GRAPH_QUERY_END_POINT), eq(SHOPIFY_ACCESS_TOKEN), anyString()))
+                .thenReturn(getShopifyResponse(MONTHLY_SALES_RESPONSE));
+
+        // Act
+        YearlyOrderStatistics yearlyOrderStatistics = shopifyQlOrderAnalytics.getSalesByMonth("2023", null,
+                SHOPIFY_ACCESS_TOKEN, OrderService.getCalendarMonthsList());
+
+        // Assert
+        Assertions.assertEquals(3, yearlyOrderStatistics.getPaidOrderCount());
+        Assertions.assertEquals(170050L, yearlyOrderStatistics.getPaidTotalCents());
+        Assertions.assertEquals(1500.5,
+                yearlyOrderStatistics.getOrderMonthMap().get(ApplicationConstants.CalendarMonths.JANUARY));
+        Assertions.assertEquals(1,
+                yearlyOrderStatistics.getMonthsBasedOrderMap().get(ApplicationConstants.CalendarMonths.MARCH));
+        verify(shopifyClient).postGraphQl(eq(SHOPIFY_GRAPH_QUERY_END_POINT), eq(SHOPIFY_ACCESS_TOKEN),
+                contains("GROUP BY month SINCE 2023-01-01 UNTIL today"));
+    }
+
+    @Test
+    @DisplayName("Should query a range by day using the plain dates of its bounds")
+    void testGetSalesByDay() throws IOException {
+        // Arrange
+        when(shopifyClient.postGraphQl(eq(SHOPIFY_GRAPH_QUERY_END_POINT), eq(SHOPIFY_ACCESS_TOKEN), anyString()))
+                .thenReturn(getShopifyResponse(MONTHLY_SALES_RESPONSE.replace("\"month\"", "\"day\"")));
+
+        // Act
+        YearlyOrderStatistics yearlyOrderStatistics = shopifyQlOrderAnalytics.getSalesByDay("2023-01-01",
+                "2023-03-31T23:59:59+05:30", SHOPIFY_ACCESS_TOKEN, OrderService.getCalendarMonthsList());
+
+        // Assert
+        Assertions.assertEquals(3, yearlyOrderStatistics.getPaidOrderCount());
+        verify(shopifyClient).postGraphQl(eq(SHOPIFY_GRAPH_QUERY_END_POINT), eq(SHOPIFY_ACCESS_TOKEN),
+                contains("GROUP BY day SINCE 2023-01-01 UNTIL 2023-03-31"));
+    }
+
+    @Test
+    @DisplayName("Should fail when Shopify rejects the ShopifyQL query")
+    void testGetSalesByMonth_ParseError() throws IOException {
+        // Arrange
+        when(shopifyClient.postGraphQl(eq(SHOPIFY_GRAPH_QUERY_END_POINT), eq(SHOPIFY_ACCESS_TOKEN), anyString()))
+                .thenReturn(getShopifyResponse(PARSE_ERROR_RESPONSE));
+
+        // Act & Assert
+        IOException ioException = Assertions.assertThrows(IOException.class,
+                () -> shopifyQlOrderAnalytics.getSalesByMonth("2023-01-01", null, SHOPIFY_ACCESS_TOKEN,
+                        OrderService.getCalendarMonthsList()));
+        Assertions.assertTrue(ioException.getMessage().contains("Unexpected token"));
+    }
+}
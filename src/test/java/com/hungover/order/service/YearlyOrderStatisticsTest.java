@@ -0,0 +1,57 @@
+package com.hungover.order.service;
+
+import com.hungover.common.constant.ApplicationConstants;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+class YearlyOrderStatisticsTest {
+
+    @Test
+    @DisplayName("Should aggregate count, revenue and month buckets in a single pass")
+    void testAddPaidOrder() {
+        // Arrange
+        YearlyOrderStatistics yearlyOrderStatistics = new YearlyOrderStatistics(OrderService.getCalendarMonthsList());
+
+        // Act
+        yearlyOrderStatistics.addPaidOrder("2023-08-18T11:03:06+05:30", "0.10");
+        yearlyOrderStatistics.addPaidOrder("2023-08-17T12:59:10+05:30", "0.20");
+        yearlyOrderStatistics.addPaidOrder("2023-12-31T23:59:59+05:30", "1500");
+
+        // Assert
+        Map<String, Double> orderMonthMap = yearlyOrderStatistics.getOrderMonthMap();
+        Map<String, Integer> monthsBasedOrderMap = yearlyOrderStatistics.getMonthsBasedOrderMap();
+        Assertions.assertEquals(3, yearlyOrderStatistics.getPaidOrderCount());
+        Assertions.assertEquals(150030L, yearlyOrderStatistics.getPaidTotalCents());
+        Assertions.assertEquals(1500.3, yearlyOrderStatistics.getPaidTotalPrice());
+        Assertions.assertEquals(0.3, orderMonthMap.get(ApplicationConstants.CalendarMonths.AUGUST));
+        Assertions.assertEquals(2, monthsBasedOrderMap.get(ApplicationConstants.CalendarMonths.AUGUST));
+        Assertions.assertEquals(1500.0, orderMonthMap.get(ApplicationConstants.CalendarMonths.DECEMBER));
+        Assertions.assertEquals(0.0, orderMonthMap.get(ApplicationConstants.CalendarMonths.JANUARY));
+        Assertions.assertEquals(12, monthsBasedOrderMap.size());
+    }
+
+    @Test
+    @DisplayName("Should convert decimal amounts to cents exactly")
+    void testParseCents() {
+        Assertions.assertEquals(150000L, YearlyOrderStatistics.parseCents("1500"));
+        Assertions.assertEquals(150050L, YearlyOrderStatistics.parseCents("1500.5"));
+        Assertions.assertEquals(150099L, YearlyOrderStatistics.parseCents("1500.99"));
+        Assertions.assertEquals(1235L, YearlyOrderStatistics.parseCents("12.345"));
+        Assertions.assertEquals(1234L, YearlyOrderStatistics.parseCents("12.3449"));
+        Assertions.assertEquals(-1235L, YearlyOrderStatistics.parseCents("-12.345"));
+        Assertions.assertThrows(NumberFormatException.class, () -> YearlyOrderStatistics.parseCents("12,50"));
+        Assertions.assertThrows(NumberFormatException.class, () -> YearlyOrderStatistics.parseCents(""));
+    }
+
+    @Test
+    @DisplayName("Should read the month of an ISO-8601 date")
+    void testParseMonth() {
+        Assertions.assertEquals(1, YearlyOrderStatistics.parseMonth("2023-01-01"));
+        Assertions.assertEquals(12, YearlyOrderStatistics.parseMonth("2023-12-31T23:59:59+05:30"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> YearlyOrderStatistics.parseMonth("2023-13-01"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> YearlyOrderStatistics.parseMonth("18/08/2023"));
+    }
+}
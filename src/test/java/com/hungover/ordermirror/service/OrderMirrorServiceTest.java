@@ -0,0 +1,151 @@
+package com.hungover.ordermirror.service;
+
+import com.hungover.common.constant.ApplicationConstants;
+import com.hungover.order.service.YearlyOrderStatistics;
+import com.hungover.ordermirror.domain.OrderDailyRollup;
+import com.hungover.ordermirror.domain.ShopifySyncState;
+import com.hungover.ordermirror.repository.MirroredOrderRepositoryI;
+import com.hungover.ordermirror.repository.OrderDailyRollupRepositoryI;
+import com.hungover.ordermirror.repository.ShopifySyncStateRepositoryI;
+import com.hungover.product.service.ProductSalesMap;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.lang.reflect.Field;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class OrderMirrorServiceTest {
+
+    private static final List<String> CALENDAR_MONTHS = List.of(ApplicationConstants.CalendarMonths.JANUARY,
+            ApplicationConstants.CalendarMonths.FEBRUARY, ApplicationConstants.CalendarMonths.MARCH,
+            ApplicationConstants.CalendarMonths.APRIL, ApplicationConstants.CalendarMonths.MAY,
+            ApplicationConstants.CalendarMonths.JUNE, ApplicationConstants.CalendarMonths.JULY,
+            ApplicationConstants.CalendarMonths.AUGUST, ApplicationConstants.CalendarMonths.SEPTEMBER,
+            ApplicationConstants.CalendarMonths.OCTOBER, ApplicationConstants.CalendarMonths.NOVEMBER,
+            ApplicationConstants.CalendarMonths.DECEMBER);
+
+    @InjectMocks
+    OrderMirrorService orderMirrorService;
+    @Mock
+    private MirroredOrderRepositoryI mirroredOrderRepository;
+    @Mock
+    private OrderDailyRollupRepositoryI orderDailyRollupRepository;
+    @Mock
+    private ShopifySyncStateRepositoryI shopifySyncStateRepository;
+    @Mock
+    private ProductSalesCube productSalesCube;
+
+    @BeforeEach
+    public void setUp() {
+        MockitoAnnotations.openMocks(this);
+        setPrivateField(orderMirrorService, "orderMirrorEnabled", true);
+        setPrivateField(orderMirrorService, "shopifyShopTimeZone", "Asia/Kolkata");
+    }
+
+    private void setPrivateField(Object target, String fieldName, Object value) {
+        try {
+            Field field = target.getClass().getDeclaredField(fieldName);
+            field.setAccessible(true);
+            field.set(target, value);
+        } catch (NoSuchFieldException | IllegalAccessException e) {
+            e.printStackTrace();
+        }
+    }
+
+    @Test
+    @DisplayName("Should only report the mirror ready once the backfill has completed")
+    void testIsReady() {
+        // Arrange
+        ShopifySyncState shopifySyncState = new ShopifySyncState();
+        when(shopifySyncStateRepository.findById(OrderMirrorSyncService.ORDERS_SYNC_NAME))
+                .thenReturn(Optional.of(shopifySyncState));
+
+        // Act & Assert
+        Assertions.assertFalse(orderMirrorService.isReady());
+        shopifySyncState.setBackfillCompleted(true);
+        Assertions.assertTrue(orderMirrorService.isReady());
+        setPrivateField(orderMirrorService, "orderMirrorEnabled", false);
+        Assertions.assertFalse(orderMirrorService.isReady());
+    }
+
+    @Test
+    @DisplayName("Should aggregate paid orders by calendar month from the daily rollups")
+    void testGetPaidOrderStatistics() {
+        // Arrange
+        when(orderDailyRollupRepository.findByRollupDateGreaterThanEqualAndRollupDateLessThanOrderByRollupDate(
+                LocalDate.parse("2023-01-01"), LocalDate.parse("2024-01-01")))
+                .thenReturn(List.of(getOrderDailyRollup("2023-01-31", 1, 10050L, 0, 1),
+                        getOrderDailyRollup("2023-02-10", 2, 20000L, 1, 0)));
+
+        // Act
+        YearlyOrderStatistics yearlyOrderStatistics = orderMirrorService.getPaidOrderStatistics("2023-01-01",
+                "2024-01-01T00:00:00+05:30", CALENDAR_MONTHS);
+
+        // Assert
+        Assertions.assertEquals(3, yearlyOrderStatistics.getPaidOrderCount());
+        Assertions.assertEquals(300.5, yearlyOrderStatistics.getPaidTotalPrice());
+        Assertions.assertEquals(1,
+                yearlyOrderStatistics.getMonthsBasedOrderMap().get(ApplicationConstants.CalendarMonths.JANUARY));
+        Assertions.assertEquals(2,
+                yearlyOrderStatistics.getMonthsBasedOrderMap().get(ApplicationConstants.CalendarMonths.FEBRUARY));
+    }
+
+    @Test
+    @DisplayName("Should count mirrored orders within the exact processed_at bounds of the range")
+    void testCountOrders() {
+        // Arrange
+        Instant processedAtMin = Instant.parse("2023-07-31T18:30:00Z");
+        Instant processedAtMax = Instant.parse("2023-08-31T06:30:00Z");
+        when(mirroredOrderRepository.countByProcessedAtBetweenAndCancelledAtIsNullAndFulfillmentStatus(
+                processedAtMin, processedAtMax, ApplicationConstants.Orders.ORDER_FULFILLED_STATUS)).thenReturn(4L);
+        when(mirroredOrderRepository.countByProcessedAtBetweenAndCancelledAtIsNullAndFinancialStatusIn(
+                processedAtMin, processedAtMax, List.of(ApplicationConstants.Orders.ORDER_PAID_STATUS,
+                        ApplicationConstants.Orders.ORDER_PENDING_STATUS))).thenReturn(8L);
+
+        // Act & Assert
+        Assertions.assertEquals(4, orderMirrorService.countFulfilledOrders("2023-08-01",
+                "2023-08-31T12:00:00+05:30"));
+        Assertions.assertEquals(8, orderMirrorService.countPaidOrPendingOrders("2023-08-01",
+                "2023-08-31T12:00:00+05:30"));
+    }
+
+    private OrderDailyRollup getOrderDailyRollup(String rollupDate, int paidOrderCount, long paidRevenueMinor,
+                                                 int pendingOrderCount, int fulfilledOrderCount) {
+        OrderDailyRollup orderDailyRollup = new OrderDailyRollup();
+        orderDailyRollup.setRollupDate(LocalDate.parse(rollupDate));
+        orderDailyRollup.setPaidOrderCount(paidOrderCount);
+        orderDailyRollup.setPaidRevenueMinor(paidRevenueMinor);
+        orderDailyRollup.setPendingOrderCount(pendingOrderCount);
+        orderDailyRollup.setFulfilledOrderCount(fulfilledOrderCount);
+        return orderDailyRollup;
+    }
+
+    @Test
+    @DisplayName("Should merge the product sales of the whole shop days of a range")
+    void testGetProductSales() {
+        // Arrange
+        ProductSalesMap productSalesMap = new ProductSalesMap();
+        productSalesMap.add(8017100177637L, 3);
+        when(productSalesCube.getProductSales(LocalDate.parse("2023-01-01"), LocalDate.parse("2023-02-01")))
+                .thenReturn(productSalesMap);
+
+        // Act
+        ProductSalesMap productSales = orderMirrorService.getProductSales("2023-01-01T00:00:00+05:30",
+                "2023-01-31T23:59:59");
+
+        // Assert
+        Assertions.assertSame(productSalesMap, productSales);
+        verify(productSalesCube).getProductSales(LocalDate.parse("2023-01-01"), LocalDate.parse("2023-02-01"));
+    }
+}
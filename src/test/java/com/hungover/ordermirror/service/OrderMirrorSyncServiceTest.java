@@ -0,0 +1,215 @@
+package com.hungover.ordermirror.service;
+
+import com.hungover.ordermirror.domain.MirroredOrder;
+import com.hungover.ordermirror.domain.ShopifySyncState;
+import com.hungover.ordermirror.repository.ShopifySyncStateRepositoryI;
+import com.hungover.shopify.client.ShopifyClient;
+import com.hungover.shopify.client.ShopifyPagePipeline;
+import com.hungover.shopify.client.ShopifyResponse;
+import okhttp3.MediaType;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.math.BigDecimal;
+import java.net.HttpURLConnection;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.anyString;
+import static org.mockito.Mockito.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class OrderMirrorSyncServiceTest {
+
+    private static final String SHOPIFY_ENDPOINT = "https://example.myshopify.com/admin/api/2022-07/orders.json";
+    private static final String SHOPIFY_ACCESS_TOKEN = "your-access-token";
+    private static final String ORDERS_PAGE = "{\"orders\":[" +
+            "{\"id\":1001,\"order_number\":1001,\"created_at\":\"2023-08-01T10:00:00+05:30\"," +
+            "\"processed_at\":\"2023-08-01T10:00:00+05:30\",\"updated_at\":\"2023-08-02T09:00:00+05:30\"," +
+            "\"cancelled_at\":null,\"financial_status\":\"paid\",\"fulfillment_status\":null," +
+            "\"current_total_price\":\"1499.00\",\"total_price\":\"1599.00\",\"currency\":\"INR\"," +
+            "\"customer\":{\"id\":501,\"first_name\":\"John\",\"last_name\":\"Doe\",\"email\":\"john@doe.com\"}," +
+            "\"line_items\":[{\"id\":9001,\"product_id\":701,\"variant_id\":801,\"title\":\"Tee\",\"quantity\":2," +
+            "\"price\":\"749.50\"},{\"id\":9002,\"product_id\":null,\"variant_id\":null,\"title\":\"Tip\"," +
+            "\"quantity\":1,\"price\":\"100.00\"}],\"shipping_lines\":[{\"code\":\"Standard\"}]}," +
+            "{\"id\":1002,\"order_number\":1002,\"created_at\":\"2023-08-03T10:00:00+05:30\"," +
+            "\"processed_at\":\"2023-08-03T10:00:00+05:30\",\"updated_at\":\"2023-08-03T11:00:00+05:30\"," +
+            "\"cancelled_at\":\"2023-08-03T11:00:00+05:30\",\"financial_status\":\"refunded\"," +
+            "\"fulfillment_status\":null,\"current_total_price\":\"0.00\",\"total_price\":\"999.00\"," +
+            "\"currency\":\"INR\",\"customer\":null,\"line_items\":[],\"shipping_lines\":[]}]}";
+
+    @InjectMocks
+    OrderMirrorSyncService orderMirrorSyncService;
+    @Mock
+    private ShopifyClient shopifyClient;
+    @Spy
+    private ShopifyPagePipeline shopifyPagePipeline = new ShopifyPagePipeline(ForkJoinPool.commonPool(), 2);
+    @Mock
+    private ShopifySyncStateRepositoryI shopifySyncStateRepository;
+    @Mock
+    private OrderRollupService orderRollupService;
+
+    @BeforeEach
+    public void setUp() {
+        MockitoAnnotations.openMocks(this);
+        setPrivateField(orderMirrorSyncService, "shopifyEndpoint", SHOPIFY_ENDPOINT);
+        setPrivateField(orderMirrorSyncService, "shopifyAccessToken", SHOPIFY_ACCESS_TOKEN);
+        setPrivateField(orderMirrorSyncService, "orderMirrorOverlapSeconds", 300L);
+    }
+
+    private void setPrivateField(Object target, String fieldName, Object value) {
+        try {
+            Field field = target.getClass().getDeclaredField(fieldName);
+            field.setAccessible(true);
+            field.set(target, value);
+        } catch (NoSuchFieldException | IllegalAccessException e) {
+            e.printStackTrace();
+        }
+    }
+
+    @Test
+    @DisplayName("Should backfill every order and record the latest updated_at as the watermark")
+    @SuppressWarnings("unchecked")
+    void testSynchronizeOrders_Backfill() throws IOException {
+        // Arrange
+        when(shopifySyncStateRepository.findById(OrderMirrorSyncService.ORDERS_SYNC_NAME))
+                .thenReturn(Optional.empty());
+        when(shopifyClient.get(anyString(), eq(SHOPIFY_ACCESS_TOKEN)))
+                .thenAnswer(invocation -> getShopifyResponse(ORDERS_PAGE));
+        ArgumentCaptor<List<MirroredOrder>> mirroredOrdersCaptor = ArgumentCaptor.forClass(List.class);
+        ArgumentCaptor<ShopifySyncState> shopifySyncStateCaptor = ArgumentCaptor.forClass(ShopifySyncState.class);
+
+        // Act
+        int orderCount = orderMirrorSyncService.synchronizeOrders();
+
+        // Assert
+        Assertions.assertEquals(2, orderCount);
+        verify(shopifyClient).get(SHOPIFY_ENDPOINT + "?status=any&limit=250&order=updated_at%20asc",
+                SHOPIFY_ACCESS_TOKEN);
+        verify(orderRollupService).saveOrders(mirroredOrdersCaptor.capture());
+        List<MirroredOrder> mirroredOrders = mirroredOrdersCaptor.getValue();
+        MirroredOrder paidOrder = mirroredOrders.get(0);
+        Assertions.assertEquals(1001L, paidOrder.getOrderId());
+        Assertions.assertEquals(Instant.parse("2023-08-01T04:30:00Z"), paidOrder.getProcessedAt());
+        Assertions.assertEquals(new BigDecimal("1499.00"), paidOrder.getCurrentTotalPrice());
+        Assertions.assertEquals(501L, paidOrder.getCustomerId());
+        Assertions.assertEquals("John Doe", paidOrder.getCustomerName());
+        Assertions.assertEquals("Standard", paidOrder.getShippingCode());
+        Assertions.assertEquals(3, paidOrder.getTotalQuantity());
+        Assertions.assertEquals(2, paidOrder.getLineItems().size());
+        Assertions.assertNull(paidOrder.getLineItems().get(1).getProductId());
+        Assertions.assertSame(paidOrder, paidOrder.getLineItems().get(0).getOrder());
+        Assertions.assertEquals(Instant.parse("2023-08-03T05:30:00Z"), mirroredOrders.get(1).getCancelledAt());
+        verify(shopifySyncStateRepository, times(2)).save(shopifySyncStateCaptor.capture());
+        ShopifySyncState shopifySyncState = shopifySyncStateCaptor.getValue();
+        Assertions.assertEquals(Instant.parse("2023-08-03T05:30:00Z"), shopifySyncState.getWatermark());
+        Assertions.assertTrue(shopifySyncState.isBackfillCompleted());
+    }
+
+    @Test
+    @DisplayName("Should only ask Shopify for orders updated since the watermark minus the overlap")
+    void testSynchronizeOrders_Incremental() throws IOException {
+        // Arrange
+        ShopifySyncState shopifySyncState = new ShopifySyncState();
+        shopifySyncState.setSyncName(OrderMirrorSyncService.ORDERS_SYNC_NAME);
+        shopifySyncState.setWatermark(Instant.parse("2023-08-10T00:00:00Z"));
+        shopifySyncState.setBackfillCompleted(true);
+        when(shopifySyncStateRepository.findById(OrderMirrorSyncService.ORDERS_SYNC_NAME))
+                .thenReturn(Optional.of(shopifySyncState));
+        when(shopifyClient.get(anyString(), eq(SHOPIFY_ACCESS_TOKEN)))
+                .thenAnswer(invocation -> getShopifyResponse(ORDERS_PAGE));
+
+        // Act
+        orderMirrorSyncService.synchronizeOrders();
+
+        // Assert
+        verify(shopifyClient).get(SHOPIFY_ENDPOINT + "?status=any&limit=250&order=updated_at%20asc" +
+                "&updated_at_min=2023-08-09T23:55:00Z", SHOPIFY_ACCESS_TOKEN);
+        Assertions.assertEquals(Instant.parse("2023-08-10T00:00:00Z"), shopifySyncState.getWatermark());
+    }
+
+    @Test
+    @DisplayName("Should not call Shopify while the order mirror is disabled")
+    void testSyncOrders_Disabled() throws IOException {
+        // Act
+        orderMirrorSyncService.syncOrders();
+
+        // Assert
+        verify(shopifyClient, times(0)).get(anyString(), anyString());
+        verify(orderRollupService, times(0)).saveOrders(any());
+    }
+
+    @Test
+    @DisplayName("Should hand every webhook order to the guarded upsert and report how many it wrote")
+    @SuppressWarnings("unchecked")
+    void testMirrorOrders() throws IOException {
+        // Arrange
+        when(orderRollupService.saveOrders(any())).thenReturn(1);
+        ArgumentCaptor<Collection<MirroredOrder>> mirroredOrdersCaptor = ArgumentCaptor.forClass(Collection.class);
+
+        // Act
+        int orderCount = orderMirrorSyncService.mirrorOrders(List.of(
+                "{\"id\":1001,\"updated_at\":\"2023-08-02T09:00:00+05:30\"}",
+                "{\"id\":1001,\"updated_at\":\"2023-08-01T09:00:00+05:30\"}",
+                "{\"id\":1002,\"updated_at\":\"2023-08-03T11:00:00+05:30\"}"));
+
+        // Assert
+        Assertions.assertEquals(1, orderCount);
+        verify(orderRollupService).saveOrders(mirroredOrdersCaptor.capture());
+        MirroredOrder firstOrder = mirroredOrdersCaptor.getValue().iterator().next();
+        Assertions.assertEquals(3, mirroredOrdersCaptor.getValue().size());
+        Assertions.assertEquals(1001L, firstOrder.getOrderId());
+        Assertions.assertEquals(Instant.parse("2023-08-02T03:30:00Z"), firstOrder.getUpdatedAt());
+    }
+
+    @Test
+    @DisplayName("Should skip malformed webhook orders and still write the valid ones")
+    @SuppressWarnings("unchecked")
+    void testMirrorOrders_MalformedPayload() {
+        // Arrange
+        when(orderRollupService.saveOrders(any())).thenReturn(1);
+        ArgumentCaptor<Collection<MirroredOrder>> mirroredOrdersCaptor = ArgumentCaptor.forClass(Collection.class);
+
+        // Act
+        int orderCount = orderMirrorSyncService.mirrorOrders(List.of(
+                "{\"id\":1001,\"updated_at\":\"2023-08-02T09:00:00+05:30\"}",
+                "{\"id\":1002,\"updated_at\":\"not a date\"}",
+                "[\"not an order\"]",
+                "{\"updated_at\":\"2023-08-03T11:00:00+05:30\"}"));
+
+        // Assert
+        Assertions.assertEquals(1, orderCount);
+        verify(orderRollupService).saveOrders(mirroredOrdersCaptor.capture());
+        Assertions.assertEquals(1, mirroredOrdersCaptor.getValue().size());
+        Assertions.assertEquals(1001L, mirroredOrdersCaptor.getValue().iterator().next().getOrderId());
+    }
+
+    private static ShopifyResponse getShopifyResponse(String json) {
+        return new ShopifyResponse(new Response.Builder()
+                .request(new Request.Builder().url(SHOPIFY_ENDPOINT).build())
+                .protocol(Protocol.HTTP_1_1)
+                .code(HttpURLConnection.HTTP_OK)
+                .message("OK")
+                .body(ResponseBody.create(MediaType.get("application/json"), json))
+                .build());
+    }
+}
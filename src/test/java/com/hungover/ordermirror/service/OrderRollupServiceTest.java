@@ -0,0 +1,242 @@
+package com.hungover.ordermirror.service;
+
+import com.hungover.ordermirror.domain.MirroredOrder;
+import com.hungover.ordermirror.domain.MirroredOrderLineItem;
+import com.hungover.ordermirror.repository.MirroredOrderRepositoryI;
+import com.hungover.ordermirror.repository.OrderDailyRollupRepositoryI;
+import com.hungover.ordermirror.repository.ProductDailySalesRepositoryI;
+import com.hungover.product.service.ProductSalesMap;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.lang.reflect.Field;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.anyInt;
+import static org.mockito.Mockito.anyLong;
+import static org.mockito.Mockito.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class OrderRollupServiceTest {
+
+    private static final String SHOP_TIME_ZONE = "Asia/Kolkata";
+
+    @InjectMocks
+    OrderRollupService orderRollupService;
+    @Mock
+    private MirroredOrderRepositoryI mirroredOrderRepository;
+    @Mock
+    private OrderDailyRollupRepositoryI orderDailyRollupRepository;
+    @Mock
+    private ProductDailySalesRepositoryI productDailySalesRepository;
+    @Mock
+    private ProductSalesCube productSalesCube;
+
+    @BeforeEach
+    public void setUp() {
+        MockitoAnnotations.openMocks(this);
+        setPrivateField(orderRollupService, "shopifyShopTimeZone", SHOP_TIME_ZONE);
+    }
+
+    private void setPrivateField(Object target, String fieldName, Object value) {
+        try {
+            Field field = target.getClass().getDeclaredField(fieldName);
+            field.setAccessible(true);
+            field.set(target, value);
+        } catch (NoSuchFieldException | IllegalAccessException e) {
+            e.printStackTrace();
+        }
+    }
+
+    @Test
+    @DisplayName("Should add a new paid order to the rollup of its processed day in the shop time zone")
+    void testSaveOrders_NewPaidOrder() {
+        // Arrange
+        MirroredOrder mirroredOrder = getMirroredOrder(1001L, "2023-07-31T20:00:00Z", "paid", "fulfilled",
+                "1499.50");
+        when(mirroredOrderRepository.findAllByIdForUpdate(List.of(1001L))).thenReturn(List.of());
+
+        // Act
+        orderRollupService.saveOrders(List.of(mirroredOrder));
+
+        // Assert
+        verify(mirroredOrderRepository).saveAll(List.of(mirroredOrder));
+        verify(orderDailyRollupRepository).addToRollup(LocalDate.parse("2023-08-01"), 1, 149950L, 0, 1);
+    }
+
+    @Test
+    @DisplayName("Should take back the paid contribution of an order that has been refunded")
+    void testSaveOrders_PaidOrderRefunded() {
+        // Arrange
+        MirroredOrder storedOrder = getMirroredOrder(1001L, "2023-08-01T10:00:00Z", "paid", null, "1499.00");
+        MirroredOrder refundedOrder = getMirroredOrder(1001L, "2023-08-01T10:00:00Z", "refunded", null, "0.00");
+        when(mirroredOrderRepository.findAllByIdForUpdate(List.of(1001L))).thenReturn(List.of(storedOrder));
+
+        // Act
+        orderRollupService.saveOrders(List.of(refundedOrder));
+
+        // Assert
+        verify(orderDailyRollupRepository).addToRollup(LocalDate.parse("2023-08-01"), -1, -149900L, 0, 0);
+    }
+
+    @Test
+    @DisplayName("Should leave the rollups untouched for cancelled and unchanged orders")
+    void testSaveOrders_NoContributionChange() {
+        // Arrange
+        MirroredOrder cancelledOrder = getMirroredOrder(1002L, "2023-08-03T10:00:00Z", "paid", null, "999.00");
+        cancelledOrder.setCancelledAt(Instant.parse("2023-08-03T11:00:00Z"));
+        MirroredOrder storedOrder = getMirroredOrder(1003L, "2023-08-04T10:00:00Z", "pending", null, "499.00");
+        MirroredOrder unchangedOrder = getMirroredOrder(1003L, "2023-08-04T10:00:00Z", "pending", null, "499.00");
+        when(mirroredOrderRepository.findAllByIdForUpdate(List.of(1002L, 1003L))).thenReturn(List.of(storedOrder));
+
+        // Act
+        orderRollupService.saveOrders(List.of(cancelledOrder, unchangedOrder));
+
+        // Assert
+        verify(mirroredOrderRepository).saveAll(List.of(cancelledOrder, unchangedOrder));
+        verify(orderDailyRollupRepository, never()).addToRollup(any(LocalDate.class), anyInt(), anyLong(),
+                anyInt(), anyInt());
+        verify(productDailySalesRepository, never()).addToSales(any(LocalDate.class), anyLong(), anyInt());
+        verify(productSalesCube, never()).applyChanges(any());
+    }
+
+    @Test
+    @DisplayName("Should move the product sales of an edited order to its new line items")
+    @SuppressWarnings("unchecked")
+    void testSaveOrders_ProductSalesChanged() {
+        // Arrange
+        MirroredOrder storedOrder = getMirroredOrder(1004L, "2023-07-31T20:00:00Z", "paid", null, "999.00");
+        storedOrder.addLineItem(getLineItem(11L, 8017100177637L, 2));
+        storedOrder.addLineItem(getLineItem(12L, 8017100177639L, 1));
+        MirroredOrder editedOrder = getMirroredOrder(1004L, "2023-07-31T20:00:00Z", "paid", null, "999.00");
+        editedOrder.addLineItem(getLineItem(11L, 8017100177637L, 3));
+        editedOrder.addLineItem(getLineItem(12L, 8017100177639L, 1));
+        when(mirroredOrderRepository.findAllByIdForUpdate(List.of(1004L))).thenReturn(List.of(storedOrder));
+        ArgumentCaptor<Map<LocalDate, ProductSalesMap>> salesDeltasCaptor = ArgumentCaptor.forClass(Map.class);
+
+        // Act
+        orderRollupService.saveOrders(List.of(editedOrder));
+
+        // Assert
+        verify(productDailySalesRepository).addToSales(LocalDate.parse("2023-08-01"), 8017100177637L, 1);
+        verify(productDailySalesRepository, never()).addToSales(any(LocalDate.class), eq(8017100177639L),
+                anyInt());
+        InOrder cubeOrder = inOrder(productSalesCube);
+        cubeOrder.verify(productSalesCube).beginChange();
+        cubeOrder.verify(productSalesCube).applyChanges(salesDeltasCaptor.capture());
+        cubeOrder.verify(productSalesCube).endChange();
+        ProductSalesMap salesDelta = salesDeltasCaptor.getValue().get(LocalDate.parse("2023-08-01"));
+        Assertions.assertEquals(1, salesDelta.get(8017100177637L));
+        Assertions.assertEquals(1, salesDelta.size());
+    }
+
+    @Test
+    @DisplayName("Should keep the latest version of each order and skip versions older than the mirrored copy")
+    void testSaveOrders_SkipsStaleVersions() {
+        // Arrange
+        MirroredOrder storedOrder = getMirroredOrder(1002L, "2023-08-03T10:00:00Z", "paid", null, "999.00");
+        storedOrder.setUpdatedAt(Instant.parse("2023-08-04T00:00:00Z"));
+        MirroredOrder staleOrder = getMirroredOrder(1002L, "2023-08-03T10:00:00Z", "refunded", null, "0.00");
+        staleOrder.setUpdatedAt(Instant.parse("2023-08-03T11:00:00Z"));
+        MirroredOrder latestOrder = getMirroredOrder(1001L, "2023-07-31T20:00:00Z", "paid", null, "1499.50");
+        latestOrder.setUpdatedAt(Instant.parse("2023-08-02T03:30:00Z"));
+        MirroredOrder earlierOrder = getMirroredOrder(1001L, "2023-07-31T20:00:00Z", "pending", null, "1499.50");
+        earlierOrder.setUpdatedAt(Instant.parse("2023-08-01T03:30:00Z"));
+        when(mirroredOrderRepository.findAllByIdForUpdate(List.of(1001L, 1002L))).thenReturn(List.of(storedOrder));
+
+        // Act
+        int orderCount = orderRollupService.saveOrders(List.of(latestOrder, staleOrder, earlierOrder));
+
+        // Assert
+        Assertions.assertEquals(1, orderCount);
+        verify(mirroredOrderRepository).saveAll(List.of(latestOrder));
+        verify(orderDailyRollupRepository).addToRollup(LocalDate.parse("2023-08-01"), 1, 149950L, 0, 0);
+        verify(orderDailyRollupRepository, never()).addToRollup(eq(LocalDate.parse("2023-08-03")), anyInt(),
+                anyLong(), anyInt(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Should insert a placeholder for an order not mirrored yet before locking its row")
+    void testSaveOrders_PlaceholderBeforeLock() {
+        // Arrange
+        MirroredOrder storedOrder = getMirroredOrder(1002L, "2023-08-03T10:00:00Z", "paid", null, "999.00");
+        MirroredOrder newOrder = getMirroredOrder(1001L, "2023-07-31T20:00:00Z", "paid", null, "1499.50");
+        MirroredOrder editedOrder = getMirroredOrder(1002L, "2023-08-03T10:00:00Z", "paid", null, "999.00");
+        MirroredOrder placeholderOrder = new MirroredOrder();
+        placeholderOrder.setOrderId(1001L);
+        when(mirroredOrderRepository.findMirroredOrderIds(List.of(1002L, 1001L))).thenReturn(List.of(1002L));
+        when(mirroredOrderRepository.insertPlaceholderIfAbsent(1001L)).thenReturn(1);
+        when(mirroredOrderRepository.findAllByIdForUpdate(List.of(1002L, 1001L)))
+                .thenReturn(List.of(placeholderOrder, storedOrder));
+
+        // Act
+        int orderCount = orderRollupService.saveOrders(List.of(editedOrder, newOrder));
+
+        // Assert
+        Assertions.assertEquals(2, orderCount);
+        InOrder writeOrder = inOrder(mirroredOrderRepository);
+        writeOrder.verify(mirroredOrderRepository).insertPlaceholderIfAbsent(1001L);
+        writeOrder.verify(mirroredOrderRepository).findAllByIdForUpdate(List.of(1002L, 1001L));
+        writeOrder.verify(mirroredOrderRepository).saveAll(List.of(editedOrder, newOrder));
+        verify(mirroredOrderRepository, never()).insertPlaceholderIfAbsent(1002L);
+        verify(orderDailyRollupRepository).addToRollup(LocalDate.parse("2023-08-01"), 1, 149950L, 0, 0);
+        verify(orderDailyRollupRepository, never()).addToRollup(eq(LocalDate.parse("2023-08-03")), anyInt(),
+                anyLong(), anyInt(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Should lock the row of a concurrent first write of the same order instead of inserting it again")
+    void testSaveOrders_ConcurrentFirstInsert() {
+        // Arrange
+        MirroredOrder concurrentOrder = getMirroredOrder(1001L, "2023-07-31T20:00:00Z", "paid", null, "1499.50");
+        concurrentOrder.setUpdatedAt(Instant.parse("2023-08-02T03:30:00Z"));
+        MirroredOrder earlierOrder = getMirroredOrder(1001L, "2023-07-31T20:00:00Z", "pending", null, "1499.50");
+        earlierOrder.setUpdatedAt(Instant.parse("2023-08-01T03:30:00Z"));
+        when(mirroredOrderRepository.findMirroredOrderIds(List.of(1001L))).thenReturn(List.of());
+        when(mirroredOrderRepository.insertPlaceholderIfAbsent(1001L)).thenReturn(0);
+        when(mirroredOrderRepository.findAllByIdForUpdate(List.of(1001L))).thenReturn(List.of(concurrentOrder));
+
+        // Act
+        int orderCount = orderRollupService.saveOrders(List.of(earlierOrder));
+
+        // Assert
+        Assertions.assertEquals(0, orderCount);
+        verify(mirroredOrderRepository).saveAll(List.of());
+        verify(orderDailyRollupRepository, never()).addToRollup(any(LocalDate.class), anyInt(), anyLong(),
+                anyInt(), anyInt());
+    }
+
+    private MirroredOrder getMirroredOrder(Long orderId, String processedAt, String financialStatus,
+                                           String fulfillmentStatus, String currentTotalPrice) {
+        MirroredOrder mirroredOrder = new MirroredOrder();
+        mirroredOrder.setOrderId(orderId);
+        mirroredOrder.setProcessedAt(Instant.parse(processedAt));
+        mirroredOrder.setFinancialStatus(financialStatus);
+        mirroredOrder.setFulfillmentStatus(fulfillmentStatus);
+        mirroredOrder.setCurrentTotalPrice(new BigDecimal(currentTotalPrice));
+        return mirroredOrder;
+    }
+
+    private MirroredOrderLineItem getLineItem(Long lineItemId, Long productId, Integer quantity) {
+        MirroredOrderLineItem mirroredOrderLineItem = new MirroredOrderLineItem();
+        mirroredOrderLineItem.setLineItemId(lineItemId);
+        mirroredOrderLineItem.setProductId(productId);
+        mirroredOrderLineItem.setQuantity(quantity);
+        return mirroredOrderLineItem;
+    }
+}
@@ -0,0 +1,135 @@
+package com.hungover.ordermirror.service;
+
+import com.hungover.ordermirror.domain.ProductDailySales;
+import com.hungover.ordermirror.repository.ProductDailySalesRepositoryI;
+import com.hungover.product.service.ProductSalesMap;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ProductSalesCubeTest {
+
+    private static final long FIRST_PRODUCT_ID = 8017100177637L;
+    private static final long SECOND_PRODUCT_ID = 8017100177639L;
+
+    @InjectMocks
+    ProductSalesCube productSalesCube;
+    @Mock
+    private ProductDailySalesRepositoryI productDailySalesRepository;
+
+    @BeforeEach
+    public void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(productDailySalesRepository.findAll()).thenReturn(List.of(
+                getProductDailySales("2023-08-01", FIRST_PRODUCT_ID, 2),
+                getProductDailySales("2023-08-02", FIRST_PRODUCT_ID, 3),
+                getProductDailySales("2023-08-02", SECOND_PRODUCT_ID, 4),
+                getProductDailySales("2023-08-05", SECOND_PRODUCT_ID, 1)));
+    }
+
+    @Test
+    @DisplayName("Should merge the day slices of a range, excluding its end day")
+    void testGetProductSales() {
+        // Act
+        ProductSalesMap productSales = productSalesCube.getProductSales(LocalDate.parse("2023-08-01"),
+                LocalDate.parse("2023-08-05"));
+        ProductSalesMap lastDaySales = productSalesCube.getProductSales(LocalDate.parse("2023-08-05"),
+                LocalDate.parse("2023-08-06"));
+
+        // Assert
+        Assertions.assertEquals(5, productSales.get(FIRST_PRODUCT_ID));
+        Assertions.assertEquals(4, productSales.get(SECOND_PRODUCT_ID));
+        Assertions.assertEquals(0, lastDaySales.get(FIRST_PRODUCT_ID));
+        Assertions.assertEquals(1, lastDaySales.get(SECOND_PRODUCT_ID));
+        verify(productDailySalesRepository, times(1)).findAll();
+    }
+
+    @Test
+    @DisplayName("Should apply committed changes to a loaded cube without reading the database again")
+    void testApplyChanges() {
+        // Arrange
+        productSalesCube.getProductSales(LocalDate.parse("2023-08-01"), LocalDate.parse("2023-08-02"));
+        ProductSalesMap salesDelta = new ProductSalesMap();
+        salesDelta.add(FIRST_PRODUCT_ID, -2);
+        salesDelta.add(SECOND_PRODUCT_ID, 6);
+
+        // Act
+        productSalesCube.applyChanges(Map.of(LocalDate.parse("2023-08-01"), salesDelta));
+        ProductSalesMap productSales = productSalesCube.getProductSales(LocalDate.parse("2023-08-01"),
+                LocalDate.parse("2023-08-02"));
+
+        // Assert
+        Assertions.assertEquals(0, productSales.get(FIRST_PRODUCT_ID));
+        Assertions.assertEquals(6, productSales.get(SECOND_PRODUCT_ID));
+        verify(productDailySalesRepository, times(1)).findAll();
+    }
+
+    @Test
+    @DisplayName("Should leave an unloaded cube unloaded on changes and reloads")
+    void testApplyChanges_NotLoaded() {
+        // Act
+        productSalesCube.applyChanges(Map.of(LocalDate.parse("2023-08-01"), new ProductSalesMap()));
+        productSalesCube.reload();
+        ProductSalesMap emptyRangeSales = productSalesCube.getProductSales(LocalDate.parse("2023-08-02"),
+                LocalDate.parse("2023-08-01"));
+
+        // Assert
+        Assertions.assertEquals(0, emptyRangeSales.size());
+        verify(productDailySalesRepository, never()).findAll();
+    }
+
+    @Test
+    @DisplayName("Should reload only once a committed change has been applied, counting it once")
+    void testReload_WaitsForChangeInFlight() throws Exception {
+        // Arrange
+        productSalesCube.getProductSales(LocalDate.parse("2023-08-01"), LocalDate.parse("2023-08-02"));
+        ProductSalesMap salesDelta = new ProductSalesMap();
+        salesDelta.add(FIRST_PRODUCT_ID, 3);
+        productSalesCube.beginChange();
+        when(productDailySalesRepository.findAll()).thenReturn(List.of(
+                getProductDailySales("2023-08-01", FIRST_PRODUCT_ID, 5)));
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+        try {
+            // Act
+            Future<?> reloadFuture = executorService.submit(() -> productSalesCube.reload());
+            verify(productDailySalesRepository, after(100L).times(1)).findAll();
+            productSalesCube.applyChanges(Map.of(LocalDate.parse("2023-08-01"), salesDelta));
+            productSalesCube.endChange();
+            reloadFuture.get(5, TimeUnit.SECONDS);
+        } finally {
+            executorService.shutdownNow();
+        }
+        ProductSalesMap productSales = productSalesCube.getProductSales(LocalDate.parse("2023-08-01"),
+                LocalDate.parse("2023-08-02"));
+
+        // Assert
+        Assertions.assertEquals(5, productSales.get(FIRST_PRODUCT_ID));
+        verify(productDailySalesRepository, times(2)).findAll();
+    }
+
+    private ProductDailySales getProductDailySales(String salesDate, long productId, int quantity) {
+        ProductDailySales productDailySales = new ProductDailySales();
+        productDailySales.setSalesDate(LocalDate.parse(salesDate));
+        productDailySales.setProductId(productId);
+        productDailySales.setQuantity(quantity);
+        return productDailySales;
+    }
+}
@@ -25,6 +25,7 @@ import java.util.List;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -71,16 +72,50 @@ class ProductControllerTest {
         singleDataResponse.setResponse(ApplicationConstants.Status.SUCCESS, "Top products fetched successfully", topProductsResponseDTO);
         ResponseEntity<SingleDataResponse> expectedSingleDataResponseResponseEntity = new ResponseEntity<>(singleDataResponse, HttpStatus.OK);
 
-        when(productApiResponseService.getTopProducts()).thenReturn(singleDataResponse);
+        when(productApiResponseService.getTopProducts(10)).thenReturn(singleDataResponse);
 
         when(messageSource.getMessage(anyString(), any(), any())).thenReturn("Top products fetched successfully");
 
-        ResponseEntity<SingleDataResponse> actualSingleDataResponseResponseEntity = productController.getTopProducts();
+        ResponseEntity<SingleDataResponse> actualSingleDataResponseResponseEntity = productController.getTopProducts(10);
 
-        verify(productApiResponseService).getTopProducts();
+        verify(productApiResponseService).getTopProducts(10);
         Assertions.assertEquals(expectedSingleDataResponseResponseEntity, actualSingleDataResponseResponseEntity);
     }
 
+    @Test
+    @DisplayName("Controller Test for Get Top Products Endpoint without a limit ranks every product")
+    void getTopProducts_WithoutLimit() {
+        // Arrange
+        SingleDataResponse singleDataResponse = new SingleDataResponse();
+        when(productApiResponseService.getTopProducts(Integer.MAX_VALUE)).thenReturn(singleDataResponse);
+
+        // Act
+        ResponseEntity<SingleDataResponse> actualSingleDataResponseResponseEntity =
+                productController.getTopProducts(null);
+
+        // Assert
+        Assertions.assertEquals(HttpStatus.OK, actualSingleDataResponseResponseEntity.getStatusCode());
+        Assertions.assertSame(singleDataResponse, actualSingleDataResponseResponseEntity.getBody());
+        verify(productApiResponseService).getTopProducts(Integer.MAX_VALUE);
+    }
+
+    @Test
+    @DisplayName("Controller Test for Get Top Products Endpoint raises a non-positive limit to one")
+    void getTopProducts_NonPositiveLimit() {
+        // Arrange
+        SingleDataResponse singleDataResponse = new SingleDataResponse();
+        when(productApiResponseService.getTopProducts(1)).thenReturn(singleDataResponse);
+
+        // Act
+        ResponseEntity<SingleDataResponse> zeroLimitResponseEntity = productController.getTopProducts(0);
+        ResponseEntity<SingleDataResponse> negativeLimitResponseEntity = productController.getTopProducts(-5);
+
+        // Assert
+        Assertions.assertSame(singleDataResponse, zeroLimitResponseEntity.getBody());
+        Assertions.assertSame(singleDataResponse, negativeLimitResponseEntity.getBody());
+        verify(productApiResponseService, times(2)).getTopProducts(1);
+    }
+
     @Test
     @DisplayName("Controller Test for Get Total Products Endpoint")
     void getTotalProducts() {
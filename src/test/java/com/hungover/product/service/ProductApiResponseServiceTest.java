@@ -29,6 +29,7 @@ import java.util.Locale;
 import java.util.Map;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.when;
@@ -118,11 +119,11 @@ class ProductApiResponseServiceTest {
 
         doNothing().when(productApiResponseServiceLogger).info(anyString());
 
-        when(productService.getTopProducts(anyString(), anyString(), anyString())).thenReturn(topProductsResponseDTO);
+        when(productService.getTopProducts(anyString(), anyString(), anyString(), anyInt())).thenReturn(topProductsResponseDTO);
         when(messageSource.getMessage(anyString(), any(), any(Locale.class))).thenReturn("Top products fetched successfully");
 
         // Act
-        SingleDataResponse singleDataResponse = productApiResponseService.getTopProducts();
+        SingleDataResponse singleDataResponse = productApiResponseService.getTopProducts(10);
 
         // Assert
         Assertions.assertNotNull(singleDataResponse);
@@ -134,11 +135,11 @@ class ProductApiResponseServiceTest {
     @Test
     @DisplayName("Test Get Top Products Fail")
     void testGetTopProducts_Fail() {
-        when(productService.getTopProducts(anyString(), anyString(), anyString())).thenReturn(null);
+        when(productService.getTopProducts(anyString(), anyString(), anyString(), anyInt())).thenReturn(null);
         when(messageSource.getMessage(anyString(), any(), any(Locale.class))).thenReturn("Top products details not able to fetch");
 
         // Act
-        SingleDataResponse singleDataResponse = productApiResponseService.getTopProducts();
+        SingleDataResponse singleDataResponse = productApiResponseService.getTopProducts(10);
 
         // Assert
         Assertions.assertNotNull(singleDataResponse);
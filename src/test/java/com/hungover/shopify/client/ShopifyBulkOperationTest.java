@@ -0,0 +1,124 @@
+package com.hungover.shopify.client;
+
+import com.hungover.common.constant.ApplicationConstants;
+import okhttp3.OkHttpClient;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+class ShopifyBulkOperationTest {
+
+    private static final String SHOPIFY_ACCESS_TOKEN = "shpat_test_token";
+    private static final String BULK_QUERY = "{ orders { edges { node { id } } } }";
+    private static final String RUN_QUERY_RESPONSE = "{\"data\":{\"bulkOperationRunQuery\":{\"bulkOperation\":" +
+            "{\"id\":\"gid://shopify/BulkOperation/1\",\"status\":\"CREATED\"},\"userErrors\":[]}}}";
+    private static final String RUNNING_RESPONSE = "{\"data\":{\"node\":{\"id\":\"gid://shopify/BulkOperation/1\"," +
+            "\"status\":\"RUNNING\",\"errorCode\":null,\"objectCount\":\"1\",\"url\":null}}}";
+    private static final String COMPLETED_RESPONSE = "{\"data\":{\"node\":{\"id\":\"gid://shopify/BulkOperation/1\"," +
+            "\"status\":\"COMPLETED\",\"errorCode\":null,\"objectCount\":\"2\",\"url\":\"%s\"}}}";
+    private static final String FAILED_RESPONSE = "{\"data\":{\"node\":{\"id\":\"gid://shopify/BulkOperation/1\"," +
+            "\"status\":\"FAILED\",\"errorCode\":\"INTERNAL_SERVER_ERROR\",\"objectCount\":\"0\",\"url\":null}}}";
+    private static final String RESULT_JSONL = "{\"id\":\"gid://shopify/Order/1\"}\n\n" +
+            "{\"id\":\"gid://shopify/Order/2\"}\n";
+
+    private MockWebServer mockWebServer;
+    private ShopifyBulkOperation shopifyBulkOperation;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        mockWebServer = new MockWebServer();
+        mockWebServer.start();
+        shopifyBulkOperation = new ShopifyBulkOperation(new ShopifyClient(new OkHttpClient()), 1, 5000);
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        mockWebServer.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should submit the bulk query, poll until completion and stream the JSONL result")
+    void testRun_StreamsResult() throws Exception {
+        // Arrange
+        String resultUrl = mockWebServer.url("/bulk/result.jsonl").toString();
+        mockWebServer.enqueue(new MockResponse().setBody(RUN_QUERY_RESPONSE));
+        mockWebServer.enqueue(new MockResponse().setBody(RUNNING_RESPONSE));
+        mockWebServer.enqueue(new MockResponse().setBody(String.format(COMPLETED_RESPONSE, resultUrl)));
+        mockWebServer.enqueue(new MockResponse().setBody(RESULT_JSONL));
+        String graphQlUrl = mockWebServer.url("/admin/api/2023-07/graphql.json").toString();
+        List<String> orderIds = new ArrayList<>();
+
+        // Act
+        String url = shopifyBulkOperation.run(graphQlUrl, SHOPIFY_ACCESS_TOKEN, BULK_QUERY);
+        long lineCount = shopifyBulkOperation.forEachLine(url, jsonReader -> {
+            jsonReader.beginObject();
+            jsonReader.nextName();
+            orderIds.add(jsonReader.nextString());
+            jsonReader.endObject();
+        });
+
+        // Assert
+        Assertions.assertEquals(resultUrl, url);
+        Assertions.assertEquals(2, lineCount);
+        Assertions.assertEquals(List.of("gid://shopify/Order/1", "gid://shopify/Order/2"), orderIds);
+        RecordedRequest runQueryRequest = mockWebServer.takeRequest();
+        Assertions.assertTrue(runQueryRequest.getBody().readUtf8().contains("bulkOperationRunQuery"));
+        Assertions.assertEquals(SHOPIFY_ACCESS_TOKEN,
+                runQueryRequest.getHeader(ApplicationConstants.ShopifyApiHeaders.SHOPIFY_ACCESS_TOKEN));
+        mockWebServer.takeRequest();
+        mockWebServer.takeRequest();
+        RecordedRequest downloadRequest = mockWebServer.takeRequest();
+        Assertions.assertNull(downloadRequest.getHeader(ApplicationConstants.ShopifyApiHeaders.SHOPIFY_ACCESS_TOKEN));
+    }
+
+    @Test
+    @DisplayName("Should return no URL when the bulk query matched no objects")
+    void testRun_NoResult() throws Exception {
+        // Arrange
+        mockWebServer.enqueue(new MockResponse().setBody(RUN_QUERY_RESPONSE));
+        mockWebServer.enqueue(new MockResponse().setBody(COMPLETED_RESPONSE.replace("\"%s\"", "null")));
+        String graphQlUrl = mockWebServer.url("/admin/api/2023-07/graphql.json").toString();
+
+        // Act & Assert
+        Assertions.assertNull(shopifyBulkOperation.run(graphQlUrl, SHOPIFY_ACCESS_TOKEN, BULK_QUERY));
+    }
+
+    @Test
+    @DisplayName("Should fail when the bulk operation fails on Shopify")
+    void testRun_Failed() {
+        // Arrange
+        mockWebServer.enqueue(new MockResponse().setBody(RUN_QUERY_RESPONSE));
+        mockWebServer.enqueue(new MockResponse().setBody(FAILED_RESPONSE));
+        String graphQlUrl = mockWebServer.url("/admin/api/2023-07/graphql.json").toString();
+
+        // Act & Assert
+        IOException ioException = Assertions.assertThrows(IOException.class,
+                () -> shopifyBulkOperation.run(graphQlUrl, SHOPIFY_ACCESS_TOKEN, BULK_QUERY));
+        Assertions.assertTrue(ioException.getMessage().contains("INTERNAL_SERVER_ERROR"));
+    }
+
+    @Test
+    @DisplayName("Should fail when Shopify rejects the bulk query")
+    void testRun_UserErrors() {
+        // Arrange
+        mockWebServer.enqueue(new MockResponse().setBody("{\"data\":{\"bulkOperationRunQuery\":" +
+                "{\"bulkOperation\":null,\"userErrors\":[{\"field\":[\"query\"]," +
+                "\"message\":\"A bulk query operation for this app and shop is already in progress\"}]}}}"));
+        String graphQlUrl = mockWebServer.url("/admin/api/2023-07/graphql.json").toString();
+
+        // Act & Assert
+        IOException ioException = Assertions.assertThrows(IOException.class,
+                () -> shopifyBulkOperation.run(graphQlUrl, SHOPIFY_ACCESS_TOKEN, BULK_QUERY));
+        Assertions.assertTrue(ioException.getMessage().contains("already in progress"));
+        Assertions.assertEquals(1, mockWebServer.getRequestCount());
+    }
+}
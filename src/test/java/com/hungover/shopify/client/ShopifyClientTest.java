@@ -0,0 +1,114 @@
+package com.hungover.shopify.client;
+
+import com.hungover.common.constant.ApplicationConstants;
+import okhttp3.OkHttpClient;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.HttpURLConnection;
+
+class ShopifyClientTest {
+
+    private static final String SHOPIFY_ACCESS_TOKEN = "shpat_test_token";
+
+    private MockWebServer mockWebServer;
+    private ShopifyClient shopifyClient;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        mockWebServer = new MockWebServer();
+        mockWebServer.start();
+        shopifyClient = new ShopifyClient(new OkHttpClient());
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        mockWebServer.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should send the access token and read the response body")
+    void testGet_Success() throws Exception {
+        // Arrange
+        mockWebServer.enqueue(new MockResponse().setResponseCode(HttpURLConnection.HTTP_OK)
+                .setBody("{\"orders\":[]}"));
+        String url = mockWebServer.url("/admin/api/2022-07/orders.json").toString();
+
+        // Act
+        try (ShopifyResponse shopifyResponse = shopifyClient.get(url, SHOPIFY_ACCESS_TOKEN)) {
+            // Assert
+            Assertions.assertTrue(shopifyResponse.isOk());
+            Assertions.assertEquals("{\"orders\":[]}", shopifyResponse.getBodyAsString());
+        }
+        RecordedRequest recordedRequest = mockWebServer.takeRequest();
+        Assertions.assertEquals(ApplicationConstants.ShopifyApiHeaders.GET_REQUEST_METHOD,
+                recordedRequest.getMethod());
+        Assertions.assertEquals(SHOPIFY_ACCESS_TOKEN,
+                recordedRequest.getHeader(ApplicationConstants.ShopifyApiHeaders.SHOPIFY_ACCESS_TOKEN));
+    }
+
+    @Test
+    @DisplayName("Should reuse the pooled connection for consecutive requests")
+    void testGet_ReusesConnection() throws Exception {
+        // Arrange
+        mockWebServer.enqueue(new MockResponse().setBody("{}"));
+        mockWebServer.enqueue(new MockResponse().setBody("{}"));
+        String url = mockWebServer.url("/admin/api/2022-07/products.json").toString();
+
+        // Act
+        try (ShopifyResponse shopifyResponse = shopifyClient.get(url, SHOPIFY_ACCESS_TOKEN)) {
+            shopifyResponse.getBodyAsString();
+        }
+        try (ShopifyResponse shopifyResponse = shopifyClient.get(url, SHOPIFY_ACCESS_TOKEN)) {
+            shopifyResponse.getBodyAsString();
+        }
+
+        // Assert
+        Assertions.assertEquals(0, mockWebServer.takeRequest().getSequenceNumber());
+        Assertions.assertEquals(1, mockWebServer.takeRequest().getSequenceNumber());
+    }
+
+    @Test
+    @DisplayName("Should extract the next page URL from the Link header")
+    void testGetNextPageUrl() throws Exception {
+        // Arrange
+        String nextPageUrl = "https://example.myshopify.com/admin/api/2022-07/orders.json?page_info=abc&limit=250";
+        mockWebServer.enqueue(new MockResponse().setBody("{}")
+                .setHeader(ApplicationConstants.ShopifyApiHeaders.LINK,
+                        "<https://example.myshopify.com/admin/api/2022-07/orders.json?page_info=xyz>; " +
+                                "rel=\"previous\", <" + nextPageUrl + ">; rel=\"next\""));
+        mockWebServer.enqueue(new MockResponse().setBody("{}"));
+        String url = mockWebServer.url("/admin/api/2022-07/orders.json").toString();
+
+        // Act & Assert
+        try (ShopifyResponse shopifyResponse = shopifyClient.get(url, SHOPIFY_ACCESS_TOKEN)) {
+            Assertions.assertEquals(nextPageUrl, shopifyResponse.getNextPageUrl());
+        }
+        try (ShopifyResponse shopifyResponse = shopifyClient.get(url, SHOPIFY_ACCESS_TOKEN)) {
+            Assertions.assertNull(shopifyResponse.getNextPageUrl());
+        }
+    }
+
+    @Test
+    @DisplayName("Should throw ShopifyApiException when reading the body of a failed response")
+    void testGetBody_NotSuccessful() throws Exception {
+        // Arrange
+        mockWebServer.enqueue(new MockResponse().setResponseCode(HttpURLConnection.HTTP_NOT_FOUND));
+        String url = mockWebServer.url("/admin/api/2023-07/variants/1.json").toString();
+
+        // Act & Assert
+        try (ShopifyResponse shopifyResponse = shopifyClient.get(url, SHOPIFY_ACCESS_TOKEN)) {
+            Assertions.assertFalse(shopifyResponse.isOk());
+            ShopifyApiException shopifyApiException = Assertions.assertThrows(ShopifyApiException.class,
+                    shopifyResponse::getBody);
+            Assertions.assertEquals(HttpURLConnection.HTTP_NOT_FOUND, shopifyApiException.getStatusCode());
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.hungover.shopify.client;
+
+import com.hungover.common.constant.ApplicationConstants;
+import okhttp3.OkHttpClient;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+class ShopifyPagePipelineTest {
+
+    private static final String SHOPIFY_ACCESS_TOKEN = "shpat_test_token";
+
+    private MockWebServer mockWebServer;
+    private ExecutorService shopifyIoExecutor;
+    private ShopifyClient shopifyClient;
+    private ShopifyPagePipeline shopifyPagePipeline;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        mockWebServer = new MockWebServer();
+        mockWebServer.start();
+        shopifyIoExecutor = Executors.newFixedThreadPool(2);
+        shopifyClient = new ShopifyClient(new OkHttpClient());
+        shopifyPagePipeline = new ShopifyPagePipeline(shopifyIoExecutor, 1);
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        shopifyIoExecutor.shutdownNow();
+        mockWebServer.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should hand every page to the consumer in order while following the next links")
+    void testForEachPage_FollowsNextLinks() throws Exception {
+        // Arrange
+        mockWebServer.enqueue(getPage("{\"page\":1}", "/orders.json?page_info=2"));
+        mockWebServer.enqueue(getPage("{\"page\":2}", "/orders.json?page_info=3"));
+        mockWebServer.enqueue(getPage("{\"page\":3}", null));
+        List<String> bodies = new ArrayList<>();
+
+        // Act
+        int pageCount = shopifyPagePipeline.forEachPage(shopifyClient,
+                mockWebServer.url("/orders.json?limit=250").toString(), SHOPIFY_ACCESS_TOKEN,
+                shopifyResponse -> bodies.add(shopifyResponse.getBodyAsString()));
+
+        // Assert
+        Assertions.assertEquals(3, pageCount);
+        Assertions.assertEquals(List.of("{\"page\":1}", "{\"page\":2}", "{\"page\":3}"), bodies);
+        Assertions.assertEquals(3, mockWebServer.getRequestCount());
+        Assertions.assertEquals("/orders.json?limit=250", mockWebServer.takeRequest().getPath());
+        Assertions.assertEquals("/orders.json?page_info=2", mockWebServer.takeRequest().getPath());
+        Assertions.assertEquals("/orders.json?page_info=3", mockWebServer.takeRequest().getPath());
+    }
+
+    @Test
+    @DisplayName("Should fail the pull when Shopify answers a later page with a client error")
+    void testForEachPage_FailsAtErrorPage() {
+        // Arrange
+        mockWebServer.enqueue(getPage("{\"page\":1}", "/orders.json?page_info=2"));
+        mockWebServer.enqueue(new MockResponse().setResponseCode(HttpURLConnection.HTTP_NOT_FOUND));
+        List<String> bodies = new ArrayList<>();
+
+        // Act & Assert
+        ShopifyApiException shopifyApiException = Assertions.assertThrows(ShopifyApiException.class,
+                () -> shopifyPagePipeline.forEachPage(shopifyClient, mockWebServer.url("/orders.json").toString(),
+                        SHOPIFY_ACCESS_TOKEN, shopifyResponse -> bodies.add(shopifyResponse.getBodyAsString())));
+        Assertions.assertEquals(HttpURLConnection.HTTP_NOT_FOUND, shopifyApiException.getStatusCode());
+        Assertions.assertTrue(shopifyApiException.getMessage().endsWith("/orders.json?page_info=2"));
+        Assertions.assertEquals(List.of("{\"page\":1}"), bodies);
+        Assertions.assertEquals(2, mockWebServer.getRequestCount());
+    }
+
+    @Test
+    @DisplayName("Should rethrow the error raised while fetching a page")
+    void testForEachPage_PropagatesFetchError() throws Exception {
+        // Arrange
+        ShopifyClient failingShopifyClient = Mockito.mock(ShopifyClient.class);
+        Mockito.when(failingShopifyClient.get(Mockito.anyString(), Mockito.anyString()))
+                .thenThrow(new ShopifyApiException("/orders.json", 429));
+
+        // Act & Assert
+        ShopifyApiException shopifyApiException = Assertions.assertThrows(ShopifyApiException.class,
+                () -> shopifyPagePipeline.forEachPage(failingShopifyClient, "/orders.json", SHOPIFY_ACCESS_TOKEN,
+                        shopifyResponse -> Assertions.fail("No page expected")));
+        Assertions.assertEquals(429, shopifyApiException.getStatusCode());
+    }
+
+    @Test
+    @DisplayName("Should stop fetching once the consumer fails")
+    void testForEachPage_ConsumerFailureCancelsProducer() {
+        // Arrange
+        for (int i = 1; i <= 5; i++) {
+            mockWebServer.enqueue(getPage("{\"page\":" + i + "}", "/orders.json?page_info=" + (i + 1)));
+        }
+
+        // Act & Assert
+        IOException ioException = Assertions.assertThrows(IOException.class,
+                () -> shopifyPagePipeline.forEachPage(shopifyClient, mockWebServer.url("/orders.json").toString(),
+                        SHOPIFY_ACCESS_TOKEN, shopifyResponse -> {
+                            throw new IOException("Malformed page");
+                        }));
+        Assertions.assertEquals("Malformed page", ioException.getMessage());
+        Assertions.assertTrue(mockWebServer.getRequestCount() < 5);
+    }
+
+    private MockResponse getPage(String body, String nextPath) {
+        MockResponse mockResponse = new MockResponse().setResponseCode(HttpURLConnection.HTTP_OK).setBody(body);
+        if (nextPath != null) {
+            mockResponse.setHeader(ApplicationConstants.ShopifyApiHeaders.LINK,
+                    "<" + mockWebServer.url(nextPath) + ">; rel=\"next\"");
+        }
+        return mockResponse;
+    }
+}
@@ -0,0 +1,228 @@
+package com.hungover.shopify.client;
+
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.HttpURLConnection;
+
+class ShopifyRateLimitInterceptorTest {
+
+    private static final String SHOPIFY_ACCESS_TOKEN = "shpat_test_token";
+    private static final String THROTTLED_RESPONSE = "{\"errors\":[{\"message\":\"Throttled\"," +
+            "\"extensions\":{\"code\":\"THROTTLED\"}}],\"extensions\":{\"cost\":{\"requestedQueryCost\":10," +
+            "\"actualQueryCost\":null,\"throttleStatus\":{\"maximumAvailable\":1000.0," +
+            "\"currentlyAvailable\":995,\"restoreRate\":1000.0}}}}";
+    private static final String GRAPHQL_RESPONSE = "{\"data\":{},\"extensions\":{\"cost\":{" +
+            "\"requestedQueryCost\":10,\"actualQueryCost\":8,\"throttleStatus\":{\"maximumAvailable\":1000.0," +
+            "\"currentlyAvailable\":600,\"restoreRate\":50.0}}}}";
+
+    private MockWebServer mockWebServer;
+    private ShopifyCallBudget restBudget;
+    private ShopifyCallBudget graphQlBudget;
+    private ShopifyClient shopifyClient;
+    private OkHttpClient okHttpClient;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        mockWebServer = new MockWebServer();
+        mockWebServer.start();
+        restBudget = new ShopifyCallBudget(40, 2, 1);
+        graphQlBudget = new ShopifyCallBudget(1000, 50, 50);
+        okHttpClient = new OkHttpClient.Builder()
+                .addInterceptor(new ShopifyRateLimitInterceptor(restBudget, graphQlBudget, 2, 1, 5, 1024 * 1024))
+                .build();
+        shopifyClient = new ShopifyClient(okHttpClient);
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        mockWebServer.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should retry a 429 response after Retry-After and return the successful response")
+    void testIntercept_RetriesTooManyRequests() throws Exception {
+        // Arrange
+        mockWebServer.enqueue(new MockResponse().setResponseCode(429).setHeader("Retry-After", "0.01"));
+        mockWebServer.enqueue(new MockResponse().setBody("{\"orders\":[]}")
+                .setHeader("X-Shopify-Shop-Api-Call-Limit", "12/40"));
+        String url = mockWebServer.url("/admin/api/2022-07/orders.json").toString();
+
+        // Act
+        try (ShopifyResponse shopifyResponse = shopifyClient.get(url, SHOPIFY_ACCESS_TOKEN)) {
+            // Assert
+            Assertions.assertTrue(shopifyResponse.isOk());
+            Assertions.assertEquals("{\"orders\":[]}", shopifyResponse.getBodyAsString());
+        }
+        Assertions.assertEquals(2, mockWebServer.getRequestCount());
+        Assertions.assertTrue(restBudget.getUsed() <= 12);
+    }
+
+    @Test
+    @DisplayName("Should retry server errors on GET requests")
+    void testIntercept_RetriesServerErrorOnGet() throws Exception {
+        // Arrange
+        mockWebServer.enqueue(new MockResponse().setResponseCode(HttpURLConnection.HTTP_UNAVAILABLE));
+        mockWebServer.enqueue(new MockResponse().setBody("{}"));
+        String url = mockWebServer.url("/admin/api/2022-07/products.json").toString();
+
+        // Act
+        try (ShopifyResponse shopifyResponse = shopifyClient.get(url, SHOPIFY_ACCESS_TOKEN)) {
+            // Assert
+            Assertions.assertTrue(shopifyResponse.isOk());
+        }
+        Assertions.assertEquals(2, mockWebServer.getRequestCount());
+    }
+
+    @Test
+    @DisplayName("Should not retry server errors on POST requests")
+    void testIntercept_DoesNotRetryServerErrorOnPost() throws Exception {
+        // Arrange
+        mockWebServer.enqueue(new MockResponse().setResponseCode(HttpURLConnection.HTTP_INTERNAL_ERROR));
+        Request request = new Request.Builder()
+                .url(mockWebServer.url("/admin/api/2022-07/customers.json"))
+                .post(RequestBody.create(MediaType.get("application/json"), "{}"))
+                .build();
+
+        // Act
+        try (Response response = okHttpClient.newCall(request).execute()) {
+            // Assert
+            Assertions.assertEquals(HttpURLConnection.HTTP_INTERNAL_ERROR, response.code());
+        }
+        Assertions.assertEquals(1, mockWebServer.getRequestCount());
+    }
+
+    @Test
+    @DisplayName("Should throw ShopifyThrottledException once the retries are exhausted")
+    void testIntercept_RetriesExhausted() {
+        // Arrange
+        for (int i = 0; i < 3; i++) {
+            mockWebServer.enqueue(new MockResponse().setResponseCode(429).setHeader("Retry-After", "0"));
+        }
+        String url = mockWebServer.url("/admin/api/2022-07/orders.json").toString();
+
+        // Act & Assert
+        ShopifyThrottledException shopifyThrottledException = Assertions.assertThrows(
+                ShopifyThrottledException.class, () -> shopifyClient.get(url, SHOPIFY_ACCESS_TOKEN));
+        Assertions.assertEquals(429, shopifyThrottledException.getStatusCode());
+        Assertions.assertEquals(3, mockWebServer.getRequestCount());
+    }
+
+    @Test
+    @DisplayName("Should throw ShopifyApiException once the retries of a server error are exhausted")
+    void testIntercept_ServerErrorRetriesExhausted() {
+        // Arrange
+        for (int i = 0; i < 3; i++) {
+            mockWebServer.enqueue(new MockResponse().setResponseCode(HttpURLConnection.HTTP_UNAVAILABLE));
+        }
+        String url = mockWebServer.url("/admin/api/2022-07/orders.json").toString();
+
+        // Act & Assert
+        ShopifyApiException shopifyApiException = Assertions.assertThrows(ShopifyApiException.class,
+                () -> shopifyClient.get(url, SHOPIFY_ACCESS_TOKEN));
+        Assertions.assertFalse(shopifyApiException instanceof ShopifyThrottledException);
+        Assertions.assertEquals(HttpURLConnection.HTTP_UNAVAILABLE, shopifyApiException.getStatusCode());
+    }
+
+    @Test
+    @DisplayName("Should report a GraphQL query that stays THROTTLED as throttled, not as a failed HTTP call")
+    void testIntercept_GraphQlThrottledRetriesExhausted() {
+        // Arrange
+        for (int i = 0; i < 3; i++) {
+            mockWebServer.enqueue(new MockResponse().setBody(THROTTLED_RESPONSE));
+        }
+        Request request = new Request.Builder()
+                .url(mockWebServer.url("/admin/api/2023-07/graphql.json"))
+                .post(RequestBody.create(MediaType.get("application/graphql"), "{ shop { name } }"))
+                .build();
+
+        // Act & Assert
+        ShopifyThrottledException shopifyThrottledException = Assertions.assertThrows(
+                ShopifyThrottledException.class, () -> okHttpClient.newCall(request).execute());
+        Assertions.assertTrue(shopifyThrottledException.getMessage().contains("throttled"));
+        Assertions.assertEquals(3, mockWebServer.getRequestCount());
+    }
+
+    @Test
+    @DisplayName("Should retry THROTTLED GraphQL responses and track the query cost")
+    void testIntercept_GraphQlThrottled() throws Exception {
+        // Arrange
+        mockWebServer.enqueue(new MockResponse().setBody(THROTTLED_RESPONSE));
+        mockWebServer.enqueue(new MockResponse().setBody(GRAPHQL_RESPONSE));
+        Request request = new Request.Builder()
+                .url(mockWebServer.url("/admin/api/2023-07/graphql.json"))
+                .post(RequestBody.create(MediaType.get("application/graphql"), "{ shop { name } }"))
+                .build();
+
+        // Act
+        try (Response response = okHttpClient.newCall(request).execute()) {
+            // Assert
+            Assertions.assertEquals(GRAPHQL_RESPONSE, response.body().string());
+        }
+        Assertions.assertEquals(2, mockWebServer.getRequestCount());
+        Assertions.assertEquals(10, graphQlBudget.getExpectedCost());
+        Assertions.assertTrue(graphQlBudget.getUsed() <= 400);
+    }
+
+    @Test
+    @DisplayName("Should not read the cost of a GraphQL response larger than the peek limit")
+    void testIntercept_GraphQlResponseTooLarge() throws Exception {
+        // Arrange
+        okHttpClient = new OkHttpClient.Builder()
+                .addInterceptor(new ShopifyRateLimitInterceptor(restBudget, graphQlBudget, 2, 1, 5, 64))
+                .build();
+        mockWebServer.enqueue(new MockResponse().setBody(GRAPHQL_RESPONSE));
+        Request request = new Request.Builder()
+                .url(mockWebServer.url("/admin/api/2023-07/graphql.json"))
+                .post(RequestBody.create(MediaType.get("application/graphql"), "{ shop { name } }"))
+                .build();
+
+        // Act
+        try (Response response = okHttpClient.newCall(request).execute()) {
+            // Assert
+            Assertions.assertEquals(GRAPHQL_RESPONSE, response.body().string());
+        }
+        Assertions.assertEquals(50, graphQlBudget.getExpectedCost());
+    }
+
+    @Test
+    @DisplayName("Should keep the points of requests still in flight when Shopify reports the bucket state")
+    void testUpdate_KeepsReservationsInFlight() {
+        // Arrange
+        ShopifyCallBudget shopifyCallBudget = new ShopifyCallBudget(40, 0.001, 1);
+        shopifyCallBudget.reserve(1);
+        shopifyCallBudget.reserve(1);
+        shopifyCallBudget.release(1);
+
+        // Act
+        shopifyCallBudget.update(10, 40);
+
+        // Assert
+        Assertions.assertEquals(11, shopifyCallBudget.getUsed(), 0.01);
+    }
+
+    @Test
+    @DisplayName("Should ask the caller to wait once the bucket is full")
+    void testReserve_WaitsWhenBucketIsFull() {
+        // Arrange
+        ShopifyCallBudget shopifyCallBudget = new ShopifyCallBudget(40, 2, 1);
+        shopifyCallBudget.update(40, 40);
+
+        // Act
+        long waitMillis = shopifyCallBudget.reserve(1);
+
+        // Assert
+        Assertions.assertTrue(waitMillis > 0 && waitMillis <= 500);
+    }
+}
@@ -0,0 +1,120 @@
+package com.hungover.util;
+
+import com.hungover.core.domain.customer.CustomerMeasurement;
+import com.hungover.core.domain.customer.CustomerMeasurementFeedBack;
+import com.hungover.core.dto.customer.CustomerMeasurementDto;
+import com.hungover.core.dto.customer.CustomerMeasurementFeedbackDto;
+import com.hungover.customer.mapper.CustomerMeasurementMapper;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AdminMapperUtilTest {
+
+    private AdminMapperUtil adminMapperUtil;
+    @Mock
+    private CustomerMeasurementMapper customerMeasurementMapper;
+
+    @BeforeEach
+    public void setUp() {
+        MockitoAnnotations.openMocks(this);
+        adminMapperUtil = new AdminMapperUtil(customerMeasurementMapper);
+    }
+
+    @Test
+    @DisplayName("Should convert customer measurements with the generated mapper")
+    void testConvertCustomerMeasurement() {
+        // Arrange
+        CustomerMeasurementDto customerMeasurementDto = new CustomerMeasurementDto();
+        CustomerMeasurement customerMeasurement = new CustomerMeasurement();
+        when(customerMeasurementMapper.toCustomerMeasurement(customerMeasurementDto)).thenReturn(customerMeasurement);
+        when(customerMeasurementMapper.toCustomerMeasurementDto(customerMeasurement))
+                .thenReturn(customerMeasurementDto);
+
+        // Act
+        CustomerMeasurement convertedCustomerMeasurement =
+                adminMapperUtil.convertFromCustomerMeasurementDto(customerMeasurementDto);
+        CustomerMeasurementDto convertedCustomerMeasurementDto =
+                adminMapperUtil.convertToCustomerMeasurementDto(customerMeasurement);
+
+        // Assert
+        Assertions.assertSame(customerMeasurement, convertedCustomerMeasurement);
+        Assertions.assertSame(customerMeasurementDto, convertedCustomerMeasurementDto);
+        verify(customerMeasurementMapper).toCustomerMeasurement(customerMeasurementDto);
+        verify(customerMeasurementMapper).toCustomerMeasurementDto(customerMeasurement);
+    }
+
+    @Test
+    @DisplayName("Should convert measurement feedback both ways, skipping null properties")
+    void testConvertCustomerMeasurementFeedback() {
+        // Arrange
+        CustomerMeasurementFeedbackDto customerMeasurementFeedbackDto = new CustomerMeasurementFeedbackDto();
+        customerMeasurementFeedbackDto.setOrderId("1");
+        customerMeasurementFeedbackDto.setFeedback("{\"customerId\": \"123\", \"rating\": 5}");
+
+        // Act
+        CustomerMeasurementFeedBack customerMeasurementFeedBack =
+                adminMapperUtil.convertFromCustomerMeasurementFeedbackDto(customerMeasurementFeedbackDto);
+        customerMeasurementFeedBack.setCreatedBy("123");
+        CustomerMeasurementFeedbackDto convertedFeedbackDto =
+                adminMapperUtil.convertFromCustomerMeasurementFeedBack(customerMeasurementFeedBack);
+
+        // Assert
+        Assertions.assertEquals("1", customerMeasurementFeedBack.getOrderId());
+        Assertions.assertEquals(customerMeasurementFeedbackDto.getFeedback(),
+                customerMeasurementFeedBack.getFeedback());
+        Assertions.assertNull(customerMeasurementFeedBack.getCreatedDate());
+        Assertions.assertEquals("1", convertedFeedbackDto.getOrderId());
+        Assertions.assertEquals(customerMeasurementFeedbackDto.getFeedback(), convertedFeedbackDto.getFeedback());
+    }
+
+    @Test
+    @DisplayName("Should keep concurrent feedback conversions apart")
+    void testConvertCustomerMeasurementFeedback_Concurrent() throws InterruptedException, ExecutionException {
+        // Arrange
+        ExecutorService executorService = Executors.newFixedThreadPool(8);
+        List<Future<Boolean>> conversions = new ArrayList<>();
+
+        // Act
+        try {
+            for (int i = 0; i < 8; i++) {
+                String orderId = String.valueOf(i);
+                conversions.add(executorService.submit(() -> {
+                    for (int j = 0; j < 500; j++) {
+                        CustomerMeasurementFeedbackDto customerMeasurementFeedbackDto =
+                                new CustomerMeasurementFeedbackDto();
+                        customerMeasurementFeedbackDto.setOrderId(orderId);
+                        CustomerMeasurementFeedBack customerMeasurementFeedBack =
+                                adminMapperUtil.convertFromCustomerMeasurementFeedbackDto(
+                                        customerMeasurementFeedbackDto);
+                        if (!orderId.equals(adminMapperUtil.convertFromCustomerMeasurementFeedBack(
+                                customerMeasurementFeedBack).getOrderId())) {
+                            return false;
+                        }
+                    }
+                    return true;
+                }));
+            }
+
+            // Assert
+            for (Future<Boolean> conversion : conversions) {
+                Assertions.assertTrue(conversion.get());
+            }
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package com.hungover.util;
+
+import org.junit.jupiter.api.Assertions;
+
+import java.beans.IntrospectionException;
+import java.beans.Introspector;
+import java.beans.PropertyDescriptor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Builds fully populated entities and DTOs for the mapper tests, and compares two beans property by property, so
+ * the generated mappers can be checked against the ModelMapper conversions they replaced without listing each
+ * property of the hungover-core classes.
+ */
+public final class MapperTestBeans {
+
+    private static final String HUNGOVER_PACKAGE = "com.hungover.";
+    private static final int MAX_DEPTH = 3;
+    private static final long BASE_TIME = 1_700_000_000_000L;
+
+    private MapperTestBeans() {
+    }
+
+    /**
+     * Creates a bean with every writable property set to a distinct value. Nested hungover beans and lists of them
+     * are populated in turn.
+     *
+     * @param beanType The bean class, which needs a public no-argument constructor.
+     * @param <T>      The bean type.
+     * @return The populated bean.
+     */
+    public static <T> T populate(Class<T> beanType) {
+        return populate(beanType, new int[]{1}, 0);
+    }
+
+    /**
+     * Asserts that two beans hold equal values in every readable property, comparing nested hungover beans and
+     * collections of them property by property.
+     *
+     * @param expected The bean built by ModelMapper.
+     * @param actual   The bean built by the generated mapper.
+     */
+    public static void assertSameProperties(Object expected, Object actual) {
+        assertSameProperties(expected, actual, actual == null ? "" : actual.getClass().getSimpleName());
+    }
+
+    private static <T> T populate(Class<T> beanType, int[] counter, int depth) {
+        T bean = newInstance(beanType);
+        for (PropertyDescriptor property : properties(beanType)) {
+            if (Optional.ofNullable(property.getWriteMethod()).isEmpty()) {
+                continue;
+            }
+            Object value = valueFor(property.getPropertyType(),
+                    property.getWriteMethod().getGenericParameterTypes()[0], property.getName(), counter, depth);
+            if (Optional.ofNullable(value).isPresent()) {
+                invoke(property.getWriteMethod(), bean, value);
+            }
+        }
+        return bean;
+    }
+
+    private static Object valueFor(Class<?> type, Type genericType, String name, int[] counter, int depth) {
+        int next = counter[0]++;
+        Object value = null;
+        if (type == String.class) {
+            value = name + next;
+        } else if (type == Integer.class || type == int.class) {
+            value = next;
+        } else if (type == Long.class || type == long.class) {
+            value = (long) next;
+        } else if (type == Double.class || type == double.class) {
+            value = next + 0.5;
+        } else if (type == Float.class || type == float.class) {
+            value = next + 0.25f;
+        } else if (type == Boolean.class || type == boolean.class) {
+            value = next % 2 == 0;
+        } else if (type == BigDecimal.class) {
+            value = BigDecimal.valueOf(next, 2);
+        } else if (type == Date.class) {
+            value = new Date(BASE_TIME + next * 1000L);
+        } else if (type == LocalDate.class) {
+            value = LocalDate.of(2023, 1, 1).plusDays(next);
+        } else if (type == LocalDateTime.class) {
+            value = LocalDateTime.of(2023, 1, 1, 0, 0).plusSeconds(next);
+        } else if (type.isEnum()) {
+            Object[] constants = type.getEnumConstants();
+            value = constants[next % constants.length];
+        } else if ((type == List.class || type == Set.class) && genericType instanceof ParameterizedType) {
+            Type elementType = ((ParameterizedType) genericType).getActualTypeArguments()[0];
+            Object element = elementType instanceof Class ? valueFor((Class<?>) elementType, elementType, name,
+                    counter, depth) : null;
+            if (Optional.ofNullable(element).isPresent()) {
+                Collection<Object> elements = type == List.class ? new ArrayList<>() : new HashSet<>();
+                elements.add(element);
+                value = elements;
+            }
+        } else if (isHungoverBean(type) && depth < MAX_DEPTH) {
+            value = populate(type, counter, depth + 1);
+        }
+        return value;
+    }
+
+    private static void assertSameProperties(Object expected, Object actual, String path) {
+        if (expected == null || actual == null || !isHungoverBean(expected.getClass())) {
+            if (expected instanceof Collection && actual instanceof Collection) {
+                assertSameElements((Collection<?>) expected, (Collection<?>) actual, path);
+            } else {
+                Assertions.assertEquals(expected, actual, path);
+            }
+            return;
+        }
+        Assertions.assertEquals(expected.getClass(), actual.getClass(), path);
+        for (PropertyDescriptor property : properties(expected.getClass())) {
+            if (Optional.ofNullable(property.getReadMethod()).isPresent()) {
+                assertSameProperties(invoke(property.getReadMethod(), expected),
+                        invoke(property.getReadMethod(), actual), path + "." + property.getName());
+            }
+        }
+    }
+
+    private static void assertSameElements(Collection<?> expected, Collection<?> actual, String path) {
+        Assertions.assertEquals(expected.size(), actual.size(), path + ".size");
+        Iterator<?> expectedElements = expected.iterator();
+        Iterator<?> actualElements = actual.iterator();
+        for (int index = 0; expectedElements.hasNext(); index++) {
+            assertSameProperties(expectedElements.next(), actualElements.next(), path + "[" + index + "]");
+        }
+    }
+
+    private static boolean isHungoverBean(Class<?> type) {
+        return type.getName().startsWith(HUNGOVER_PACKAGE) && !type.isEnum() && !type.isInterface();
+    }
+
+    private static PropertyDescriptor[] properties(Class<?> beanType) {
+        try {
+            return Introspector.getBeanInfo(beanType, Object.class).getPropertyDescriptors();
+        } catch (IntrospectionException e) {
+            throw new IllegalStateException("Cannot read the properties of " + beanType.getName(), e);
+        }
+    }
+
+    private static <T> T newInstance(Class<T> beanType) {
+        try {
+            return beanType.getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot create " + beanType.getName(), e);
+        }
+    }
+
+    private static Object invoke(Method method, Object bean, Object... arguments) {
+        try {
+            return method.invoke(bean, arguments);
+        } catch (IllegalAccessException | InvocationTargetException e) {
+            throw new IllegalStateException("Cannot call " + method.getName() + " on " + bean.getClass().getName(), e);
+        }
+    }
+}
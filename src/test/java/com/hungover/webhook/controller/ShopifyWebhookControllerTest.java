@@ -0,0 +1,77 @@
+package com.hungover.webhook.controller;
+
+import com.hungover.webhook.service.ShopifyWebhookService;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ShopifyWebhookControllerTest {
+
+    private static final String TOPIC = "orders/updated";
+    private static final String HMAC = "hmac";
+    private static final String WEBHOOK_ID = "b54557e4-bdd9-4b37-8a5f-bf7d70bcd043";
+    private static final byte[] PAYLOAD = "{\"id\":1001}".getBytes(StandardCharsets.UTF_8);
+
+    @InjectMocks
+    ShopifyWebhookController shopifyWebhookController;
+    @Mock
+    private ShopifyWebhookService shopifyWebhookService;
+
+    @BeforeEach
+    public void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    @DisplayName("Controller Test for acknowledging a queued Shopify webhook")
+    void testReceiveShopifyWebhook_Queued() {
+        when(shopifyWebhookService.isAuthentic(PAYLOAD, HMAC)).thenReturn(true);
+        when(shopifyWebhookService.isSupportedTopic(TOPIC)).thenReturn(true);
+        when(shopifyWebhookService.enqueue(TOPIC, WEBHOOK_ID, PAYLOAD)).thenReturn(true);
+
+        ResponseEntity<Void> responseEntity = shopifyWebhookController.receiveShopifyWebhook(TOPIC, HMAC,
+                WEBHOOK_ID, PAYLOAD);
+
+        Assertions.assertEquals(HttpStatus.OK, responseEntity.getStatusCode());
+        verify(shopifyWebhookService).enqueue(TOPIC, WEBHOOK_ID, PAYLOAD);
+    }
+
+    @Test
+    @DisplayName("Controller Test for rejecting a Shopify webhook with an invalid signature")
+    void testReceiveShopifyWebhook_InvalidSignature() {
+        when(shopifyWebhookService.isAuthentic(PAYLOAD, HMAC)).thenReturn(false);
+
+        ResponseEntity<Void> responseEntity = shopifyWebhookController.receiveShopifyWebhook(TOPIC, HMAC,
+                WEBHOOK_ID, PAYLOAD);
+
+        Assertions.assertEquals(HttpStatus.UNAUTHORIZED, responseEntity.getStatusCode());
+        verify(shopifyWebhookService, never()).enqueue(anyString(), anyString(), any());
+    }
+
+    @Test
+    @DisplayName("Controller Test for asking Shopify to retry when the webhook queue is full")
+    void testReceiveShopifyWebhook_QueueFull() {
+        when(shopifyWebhookService.isAuthentic(PAYLOAD, HMAC)).thenReturn(true);
+        when(shopifyWebhookService.isSupportedTopic(TOPIC)).thenReturn(true);
+        when(shopifyWebhookService.enqueue(TOPIC, WEBHOOK_ID, PAYLOAD)).thenReturn(false);
+
+        ResponseEntity<Void> responseEntity = shopifyWebhookController.receiveShopifyWebhook(TOPIC, HMAC,
+                WEBHOOK_ID, PAYLOAD);
+
+        Assertions.assertEquals(HttpStatus.SERVICE_UNAVAILABLE, responseEntity.getStatusCode());
+    }
+}
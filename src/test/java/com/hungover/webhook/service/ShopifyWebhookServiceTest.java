@@ -0,0 +1,131 @@
+package com.hungover.webhook.service;
+
+import com.hungover.dashboard.service.AdminDashboardCache;
+import com.hungover.ordermirror.service.OrderMirrorSyncService;
+import com.hungover.product.service.ProductService;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ShopifyWebhookServiceTest {
+
+    private static final String SHOPIFY_WEBHOOK_SECRET = "webhook-secret";
+    private static final byte[] PAYLOAD = "{\"id\":1001,\"updated_at\":\"2023-08-02T09:00:00+05:30\"}"
+            .getBytes(StandardCharsets.UTF_8);
+
+    @Mock
+    private OrderMirrorSyncService orderMirrorSyncService;
+    @Mock
+    private ProductService productService;
+    @Mock
+    private AdminDashboardCache adminDashboardCache;
+
+    private ShopifyWebhookService shopifyWebhookService;
+
+    @BeforeEach
+    public void setUp() {
+        MockitoAnnotations.openMocks(this);
+        shopifyWebhookService = new ShopifyWebhookService(orderMirrorSyncService, productService,
+                adminDashboardCache, 2, 250);
+        shopifyWebhookService.shopifyWebhookSecret = SHOPIFY_WEBHOOK_SECRET;
+    }
+
+    @Test
+    @DisplayName("Should accept only webhooks signed with the shared secret")
+    void testIsAuthentic() throws Exception {
+        // Arrange
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec(SHOPIFY_WEBHOOK_SECRET.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+        String hmac = Base64.getEncoder().encodeToString(mac.doFinal(PAYLOAD));
+
+        // Act & Assert
+        Assertions.assertTrue(shopifyWebhookService.isAuthentic(PAYLOAD, hmac));
+        Assertions.assertFalse(shopifyWebhookService.isAuthentic("{\"id\":1002}".getBytes(StandardCharsets.UTF_8),
+                hmac));
+        Assertions.assertFalse(shopifyWebhookService.isAuthentic(PAYLOAD, null));
+        shopifyWebhookService.shopifyWebhookSecret = "";
+        Assertions.assertFalse(shopifyWebhookService.isAuthentic(PAYLOAD, hmac));
+    }
+
+    @Test
+    @DisplayName("Should refuse webhooks once the queue is full")
+    void testEnqueue_QueueFull() {
+        // Act & Assert
+        Assertions.assertTrue(shopifyWebhookService.enqueue(ShopifyWebhookService.TOPIC_ORDERS_CREATE, "1", PAYLOAD));
+        Assertions.assertTrue(shopifyWebhookService.enqueue(ShopifyWebhookService.TOPIC_ORDERS_UPDATED, "2", PAYLOAD));
+        Assertions.assertFalse(shopifyWebhookService.enqueue(ShopifyWebhookService.TOPIC_ORDERS_UPDATED, "3",
+                PAYLOAD));
+        Assertions.assertEquals(2, shopifyWebhookService.getQueuedWebhookCount());
+    }
+
+    @Test
+    @DisplayName("Should apply the queued order webhooks to the mirror in one batch")
+    @SuppressWarnings("unchecked")
+    void testApplyQueuedWebhooks() throws IOException {
+        // Arrange
+        when(orderMirrorSyncService.isEnabled()).thenReturn(true);
+        shopifyWebhookService.enqueue(ShopifyWebhookService.TOPIC_ORDERS_CREATE, "1", PAYLOAD);
+        shopifyWebhookService.enqueue(ShopifyWebhookService.TOPIC_PRODUCTS_UPDATE, "2",
+                "{\"id\":701}".getBytes(StandardCharsets.UTF_8));
+        ArgumentCaptor<List<String>> orderPayloadCaptor = ArgumentCaptor.forClass(List.class);
+
+        // Act
+        shopifyWebhookService.applyQueuedWebhooks();
+
+        // Assert
+        verify(orderMirrorSyncService, times(1)).mirrorOrders(orderPayloadCaptor.capture());
+        Assertions.assertEquals(List.of(new String(PAYLOAD, StandardCharsets.UTF_8)),
+                orderPayloadCaptor.getValue());
+        Assertions.assertEquals(0, shopifyWebhookService.getQueuedWebhookCount());
+        verify(productService, times(1)).evictCatalogSnapshot();
+        verify(adminDashboardCache, times(1)).evictAll();
+    }
+
+    @Test
+    @DisplayName("Should drop order webhooks while the order mirror is disabled")
+    void testApplyQueuedWebhooks_MirrorDisabled() throws IOException {
+        // Arrange
+        when(orderMirrorSyncService.isEnabled()).thenReturn(false);
+        shopifyWebhookService.enqueue(ShopifyWebhookService.TOPIC_ORDERS_UPDATED, "1", PAYLOAD);
+
+        // Act
+        shopifyWebhookService.applyQueuedWebhooks();
+
+        // Assert
+        verify(orderMirrorSyncService, never()).mirrorOrders(anyList());
+        Assertions.assertEquals(0, shopifyWebhookService.getQueuedWebhookCount());
+    }
+
+    @Test
+    @DisplayName("Should not touch the mirror when no order webhooks are queued")
+    void testApplyQueuedWebhooks_NoOrders() throws IOException {
+        // Arrange
+        shopifyWebhookService.enqueue(ShopifyWebhookService.TOPIC_CUSTOMERS_CREATE, "1",
+                "{\"id\":501}".getBytes(StandardCharsets.UTF_8));
+
+        // Act
+        shopifyWebhookService.applyQueuedWebhooks();
+
+        // Assert
+        verify(orderMirrorSyncService, never()).mirrorOrders(anyList());
+        verify(productService, never()).evictCatalogSnapshot();
+        verify(adminDashboardCache, times(1)).evictAll();
+    }
+}